@@ -5,6 +5,8 @@ import com.yma.bank.application.response.AccountDTO;
 import com.yma.bank.application.response.AccountStatementResponse;
 import com.yma.bank.domain.OperationTypeEnum;
 import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.OperationHistoryProjection;
+import com.yma.bank.domain.services.ReadConsistency;
 import com.yma.bank.domain.services.StatementService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +35,8 @@ public class CliOperationController implements CommandLineRunner {
 
     private final CliService cliService;
 
+    private final OperationHistoryProjection operationHistoryProjection;
+
     private boolean running = false;
     private boolean alreadyExecuted = false;
 
@@ -40,11 +44,13 @@ public class CliOperationController implements CommandLineRunner {
     public CliOperationController(AccountService accountService,
                                   ConsoleStatementPrinter consoleStatementPrinter,
                                   StatementService statementService,
-                                  CliService cliService) {
+                                  CliService cliService,
+                                  OperationHistoryProjection operationHistoryProjection) {
         this.accountService = accountService;
         this.consoleStatementPrinter = consoleStatementPrinter;
         this.statementService = statementService;
         this.cliService = cliService;
+        this.operationHistoryProjection = operationHistoryProjection;
     }
 
     public void deposit() {
@@ -64,13 +70,24 @@ public class CliOperationController implements CommandLineRunner {
     }
 
     private void createOperation(Long accountId, BigDecimal amount, OperationTypeEnum operationTypeEnum) {
-        LOG.info(String.format("%s a amount of %s for my account %s", operationTypeEnum, amount, accountId));
+        LOG.info("{} a amount of {} for my account {}", operationTypeEnum, amount, accountId);
         NewOperationRequest newOperationRequest = new NewOperationRequest(accountId, amount, operationTypeEnum);
         accountService.sendMoney(newOperationRequest);
     }
 
     public AccountStatementResponse getAccountStatement(Long accountId) {
-        return statementService.generateAccountStatement(accountId, LocalDateTime.now().minusDays(10));
+        return generateStatement(accountId, LocalDateTime.now().minusDays(10));
+    }
+
+    /**
+     * The statement follows the operations entered just before: they are projected into the history first,
+     * and the history is read from the primary database rather than from a lagging replica.
+     */
+    private AccountStatementResponse generateStatement(Long accountId, LocalDateTime fromDate) {
+        operationHistoryProjection.projectPending();
+        try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+            return statementService.generateAccountStatement(accountId, fromDate);
+        }
     }
 
     public void printAccountStatement(AccountStatementResponse accountStatementResponse, StatementPrinter printer) {
@@ -134,7 +151,7 @@ public class CliOperationController implements CommandLineRunner {
 
     private void displayTestAccounts() {
         try {
-            List<AccountDTO> accounts = accountService.getAllAccounts(LocalDateTime.now());
+            List<AccountDTO> accounts = accountService.getAllAccounts(null);
             System.out.println("\n**Test Accounts Available:**");
             if (accounts.isEmpty()) {
                 System.out.println("⚠ No test accounts found. Please create an account first.");
@@ -180,7 +197,7 @@ public class CliOperationController implements CommandLineRunner {
         Long accountId = cliService.readLong("Enter account ID: ");
 
         try {
-            AccountStatementResponse statement = statementService.generateAccountStatement(accountId, LocalDateTime.now());
+            AccountStatementResponse statement = generateStatement(accountId, LocalDateTime.now());
             consoleStatementPrinter.print(statement);
             System.out.println("✅ Account statement displayed successfully.");
         } catch (Exception e) {
@@ -1,5 +1,7 @@
 package com.yma.bank.application.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.yma.bank.domain.OperationTypeEnum;
 import lombok.NonNull;
 
@@ -10,12 +12,26 @@ public class NewOperationRequest {
     private final BigDecimal amount;
     private final OperationTypeEnum operationType;
 
+    /**
+     * Key chosen by the client to retry the request without recording the operation twice, null if none.
+     */
+    private final String idempotencyKey;
+
     public NewOperationRequest(@NonNull final Long accountId,
                                @NonNull final BigDecimal amount,
                                @NonNull final OperationTypeEnum operationType) {
+        this(accountId, amount, operationType, null);
+    }
+
+    @JsonCreator
+    public NewOperationRequest(@JsonProperty("accountId") @NonNull final Long accountId,
+                               @JsonProperty("amount") @NonNull final BigDecimal amount,
+                               @JsonProperty("operationType") @NonNull final OperationTypeEnum operationType,
+                               @JsonProperty("idempotencyKey") final String idempotencyKey) {
         this.accountId = accountId;
         this.amount = amount;
         this.operationType = operationType;
+        this.idempotencyKey = idempotencyKey;
     }
 
     public Long getAccountId() {
@@ -29,4 +45,8 @@ public class NewOperationRequest {
     public OperationTypeEnum getOperationType() {
         return operationType;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
 }
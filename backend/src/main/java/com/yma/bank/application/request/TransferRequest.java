@@ -0,0 +1,34 @@
+package com.yma.bank.application.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+
+public class TransferRequest {
+    private final Long sourceAccountId;
+    private final Long targetAccountId;
+    private final BigDecimal amount;
+
+    @JsonCreator
+    public TransferRequest(@JsonProperty("sourceAccountId") @NonNull final Long sourceAccountId,
+                           @JsonProperty("targetAccountId") @NonNull final Long targetAccountId,
+                           @JsonProperty("amount") @NonNull final BigDecimal amount) {
+        this.sourceAccountId = sourceAccountId;
+        this.targetAccountId = targetAccountId;
+        this.amount = amount;
+    }
+
+    public Long getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public Long getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
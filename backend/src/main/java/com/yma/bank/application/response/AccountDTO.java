@@ -1,15 +1,30 @@
 package com.yma.bank.application.response;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import lombok.Getter;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Getter
 public class AccountDTO {
     private final Long accountId;
     private final BigDecimal balance;
 
+    /**
+     * Time of the last operation and number of operations, only filled when read from the account summaries.
+     */
+    private final LocalDateTime lastOperationAt;
+    private final Long operationCount;
+
     public AccountDTO(Long accountId, BigDecimal balance) {
+        this(accountId, balance, null, null);
+    }
+
+    @JsonCreator
+    public AccountDTO(Long accountId, BigDecimal balance, LocalDateTime lastOperationAt, Long operationCount) {
         this.accountId = accountId;
         this.balance = balance;
+        this.lastOperationAt = lastOperationAt;
+        this.operationCount = operationCount;
     }
 }
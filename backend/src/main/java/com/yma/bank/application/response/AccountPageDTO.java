@@ -0,0 +1,20 @@
+package com.yma.bank.application.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class AccountPageDTO {
+    private final List<AccountDTO> accounts;
+
+    /**
+     * Opaque token to pass back to fetch the next page, null when there is no more account.
+     */
+    private final String nextCursor;
+
+    public AccountPageDTO(List<AccountDTO> accounts, String nextCursor) {
+        this.accounts = accounts;
+        this.nextCursor = nextCursor;
+    }
+}
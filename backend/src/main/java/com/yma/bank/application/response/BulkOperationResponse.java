@@ -0,0 +1,24 @@
+package com.yma.bank.application.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BulkOperationResponse {
+    private final int acceptedCount;
+    private final int rejectedCount;
+
+    /**
+     * One result per submitted item, in submission order.
+     */
+    private final List<BulkOperationResult> results;
+
+    public BulkOperationResponse(List<BulkOperationResult> results) {
+        this.results = results;
+        this.acceptedCount = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkOperationResult.Status.ACCEPTED)
+                .count();
+        this.rejectedCount = results.size() - acceptedCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.yma.bank.application.response;
+
+import lombok.Getter;
+
+/**
+ * Outcome of one item of a bulk operation request, reported at the same position as the item.
+ */
+@Getter
+public class BulkOperationResult {
+    public enum Status {
+        ACCEPTED,
+        REJECTED
+    }
+
+    private final Long accountId;
+    private final Status status;
+
+    /**
+     * Reason of the rejection, null when the operation was accepted.
+     */
+    private final String message;
+
+    private BulkOperationResult(Long accountId, Status status, String message) {
+        this.accountId = accountId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkOperationResult accepted(Long accountId) {
+        return new BulkOperationResult(accountId, Status.ACCEPTED, null);
+    }
+
+    public static BulkOperationResult rejected(Long accountId, String message) {
+        return new BulkOperationResult(accountId, Status.REJECTED, message);
+    }
+}
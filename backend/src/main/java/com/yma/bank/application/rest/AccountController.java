@@ -1,7 +1,14 @@
 package com.yma.bank.application.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
 import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.application.response.AccountPageDTO;
+import com.yma.bank.application.response.BulkOperationResponse;
+import com.yma.bank.application.response.BulkOperationResult;
 import com.yma.bank.domain.OperationTypeEnum;
 import com.yma.bank.domain.services.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,12 +21,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for managing bank operations (deposit, withdrawal, transaction history).
@@ -31,10 +46,17 @@ import java.util.List;
 public class AccountController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AccountController.class);
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int BULK_READ_SIZE = 10_000;
+
     private final AccountService accountService;
+    private final ObjectMapper objectMapper;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -42,6 +64,7 @@ public class AccountController {
      *
      * @param accountId The ID of the account to deposit into.
      * @param amount    The amount to deposit.
+     * @param idempotencyKey Optional key of the request: a retry with the same key is not recorded twice.
      * @return ResponseEntity confirming the transaction.
      */
     @Operation(summary = "Deposit money",
@@ -52,16 +75,19 @@ public class AccountController {
                     @ApiResponse(responseCode = "404", description = "Account not found")
             })
     @PostMapping("/{accountId}/deposit")
-    public ResponseEntity<String> deposit(
+    public CompletableFuture<ResponseEntity<String>> deposit(
             @Parameter(description = "Bank account ID") @PathVariable Long accountId,
-            @Parameter(description = "Amount to deposit") @RequestParam("amount") BigDecimal amount) {
-
-        LOGGER.info("Deposit request for account ID {} of amount {}", accountId, amount);
+            @Parameter(description = "Amount to deposit") @RequestParam("amount") BigDecimal amount,
+            @Parameter(description = "Key identifying the request across retries")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
 
-        accountService.sendMoney(new NewOperationRequest(accountId, amount, OperationTypeEnum.DEPOSIT));
+        LOGGER.debug("Deposit request for account ID {} of amount {}", accountId, amount);
 
-        LOGGER.info("Deposit successful for account ID {}", accountId);
-        return ResponseEntity.ok("Deposit successful");
+        return accountService.submitOperation(new NewOperationRequest(accountId, amount, OperationTypeEnum.DEPOSIT, idempotencyKey))
+                .thenApply(done -> {
+                    LOGGER.debug("Deposit successful for account ID {}", accountId);
+                    return ResponseEntity.ok("Deposit successful");
+                });
     }
 
     /**
@@ -69,6 +95,7 @@ public class AccountController {
      *
      * @param accountId The ID of the account to withdraw from.
      * @param amount    The amount to withdraw.
+     * @param idempotencyKey Optional key of the request: a retry with the same key is not recorded twice.
      * @return ResponseEntity confirming the transaction.
      */
     @Operation(summary = "Withdraw money",
@@ -80,16 +107,89 @@ public class AccountController {
                     @ApiResponse(responseCode = "403", description = "Insufficient funds")
             })
     @PostMapping("/{accountId}/withdraw")
-    public ResponseEntity<String> withdraw(
+    public CompletableFuture<ResponseEntity<String>> withdraw(
             @Parameter(description = "Bank account ID") @PathVariable Long accountId,
-            @Parameter(description = "Amount to withdraw") @RequestParam("amount") BigDecimal amount) {
+            @Parameter(description = "Amount to withdraw") @RequestParam("amount") BigDecimal amount,
+            @Parameter(description = "Key identifying the request across retries")
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        LOGGER.debug("Withdrawal request for account ID {} of amount {}", accountId, amount);
+
+        return accountService.submitOperation(new NewOperationRequest(accountId, amount, OperationTypeEnum.WITHDRAWAL, idempotencyKey))
+                .thenApply(done -> {
+                    LOGGER.debug("Withdrawal successful for account ID {}", accountId);
+                    return ResponseEntity.ok("Withdrawal successful");
+                });
+    }
+
+    /**
+     * Transfer money from one account to another.
+     *
+     * @param accountId       The ID of the account to debit.
+     * @param targetAccountId The ID of the account to credit.
+     * @param amount          The amount to transfer.
+     * @return ResponseEntity confirming the transaction.
+     */
+    @Operation(summary = "Transfer money",
+            description = "Debits a specified amount from a given account and credits it to another one, atomically.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transfer successful"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Account not found"),
+                    @ApiResponse(responseCode = "403", description = "Insufficient funds")
+            })
+    @PostMapping("/{accountId}/transfer")
+    public ResponseEntity<String> transfer(
+            @Parameter(description = "Bank account ID to debit") @PathVariable Long accountId,
+            @Parameter(description = "Bank account ID to credit") @RequestParam("targetAccountId") Long targetAccountId,
+            @Parameter(description = "Amount to transfer") @RequestParam("amount") BigDecimal amount) {
 
-        LOGGER.info("Withdrawal request for account ID {} of amount {}", accountId, amount);
+        LOGGER.debug("Transfer request from account ID {} to account ID {} of amount {}", accountId, targetAccountId, amount);
+        accountService.transfer(new TransferRequest(accountId, targetAccountId, amount));
+        return ResponseEntity.ok("Transfer successful");
+    }
 
-        accountService.sendMoney(new NewOperationRequest(accountId, amount, OperationTypeEnum.WITHDRAWAL));
+    /**
+     * Record many deposits and withdrawals at once.
+     *
+     * @param body A JSON array of operations, or newline-delimited JSON with one operation per line.
+     * @return The result of every operation, in submission order.
+     */
+    @Operation(summary = "Record operations in bulk",
+            description = "Records a JSON array or a newline-delimited JSON stream of operations. The body is read "
+                    + BULK_READ_SIZE + " operations at a time, each group being validated once per account and written "
+                    + "with batched inserts. An operation rejected for a business reason does not prevent the others "
+                    + "from being recorded. An operation carrying an idempotencyKey is recorded at most once, like a "
+                    + "single operation sent with the " + IDEMPOTENCY_KEY_HEADER + " header.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Operations processed, see the result of each one",
+                            content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Malformed body, the groups read before the malformed operation are recorded")
+            })
+    @PostMapping(value = "/operations/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    public BulkOperationResponse sendMoneyInBulk(InputStream body) throws IOException {
+        List<BulkOperationResult> results = new ArrayList<>();
+        List<NewOperationRequest> chunk = new ArrayList<>(BULK_READ_SIZE);
+        try (MappingIterator<NewOperationRequest> requests = objectMapper.readerFor(NewOperationRequest.class).readValues(body)) {
+            while (requests.hasNextValue()) {
+                chunk.add(requests.nextValue());
+                if (chunk.size() == BULK_READ_SIZE) {
+                    results.addAll(accountService.sendMoneyInBulk(chunk));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                results.addAll(accountService.sendMoneyInBulk(chunk));
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, String.format("Malformed operation at position %d, the %d operations before it were processed: %s",
+                    results.size() + chunk.size(), results.size(), e.getOriginalMessage()));
+        }
 
-        LOGGER.info("Withdrawal successful for account ID {}", accountId);
-        return ResponseEntity.ok("Withdrawal successful");
+        BulkOperationResponse response = new BulkOperationResponse(results);
+        LOGGER.info("Bulk request processed: {} operations accepted, {} rejected",
+                response.getAcceptedCount(), response.getRejectedCount());
+        return response;
     }
 
     @Operation(summary = "Retrieve an account by its account ID",
@@ -108,11 +208,11 @@ public class AccountController {
             @Parameter(description = "ID of the account to retrieve", example = "121")
             @PathVariable Long accountId,
 
-            @Parameter(description = "Baseline date for account history",
+            @Parameter(description = "Baseline date for account history, omitted for the current balance",
                     example = "2025-03-16T14:00:00")
             @RequestParam(required = false) LocalDateTime baselineDate) {
 
-        return accountService.getAccount(accountId, baselineDate != null ? baselineDate : LocalDateTime.now());
+        return accountService.getAccount(accountId, baselineDate);
     }
 
     @Operation(
@@ -127,10 +227,64 @@ public class AccountController {
     })
     @GetMapping
     public List<AccountDTO> getAllAccounts(
-            @Parameter(description = "Reference date for account history",
+            @Parameter(description = "Reference date for account history, omitted for the current balances of the account summaries",
+                    example = "2025-03-16T14:00:00")
+            @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        return accountService.getAllAccounts(baselineDate);
+    }
+
+    @Operation(
+            summary = "Retrieve a page of accounts",
+            description = "Returns at most `limit` accounts ordered by account ID, with an opaque cursor to fetch the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of accounts",
+                    content = @Content(schema = @Schema(implementation = AccountPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit or cursor")
+    })
+    @GetMapping("/page")
+    public AccountPageDTO getAccountsPage(
+            @Parameter(description = "Maximum number of accounts to return", example = "100")
+            @RequestParam(defaultValue = "100") int limit,
+
+            @Parameter(description = "Cursor returned by the previous page, omitted for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Reference date for account history, omitted for the current balances of the account summaries",
+                    example = "2025-03-16T14:00:00")
+            @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        return accountService.getAccountsPage(cursor, limit, baselineDate);
+    }
+
+    @Operation(
+            summary = "Stream all accounts",
+            description = "Streams every account as newline-delimited JSON, one account per line, reading the accounts page by page."
+    )
+    @ApiResponse(responseCode = "200", description = "Accounts streamed successfully",
+            content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = AccountDTO.class)))
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAccounts(
+            @Parameter(description = "Reference date for account history, omitted for the current balances of the account summaries",
                     example = "2025-03-16T14:00:00")
             @RequestParam(required = false) LocalDateTime baselineDate) {
 
-        return accountService.getAllAccounts(baselineDate != null ? baselineDate : LocalDateTime.now());
+        StreamingResponseBody body = outputStream -> {
+            String cursor = null;
+            do {
+                AccountPageDTO page = accountService.getAccountsPage(cursor, STREAM_PAGE_SIZE, baselineDate);
+                for (AccountDTO account : page.getAccounts()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(account));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 }
@@ -7,22 +7,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
 @RestController
+@Profile("!test")
 @RequestMapping("/api/cli")
 @Tag(name = "CLI Controller", description = "Endpoints for managing the interactive CLI mode")
 public class CliController {
     private static final Logger LOG = LoggerFactory.getLogger(CliController.class);
     private final CliOperationController cliOperationController;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+    /**
+     * Runs each CLI session on its own named daemon thread, so that a session waiting on the console
+     * never holds a request thread nor prevents the application from shutting down.
+     */
+    private final SimpleAsyncTaskExecutor cliExecutor = new SimpleAsyncTaskExecutor("cli-");
 
     public CliController(CliOperationController cliOperationController) {
         this.cliOperationController = cliOperationController;
+        this.cliExecutor.setDaemon(true);
     }
 
     @Operation(summary = "Start the interactive CLI mode",
@@ -34,11 +39,11 @@ public class CliController {
     @PostMapping("/start")
     public String startCli() {
         LOG.info("Starting CLI via REST API...");
-        executorService.submit(() -> {
+        cliExecutor.execute(() -> {
             try {
                 cliOperationController.run("rest");
             } catch (Exception e) {
-                throw new RuntimeException(e);
+                LOG.error("CLI session stopped unexpectedly", e);
             }
         });
         return "CLI started in REST mode.";
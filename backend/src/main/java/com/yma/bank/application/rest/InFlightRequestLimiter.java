@@ -0,0 +1,144 @@
+package com.yma.bank.application.rest;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the number of API requests handled at the same time, whatever thread runs them.
+ * <p>
+ * A request waits at most {@code bank.request-limiter.max-wait-ms} for a slot and is otherwise rejected
+ * with 503 and a {@code Retry-After} header, so that a burst is pushed back to the clients instead of piling up
+ * behind the connection pool. The slot of an asynchronous request is only released once its response is complete.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.request-limiter.enabled", havingValue = "true")
+public class InFlightRequestLimiter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InFlightRequestLimiter.class);
+    private static final String API_PATH = "/api/";
+
+    private final int maxInFlight;
+    private final long maxWaitMillis;
+    private final Semaphore slots;
+    private final LongAdder rejected = new LongAdder();
+
+    public InFlightRequestLimiter(@Value("${bank.request-limiter.max-in-flight:64}") int maxInFlight,
+                                  @Value("${bank.request-limiter.max-wait-ms:100}") long maxWaitMillis) {
+        if (maxInFlight <= 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("The maximum number of requests in flight must be positive and the maximum wait not negative");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxWaitMillis = maxWaitMillis;
+        this.slots = new Semaphore(maxInFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!acquire()) {
+            rejected.increment();
+            LOGGER.debug("Request {} {} rejected, {} requests already in flight", request.getMethod(), request.getRequestURI(), maxInFlight);
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many requests in flight");
+            return;
+        }
+
+        Runnable release = releaseOnce();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // La réponse sera écrite par un autre thread : le créneau est rendu à la fin de la requête asynchrone
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("bank.requests.in-flight", this, InFlightRequestLimiter::getInFlightCount)
+                .description("API requests currently handled")
+                .register(registry);
+        FunctionCounter.builder("bank.requests.rejected", this, InFlightRequestLimiter::getRejectedCount)
+                .description("API requests rejected because too many were in flight")
+                .register(registry);
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - slots.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private boolean acquire() {
+        try {
+            return slots.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        };
+    }
+
+    private record ReleasingListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Un nouveau cycle asynchrone ne réinscrit pas l'écouteur : on le fait pour ne pas perdre la libération
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.yma.bank.application.rest;
+
+import com.yma.bank.domain.services.ReadConsistency;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Serves the reads of a request sent with {@code Read-Your-Writes: true} so that it sees the writes made by the earlier
+ * requests of the caller: from the primary database instead of a read replica lagging behind them, and from the
+ * account snapshots instead of the account summaries projected after the writes.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String READ_YOUR_WRITES_HEADER = "Read-Your-Writes";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.yma.bank.application.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
 import com.yma.bank.domain.services.StatementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,9 +10,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 
 @RestController
@@ -18,10 +28,16 @@ import java.time.LocalDateTime;
 @Tag(name = "Banking Statements", description = "API to manage account statements")
 public class StatementController {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatementController.class);
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int FLUSH_EVERY_LINES = 500;
+
     private final StatementService statementService;
+    private final ObjectMapper objectMapper;
 
-    public StatementController(StatementService statementService) {
+    public StatementController(StatementService statementService, ObjectMapper objectMapper) {
         this.statementService = statementService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -44,11 +60,71 @@ public class StatementController {
                     example = "2025-03-16T14:00:00" ) @RequestParam(required = false) LocalDateTime baselineDate
             ) {
 
-        LOGGER.info("Retrieving transaction history for account ID {}", accountId);
+        LOGGER.debug("Retrieving transaction history for account ID {}", accountId);
 
         AccountStatementResponse response = statementService.generateAccountStatement(accountId, baselineDate != null ? baselineDate : LocalDateTime.now().minusDays(10));
 
-        LOGGER.info("Transaction history retrieved for account ID {}", accountId);
+        LOGGER.debug("Transaction history retrieved for account ID {}", accountId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Export the account transaction history as a stream.
+     *
+     * @param accountId The ID of the account.
+     * @param baselineDate Start date for the bank statement.
+     * @param format csv or ndjson.
+     * @return the statement lines, oldest first, written to the response as they are read from the database.
+     */
+    @Operation(summary = "Export account transaction history",
+            description = "Streams the transaction history of a specified account as CSV or newline-delimited JSON, oldest first, "
+                    + "with the running balance computed while the history is read.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transaction history streamed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Unsupported export format")
+            })
+    @GetMapping(value = "/{accountId}/export", produces = {TEXT_CSV_VALUE, APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportAccountStatement(
+            @Parameter(description = "Bank account ID") @PathVariable Long accountId,
+            @Parameter(description = "Start date for the bank statement",
+                    example = "2025-03-16T14:00:00") @RequestParam(required = false) LocalDateTime baselineDate,
+            @Parameter(description = "Export format: csv or ndjson") @RequestParam(defaultValue = "csv") String format
+    ) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime fromDate = baselineDate != null ? baselineDate : LocalDateTime.now().minusDays(10);
+
+        StreamingResponseBody body = outputStream -> {
+            LOGGER.debug("Exporting transaction history for account ID {}", accountId);
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (csv) {
+                writer.write("timestamp,amount,balance\n");
+            }
+            int[] lineCount = {0};
+            statementService.exportAccountStatement(accountId, fromDate, statementLine -> {
+                try {
+                    writer.write(csv ? toCsv(statementLine) : objectMapper.writeValueAsString(statementLine));
+                    writer.write('\n');
+                    if (++lineCount[0] % FLUSH_EVERY_LINES == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            LOGGER.debug("{} statement line(s) exported for account ID {}", lineCount[0], accountId);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? TEXT_CSV_VALUE : APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    private String toCsv(StatementLine statementLine) {
+        return statementLine.getTimestamp() + "," + statementLine.getAmount().toPlainString() + ","
+                + statementLine.getCurrentBalance().toPlainString();
+    }
 }
@@ -3,7 +3,6 @@ package com.yma.bank.domain;
 import lombok.Getter;
 import lombok.NonNull;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -20,7 +19,7 @@ public class Account {
      * operation in the operation List.
      */
     @Getter
-    private final BigDecimal baseLineBalance;
+    private final Money baseLineBalance;
 
     /**
      * The latest operations list to display on this account.
@@ -28,13 +27,29 @@ public class Account {
     @Getter
     private final List<Operation> operationList;
 
+    /**
+     * The persisted version of the account when it was loaded, used to detect concurrent modifications.
+     * Null when the account was not loaded as a snapshot.
+     */
+    @Getter
+    private final Long version;
+
     public Account(
             Long accountId,
-            BigDecimal baseLineBalance,
+            Money baseLineBalance,
             List<Operation> operationList) {
+        this(accountId, baseLineBalance, operationList, null);
+    }
+
+    public Account(
+            Long accountId,
+            Money baseLineBalance,
+            List<Operation> operationList,
+            Long version) {
         this.accountId = accountId;
         this.baseLineBalance = baseLineBalance;
         this.operationList = operationList == null || operationList.isEmpty() ? new ArrayList<>(0) : operationList;
+        this.version = version;
     }
 
     public Optional<Long> getAccountId() {
@@ -45,7 +60,7 @@ public class Account {
      * Tries to deposit a certain amount of money to this account.
      * Creates a new operation with a positive value.
      */
-    public Operation deposit(@NonNull BigDecimal money) {
+    public Operation deposit(@NonNull Money money) {
         if (money.signum() <= 0) {
             throw new DomainException("The deposit amount must be positive.");
         }
@@ -64,8 +79,8 @@ public class Account {
      * Creates a new operation with a negative value.
      * if the given amount is greater than the balance of this account, a DomainException exception is thrown
      */
-    public Operation withdraw(@NonNull BigDecimal money) {
-        BigDecimal balance = this.calculateBalance();
+    public Operation withdraw(@NonNull Money money) {
+        Money balance = this.calculateBalance();
         if (!mayWithdraw(money, balance)) {
             throw new DomainException(String.format("Insufficient balance: Withdrawal of %s is not possible, current balance: %s", money, balance));
         }
@@ -80,7 +95,17 @@ public class Account {
         return this.addOperation(withdrawal);
     }
 
-    private boolean mayWithdraw(BigDecimal money, BigDecimal balance) {
+    /**
+     * Deposits or withdraws the given amount depending on the operation type.
+     */
+    public Operation apply(@NonNull OperationTypeEnum operationType, @NonNull Money money) {
+        return switch (operationType) {
+            case DEPOSIT -> deposit(money);
+            case WITHDRAWAL -> withdraw(money);
+        };
+    }
+
+    private boolean mayWithdraw(Money money, Money balance) {
         return balance.compareTo(money) >= 0;
     }
 
@@ -102,24 +127,21 @@ public class Account {
     /**
      * Calculates the total balance of the account by adding the operation values to the baseline balance.
      */
-    public BigDecimal calculateBalance() {
-        return this.baseLineBalance.add(this.calculateBalanceOperationsToDisplay());
+    public Money calculateBalance() {
+        return this.baseLineBalance.plus(this.calculateBalanceOperationsToDisplay());
     }
 
     /**
      * Calculates the balance by summing up the values of all operations displayed.
      */
-    public BigDecimal calculateBalanceOperationsToDisplay() {
-        BigDecimal depositBalance = operationList.stream()
-                .filter(operation -> operation.getOperationType() == OperationTypeEnum.DEPOSIT)
-                .map(Operation::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal withdrawalBalance = operationList.stream()
-                .filter(operation -> operation.getOperationType() == OperationTypeEnum.WITHDRAWAL)
-                .map(Operation::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        return depositBalance.add(withdrawalBalance.negate());
+    public Money calculateBalanceOperationsToDisplay() {
+        long balance = 0L;
+        for (Operation operation : operationList) {
+            long amount = operation.getAmount().getMinorUnits();
+            balance = operation.getOperationType() == OperationTypeEnum.WITHDRAWAL
+                    ? Math.subtractExact(balance, amount)
+                    : Math.addExact(balance, amount);
+        }
+        return Money.ofMinorUnits(balance);
     }
 }
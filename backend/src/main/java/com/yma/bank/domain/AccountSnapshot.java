@@ -0,0 +1,24 @@
+package com.yma.bank.domain;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an account after the write that brought it to {@link #version}: the balance resulting from every
+ * operation of the account log up to that version. Taken at {@link #takenAt}, after all those operations.
+ */
+@Getter
+public class AccountSnapshot {
+    private final Long accountId;
+    private final Long version;
+    private final Money balance;
+    private final LocalDateTime takenAt;
+
+    public AccountSnapshot(Long accountId, Long version, Money balance, LocalDateTime takenAt) {
+        this.accountId = accountId;
+        this.version = version;
+        this.balance = balance;
+        this.takenAt = takenAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yma.bank.domain;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of an account, maintained from its operations once they are projected into the history: the balance,
+ * the number of operations and the time of the last one. Lags the writes by the delay of the projection.
+ */
+@Getter
+public class AccountSummary {
+    private final Long accountId;
+    private final Money balance;
+    private final LocalDateTime lastOperationAt;
+    private final long operationCount;
+
+    public AccountSummary(Long accountId, Money balance, LocalDateTime lastOperationAt, long operationCount) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.lastOperationAt = lastOperationAt;
+        this.operationCount = operationCount;
+    }
+}
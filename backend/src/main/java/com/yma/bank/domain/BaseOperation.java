@@ -1,7 +1,6 @@
 package com.yma.bank.domain;
 
 import lombok.Getter;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Getter
@@ -14,7 +13,7 @@ public abstract class BaseOperation {
     /**
      * The money that was deposited or withdrawn.
      */
-    private final BigDecimal amount;
+    private final Money amount;
 
     /**
      * The timestamp of the operation.
@@ -23,11 +22,18 @@ public abstract class BaseOperation {
 
     private final OperationTypeEnum operationType;
 
-    protected BaseOperation(Long id, Long accountId, LocalDateTime timestamp, BigDecimal amount, OperationTypeEnum operationType) {
+    protected BaseOperation(Long id, Long accountId, LocalDateTime timestamp, Money amount, OperationTypeEnum operationType) {
         this.id = id;
         this.accountId = accountId;
         this.timestamp = timestamp;
         this.amount = amount;
         this.operationType = operationType;
     }
+
+    /**
+     * The amount as it affects the balance: positive for a deposit, negative for a withdrawal.
+     */
+    public Money getSignedAmount() {
+        return operationType == OperationTypeEnum.WITHDRAWAL ? amount.negate() : amount;
+    }
 }
@@ -0,0 +1,11 @@
+package com.yma.bank.domain;
+
+/**
+ * Thrown when an operation could not be recorded because the account was modified
+ * by another operation since it was loaded. The operation may be retried on a fresh snapshot.
+ */
+public class ConcurrentOperationException extends DomainException {
+    public ConcurrentOperationException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.yma.bank.domain;
+
+/**
+ * Thrown when an operation could not be recorded because another operation was already recorded
+ * with the same idempotency key. Nothing is recorded.
+ */
+public class DuplicateOperationException extends DomainException {
+    public DuplicateOperationException(final String message) {
+        super(message);
+    }
+}
@@ -3,12 +3,11 @@ package com.yma.bank.domain;
 import lombok.Getter;
 import lombok.NonNull;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 public class Operation extends BaseOperation {
-    public Operation(Long id, Long accountId, LocalDateTime timestamp, BigDecimal amount, OperationTypeEnum operationType) {
+    public Operation(Long id, Long accountId, LocalDateTime timestamp, Money amount, OperationTypeEnum operationType) {
         super(id, accountId, timestamp, amount, operationType);
     }
 
@@ -2,13 +2,12 @@ package com.yma.bank.domain;
 
 import lombok.Getter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Getter
 public final class OperationHistory extends BaseOperation {
-    public OperationHistory(Long id, Long accountId, LocalDateTime timestamp, BigDecimal amount, OperationTypeEnum operationType) {
+    public OperationHistory(Long id, Long accountId, LocalDateTime timestamp, Money amount, OperationTypeEnum operationType) {
         super(id, accountId, timestamp, amount, operationType);
     }
 
@@ -0,0 +1,202 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.domain.Account;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of the account snapshots (running balance and version), keyed by account ID.
+ * <p>
+ * Entries are loaded through {@link AccountRepository#getAccountSnapshot} and replaced by the state committed
+ * by every write of this node, so a cached balance is never older than the last operation committed on this node.
+ * A committed state only replaces a cached one with a lower version, and a load racing with an invalidation is not
+ * cached, so a late writer or a slow load cannot bring an older state back. Entries expire after the time to live,
+ * which bounds how long the writes of other nodes stay unseen, and the least recently used entry is evicted
+ * when the cache is full.
+ * <p>
+ * The accounts are spread by ID over {@value #MAX_STRIPES} stripes at most, each with its own lock, size bound and
+ * least recently used order, so that only accounts of the same stripe ever wait for each other.
+ */
+public class AccountCache {
+
+    static final int MAX_STRIPES = 16;
+
+    private final AccountRepository accountRepository;
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final Stripe[] stripes;
+
+    public AccountCache(AccountRepository accountRepository, int maximumSize, Duration timeToLive) {
+        this(accountRepository, maximumSize, timeToLive, System::nanoTime);
+    }
+
+    AccountCache(AccountRepository accountRepository, int maximumSize, Duration timeToLive, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the account cache must be positive");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The time to live of the account cache must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+        this.stripes = new Stripe[Math.min(MAX_STRIPES, maximumSize)];
+        for (int i = 0; i < stripes.length; i++) {
+            // Répartit maximumSize entre les segments, les premiers prenant le reste de la division
+            stripes[i] = new Stripe(maximumSize / stripes.length + (i < maximumSize % stripes.length ? 1 : 0));
+        }
+    }
+
+    /**
+     * Returns a copy of the account snapshot, loading it through the repository if it is not cached or expired.
+     * The copy can accumulate operations without affecting the cache.
+     */
+    public Optional<Account> get(Long accountId) {
+        Stripe stripe = stripeOf(accountId);
+        long invalidationsBeforeLoad;
+        synchronized (stripe) {
+            Entry entry = stripe.entries.get(accountId);
+            if (entry != null && ticker.getAsLong() - entry.cachedAt < timeToLiveNanos) {
+                hits.increment();
+                return Optional.of(copy(entry.account));
+            }
+            if (entry != null) {
+                stripe.entries.remove(accountId);
+                evictions.increment();
+            }
+            invalidationsBeforeLoad = stripe.invalidations;
+        }
+        misses.increment();
+
+        Optional<Account> account = accountRepository.getAccountSnapshot(accountId);
+        account.ifPresent(loaded -> {
+            synchronized (stripe) {
+                if (stripe.invalidations == invalidationsBeforeLoad) {
+                    putIfNewer(stripe, accountId, loaded);
+                }
+            }
+        });
+        return account.map(AccountCache::copy);
+    }
+
+    /**
+     * Caches the state of the account once a write is committed: the balance of the snapshot with the operations
+     * it holds applied, and the next version if the write recorded any operation on it.
+     */
+    public void commit(Account account) {
+        Long accountId = account.getAccountId().orElse(null);
+        Long version = account.getVersion();
+        if (version == null) {
+            invalidate(accountId);
+            return;
+        }
+        Account committed = new Account(accountId, account.calculateBalance(), new ArrayList<>(),
+                account.getOperationList().isEmpty() ? version : version + 1);
+        Stripe stripe = stripeOf(accountId);
+        synchronized (stripe) {
+            putIfNewer(stripe, accountId, committed);
+        }
+    }
+
+    /**
+     * Drops the account, typically because a write on it failed and its persisted state is unknown.
+     */
+    public void invalidate(Long accountId) {
+        Stripe stripe = stripeOf(accountId);
+        synchronized (stripe) {
+            stripe.entries.remove(accountId);
+            stripe.invalidations++;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries removed because the cache was full or because they expired.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(Long accountId) {
+        int hash = Long.hashCode(accountId);
+        return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+    }
+
+    /**
+     * Must be called while holding the lock of the stripe.
+     */
+    private void putIfNewer(Stripe stripe, Long accountId, Account account) {
+        if (account.getVersion() == null) {
+            return;
+        }
+        Entry cached = stripe.entries.get(accountId);
+        if (cached == null || cached.account.getVersion() < account.getVersion()
+                || (cached.account.getVersion().equals(account.getVersion()) && ticker.getAsLong() - cached.cachedAt >= timeToLiveNanos)) {
+            stripe.entries.put(accountId, new Entry(copy(account), ticker.getAsLong()));
+        }
+    }
+
+    private static Account copy(Account account) {
+        return new Account(account.getAccountId().orElse(null), account.calculateBalance(), new ArrayList<>(), account.getVersion());
+    }
+
+    private record Entry(Account account, long cachedAt) {
+    }
+
+    /**
+     * The entries of the accounts hashed to one stripe, in least recently used order. Guarded by the stripe itself.
+     */
+    private final class Stripe {
+        private final Map<Long, Entry> entries;
+
+        /**
+         * Incremented by every invalidation, so that a load started before an invalidation is not cached.
+         */
+        private long invalidations;
+
+        private Stripe(int maximumSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > maximumSize) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+}
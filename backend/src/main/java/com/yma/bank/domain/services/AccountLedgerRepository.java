@@ -0,0 +1,26 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.domain.AccountSnapshot;
+import com.yma.bank.domain.Money;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The append-only log of the operations of each account, ordered by the account version of the write
+ * that recorded them, with a snapshot of the account every few versions.
+ */
+public interface AccountLedgerRepository {
+    /**
+     * Returns the balance resulting from every operation recorded strictly before the given date, rehydrated from the
+     * latest snapshot taken before that date plus the operations logged after it. The cost of the lookup depends on
+     * how far the date is from the latest snapshot, at most the snapshot interval for the current balance,
+     * and not on the age of the account.
+     */
+    Money getBalanceBefore(Long accountId, LocalDateTime date);
+
+    /**
+     * Returns the most recent snapshot of the account taken strictly before the given date.
+     */
+    Optional<AccountSnapshot> findLatestSnapshotBefore(Long accountId, LocalDateTime date);
+}
@@ -3,10 +3,30 @@ package com.yma.bank.domain.services;
 import com.yma.bank.domain.Account;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AccountRepository {
     Optional<Account> getAccount(Long accountId, LocalDateTime baselineDate);
     List<Account> getAllAccounts(LocalDateTime baselineDate);
+
+    /**
+     * Returns at most {@code limit} accounts whose ID is strictly greater than {@code afterAccountId},
+     * ordered by account ID. A null {@code afterAccountId} starts from the first account.
+     */
+    List<Account> getAccountsAfter(Long afterAccountId, int limit, LocalDateTime baselineDate);
+
+    /**
+     * Loads the account with its persisted running balance as baseline and no operation to display.
+     * The cost of this lookup does not depend on the size of the account history.
+     */
+    Optional<Account> getAccountSnapshot(Long accountId);
+
+    /**
+     * Same as {@link #getAccountSnapshot} for several accounts in one lookup, keyed by account ID.
+     * Unknown accounts are absent from the result.
+     */
+    Map<Long, Account> getAccountSnapshots(Collection<Long> accountIds);
 }
@@ -1,15 +1,54 @@
 package com.yma.bank.domain.services;
 
 import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
 import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.application.response.AccountPageDTO;
+import com.yma.bank.application.response.BulkOperationResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface AccountService {
     void sendMoney(NewOperationRequest newOperationRequest);
 
+    /**
+     * Same as {@link #sendMoney}, but the outcome is delivered through the returned future,
+     * which lets the operation be processed by the batched command pipeline when it is enabled.
+     */
+    CompletableFuture<Void> submitOperation(NewOperationRequest newOperationRequest);
+
+    /**
+     * Records many operations at once: the operations are grouped by account, each account balance is validated
+     * once against its snapshot and the accepted operations are written with batched inserts.
+     * An operation rejected by the domain rules does not prevent the others from being recorded.
+     * An operation with an idempotency key is recorded on its own, as {@link #sendMoney} does, and reported as accepted
+     * without being recorded again when its key was already used.
+     *
+     * @return one result per request, in the order of the requests
+     */
+    List<BulkOperationResult> sendMoneyInBulk(List<NewOperationRequest> newOperationRequests);
+
+    /**
+     * Moves money from one account to another: the withdrawal from the source account and the deposit to the target
+     * account are recorded together, in a single transaction, or not at all.
+     */
+    void transfer(TransferRequest transferRequest);
+
+    /**
+     * Returns the balance of the account before the baseline date, or its current balance if the date is null.
+     */
     AccountDTO getAccount(Long accountId, LocalDateTime baselineDate);
 
+    /**
+     * Returns the balance of every account before the baseline date or, if the date is null, its current balance from
+     * the account summaries, which lag the writes by the delay of the projection.
+     */
     List<AccountDTO> getAllAccounts(LocalDateTime baselineDate);
+
+    /**
+     * Same as {@link #getAllAccounts} for one page of accounts ordered by account ID.
+     */
+    AccountPageDTO getAccountsPage(String cursor, int limit, LocalDateTime baselineDate);
 }
@@ -1,44 +1,108 @@
 package com.yma.bank.domain.services;
 
 import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
 import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.application.response.AccountPageDTO;
+import com.yma.bank.application.response.BulkOperationResult;
 import com.yma.bank.domain.Account;
+import com.yma.bank.domain.AccountSummary;
+import com.yma.bank.domain.ConcurrentOperationException;
 import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.DuplicateOperationException;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.Operation;
-import com.yma.bank.infrastructure.repository.OperationMapper;
+import com.yma.bank.domain.OperationTypeEnum;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 
 public class AccountServiceImpl implements AccountService {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccountServiceImpl.class);
 
-    private final OperationRepository operationRepository;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    static final int MAX_OPERATION_ATTEMPTS = 10;
+
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    /**
+     * Number of operations recorded per transaction by {@link #sendMoneyInBulk}. The operations of one account
+     * are never split across transactions, so a chunk may exceed this size.
+     */
+    static final int BULK_CHUNK_SIZE = 5000;
+
+    private final LongAdder concurrentModificationRetries = new LongAdder();
 
-    private final OperationHistoryRepository operationHistoryRepository;
+    private final OperationRepository operationRepository;
 
     private final AccountRepository accountRepository;
 
-    private final OperationMapper operationMapper;
+    /**
+     * Optional batched pipeline used by {@link #submitOperation}, null when operations are processed synchronously.
+     */
+    private final OperationCommandProcessor operationCommandProcessor;
+
+    /**
+     * Optional cache of the account snapshots, null when every snapshot is read from the repository.
+     */
+    private final AccountCache accountCache;
+
+    /**
+     * Optional index of the idempotency keys, null when the keys of the requests are ignored.
+     */
+    private final IdempotencyIndex idempotencyIndex;
+
+    /**
+     * Optional store of the idempotency keys of the recorded operations, null when they are only known in memory.
+     */
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
 
+    /**
+     * Optional read model serving the accounts and their listings without baseline date, null when they come from
+     * the account snapshots and the operations. It lags behind the writes, so the reads requiring
+     * {@link ReadConsistency#readYourWrites()} skip it.
+     */
+    private final AccountSummaryRepository accountSummaryRepository;
+
+    /**
+     * Every collaborator after {@code accountRepository} is optional and may be null, see the matching field.
+     */
     public AccountServiceImpl(OperationRepository operationRepository,
-                              OperationHistoryRepository operationHistoryRepository,
                               AccountRepository accountRepository,
-                              OperationMapper operationMapper
-                              ) {
+                              OperationCommandProcessor operationCommandProcessor,
+                              AccountCache accountCache,
+                              IdempotencyIndex idempotencyIndex,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              AccountSummaryRepository accountSummaryRepository) {
         this.operationRepository = operationRepository;
-        this.operationHistoryRepository = operationHistoryRepository;
         this.accountRepository = accountRepository;
-        this.operationMapper = operationMapper;
+        this.operationCommandProcessor = operationCommandProcessor;
+        this.accountCache = accountCache;
+        this.idempotencyIndex = idempotencyIndex;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.accountSummaryRepository = accountSummaryRepository;
     }
 
     /**
      * deposit a certain amount of money to the given account.
      * if the given account isn't, a DomainException exception is thrown
      * If successful, a new operation with a positive value is created.
+     * A request with an idempotency key already recorded returns without recording anything.
      *
      * @param newOperationRequest
      */
@@ -47,43 +111,505 @@ public class AccountServiceImpl implements AccountService {
         if (newOperationRequest == null) {
             throw new DomainException("Invalid request: newOperationRequest is null");
         }
-        LOGGER.info("Processing transaction for account ID: {}", newOperationRequest.getAccountId());
+        if (isIdempotent(newOperationRequest)) {
+            join(submitOnce(newOperationRequest));
+            return;
+        }
+        record(newOperationRequest);
+    }
+
+    /**
+     * Records the operation, retrying it on a fresh snapshot as long as its account is modified concurrently.
+     * The last attempt locks the account instead, so that a withdrawal on a busy account is eventually recorded
+     * or rejected on its balance; a deposit never conflicts.
+     */
+    private void record(NewOperationRequest newOperationRequest) {
+        LOGGER.debug("Processing transaction for account ID: {}", newOperationRequest.getAccountId());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                if (attempt < MAX_OPERATION_ATTEMPTS) {
+                    recordOperation(newOperationRequest);
+                } else {
+                    recordOperationLocked(newOperationRequest);
+                }
+                OperationAuditLog.recorded(newOperationRequest, attempt);
+                return;
+            } catch (ConcurrentOperationException e) {
+                concurrentModificationRetries.increment();
+                if (attempt >= MAX_OPERATION_ATTEMPTS) {
+                    LOGGER.warn("Giving up on account ID {} after {} concurrent modifications", newOperationRequest.getAccountId(), attempt);
+                    OperationAuditLog.rejected(newOperationRequest, attempt, e);
+                    throw e;
+                }
+                backOff(attempt);
+            } catch (DuplicateOperationException e) {
+                throw e;
+            } catch (DomainException e) {
+                OperationAuditLog.rejected(newOperationRequest, attempt, e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * The requests with an idempotency key bypass the batched command pipeline: their key must be recorded
+     * in the same transaction as their operation.
+     */
+    @Override
+    public CompletableFuture<Void> submitOperation(NewOperationRequest newOperationRequest) {
+        if (newOperationRequest != null && isIdempotent(newOperationRequest)) {
+            return submitOnce(newOperationRequest);
+        }
+        if (operationCommandProcessor != null) {
+            return operationCommandProcessor.submit(newOperationRequest);
+        }
+        try {
+            sendMoney(newOperationRequest);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean isIdempotent(NewOperationRequest newOperationRequest) {
+        return idempotencyIndex != null && newOperationRequest.getIdempotencyKey() != null;
+    }
+
+    /**
+     * Records the operation unless an operation was already recorded with the same idempotency key, on this node
+     * as told by the index, or on any node as told by the key store. Requests retried while the first one is
+     * processed get its result.
+     */
+    private CompletableFuture<Void> submitOnce(NewOperationRequest newOperationRequest) {
+        String key = newOperationRequest.getIdempotencyKey();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            CompletableFuture<Void> earlier = idempotencyIndex.claim(newOperationRequest, result);
+            if (earlier != null) {
+                LOGGER.debug("Request with idempotency key {} already submitted, returning its result", key);
+                return earlier;
+            }
+        } catch (DomainException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        try {
+            Optional<NewOperationRequest> recorded = findRecordedOperation(key);
+            if (recorded.isPresent()) {
+                LOGGER.debug("Operation with idempotency key {} already recorded", key);
+                IdempotencyIndex.checkSameOperation(recorded.get(), newOperationRequest);
+            } else {
+                try {
+                    record(newOperationRequest);
+                } catch (DuplicateOperationException e) {
+                    // Enregistrée entre-temps par un autre nœud : son résultat est celui de cette requête
+                    IdempotencyIndex.checkSameOperation(findRecordedOperation(key).orElseThrow(() -> e), newOperationRequest);
+                }
+            }
+            result.complete(null);
+        } catch (RuntimeException e) {
+            idempotencyIndex.release(key, result);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private Optional<NewOperationRequest> findRecordedOperation(String idempotencyKey) {
+        return idempotencyKeyRepository != null ? idempotencyKeyRepository.findOperation(idempotencyKey) : Optional.empty();
+    }
+
+    private static void join(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public List<BulkOperationResult> sendMoneyInBulk(List<NewOperationRequest> newOperationRequests) {
+        if (newOperationRequests == null) {
+            throw new DomainException("Invalid request: newOperationRequests is null");
+        }
+        LOGGER.info("Processing a bulk of {} operations", newOperationRequests.size());
+        BulkOperationResult[] results = new BulkOperationResult[newOperationRequests.size()];
+
+        // Positions des opérations de chaque compte, dans l'ordre de soumission
+        Map<Long, List<Integer>> positionsByAccountId = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            NewOperationRequest request = newOperationRequests.get(i);
+            if (request == null) {
+                results[i] = BulkOperationResult.rejected(null, "Invalid request: newOperationRequest is null");
+            } else if (isIdempotent(request)) {
+                // Les opérations qui la précèdent sont enregistrées d'abord, pour garder l'ordre de chaque compte
+                recordInChunks(newOperationRequests, positionsByAccountId, results);
+                positionsByAccountId.clear();
+                results[i] = recordOnce(request);
+            } else {
+                positionsByAccountId.computeIfAbsent(request.getAccountId(), accountId -> new ArrayList<>()).add(i);
+            }
+        }
+        recordInChunks(newOperationRequests, positionsByAccountId, results);
+
+        LOGGER.info("Bulk of {} operations processed", results.length);
+        return List.of(results);
+    }
+
+    /**
+     * Records an operation of a bulk carrying an idempotency key as {@link #sendMoney} does, its key being recorded
+     * in the same transaction. An operation already recorded with the same key is reported as accepted.
+     */
+    private BulkOperationResult recordOnce(NewOperationRequest request) {
+        try {
+            join(submitOnce(request));
+            return BulkOperationResult.accepted(request.getAccountId());
+        } catch (DomainException e) {
+            return BulkOperationResult.rejected(request.getAccountId(), e.getMessage());
+        }
+    }
+
+    private void recordInChunks(List<NewOperationRequest> requests, Map<Long, List<Integer>> positionsByAccountId,
+                                BulkOperationResult[] results) {
+        Map<Long, List<Integer>> chunk = new LinkedHashMap<>();
+        int chunkSize = 0;
+        for (Map.Entry<Long, List<Integer>> entry : positionsByAccountId.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            chunkSize += entry.getValue().size();
+            if (chunkSize >= BULK_CHUNK_SIZE) {
+                recordChunk(requests, chunk, results);
+                chunk.clear();
+                chunkSize = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            recordChunk(requests, chunk, results);
+        }
+    }
+
+    /**
+     * Validates the operations of a chunk of accounts against one snapshot per account and records the accepted ones
+     * in a single transaction, replaying the whole chunk on fresh snapshots if an account was modified concurrently.
+     * Each operation is audited once with its final outcome.
+     */
+    private void recordChunk(List<NewOperationRequest> requests, Map<Long, List<Integer>> positionsByAccountId,
+                             BulkOperationResult[] results) {
+        for (int attempt = 1; ; attempt++) {
+            Map<Long, Account> snapshots = accountRepository.getAccountSnapshots(positionsByAccountId.keySet());
+            Map<Integer, DomainException> rejections = new HashMap<>();
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> acceptedPositions = new ArrayList<>();
+            Map<Long, Long> expectedVersions = new HashMap<>();
+
+            positionsByAccountId.forEach((accountId, positions) -> {
+                Account account = snapshots.get(accountId);
+                for (Integer position : positions) {
+                    try {
+                        if (account == null) {
+                            throw new DomainException(String.format("Account with %s number not found", accountId));
+                        }
+                        NewOperationRequest request = requests.get(position);
+                        operations.add(account.apply(request.getOperationType(), Money.of(request.getAmount())));
+                        acceptedPositions.add(position);
+                    } catch (DomainException e) {
+                        rejections.put(position, e);
+                    }
+                }
+                if (account != null && account.getVersion() != null) {
+                    expectedVersions.put(accountId, account.getVersion());
+                }
+            });
 
-        LocalDateTime baselineDate = LocalDateTime.now().minusDays(10);
-        Account account = accountRepository.getAccount(
-                newOperationRequest.getAccountId(),
-                baselineDate)
+            try {
+                operationRepository.saveOperations(operations, expectedVersions);
+                if (accountCache != null) {
+                    snapshots.values().forEach(accountCache::commit);
+                }
+            } catch (ConcurrentOperationException e) {
+                invalidate(positionsByAccountId.keySet());
+                concurrentModificationRetries.increment();
+                if (attempt < MAX_OPERATION_ATTEMPTS) {
+                    backOff(attempt);
+                    continue;
+                }
+                LOGGER.warn("Giving up on a bulk chunk after {} concurrent modifications", attempt);
+                acceptedPositions.forEach(position -> rejections.put(position, e));
+            } catch (DomainException e) {
+                invalidate(positionsByAccountId.keySet());
+                acceptedPositions.forEach(position -> rejections.put(position, e));
+            }
+            report(requests, positionsByAccountId, rejections, attempt, results);
+            return;
+        }
+    }
+
+    private static void report(List<NewOperationRequest> requests, Map<Long, List<Integer>> positionsByAccountId,
+                               Map<Integer, DomainException> rejections, int attempts, BulkOperationResult[] results) {
+        positionsByAccountId.values().forEach(positions -> positions.forEach(position -> {
+            NewOperationRequest request = requests.get(position);
+            DomainException cause = rejections.get(position);
+            if (cause == null) {
+                results[position] = BulkOperationResult.accepted(request.getAccountId());
+                OperationAuditLog.recorded(request, attempts);
+            } else {
+                results[position] = BulkOperationResult.rejected(request.getAccountId(), cause.getMessage());
+                OperationAuditLog.rejected(request, attempts, cause);
+            }
+        }));
+    }
+
+    /**
+     * Validates both legs against fresh snapshots of the two accounts and records them with a single
+     * {@link OperationRepository#saveOperations} call, which updates the balances in account ID order: two transfers
+     * between the same accounts in opposite directions lock them in the same order and cannot deadlock.
+     * The transfer is retried on fresh snapshots while one of the accounts is modified concurrently.
+     */
+    @Override
+    public void transfer(TransferRequest transferRequest) {
+        if (transferRequest == null) {
+            throw new DomainException("Invalid request: transferRequest is null");
+        }
+        if (transferRequest.getSourceAccountId().equals(transferRequest.getTargetAccountId())) {
+            throw new DomainException("Invalid transfer: the source and target accounts must be different");
+        }
+        Money amount = Money.of(transferRequest.getAmount());
+        if (amount.signum() <= 0) {
+            throw new DomainException("The transfer amount must be positive.");
+        }
+        LOGGER.debug("Processing transfer from account ID {} to account ID {}",
+                transferRequest.getSourceAccountId(), transferRequest.getTargetAccountId());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                recordTransfer(transferRequest, amount);
+                OperationAuditLog.recorded(transferRequest, attempt);
+                return;
+            } catch (ConcurrentOperationException e) {
+                concurrentModificationRetries.increment();
+                if (attempt >= MAX_OPERATION_ATTEMPTS) {
+                    LOGGER.warn("Giving up on transfer from account ID {} to account ID {} after {} concurrent modifications",
+                            transferRequest.getSourceAccountId(), transferRequest.getTargetAccountId(), attempt);
+                    OperationAuditLog.rejected(transferRequest, attempt, e);
+                    throw e;
+                }
+                backOff(attempt);
+            } catch (DomainException e) {
+                OperationAuditLog.rejected(transferRequest, attempt, e);
+                throw e;
+            }
+        }
+    }
+
+    private void recordTransfer(TransferRequest transferRequest, Money amount) {
+        Long sourceAccountId = transferRequest.getSourceAccountId();
+        Long targetAccountId = transferRequest.getTargetAccountId();
+        Account source = getAccountSnapshot(sourceAccountId)
+                .orElseThrow(() -> new DomainException(String.format("Account with %s number not found", sourceAccountId)));
+        Account target = getAccountSnapshot(targetAccountId)
+                .orElseThrow(() -> new DomainException(String.format("Account with %s number not found", targetAccountId)));
+
+        Operation debit = source.withdraw(amount);
+        Operation credit = target.deposit(amount);
+
+        Map<Long, Long> expectedVersions = new HashMap<>();
+        for (Account account : List.of(source, target)) {
+            if (account.getVersion() != null) {
+                expectedVersions.put(account.getAccountId().orElse(null), account.getVersion());
+            }
+        }
+        try {
+            operationRepository.saveOperations(List.of(debit, credit), expectedVersions);
+        } catch (RuntimeException e) {
+            invalidate(List.of(sourceAccountId, targetAccountId));
+            throw e;
+        }
+        if (accountCache != null) {
+            accountCache.commit(source);
+            accountCache.commit(target);
+        }
+    }
+
+
+    /**
+     * Validates the operation against a fresh snapshot of the account and records it. A withdrawal is only recorded
+     * if the account was not modified in the meantime, whereas a deposit, which cannot overdraw it, is added to
+     * the balance whatever its version.
+     */
+    private void recordOperation(NewOperationRequest newOperationRequest) {
+        Account account = getAccountSnapshot(newOperationRequest.getAccountId())
                 .orElseThrow(() -> new DomainException(String.format("Account with %s number not found", newOperationRequest.getAccountId())));
 
-        Operation operation;
-        switch (newOperationRequest.getOperationType()) {
-            case DEPOSIT -> operation = account.deposit(newOperationRequest.getAmount());
-            case WITHDRAWAL -> operation = account.withdraw(newOperationRequest.getAmount());
-            default -> throw new DomainException("Invalid operation type : " + newOperationRequest.getOperationType());
+        Operation operation = account.apply(newOperationRequest.getOperationType(), Money.of(newOperationRequest.getAmount()));
+        boolean deposit = operation.getOperationType() == OperationTypeEnum.DEPOSIT;
+        Long expectedVersion = deposit ? null : account.getVersion();
+        try {
+            if (isIdempotent(newOperationRequest)) {
+                operationRepository.saveOperation(operation, expectedVersion, newOperationRequest.getIdempotencyKey());
+            } else {
+                operationRepository.saveOperation(operation, expectedVersion);
+            }
+        } catch (RuntimeException e) {
+            invalidate(List.of(newOperationRequest.getAccountId()));
+            throw e;
+        }
+        if (deposit) {
+            // Des dépôts concurrents ont pu passer : l'état validé n'est pas connu
+            invalidate(List.of(newOperationRequest.getAccountId()));
+        } else if (accountCache != null) {
+            accountCache.commit(account);
+        }
+    }
+
+    /**
+     * Validates and records the operation while the account is locked, so that it cannot fail on a concurrent
+     * modification.
+     */
+    private void recordOperationLocked(NewOperationRequest newOperationRequest) {
+        Money amount = Money.of(newOperationRequest.getAmount());
+        String idempotencyKey = isIdempotent(newOperationRequest) ? newOperationRequest.getIdempotencyKey() : null;
+        Account account;
+        try {
+            account = operationRepository.saveOperationLocked(newOperationRequest.getAccountId(),
+                    locked -> locked.apply(newOperationRequest.getOperationType(), amount), idempotencyKey);
+        } catch (RuntimeException e) {
+            invalidate(List.of(newOperationRequest.getAccountId()));
+            throw e;
         }
+        if (accountCache != null) {
+            accountCache.commit(account);
+        }
+    }
 
-        operationRepository.saveOperation(operation);
-        operationHistoryRepository.save(operationMapper.toHistory(operation));
+    private Optional<Account> getAccountSnapshot(Long accountId) {
+        return accountCache != null ? accountCache.get(accountId) : accountRepository.getAccountSnapshot(accountId);
+    }
 
-        LOGGER.info("Operation successfully recorded for account ID {}", newOperationRequest.getAccountId());
+    private void invalidate(Collection<Long> accountIds) {
+        if (accountCache != null) {
+            accountIds.forEach(accountCache::invalidate);
+        }
     }
 
+    /**
+     * Waits a random delay that grows with the number of attempts, so that writers
+     * colliding on the same account do not retry in lockstep.
+     */
+    private static void backOff(int attempt) {
+        long maxDelayMillis = 1L << Math.min(attempt, MAX_BACKOFF_SHIFT);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxDelayMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DomainException("Interrupted while retrying the operation");
+        }
+    }
+
+    /**
+     * Number of times an operation was retried because its account was modified concurrently.
+     */
+    public long getConcurrentModificationRetries() {
+        return concurrentModificationRetries.sum();
+    }
+
+    /**
+     * Without baseline date, returns the account from the same account summaries as the listings, so that both agree.
+     * Without summaries, or when the read must see the previous writes, the current balance comes from the account
+     * snapshot, which is served by the account cache when it is enabled instead of aggregating the operation history.
+     */
     @Override
     public AccountDTO getAccount(Long accountId, LocalDateTime baselineDate) {
-        LOGGER.info("Searching for account ID {}", accountId);
+        LOGGER.debug("Searching for account ID {}", accountId);
+        if (isServedBySummaries(baselineDate)) {
+            return accountSummaryRepository.getSummary(accountId)
+                    .map(AccountServiceImpl::toAccountDTO)
+                    .orElseThrow(() -> new DomainException("Account not found with ID: " + accountId));
+        }
+        if (baselineDate == null) {
+            Account snapshot = getAccountSnapshot(accountId)
+                    .orElseThrow(() -> new DomainException("Account not found with ID: " + accountId));
+            return new AccountDTO(accountId, snapshot.getBaseLineBalance().toBigDecimal());
+        }
         Account account = accountRepository.getAccount(accountId, baselineDate)
-                .orElseThrow(() -> new DomainException("Account with ID %s not found" + accountId));
+                .orElseThrow(() -> new DomainException("Account not found with ID: " + accountId));
 
-        return new AccountDTO(account.getAccountId().orElse(null), account.getBaseLineBalance());
+        return new AccountDTO(account.getAccountId().orElse(null), account.getBaseLineBalance().toBigDecimal());
     }
 
     @Override
     public List<AccountDTO> getAllAccounts(LocalDateTime baselineDate) {
-        LOGGER.info("Searching all accounts");
+        LOGGER.debug("Searching all accounts");
+        if (isServedBySummaries(baselineDate)) {
+            return accountSummaryRepository.getAllSummaries().stream().map(AccountServiceImpl::toAccountDTO).toList();
+        }
         List<AccountDTO> accountDTOs = new ArrayList<>();
-        accountRepository.getAllAccounts(baselineDate).forEach(account -> {
-            accountDTOs.add(new AccountDTO(account.getAccountId().orElse(null), account.getBaseLineBalance()));
+        accountRepository.getAllAccounts(orNow(baselineDate)).forEach(account -> {
+            accountDTOs.add(new AccountDTO(account.getAccountId().orElse(null), account.getBaseLineBalance().toBigDecimal()));
         });
         return accountDTOs;
     }
+
+    /**
+     * Returns one page of accounts ordered by account ID, using a keyset cursor so that
+     * the cost of a page does not depend on its position.
+     *
+     * @param cursor opaque token returned by the previous page, or null for the first page
+     * @param limit  maximum number of accounts in the page, capped to {@value #MAX_PAGE_SIZE}
+     */
+    @Override
+    public AccountPageDTO getAccountsPage(String cursor, int limit, LocalDateTime baselineDate) {
+        if (limit <= 0) {
+            throw new DomainException("The page limit must be positive.");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+        List<AccountDTO> accountDTOs = new ArrayList<>(pageSize);
+        if (isServedBySummaries(baselineDate)) {
+            accountSummaryRepository.getSummariesAfter(decodeCursor(cursor), pageSize)
+                    .forEach(summary -> accountDTOs.add(toAccountDTO(summary)));
+        } else {
+            accountRepository.getAccountsAfter(decodeCursor(cursor), pageSize, orNow(baselineDate)).forEach(account -> {
+                accountDTOs.add(new AccountDTO(account.getAccountId().orElse(null), account.getBaseLineBalance().toBigDecimal()));
+            });
+        }
+
+        String nextCursor = accountDTOs.size() < pageSize
+                ? null
+                : encodeCursor(accountDTOs.get(accountDTOs.size() - 1).getAccountId());
+        return new AccountPageDTO(accountDTOs, nextCursor);
+    }
+
+    private boolean isServedBySummaries(LocalDateTime baselineDate) {
+        return baselineDate == null && accountSummaryRepository != null && !ReadConsistency.isReadYourWritesRequired();
+    }
+
+    private static AccountDTO toAccountDTO(AccountSummary summary) {
+        return new AccountDTO(summary.getAccountId(), summary.getBalance().toBigDecimal(),
+                summary.getLastOperationAt(), summary.getOperationCount());
+    }
+
+    /**
+     * Without account summaries, the current balances are aggregated from the operations up to now.
+     */
+    private static LocalDateTime orNow(LocalDateTime baselineDate) {
+        return baselineDate != null ? baselineDate : LocalDateTime.now();
+    }
+
+    private static String encodeCursor(Long accountId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(accountId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new DomainException("Invalid page cursor: " + cursor);
+        }
+    }
 }
@@ -0,0 +1,29 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.domain.AccountSummary;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves the current state of the accounts from their summaries, without reading their operations. An account
+ * without projected operation has a zero summary.
+ */
+public interface AccountSummaryRepository {
+
+    /**
+     * Returns the summaries of every account, ordered by account ID.
+     */
+    List<AccountSummary> getAllSummaries();
+
+    /**
+     * Returns the summary of the given account, empty when the account does not exist.
+     */
+    Optional<AccountSummary> getSummary(Long accountId);
+
+    /**
+     * Returns at most {@code limit} summaries of accounts whose ID is strictly greater than {@code afterAccountId},
+     * ordered by account ID. A null {@code afterAccountId} starts from the first account.
+     */
+    List<AccountSummary> getSummariesAfter(Long afterAccountId, int limit);
+}
@@ -0,0 +1,160 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.DomainException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process index of the idempotency keys of the operations submitted on this node, so that a retried
+ * request gets the outcome of the first request with the same key without its account being loaded again.
+ * <p>
+ * A key is claimed with the future of the first request carrying it: the requests retried while it is processed get
+ * the same future, and those retried once it completed get its outcome. A rejected request releases its key, so that
+ * it can be retried. Lookups never lock; only the claim of a new key locks, briefly, one bin of the underlying
+ * {@link ConcurrentHashMap}. Entries expire in claim order, after the time to live or as soon as the index is full,
+ * and are removed by the threads that claim new keys.
+ */
+public class IdempotencyIndex {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final int maximumSize;
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Claimed entries, oldest first. May still hold entries already released or replaced in {@link #entries}.
+     */
+    private final ConcurrentLinkedQueue<Entry> claimOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder replays = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    public IdempotencyIndex(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, System::nanoTime);
+    }
+
+    IdempotencyIndex(int maximumSize, Duration timeToLive, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of the idempotency index must be positive");
+        }
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The time to live of the idempotency index must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Claims the idempotency key of the request for the given result, unless another request holds it.
+     *
+     * @return null if the key is now held by the request, otherwise the result of the request holding the key
+     * @throws DomainException if the key is invalid, or held by a request for a different operation
+     */
+    public CompletableFuture<Void> claim(NewOperationRequest request, CompletableFuture<Void> result) {
+        String key = request.getIdempotencyKey();
+        validate(key);
+        long now = ticker.getAsLong();
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now)) {
+            return replay(existing, request);
+        }
+
+        Entry claimed = new Entry(key, request, result, now + timeToLiveNanos);
+        while (true) {
+            existing = entries.putIfAbsent(key, claimed);
+            if (existing == null) {
+                claimOrder.add(claimed);
+                expire(now);
+                return null;
+            }
+            if (!existing.isExpired(now)) {
+                return replay(existing, request);
+            }
+            entries.remove(key, existing);
+        }
+    }
+
+    /**
+     * Releases the key held for the given result, so that the request can be retried.
+     */
+    public void release(String key, CompletableFuture<Void> result) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.result == result) {
+            entries.remove(key, entry);
+        }
+    }
+
+    /**
+     * Number of requests answered with the result of an earlier request with the same key.
+     */
+    public long getReplayCount() {
+        return replays.sum();
+    }
+
+    /**
+     * Number of keys removed because the index was full or because they expired.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Checks that a request retried with the same key is the same operation as the request that holds the key.
+     *
+     * @throws DomainException if it is a different operation
+     */
+    public static void checkSameOperation(NewOperationRequest holder, NewOperationRequest request) {
+        if (!holder.getAccountId().equals(request.getAccountId())
+                || holder.getOperationType() != request.getOperationType()
+                || holder.getAmount().compareTo(request.getAmount()) != 0) {
+            throw new DomainException(String.format("Idempotency key %s was already used for a different operation",
+                    request.getIdempotencyKey()));
+        }
+    }
+
+    private CompletableFuture<Void> replay(Entry existing, NewOperationRequest request) {
+        checkSameOperation(existing.request, request);
+        replays.increment();
+        return existing.result;
+    }
+
+    private void expire(long now) {
+        Entry eldest;
+        while ((eldest = claimOrder.peek()) != null && (eldest.isExpired(now) || entries.size() > maximumSize)) {
+            // Un autre thread peut retirer la même entrée : seul celui qui la retire de la file la compte
+            if (claimOrder.remove(eldest) && entries.remove(eldest.key, eldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new DomainException(String.format("Invalid idempotency key: it must hold 1 to %d characters", MAX_KEY_LENGTH));
+        }
+    }
+
+    private record Entry(String key, NewOperationRequest request, CompletableFuture<Void> result, long expiresAt) {
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
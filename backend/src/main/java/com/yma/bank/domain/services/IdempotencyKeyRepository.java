@@ -0,0 +1,17 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+
+import java.util.Optional;
+
+/**
+ * The idempotency keys of the recorded operations, kept for a retention period. A key is written by
+ * {@link OperationRepository#saveOperation(com.yma.bank.domain.Operation, Long, String)} in the same transaction
+ * as its operation, so a key is found if and only if its operation is recorded.
+ */
+public interface IdempotencyKeyRepository {
+    /**
+     * Returns the request of the operation recorded with the given key.
+     */
+    Optional<NewOperationRequest> findOperation(String idempotencyKey);
+}
@@ -0,0 +1,55 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Audit trail of the deposits, withdrawals and transfers submitted one by one: exactly one event per operation, logged at INFO
+ * on the {@value #LOGGER_NAME} logger once its outcome is known, as {@code key=value} pairs that can be parsed
+ * without knowing the wording of the message. The bulks return the outcome of each operation and only log a summary.
+ * <p>
+ * The step-by-step traces of the transaction path are logged at DEBUG; this event is what is kept in production.
+ */
+public final class OperationAuditLog {
+
+    public static final String LOGGER_NAME = "com.yma.bank.audit";
+
+    private static final Logger AUDIT = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private OperationAuditLog() {
+    }
+
+    /**
+     * @param attempts number of times the operation was tried, more than 1 when the account was modified concurrently
+     */
+    public static void recorded(NewOperationRequest request, int attempts) {
+        // Le niveau est vérifié avant de construire le tableau des arguments
+        if (AUDIT.isInfoEnabled()) {
+            AUDIT.info("operation account={} type={} amount={} outcome=recorded attempts={}",
+                    request.getAccountId(), request.getOperationType(), request.getAmount(), attempts);
+        }
+    }
+
+    public static void rejected(NewOperationRequest request, int attempts, RuntimeException cause) {
+        if (AUDIT.isInfoEnabled()) {
+            AUDIT.info("operation account={} type={} amount={} outcome=rejected attempts={} reason=\"{}\"",
+                    request.getAccountId(), request.getOperationType(), request.getAmount(), attempts, cause.getMessage());
+        }
+    }
+
+    public static void recorded(TransferRequest request, int attempts) {
+        if (AUDIT.isInfoEnabled()) {
+            AUDIT.info("transfer source={} target={} amount={} outcome=recorded attempts={}",
+                    request.getSourceAccountId(), request.getTargetAccountId(), request.getAmount(), attempts);
+        }
+    }
+
+    public static void rejected(TransferRequest request, int attempts, RuntimeException cause) {
+        if (AUDIT.isInfoEnabled()) {
+            AUDIT.info("transfer source={} target={} amount={} outcome=rejected attempts={} reason=\"{}\"",
+                    request.getSourceAccountId(), request.getTargetAccountId(), request.getAmount(), attempts, cause.getMessage());
+        }
+    }
+}
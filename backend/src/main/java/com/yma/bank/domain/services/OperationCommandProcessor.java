@@ -0,0 +1,325 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Processes deposits and withdrawals through a fixed set of partitions, each one owned by a single thread.
+ * Every account is routed to one partition by hashing its ID, so that partition is the only writer of the account
+ * on this node: it keeps the account balance in memory, validates the operations in-process and records all the
+ * operations accumulated during a flush interval in one batch.
+ * <p>
+ * The persisted account version is still checked on every batch, so writers outside of this processor
+ * (another node, or {@link AccountService#sendMoney}) are detected and the batch is replayed on fresh snapshots.
+ */
+public class OperationCommandProcessor implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationCommandProcessor.class);
+
+    static final int MAX_BATCH_ATTEMPTS = 3;
+
+    private static final int MAX_CACHED_ACCOUNTS_PER_PARTITION = 10_000;
+
+    private final AccountRepository accountRepository;
+
+    private final OperationRepository operationRepository;
+
+    /**
+     * Optional cache shared with {@link AccountServiceImpl}, kept up to date with the committed batches. Null when disabled.
+     */
+    private final AccountCache accountCache;
+
+    private final Partition[] partitions;
+
+    private final int maxBatchSize;
+
+    private final long flushIntervalNanos;
+
+    private volatile boolean running = false;
+
+    /**
+     * Held for reading by {@link #submit} from the check of {@link #running} to the queueing of the command, and for
+     * writing by {@link #close} to clear it: once cleared, no command can be queued behind the partitions stopping.
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+    public OperationCommandProcessor(AccountRepository accountRepository,
+                                     OperationRepository operationRepository,
+                                     int partitionCount,
+                                     int queueCapacity,
+                                     int maxBatchSize,
+                                     Duration flushInterval) {
+        this(accountRepository, operationRepository, null, partitionCount, queueCapacity, maxBatchSize, flushInterval);
+    }
+
+    public OperationCommandProcessor(AccountRepository accountRepository,
+                                     OperationRepository operationRepository,
+                                     AccountCache accountCache,
+                                     int partitionCount,
+                                     int queueCapacity,
+                                     int maxBatchSize,
+                                     Duration flushInterval) {
+        if (partitionCount <= 0 || queueCapacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Partition count, queue capacity and batch size must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.operationRepository = operationRepository;
+        this.accountCache = accountCache;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, queueCapacity);
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (Partition partition : partitions) {
+            partition.thread.start();
+        }
+        LOGGER.info("Operation command processor started with {} partitions", partitions.length);
+    }
+
+    /**
+     * Stops accepting operations, then waits for every partition to record the operations already queued.
+     */
+    @Override
+    public synchronized void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        for (Partition partition : partitions) {
+            partition.thread.join();
+        }
+        LOGGER.info("Operation command processor stopped");
+    }
+
+    /**
+     * Queues the operation on the partition owning its account.
+     *
+     * @return a future completed once the operation is recorded, or completed exceptionally with the
+     * {@link DomainException} that rejected it. The future is completed on the partition thread.
+     */
+    public CompletableFuture<Void> submit(NewOperationRequest newOperationRequest) {
+        if (newOperationRequest == null) {
+            return CompletableFuture.failedFuture(new DomainException("Invalid request: newOperationRequest is null"));
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                result.completeExceptionally(new DomainException("The operation processor is not running"));
+            } else if (!partitionOf(newOperationRequest.getAccountId()).queue.offer(new Command(newOperationRequest, result))) {
+                result.completeExceptionally(new DomainException("Too many pending operations, please retry later"));
+            }
+        } finally {
+            runningLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private Partition partitionOf(Long accountId) {
+        return partitions[Math.floorMod(Long.hashCode(accountId), partitions.length)];
+    }
+
+    private record Command(NewOperationRequest request, CompletableFuture<Void> result) {
+    }
+
+    private final class Partition implements Runnable {
+        private final BlockingQueue<Command> queue;
+
+        private final Thread thread;
+
+        /**
+         * Last known state of the accounts owned by this partition: committed balance as baseline,
+         * no operation, and the persisted version. Only accessed by the partition thread.
+         */
+        private final Map<Long, Account> accounts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Account> eldest) {
+                return size() > MAX_CACHED_ACCOUNTS_PER_PARTITION;
+            }
+        };
+
+        private Partition(int index, int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "operation-partition-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<Command> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                try {
+                    if (collectBatch(batch)) {
+                        process(batch);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (RuntimeException e) {
+                    LOGGER.error("Unexpected failure of partition {}", thread.getName(), e);
+                    batch.forEach(command -> command.result().completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+            queue.forEach(command -> command.result().completeExceptionally(
+                    new DomainException("The operation processor was stopped")));
+        }
+
+        /**
+         * Waits for a first command, then keeps collecting commands until the flush interval elapses
+         * or the batch is full.
+         */
+        private boolean collectBatch(List<Command> batch) throws InterruptedException {
+            Command first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+            if (first == null) {
+                return false;
+            }
+            batch.add(first);
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            while (batch.size() < maxBatchSize) {
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= maxBatchSize || remaining <= 0) {
+                    break;
+                }
+                Command next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+            return true;
+        }
+
+        private void process(List<Command> batch) {
+            for (int attempt = 1; ; attempt++) {
+                Map<Long, Account> touchedAccounts = new HashMap<>();
+                List<Operation> operations = new ArrayList<>(batch.size());
+                List<Command> accepted = new ArrayList<>(batch.size());
+
+                for (Command command : batch) {
+                    if (command.result().isDone()) {
+                        continue;
+                    }
+                    try {
+                        Account account = touchedAccounts.computeIfAbsent(command.request().getAccountId(), this::workingCopy);
+                        operations.add(account.apply(command.request().getOperationType(), Money.of(command.request().getAmount())));
+                        accepted.add(command);
+                    } catch (DomainException e) {
+                        OperationAuditLog.rejected(command.request(), attempt, e);
+                        command.result().completeExceptionally(e);
+                    }
+                }
+                if (operations.isEmpty()) {
+                    return;
+                }
+
+                Map<Long, Long> expectedVersions = new HashMap<>();
+                operations.forEach(operation -> {
+                    Long version = touchedAccounts.get(operation.getAccountId()).getVersion();
+                    if (version != null) {
+                        expectedVersions.put(operation.getAccountId(), version);
+                    }
+                });
+
+                try {
+                    operationRepository.saveOperations(operations, expectedVersions);
+                } catch (ConcurrentOperationException e) {
+                    forget(touchedAccounts.keySet());
+                    if (attempt < MAX_BATCH_ATTEMPTS) {
+                        LOGGER.info("Batch of partition {} conflicted with another writer, replaying it", thread.getName());
+                        continue;
+                    }
+                    reject(accepted, attempt, e);
+                    return;
+                } catch (RuntimeException e) {
+                    forget(touchedAccounts.keySet());
+                    reject(accepted, attempt, e);
+                    return;
+                }
+
+                touchedAccounts.forEach((accountId, account) -> accounts.put(accountId, committed(account)));
+                if (accountCache != null) {
+                    touchedAccounts.values().forEach(accountCache::commit);
+                }
+                for (Command command : accepted) {
+                    OperationAuditLog.recorded(command.request(), attempt);
+                    command.result().complete(null);
+                }
+                return;
+            }
+        }
+
+        private void reject(List<Command> commands, int attempt, RuntimeException cause) {
+            for (Command command : commands) {
+                OperationAuditLog.rejected(command.request(), attempt, cause);
+                command.result().completeExceptionally(cause);
+            }
+        }
+
+        private void forget(Collection<Long> accountIds) {
+            accountIds.forEach(accounts::remove);
+            if (accountCache != null) {
+                accountIds.forEach(accountCache::invalidate);
+            }
+        }
+
+        /**
+         * Returns a copy of the cached account state that can accumulate the operations of one batch.
+         */
+        private Account workingCopy(Long accountId) {
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                account = accountRepository.getAccountSnapshot(accountId)
+                        .orElseThrow(() -> new DomainException(String.format("Account with %s number not found", accountId)));
+                accounts.put(accountId, account);
+            }
+            return new Account(accountId, account.calculateBalance(), new ArrayList<>(), account.getVersion());
+        }
+
+        /**
+         * Returns the state of the account once its batch is committed, its version being incremented
+         * only if the batch recorded operations on it.
+         */
+        private Account committed(Account account) {
+            Long version = account.getVersion();
+            if (version != null && !account.getOperationList().isEmpty()) {
+                version = version + 1;
+            }
+            return new Account(account.getAccountId().orElse(null), account.calculateBalance(), new ArrayList<>(), version);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.yma.bank.domain.services;
+
+/**
+ * Derives the operation history, read by the statements, from the recorded operations. The history is brought
+ * up to date in the background shortly after each write; a reader that must see its own operations projects
+ * the pending ones itself before reading.
+ */
+public interface OperationHistoryProjection {
+
+    /**
+     * Projects every operation recorded so far into the history.
+     *
+     * @return the number of operations projected.
+     */
+    int projectPending();
+}
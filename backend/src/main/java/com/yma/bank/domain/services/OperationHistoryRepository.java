@@ -1,9 +1,38 @@
 package com.yma.bank.domain.services;
 
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
+/**
+ * Read side of the operation history, see {@link WritableOperationHistoryRepository} for the stores that write it.
+ */
 public interface OperationHistoryRepository {
-    void save(OperationHistory operationHistory);
     List<OperationHistory> findByAccountId(Long accountId);
+
+    /**
+     * Returns the operations of the account recorded from {@code from} (inclusive) to {@code to} (exclusive),
+     * oldest first. A null {@code to} means no upper bound.
+     */
+    List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Same as {@link #findByAccountIdBetween(Long, LocalDateTime, LocalDateTime)}, returning at most {@code limit} operations.
+     */
+    List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to, int limit);
+
+    /**
+     * Returns the balance resulting from the operations of the account recorded from {@code from} (inclusive)
+     * until {@code until} (exclusive), computed by the database. A null {@code from} means from the first operation.
+     */
+    Money getBalanceBetween(Long accountId, LocalDateTime from, LocalDateTime until);
+
+    /**
+     * Reads the operations of the account recorded from {@code from} (inclusive), oldest first, through a forward-only
+     * cursor: each operation is handed to the action then released, so memory use does not depend on the history size.
+     */
+    void forEachByAccountIdFrom(Long accountId, LocalDateTime from, Consumer<OperationHistory> action);
 }
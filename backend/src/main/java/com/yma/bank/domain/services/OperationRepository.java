@@ -1,7 +1,54 @@
 package com.yma.bank.domain.services;
 
+import com.yma.bank.domain.Account;
 import com.yma.bank.domain.Operation;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 public interface OperationRepository {
     void saveOperation(Operation operation);
+
+    /**
+     * Records the operation only if the account is still at the given version.
+     *
+     * @throws com.yma.bank.domain.ConcurrentOperationException if the account was modified in the meantime
+     */
+    void saveOperation(Operation operation, Long expectedAccountVersion);
+
+    /**
+     * Same as {@link #saveOperation(Operation, Long)}, and records the idempotency key of the request in the same
+     * transaction. Stores that do not keep the keys record the operation alone, the keys then only being deduplicated
+     * in memory.
+     *
+     * @throws com.yma.bank.domain.DuplicateOperationException if an operation was already recorded with this key,
+     *                                                         in which case nothing is recorded
+     */
+    default void saveOperation(Operation operation, Long expectedAccountVersion, String idempotencyKey) {
+        saveOperation(operation, expectedAccountVersion);
+    }
+
+    /**
+     * Locks the account until the operation is recorded, builds the operation from the locked account state and
+     * records it, along with the idempotency key if not null, as {@link #saveOperation(Operation, Long, String)} does.
+     * The account cannot be modified in between, so the write never fails on a concurrent modification: used once
+     * the optimistic attempts ran out.
+     *
+     * @param operation builds the operation from the locked account, typically by depositing or withdrawing
+     * @return the locked account, holding the recorded operation
+     * @throws com.yma.bank.domain.DomainException if the account does not exist or the operation is rejected,
+     *                                             in which case nothing is recorded
+     */
+    Account saveOperationLocked(Long accountId, Function<Account, Operation> operation, String idempotencyKey);
+
+    /**
+     * Records all the operations in a single transaction. Each account of the batch has its balance updated once,
+     * and only if it is still at the version given in {@code expectedAccountVersions} (accounts without expected
+     * version are updated unconditionally). Each updated account version is incremented by one.
+     *
+     * @throws com.yma.bank.domain.ConcurrentOperationException if one of the accounts was modified in the meantime,
+     *                                                          in which case nothing is recorded
+     */
+    void saveOperations(List<Operation> operations, Map<Long, Long> expectedAccountVersions);
 }
@@ -0,0 +1,42 @@
+package com.yma.bank.domain.services;
+
+/**
+ * The consistency the reads of the current thread require. By default a read may be served by a read replica, which
+ * can lag behind the writes; within a {@link #readYourWrites()} scope the reads see every write made before it.
+ * <pre>{@code
+ * try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+ *     statementService.generateAccountStatement(accountId, fromDate);
+ * }
+ * }</pre>
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Boolean> READ_YOUR_WRITES = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Requires the reads of the current thread to see their earlier writes until the returned scope is closed.
+     */
+    public static Scope readYourWrites() {
+        Boolean previous = READ_YOUR_WRITES.get();
+        READ_YOUR_WRITES.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                READ_YOUR_WRITES.remove();
+            } else {
+                READ_YOUR_WRITES.set(previous);
+            }
+        };
+    }
+
+    public static boolean isReadYourWritesRequired() {
+        return READ_YOUR_WRITES.get() != null;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,313 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process cache of the statement lines of an account, keyed by account ID and by the bucket
+ * of the statement start date: one entry holds every line from the start of its bucket, with its running balance,
+ * and serves any start date within the bucket.
+ * <p>
+ * The operations recorded after an entry is loaded are appended to it as they become visible in the operation history,
+ * instead of invalidating it. An entry is only dropped if an operation cannot be appended at its end, which happens
+ * when it is older than the last line. The last {@value #RECENT_OPERATIONS} appended operations are kept to be replayed
+ * on the entries loaded while they were appended, so that a load racing with an append never misses it. The operations
+ * being appended as the primary database projects them, the entries are loaded with {@link ReadConsistency#readYourWrites()}
+ * so that a read replica lagging behind never leaves a gap between the loaded lines and the appended ones.
+ * <p>
+ * The memory use is bounded by the total number of cached lines; the least recently used entries are evicted first.
+ * Entries expire after the time to live, which bounds how long the operations projected by other nodes stay unseen.
+ */
+public class StatementCache {
+
+    static final int RECENT_OPERATIONS = 4096;
+
+    private final OperationHistoryRepository operationHistoryRepository;
+
+    private final AccountLedgerRepository accountLedgerRepository;
+
+    private final StatementDomainService statementDomainService;
+
+    private final int maximumLines;
+
+    private final long bucketSeconds;
+
+    private final long timeToLiveNanos;
+
+    private final LongSupplier ticker;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    // Les champs suivants sont protégés par le verrou de l'instance
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Long, Set<Key>> keysByAccountId = new HashMap<>();
+
+    private final OperationHistory[] recentOperations = new OperationHistory[RECENT_OPERATIONS];
+
+    /**
+     * Number of operations appended since the creation of the cache.
+     */
+    private long appendedOperations;
+
+    private long cachedLines;
+
+    public StatementCache(OperationHistoryRepository operationHistoryRepository,
+                          AccountLedgerRepository accountLedgerRepository,
+                          StatementDomainService statementDomainService,
+                          int maximumLines,
+                          Duration bucketSize,
+                          Duration timeToLive) {
+        this(operationHistoryRepository, accountLedgerRepository, statementDomainService, maximumLines, bucketSize, timeToLive,
+                System::nanoTime);
+    }
+
+    StatementCache(OperationHistoryRepository operationHistoryRepository,
+                   AccountLedgerRepository accountLedgerRepository,
+                   StatementDomainService statementDomainService,
+                   int maximumLines,
+                   Duration bucketSize,
+                   Duration timeToLive,
+                   LongSupplier ticker) {
+        if (maximumLines <= 0) {
+            throw new IllegalArgumentException("The maximum number of lines of the statement cache must be positive");
+        }
+        if (bucketSize.getSeconds() <= 0 || timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("The bucket size and time to live of the statement cache must be positive");
+        }
+        this.operationHistoryRepository = operationHistoryRepository;
+        this.accountLedgerRepository = accountLedgerRepository;
+        this.statementDomainService = statementDomainService;
+        this.maximumLines = maximumLines;
+        this.bucketSeconds = bucketSize.getSeconds();
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Returns the statement lines of the account from {@code fromDate} (inclusive), oldest first, loading the lines
+     * of the whole bucket of {@code fromDate} if they are not cached.
+     */
+    public List<StatementLine> getLines(Long accountId, LocalDateTime fromDate) {
+        Key key = new Key(accountId, bucketStart(fromDate));
+        long appendedBeforeLoad;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && ticker.getAsLong() - entry.cachedAt < timeToLiveNanos) {
+                hits.increment();
+                return entry.linesFrom(fromDate);
+            }
+            if (entry != null) {
+                remove(key);
+                evictions.increment();
+            }
+            appendedBeforeLoad = appendedOperations;
+        }
+        misses.increment();
+
+        Entry loaded;
+        try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+            loaded = new Entry(key.bucketStart(), accountLedgerRepository.getBalanceBefore(accountId, key.bucketStart()),
+                    ticker.getAsLong());
+            operationHistoryRepository.findByAccountIdBetween(accountId, key.bucketStart(), null).forEach(loaded::append);
+        }
+
+        synchronized (this) {
+            if (replayAppendedSince(appendedBeforeLoad, accountId, loaded)) {
+                put(key, loaded);
+            }
+            return loaded.linesFrom(fromDate);
+        }
+    }
+
+    /**
+     * Appends operations that just became visible in the operation history to the cached statements of their account.
+     */
+    public synchronized void append(List<OperationHistory> operations) {
+        for (OperationHistory operation : operations) {
+            recentOperations[(int) (appendedOperations++ % RECENT_OPERATIONS)] = operation;
+            Set<Key> keys = keysByAccountId.get(operation.getAccountId());
+            if (keys == null) {
+                continue;
+            }
+            for (Key key : List.copyOf(keys)) {
+                Entry entry = entries.get(key);
+                int linesBefore = entry.lines.size();
+                if (entry.append(operation)) {
+                    cachedLines += entry.lines.size() - linesBefore;
+                } else {
+                    remove(key);
+                }
+            }
+        }
+        evictOverflow();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Share of the lookups served from the cache, 0 before the first lookup.
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Number of entries removed because the cache was full or because they expired.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public synchronized long getCachedLines() {
+        return cachedLines;
+    }
+
+    LocalDateTime bucketStart(LocalDateTime fromDate) {
+        long epochSecond = fromDate.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Appends to the loaded entry the operations of its account appended to the cache during the load.
+     *
+     * @return false if too many operations were appended during the load to know which ones the entry misses,
+     * or if one of them cannot be appended, in which case the entry must not be cached
+     */
+    private boolean replayAppendedSince(long appendedBeforeLoad, Long accountId, Entry loaded) {
+        if (appendedOperations - appendedBeforeLoad > RECENT_OPERATIONS) {
+            return false;
+        }
+        for (long index = appendedBeforeLoad; index < appendedOperations; index++) {
+            OperationHistory operation = recentOperations[(int) (index % RECENT_OPERATIONS)];
+            if (operation.getAccountId().equals(accountId) && !loaded.append(operation)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put(Key key, Entry entry) {
+        if (entry.lines.size() > maximumLines) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        keysByAccountId.computeIfAbsent(key.accountId(), accountId -> new HashSet<>()).add(key);
+        cachedLines += entry.lines.size();
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (cachedLines > maximumLines && eldest.hasNext()) {
+            Map.Entry<Key, Entry> evicted = eldest.next();
+            eldest.remove();
+            forget(evicted.getKey(), evicted.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            forget(key, entry);
+        }
+    }
+
+    /**
+     * Cleans the account index and the line count of an entry already removed from {@link #entries}.
+     */
+    private void forget(Key key, Entry entry) {
+        Set<Key> keys = keysByAccountId.get(key.accountId());
+        keys.remove(key);
+        if (keys.isEmpty()) {
+            keysByAccountId.remove(key.accountId());
+        }
+        cachedLines -= entry.lines.size();
+    }
+
+    private record Key(Long accountId, LocalDateTime bucketStart) {
+    }
+
+    /**
+     * Lines of one account from the start of a bucket, oldest first, along with the IDs of their operations.
+     */
+    private final class Entry {
+        private final LocalDateTime bucketStart;
+        private final long cachedAt;
+        private final List<StatementLine> lines = new ArrayList<>();
+        private final List<Long> operationIds = new ArrayList<>();
+        private final Consumer<OperationHistory> lineWriter;
+
+        private Entry(LocalDateTime bucketStart, Money openingBalance, long cachedAt) {
+            this.bucketStart = bucketStart;
+            this.cachedAt = cachedAt;
+            this.lineWriter = statementDomainService.statementLineWriter(openingBalance, lines::add);
+        }
+
+        /**
+         * Appends the line of the operation, unless it is already there.
+         *
+         * @return false if the operation cannot be appended because it is older than the bucket or than the last line
+         */
+        private boolean append(OperationHistory operation) {
+            if (operation.getTimestamp().isBefore(bucketStart)) {
+                return false;
+            }
+            for (int index = lines.size() - 1; index >= 0 && !lines.get(index).getTimestamp().isBefore(operation.getTimestamp()); index--) {
+                if (operationIds.get(index).equals(operation.getId())) {
+                    return true;
+                }
+            }
+            if (!lines.isEmpty() && operation.getTimestamp().isBefore(lines.get(lines.size() - 1).getTimestamp())) {
+                return false;
+            }
+            lineWriter.accept(operation);
+            operationIds.add(operation.getId());
+            return true;
+        }
+
+        private List<StatementLine> linesFrom(LocalDateTime fromDate) {
+            int low = 0;
+            int high = lines.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (lines.get(middle).getTimestamp().isBefore(fromDate)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return new ArrayList<>(lines.subList(low, lines.size()));
+        }
+    }
+}
@@ -3,60 +3,96 @@ package com.yma.bank.domain.services;
 import com.yma.bank.application.response.AccountStatementResponse;
 import com.yma.bank.application.response.StatementLine;
 import com.yma.bank.domain.BaseOperation;
-import com.yma.bank.domain.OperationHistory;
 import com.yma.bank.domain.DomainException;
-import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 public class StatementDomainService {
     public AccountStatementResponse generateStatement(Long accountId, List<OperationHistory> operations, LocalDateTime fromDate) {
-        // Séparer les opérations avant et après `fromDate`
-        List<OperationHistory> operationsBefore = operations.stream()
-                .filter(op -> op.getTimestamp().isBefore(fromDate))
-                .collect(Collectors.toList());
+        return generateStatement(accountId, operations, fromDate, Money.ZERO);
+    }
 
-        List<OperationHistory> operationsAfter = operations.stream()
-                .filter(op -> !op.getTimestamp().isBefore(fromDate))
-                .sorted(Comparator.comparing(BaseOperation::getTimestamp)) // Trie du plus ancien au plus récent
-                .collect(Collectors.toList());
+    /**
+     * Generates the statement from a known opening balance.
+     *
+     * @param operations     the operations recorded since the opening balance
+     * @param openingBalance the balance of the account before the given operations
+     */
+    public AccountStatementResponse generateStatement(Long accountId, List<OperationHistory> operations, LocalDateTime fromDate, Money openingBalance) {
+        // Séparer les opérations avant et après `fromDate`, en cumulant le solde des premières
+        long initialBalance = openingBalance.getMinorUnits();
+        List<OperationHistory> operationsAfter = new ArrayList<>();
+        for (OperationHistory operation : operations) {
+            if (operation.getTimestamp().isBefore(fromDate)) {
+                initialBalance = Math.addExact(initialBalance, operation.getSignedAmount().getMinorUnits());
+            } else {
+                operationsAfter.add(operation);
+            }
+        }
 
         if (operationsAfter.isEmpty()) {
             throw new DomainException("No transaction found after the specified date.");
         }
-
-        // Calculer le solde avant `fromDate`
-        BigDecimal initialBalance = calculateBalanceBefore(operationsBefore);
+        operationsAfter.sort(Comparator.comparing(BaseOperation::getTimestamp)); // Trie du plus ancien au plus récent
 
         return new AccountStatementResponse(createStatementLines(operationsAfter, initialBalance), accountId);
     }
 
-    private BigDecimal calculateBalanceBefore(List<OperationHistory> operationsBefore) {
-        return operationsBefore.stream()
-                .map(op -> op.getOperationType() == OperationTypeEnum.WITHDRAWAL ? op.getAmount().negate() : op.getAmount())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Assembles the statement from lines already carrying their running balance, received oldest first.
+     */
+    public AccountStatementResponse generateStatement(Long accountId, List<StatementLine> statementLines) {
+        if (statementLines.isEmpty()) {
+            throw new DomainException("No transaction found after the specified date.");
+        }
+        List<StatementLine> newestFirst = new ArrayList<>(statementLines);
+        Collections.reverse(newestFirst);
+        return new AccountStatementResponse(newestFirst, accountId);
+    }
+
+    /**
+     * Returns a consumer turning operations, received oldest first, into statement lines carrying the running balance.
+     */
+    public Consumer<OperationHistory> statementLineWriter(Money openingBalance, Consumer<StatementLine> lineConsumer) {
+        return new Consumer<>() {
+            private long balance = openingBalance.getMinorUnits();
+
+            @Override
+            public void accept(OperationHistory operation) {
+                lineConsumer.accept(nextStatementLine(operation, balance));
+                balance = Math.addExact(balance, operation.getSignedAmount().getMinorUnits());
+            }
+        };
     }
 
-    private List<StatementLine> createStatementLines(List<OperationHistory> operations, BigDecimal initialBalance) {
-        BigDecimal balance = initialBalance;
-        List<StatementLine> statementLines = new java.util.ArrayList<>();
+    private List<StatementLine> createStatementLines(List<OperationHistory> operations, long initialBalance) {
+        long balance = initialBalance;
+        List<StatementLine> statementLines = new ArrayList<>(operations.size());
 
         for (OperationHistory operation : operations) {
-            if (operation.getOperationType() == OperationTypeEnum.WITHDRAWAL) {
-                balance = balance.subtract(operation.getAmount().abs());
-            } else {
-                balance = balance.add(operation.getAmount().abs());
-            }
-            statementLines.add(new StatementLine(operation.getTimestamp(),
-                    operation.getOperationType() == OperationTypeEnum.WITHDRAWAL ? operation.getAmount().negate() : operation.getAmount(),
-                    balance));
+            statementLines.add(nextStatementLine(operation, balance));
+            balance = Math.addExact(balance, operation.getSignedAmount().getMinorUnits());
         }
 
         statementLines.sort((o1, o2) -> o2.getTimestamp().compareTo(o1.getTimestamp())); // Trie du plus récent au plus ancien
         return statementLines;
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the statement line of the operation, given the balance before it. Amounts leave the domain as BigDecimal here.
+     */
+    private StatementLine nextStatementLine(OperationHistory operation, long balanceBefore) {
+        long amount = operation.getSignedAmount().getMinorUnits();
+        return new StatementLine(operation.getTimestamp(),
+                BigDecimal.valueOf(amount, Money.SCALE),
+                BigDecimal.valueOf(Math.addExact(balanceBefore, amount), Money.SCALE));
+    }
+}
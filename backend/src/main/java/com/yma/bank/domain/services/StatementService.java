@@ -2,9 +2,16 @@ package com.yma.bank.domain.services;
 
 
 import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
 
 import java.time.LocalDateTime;
+import java.util.function.Consumer;
 
 public interface StatementService {
     AccountStatementResponse generateAccountStatement(Long accountId, LocalDateTime fromDate);
+
+    /**
+     * Streams the statement lines of the account from {@code fromDate}, oldest first, without holding the statement in memory.
+     */
+    void exportAccountStatement(Long accountId, LocalDateTime fromDate, Consumer<StatementLine> lineConsumer);
 }
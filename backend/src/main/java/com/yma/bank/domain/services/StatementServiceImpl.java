@@ -1,23 +1,59 @@
 package com.yma.bank.domain.services;
 
 import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class StatementServiceImpl implements StatementService {
     private final OperationHistoryRepository operationHistoryRepository;
+    private final AccountLedgerRepository accountLedgerRepository;
     private final StatementDomainService statementDomainService;
 
-    public StatementServiceImpl(OperationHistoryRepository operationHistoryRepository, StatementDomainService statementDomainService) {
+    /**
+     * Optional cache of the statement lines, null when every statement is computed from the repositories.
+     */
+    private final StatementCache statementCache;
+
+    public StatementServiceImpl(OperationHistoryRepository operationHistoryRepository,
+                                AccountLedgerRepository accountLedgerRepository,
+                                StatementDomainService statementDomainService) {
+        this(operationHistoryRepository, accountLedgerRepository, statementDomainService, null);
+    }
+
+    public StatementServiceImpl(OperationHistoryRepository operationHistoryRepository,
+                                AccountLedgerRepository accountLedgerRepository,
+                                StatementDomainService statementDomainService,
+                                StatementCache statementCache) {
         this.operationHistoryRepository = operationHistoryRepository;
+        this.accountLedgerRepository = accountLedgerRepository;
         this.statementDomainService = statementDomainService;
+        this.statementCache = statementCache;
     }
 
+    /**
+     * Reads only the operations of the statement window. The opening balance is rehydrated from the account ledger,
+     * which starts from the latest account snapshot taken before {@code fromDate}. When the statement cache is enabled,
+     * the lines come from the cached statement of the bucket of {@code fromDate} instead.
+     */
     @Override
     public AccountStatementResponse generateAccountStatement(Long accountId, LocalDateTime fromDate) {
-        List<OperationHistory> operations = operationHistoryRepository.findByAccountId(accountId);
-        return statementDomainService.generateStatement(accountId, operations, fromDate);
+        if (statementCache != null) {
+            return statementDomainService.generateStatement(accountId, statementCache.getLines(accountId, fromDate));
+        }
+        Money openingBalance = accountLedgerRepository.getBalanceBefore(accountId, fromDate);
+        List<OperationHistory> operations = operationHistoryRepository.findByAccountIdBetween(accountId, fromDate, null);
+        return statementDomainService.generateStatement(accountId, operations, fromDate, openingBalance);
+    }
+
+    @Override
+    public void exportAccountStatement(Long accountId, LocalDateTime fromDate, Consumer<StatementLine> lineConsumer) {
+        Money openingBalance = accountLedgerRepository.getBalanceBefore(accountId, fromDate);
+        operationHistoryRepository.forEachByAccountIdFrom(accountId, fromDate,
+                statementDomainService.statementLineWriter(openingBalance, lineConsumer));
     }
-}
\ No newline at end of file
+}
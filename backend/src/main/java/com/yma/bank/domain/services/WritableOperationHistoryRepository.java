@@ -0,0 +1,14 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.domain.OperationHistory;
+
+import java.util.List;
+
+/**
+ * An operation history stored apart from the operations, which can therefore be written to. The stores whose
+ * history is the operation log itself, such as the journal, only implement {@link OperationHistoryRepository}.
+ */
+public interface WritableOperationHistoryRepository extends OperationHistoryRepository {
+    void save(OperationHistory operationHistory);
+    void saveAll(List<OperationHistory> operationHistoryList);
+}
@@ -4,26 +4,105 @@ import com.yma.bank.BankApplication;
 import com.yma.bank.domain.services.*;
 
 import com.yma.bank.domain.services.AccountRepository;
-import com.yma.bank.infrastructure.repository.OperationMapper;
+import com.yma.bank.infrastructure.journal.JournalAccountRepository;
+import com.yma.bank.infrastructure.journal.JournalOperationHistoryRepository;
+import com.yma.bank.infrastructure.journal.JournalOperationRepository;
+import com.yma.bank.infrastructure.journal.OperationJournal;
+import com.yma.bank.infrastructure.repository.AccountEntityRepository;
 import io.swagger.v3.oas.models.ExternalDocumentation;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration
+@EnableScheduling
 @ComponentScan(basePackageClasses = BankApplication.class)
 public class BeanConfiguration {
 
     @Bean
     AccountService operationService(final OperationRepository operationRepository,
-                                    final OperationHistoryRepository operationHistoryRepository,
                                     final AccountRepository accountRepository,
-                                    final OperationMapper operationMapper) {
-        return new AccountServiceImpl(operationRepository, operationHistoryRepository, accountRepository, operationMapper);
+                                    final ObjectProvider<OperationCommandProcessor> operationCommandProcessor,
+                                    final ObjectProvider<AccountCache> accountCache,
+                                    final ObjectProvider<IdempotencyIndex> idempotencyIndex,
+                                    final ObjectProvider<IdempotencyKeyRepository> idempotencyKeyRepository,
+                                    final ObjectProvider<AccountSummaryRepository> accountSummaryRepository) {
+        return new AccountServiceImpl(operationRepository, accountRepository, operationCommandProcessor.getIfAvailable(),
+                accountCache.getIfAvailable(), idempotencyIndex.getIfAvailable(), idempotencyKeyRepository.getIfAvailable(),
+                accountSummaryRepository.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+    IdempotencyIndex idempotencyIndex(@Value("${bank.idempotency.maximum-size:100000}") final int maximumSize,
+                                      @Value("${bank.idempotency.ttl-ms:600000}") final long timeToLiveMillis) {
+        return new IdempotencyIndex(maximumSize, Duration.ofMillis(timeToLiveMillis));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.account-cache.enabled", havingValue = "true", matchIfMissing = true)
+    AccountCache accountCache(final AccountRepository accountRepository,
+                              @Value("${bank.account-cache.maximum-size:10000}") final int maximumSize,
+                              @Value("${bank.account-cache.ttl-ms:5000}") final long timeToLiveMillis) {
+        return new AccountCache(accountRepository, maximumSize, Duration.ofMillis(timeToLiveMillis));
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(name = "bank.command-pipeline.enabled", havingValue = "true")
+    OperationCommandProcessor operationCommandProcessor(final OperationRepository operationRepository,
+                                                        final AccountRepository accountRepository,
+                                                        final ObjectProvider<AccountCache> accountCache,
+                                                        @Value("${bank.command-pipeline.partitions:8}") final int partitions,
+                                                        @Value("${bank.command-pipeline.queue-capacity:10000}") final int queueCapacity,
+                                                        @Value("${bank.command-pipeline.max-batch-size:500}") final int maxBatchSize,
+                                                        @Value("${bank.command-pipeline.flush-interval-ms:5}") final long flushIntervalMillis) {
+        return new OperationCommandProcessor(accountRepository, operationRepository, accountCache.getIfAvailable(),
+                partitions, queueCapacity, maxBatchSize, Duration.ofMillis(flushIntervalMillis));
+    }
+
+    /**
+     * The journal adapters below replace the JPA ones when {@code bank.operation-store=journal}:
+     * the operations are then appended to memory-mapped files and the database is only read to know the accounts.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "bank.operation-store", havingValue = "journal")
+    OperationJournal operationJournal(final AccountEntityRepository accountEntityRepository,
+                                      @Value("${bank.journal.directory:journal}") final String directory,
+                                      @Value("${bank.journal.segment-records:1048576}") final int segmentRecords,
+                                      @Value("${bank.journal.force-on-write:false}") final boolean forceOnWrite) throws IOException {
+        return OperationJournal.open(Path.of(directory), segmentRecords, forceOnWrite, accountEntityRepository::existsByAccountId);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.operation-store", havingValue = "journal")
+    OperationRepository journalOperationRepository(final OperationJournal operationJournal,
+                                                   final ObjectProvider<StatementCache> statementCache) {
+        return new JournalOperationRepository(operationJournal, statementCache.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.operation-store", havingValue = "journal")
+    OperationHistoryRepository journalOperationHistoryRepository(final OperationJournal operationJournal) {
+        return new JournalOperationHistoryRepository(operationJournal);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.operation-store", havingValue = "journal")
+    JournalAccountRepository journalAccountRepository(final OperationJournal operationJournal,
+                                                      final AccountEntityRepository accountEntityRepository) {
+        return new JournalAccountRepository(operationJournal, accountEntityRepository);
     }
 
     @Bean
@@ -32,8 +111,24 @@ public class BeanConfiguration {
     }
 
     @Bean
-    StatementService statementService(final OperationHistoryRepository operationHistoryRepository, final StatementDomainService statementDomainService) {
-        return new StatementServiceImpl(operationHistoryRepository, statementDomainService);
+    StatementService statementService(final OperationHistoryRepository operationHistoryRepository,
+                                      final AccountLedgerRepository accountLedgerRepository,
+                                      final StatementDomainService statementDomainService,
+                                      final ObjectProvider<StatementCache> statementCache) {
+        return new StatementServiceImpl(operationHistoryRepository, accountLedgerRepository, statementDomainService,
+                statementCache.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "bank.statement-cache.enabled", havingValue = "true", matchIfMissing = true)
+    StatementCache statementCache(final OperationHistoryRepository operationHistoryRepository,
+                                  final AccountLedgerRepository accountLedgerRepository,
+                                  final StatementDomainService statementDomainService,
+                                  @Value("${bank.statement-cache.maximum-lines:1000000}") final int maximumLines,
+                                  @Value("${bank.statement-cache.bucket-hours:24}") final long bucketHours,
+                                  @Value("${bank.statement-cache.ttl-ms:60000}") final long timeToLiveMillis) {
+        return new StatementCache(operationHistoryRepository, accountLedgerRepository, statementDomainService,
+                maximumLines, Duration.ofHours(bucketHours), Duration.ofMillis(timeToLiveMillis));
     }
 
     @Bean
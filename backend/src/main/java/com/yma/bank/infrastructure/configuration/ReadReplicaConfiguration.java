@@ -0,0 +1,80 @@
+package com.yma.bank.infrastructure.configuration;
+
+import com.yma.bank.domain.services.ReadConsistency;
+import com.yma.bank.infrastructure.replica.ReadWriteRoutingDataSource;
+import com.yma.bank.infrastructure.replica.ReplicaSchemaIntegrator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.List;
+
+/**
+ * With {@code bank.read-replica.enabled=true}, serves the statements and the account listings from the database of
+ * {@code bank.read-replica.url}, while the writes and the current balances stay on the primary database of
+ * {@code spring.datasource.url}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bank.read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    @Primary
+    ReadWriteRoutingDataSource readWriteDataSource(final DataSourceProperties dataSourceProperties,
+                                                   @Value("${bank.read-replica.url}") final String replicaUrl,
+                                                   @Value("${bank.sharding.enabled:false}") final boolean shardingEnabled,
+                                                   @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int maximumPoolSize,
+                                                   @Value("${spring.datasource.hikari.connection-timeout:30000}") final long connectionTimeoutMillis) {
+        if (shardingEnabled) {
+            throw new IllegalStateException("A read replica cannot be combined with bank.sharding.enabled=true");
+        }
+        HikariDataSource primary = createDataSource(dataSourceProperties, dataSourceProperties.determineUrl(),
+                "bank-primary", maximumPoolSize, connectionTimeoutMillis);
+        HikariDataSource replica = createDataSource(dataSourceProperties, replicaUrl,
+                "bank-replica", maximumPoolSize, connectionTimeoutMillis);
+        return new ReadWriteRoutingDataSource(primary, replica);
+    }
+
+    private static HikariDataSource createDataSource(DataSourceProperties dataSourceProperties, String url, String poolName,
+                                                     int maximumPoolSize, long connectionTimeoutMillis) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeoutMillis);
+        return dataSource;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer replicaSchemaCustomizer(final ReadWriteRoutingDataSource dataSource) {
+        IntegratorProvider integratorProvider = () -> List.of(new ReplicaSchemaIntegrator(dataSource));
+        return properties -> properties.put("hibernate.integrator_provider", integratorProvider);
+    }
+
+    /**
+     * Carries the read consistency of a request over to the tasks it submits to the application executor, such as the
+     * streamed exports, which are written once the request thread has left its {@code Read-Your-Writes} scope.
+     */
+    @Bean
+    TaskDecorator readConsistencyTaskDecorator() {
+        return task -> {
+            if (!ReadConsistency.isReadYourWritesRequired()) {
+                return task;
+            }
+            return () -> {
+                try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+                    task.run();
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.yma.bank.infrastructure.configuration;
+
+import com.yma.bank.domain.services.AccountLedgerRepository;
+import com.yma.bank.domain.services.AccountRepository;
+import com.yma.bank.domain.services.AccountSummaryRepository;
+import com.yma.bank.domain.services.IdempotencyKeyRepository;
+import com.yma.bank.domain.services.OperationRepository;
+import com.yma.bank.domain.services.WritableOperationHistoryRepository;
+import com.yma.bank.infrastructure.repository.AccountLedgerRepositoryImpl;
+import com.yma.bank.infrastructure.repository.AccountRepositoryImpl;
+import com.yma.bank.infrastructure.repository.AccountSummaryRepositoryImpl;
+import com.yma.bank.infrastructure.repository.CrossShardBatchEntityRepository;
+import com.yma.bank.infrastructure.repository.IdempotencyKeyRepositoryImpl;
+import com.yma.bank.infrastructure.repository.OperationHistoryRepositoryImpl;
+import com.yma.bank.infrastructure.repository.OperationRepositoryImpl;
+import com.yma.bank.infrastructure.sharding.ShardRouter;
+import com.yma.bank.infrastructure.sharding.ShardRoutingDataSource;
+import com.yma.bank.infrastructure.sharding.ShardSchemaIntegrator;
+import com.yma.bank.infrastructure.sharding.ShardedAccountLedgerRepository;
+import com.yma.bank.infrastructure.sharding.ShardedAccountRepository;
+import com.yma.bank.infrastructure.sharding.ShardedAccountSummaryRepository;
+import com.yma.bank.infrastructure.sharding.ShardedIdempotencyKeyRepository;
+import com.yma.bank.infrastructure.sharding.ShardedOperationHistoryRepository;
+import com.yma.bank.infrastructure.sharding.ShardedOperationRepository;
+import com.yma.bank.infrastructure.sharding.ShardedScriptDatabaseInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * With {@code bank.sharding.enabled=true}, spreads the accounts over the databases of {@code bank.sharding.urls}:
+ * the data source routes each connection to the shard bound to the thread, and the sharded adapters below, which
+ * take precedence over the JPA ones, bind the shard of the account before delegating to them.
+ */
+@Configuration
+public class ShardingConfiguration {
+
+    private static final String SHARDING_ENABLED = "bank.sharding.enabled";
+
+    /**
+     * A single shard without sharding, walked over by the jobs of the JPA store like the shards of a sharded store.
+     */
+    @Bean(destroyMethod = "close")
+    ShardRouter shardRouter(@Value("${" + SHARDING_ENABLED + ":false}") final boolean enabled,
+                            @Value("${bank.sharding.urls:}") final List<String> urls,
+                            @Value("${bank.sharding.gather-threads:8}") final int gatherThreads,
+                            @Value("${bank.operation-store:jpa}") final String operationStore) {
+        if (!enabled) {
+            return new ShardRouter(1, 1);
+        }
+        if (!"jpa".equals(operationStore)) {
+            throw new IllegalStateException("Sharding requires bank.operation-store=jpa");
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("Sharding requires at least one database in bank.sharding.urls");
+        }
+        return new ShardRouter(urls.size(), gatherThreads);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    ShardRoutingDataSource dataSource(final ShardRouter shardRouter,
+                                      final DataSourceProperties dataSourceProperties,
+                                      @Value("${bank.sharding.urls}") final List<String> urls,
+                                      @Value("${spring.datasource.hikari.maximum-pool-size:10}") final int maximumPoolSize,
+                                      @Value("${spring.datasource.hikari.connection-timeout:30000}") final long connectionTimeoutMillis) {
+        Map<String, HikariDataSource> shardDataSources = new LinkedHashMap<>();
+        for (int index = 0; index < urls.size(); index++) {
+            String shard = shardRouter.getShards().get(index);
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(index))
+                    .build();
+            dataSource.setPoolName("bank-" + shard);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setConnectionTimeout(connectionTimeoutMillis);
+            shardDataSources.put(shard, dataSource);
+        }
+        return new ShardRoutingDataSource(shardRouter, shardDataSources);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    HibernatePropertiesCustomizer shardSchemaCustomizer(final ShardRouter shardRouter) {
+        IntegratorProvider integratorProvider = () -> List.of(new ShardSchemaIntegrator(shardRouter));
+        return properties -> properties.put("hibernate.integrator_provider", integratorProvider);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    ShardedScriptDatabaseInitializer shardedScriptDatabaseInitializer(final ShardRoutingDataSource dataSource,
+                                                                      final SqlInitializationProperties properties,
+                                                                      final ShardRouter shardRouter) {
+        return new ShardedScriptDatabaseInitializer(dataSource, properties, shardRouter);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    AccountRepository shardedAccountRepository(final AccountRepositoryImpl accountRepository,
+                                               final ShardRouter shardRouter) {
+        return new ShardedAccountRepository(accountRepository, shardRouter);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    AccountSummaryRepository shardedAccountSummaryRepository(final AccountSummaryRepositoryImpl accountSummaryRepository,
+                                                             final ShardRouter shardRouter) {
+        return new ShardedAccountSummaryRepository(accountSummaryRepository, shardRouter);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    OperationRepository shardedOperationRepository(final OperationRepositoryImpl operationRepository,
+                                                   final ShardRouter shardRouter,
+                                                   final CrossShardBatchEntityRepository crossShardBatchEntityRepository,
+                                                   final PlatformTransactionManager transactionManager) {
+        return new ShardedOperationRepository(operationRepository, shardRouter, crossShardBatchEntityRepository,
+                transactionManager);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    WritableOperationHistoryRepository shardedOperationHistoryRepository(final OperationHistoryRepositoryImpl operationHistoryRepository,
+                                                                         final ShardRouter shardRouter) {
+        return new ShardedOperationHistoryRepository(operationHistoryRepository, shardRouter);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    AccountLedgerRepository shardedAccountLedgerRepository(final AccountLedgerRepositoryImpl accountLedgerRepository,
+                                                           final ShardRouter shardRouter) {
+        return new ShardedAccountLedgerRepository(accountLedgerRepository, shardRouter);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = SHARDING_ENABLED, havingValue = "true")
+    IdempotencyKeyRepository shardedIdempotencyKeyRepository(final IdempotencyKeyRepositoryImpl idempotencyKeyRepository,
+                                                             final ShardRouter shardRouter) {
+        return new ShardedIdempotencyKeyRepository(idempotencyKeyRepository, shardRouter);
+    }
+}
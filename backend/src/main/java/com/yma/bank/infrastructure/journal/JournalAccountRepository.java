@@ -0,0 +1,111 @@
+package com.yma.bank.infrastructure.journal;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.AccountSnapshot;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.services.AccountLedgerRepository;
+import com.yma.bank.domain.services.AccountRepository;
+import com.yma.bank.infrastructure.repository.AccountEntity;
+import com.yma.bank.infrastructure.repository.AccountEntityRepository;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Loads the accounts from the {@link OperationJournal}. The database is only read to know which accounts exist:
+ * their balance, version and operations all come from the journal.
+ */
+public class JournalAccountRepository implements AccountRepository, AccountLedgerRepository {
+
+    private final OperationJournal journal;
+
+    private final AccountEntityRepository accountEntityRepository;
+
+    public JournalAccountRepository(OperationJournal journal, AccountEntityRepository accountEntityRepository) {
+        this.journal = journal;
+        this.accountEntityRepository = accountEntityRepository;
+    }
+
+    @Override
+    public Optional<Account> getAccount(Long accountId, LocalDateTime baselineDate) {
+        if (journal.findAccount(accountId).isEmpty()) {
+            throw new DomainException(String.format("Account with ID %s not found", accountId));
+        }
+        return Optional.of(loadAccount(accountId, baselineDate));
+    }
+
+    @Override
+    public List<Account> getAllAccounts(LocalDateTime baselineDate) {
+        return loadAccounts(accountEntityRepository.findAll(), baselineDate);
+    }
+
+    @Override
+    public List<Account> getAccountsAfter(Long afterAccountId, int limit, LocalDateTime baselineDate) {
+        return loadAccounts(accountEntityRepository.findByAccountIdGreaterThanOrderByAccountIdAsc(
+                afterAccountId != null ? afterAccountId : Long.MIN_VALUE, Limit.of(limit)), baselineDate);
+    }
+
+    @Override
+    public Optional<Account> getAccountSnapshot(Long accountId) {
+        return journal.findAccount(accountId);
+    }
+
+    @Override
+    public Map<Long, Account> getAccountSnapshots(Collection<Long> accountIds) {
+        Map<Long, Account> accounts = new HashMap<>();
+        accountIds.forEach(accountId -> journal.findAccount(accountId).ifPresent(account -> accounts.put(accountId, account)));
+        return accounts;
+    }
+
+    @Override
+    public Money getBalanceBefore(Long accountId, LocalDateTime date) {
+        long[] balance = {0L};
+        journal.forEachOperation(accountId, operation -> {
+            if (operation.getTimestamp().isBefore(date)) {
+                balance[0] = Math.addExact(balance[0], operation.getSignedAmount().getMinorUnits());
+            }
+        });
+        return Money.ofMinorUnits(balance[0]);
+    }
+
+    /**
+     * The journal keeps the running balance of every account in memory, so it never stores snapshots.
+     */
+    @Override
+    public Optional<AccountSnapshot> findLatestSnapshotBefore(Long accountId, LocalDateTime date) {
+        return Optional.empty();
+    }
+
+    private List<Account> loadAccounts(List<AccountEntity> accountEntities, LocalDateTime baselineDate) {
+        List<Account> accounts = new ArrayList<>(accountEntities.size());
+        for (AccountEntity accountEntity : accountEntities) {
+            accounts.add(loadAccount(accountEntity.getAccountId(), baselineDate));
+        }
+        return accounts;
+    }
+
+    /**
+     * Reads the account log once, summing the operations before the baseline date into the baseline balance
+     * and keeping the later ones to display.
+     */
+    private Account loadAccount(Long accountId, LocalDateTime baselineDate) {
+        long[] baselineBalance = {0L};
+        List<Operation> operations = new ArrayList<>();
+        journal.forEachOperation(accountId, operation -> {
+            if (operation.getTimestamp().isBefore(baselineDate)) {
+                baselineBalance[0] = Math.addExact(baselineBalance[0], operation.getSignedAmount().getMinorUnits());
+            } else {
+                operations.add(operation);
+            }
+        });
+        return new Account(accountId, Money.ofMinorUnits(baselineBalance[0]), operations);
+    }
+}
@@ -0,0 +1,35 @@
+package com.yma.bank.infrastructure.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Periodically checkpoints the index of the {@link OperationJournal}, which bounds the records replayed on the next
+ * start to those written since the last checkpoint, even after a crash.
+ */
+@Component
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "journal")
+public class JournalCheckpointJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalCheckpointJob.class);
+
+    private final OperationJournal journal;
+
+    public JournalCheckpointJob(OperationJournal journal) {
+        this.journal = journal;
+    }
+
+    @Scheduled(initialDelayString = "${bank.journal.checkpoint-interval-ms:60000}",
+            fixedDelayString = "${bank.journal.checkpoint-interval-ms:60000}")
+    public void scheduledCheckpoint() {
+        try {
+            journal.checkpoint();
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Journal checkpoint failed, the next start will replay the records since the previous one", e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.yma.bank.infrastructure.journal;
+
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.services.OperationHistoryRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads the operation history straight from the {@link OperationJournal}, which already holds every recorded
+ * operation: there is no separate history to write, hence only the read side of the history is implemented.
+ */
+public class JournalOperationHistoryRepository implements OperationHistoryRepository {
+
+    private final OperationJournal journal;
+
+    public JournalOperationHistoryRepository(OperationJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountId(Long accountId) {
+        return findByAccountIdBetween(accountId, LocalDateTime.MIN, null);
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return findByAccountIdBetween(accountId, from, to, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to, int limit) {
+        List<OperationHistory> operations = new ArrayList<>();
+        journal.forEachOperation(accountId, operation -> {
+            if (!operation.getTimestamp().isBefore(from) && (to == null || operation.getTimestamp().isBefore(to))) {
+                operations.add(toHistory(operation));
+            }
+        });
+        operations.sort(Comparator.comparing(OperationHistory::getTimestamp));
+        return operations.size() > limit ? new ArrayList<>(operations.subList(0, limit)) : operations;
+    }
+
+    @Override
+    public Money getBalanceBetween(Long accountId, LocalDateTime from, LocalDateTime until) {
+        long[] balance = {0L};
+        journal.forEachOperation(accountId, operation -> {
+            if ((from == null || !operation.getTimestamp().isBefore(from)) && operation.getTimestamp().isBefore(until)) {
+                balance[0] = Math.addExact(balance[0], operation.getSignedAmount().getMinorUnits());
+            }
+        });
+        return Money.ofMinorUnits(balance[0]);
+    }
+
+    /**
+     * Hands the operations to the action in the order they were recorded, which is also their timestamp order
+     * as long as the clock does not go backwards.
+     */
+    @Override
+    public void forEachByAccountIdFrom(Long accountId, LocalDateTime from, Consumer<OperationHistory> action) {
+        journal.forEachOperation(accountId, operation -> {
+            if (!operation.getTimestamp().isBefore(from)) {
+                action.accept(toHistory(operation));
+            }
+        });
+    }
+
+    private static OperationHistory toHistory(Operation operation) {
+        return new OperationHistory(operation.getId(), operation.getAccountId(), operation.getTimestamp(),
+                operation.getAmount(), operation.getOperationType());
+    }
+}
@@ -0,0 +1,85 @@
+package com.yma.bank.infrastructure.journal;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.services.OperationRepository;
+import com.yma.bank.domain.services.StatementCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Records the operations in the {@link OperationJournal} instead of the database: the account balance and version
+ * are kept by the journal index, and the journal itself is the operation history. The recorded operations are
+ * therefore visible in the history as soon as they are appended, and handed to the statement cache right away.
+ */
+public class JournalOperationRepository implements OperationRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JournalOperationRepository.class);
+
+    private final OperationJournal journal;
+
+    /**
+     * Optional statement cache, null when disabled.
+     */
+    private final StatementCache statementCache;
+
+    public JournalOperationRepository(OperationJournal journal) {
+        this(journal, null);
+    }
+
+    public JournalOperationRepository(OperationJournal journal, StatementCache statementCache) {
+        this.journal = journal;
+        this.statementCache = statementCache;
+    }
+
+    @Override
+    public void saveOperation(Operation operation) {
+        saveOperation(operation, null);
+    }
+
+    @Override
+    public void saveOperation(Operation operation, Long expectedAccountVersion) {
+        Map<Long, Long> expectedAccountVersions = new HashMap<>();
+        expectedAccountVersions.put(operation.getAccountId(), expectedAccountVersion);
+        appendToStatementCache(journal.append(Map.of(operation.getAccountId(), List.of(operation)), expectedAccountVersions));
+        LOGGER.debug("Operation journaled for account ID {}", operation.getAccountId());
+    }
+
+    /**
+     * The journal keeps no idempotency key, which is ignored.
+     */
+    @Override
+    public Account saveOperationLocked(Long accountId, Function<Account, Operation> operation, String idempotencyKey) {
+        AtomicReference<Account> locked = new AtomicReference<>();
+        appendToStatementCache(journal.append(accountId, account -> {
+            locked.set(account);
+            return operation.apply(account);
+        }));
+        return locked.get();
+    }
+
+    @Override
+    public void saveOperations(List<Operation> operations, Map<Long, Long> expectedAccountVersions) {
+        appendToStatementCache(journal.append(operations.stream()
+                        .collect(Collectors.groupingBy(Operation::getAccountId, TreeMap::new, Collectors.toList())),
+                expectedAccountVersions));
+        LOGGER.debug("Batch of {} operations journaled", operations.size());
+    }
+
+    private void appendToStatementCache(List<Operation> recorded) {
+        if (statementCache != null) {
+            statementCache.append(recorded.stream()
+                    .map(operation -> new OperationHistory(operation.getId(), operation.getAccountId(), operation.getTimestamp(),
+                            operation.getAmount(), operation.getOperationType()))
+                    .toList());
+        }
+    }
+}
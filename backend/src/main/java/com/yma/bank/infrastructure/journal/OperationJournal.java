@@ -0,0 +1,577 @@
+package com.yma.bank.infrastructure.journal;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only log of the operations, stored as fixed-width binary records in memory-mapped segment files.
+ * <p>
+ * Each record holds one operation along with the account version produced by the write that recorded it,
+ * and a checksum. The last record of a write is flagged as committing it, so a write spanning several records
+ * is either entirely replayed or entirely dropped on recovery. An in-memory index keeps, for each account,
+ * the positions of its records as well as its running balance and version, so that appending only costs
+ * a few memory writes and reading an account never scans the records of the other accounts.
+ * <p>
+ * The index is saved by {@link #checkpoint} to a checkpoint file, along with the number of records it covers, once
+ * these records are forced to disk. On {@link #open} it is reloaded from the checkpoint, and only the records written
+ * after it are replayed up to the last committed write, so that the restart time depends on the records written since
+ * the last checkpoint rather than on the whole history; without a usable checkpoint every segment is replayed.
+ * The torn tail left by a crash, if any, is cleared. The records survive a crash of the process as soon as they are
+ * written, and a crash of the machine once the segment is forced to disk, which is done on every write when
+ * {@code forceOnWrite} is set.
+ */
+public class OperationJournal implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationJournal.class);
+
+    static final int RECORD_SIZE = 48;
+
+    private static final int ACCOUNT_ID_OFFSET = 0;
+    private static final int ACCOUNT_VERSION_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int EPOCH_SECOND_OFFSET = 24;
+    private static final int NANO_OFFSET = 32;
+    private static final int OPERATION_TYPE_OFFSET = 36;
+    private static final int FLAGS_OFFSET = 37;
+    private static final int CHECKSUM_OFFSET = 40;
+
+    private static final byte COMMIT_FLAG = 1;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    static final String CHECKPOINT_FILE = "index.checkpoint";
+
+    private static final int CHECKPOINT_MAGIC = 0x4A434B31;
+
+    private final Path directory;
+
+    private final int segmentRecords;
+
+    private final boolean forceOnWrite;
+
+    /**
+     * Tells whether an account exists when it is touched for the first time by the journal.
+     */
+    private final Predicate<Long> accountLookup;
+
+    private final Set<Long> knownAccounts = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, AccountLog> accountLogs = new HashMap<>();
+
+    /**
+     * Replaced as a whole when a segment is added, so that readers never see a partially grown array.
+     */
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    /**
+     * Number of committed records, which is also the position of the next record.
+     */
+    private long size;
+
+    /**
+     * Number of records covered by the last checkpoint written or loaded.
+     */
+    private volatile long checkpointSize;
+
+    private OperationJournal(Path directory, int segmentRecords, boolean forceOnWrite, Predicate<Long> accountLookup) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.forceOnWrite = forceOnWrite;
+        this.accountLookup = accountLookup;
+    }
+
+    /**
+     * Opens the journal stored in the directory, creating it if needed, and replays its segments.
+     *
+     * @param segmentRecords the number of records of each segment file
+     * @param forceOnWrite   whether every write is forced to disk before returning
+     * @param accountLookup  tells whether an account exists, called once per account
+     */
+    public static OperationJournal open(Path directory, int segmentRecords, boolean forceOnWrite, Predicate<Long> accountLookup) throws IOException {
+        if (segmentRecords <= 0 || (long) segmentRecords * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The number of records per segment must be positive and fit in a 2 GB segment");
+        }
+        Files.createDirectories(directory);
+        OperationJournal journal = new OperationJournal(directory, segmentRecords, forceOnWrite, accountLookup);
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Records the operations as a single write. Each account of the write gets its balance updated and its
+     * version incremented by one, but only if it is still at the version given in {@code expectedAccountVersions}
+     * (accounts without expected version are updated unconditionally).
+     *
+     * @return the recorded operations, with the ID given by the journal
+     * @throws DomainException               if one of the accounts does not exist
+     * @throws ConcurrentOperationException if one of the accounts was modified in the meantime,
+     *                                       in which case nothing is recorded
+     */
+    public List<Operation> append(Map<Long, List<Operation>> operationsByAccountId, Map<Long, Long> expectedAccountVersions) {
+        if (operationsByAccountId.isEmpty()) {
+            return List.of();
+        }
+        operationsByAccountId.keySet().forEach(this::checkAccountExists);
+
+        lock.writeLock().lock();
+        try {
+            Map<Long, Long> balances = new HashMap<>();
+            operationsByAccountId.forEach((accountId, operations) -> {
+                AccountLog accountLog = accountLogs.get(accountId);
+                long version = accountLog == null ? 0L : accountLog.version;
+                Long expectedVersion = expectedAccountVersions.get(accountId);
+                if (expectedVersion != null && expectedVersion != version) {
+                    throw new ConcurrentOperationException(String.format("Account with ID %s was modified concurrently", accountId));
+                }
+                balances.put(accountId, operations.stream()
+                        .mapToLong(operation -> operation.getSignedAmount().getMinorUnits())
+                        .reduce(accountLog == null ? 0L : accountLog.balance, Math::addExact));
+            });
+
+            // Les segments sont ajoutés avant d'écrire pour qu'une écriture ne puisse pas échouer à moitié
+            int recordCount = operationsByAccountId.values().stream().mapToInt(List::size).sum();
+            while (size + recordCount > (long) segments.length * segmentRecords) {
+                addSegment();
+            }
+
+            List<Operation> recorded = new ArrayList<>(recordCount);
+            long position = size;
+            int remaining = recordCount;
+            for (Map.Entry<Long, List<Operation>> entry : operationsByAccountId.entrySet()) {
+                AccountLog accountLog = accountLogs.computeIfAbsent(entry.getKey(), accountId -> new AccountLog());
+                long accountVersion = accountLog.version + 1;
+                for (Operation operation : entry.getValue()) {
+                    write(position, entry.getKey(), accountVersion, operation, --remaining == 0);
+                    recorded.add(new Operation(position + 1, entry.getKey(), operation.getTimestamp(), operation.getAmount(),
+                            operation.getOperationType()));
+                    accountLog.add(position++);
+                }
+                accountLog.version = accountVersion;
+                accountLog.balance = balances.get(entry.getKey());
+            }
+
+            if (forceOnWrite) {
+                for (long segmentStart = size - size % segmentRecords; segmentStart < position; segmentStart += segmentRecords) {
+                    segment(segmentStart).force();
+                }
+            }
+            size = position;
+            return recorded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the operation built from the current state of the account as a single write, holding the journal
+     * write lock in between so that the account cannot be modified concurrently.
+     *
+     * @param operation builds the operation from the account, which then holds it
+     * @return the recorded operation, with the ID given by the journal
+     * @throws DomainException if the account does not exist or the operation is rejected, in which case nothing is recorded
+     */
+    public List<Operation> append(Long accountId, Function<Account, Operation> operation) {
+        checkAccountExists(accountId);
+        lock.writeLock().lock();
+        try {
+            Account account = findAccount(accountId).orElseThrow();
+            Operation built = operation.apply(account);
+            return append(Map.of(accountId, List.of(built)), Map.of(accountId, account.getVersion()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the account with its running balance as baseline, its current version and no operation to display.
+     * Empty if the account does not exist.
+     */
+    public Optional<Account> findAccount(Long accountId) {
+        if (!accountExists(accountId)) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            AccountLog accountLog = accountLogs.get(accountId);
+            return Optional.of(accountLog == null
+                    ? new Account(accountId, Money.ZERO, new ArrayList<>(), 0L)
+                    : new Account(accountId, Money.ofMinorUnits(accountLog.balance), new ArrayList<>(), accountLog.version));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hands the operations of the account to the action in the order they were recorded. The records are read
+     * outside of the journal lock, so a slow action does not hold back the writers.
+     */
+    public void forEachOperation(Long accountId, Consumer<Operation> action) {
+        long[] positions;
+        lock.readLock().lock();
+        try {
+            AccountLog accountLog = accountLogs.get(accountId);
+            positions = accountLog == null ? new long[0] : Arrays.copyOf(accountLog.positions, accountLog.size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (long position : positions) {
+            action.accept(read(position));
+        }
+    }
+
+    /**
+     * Number of records committed to the journal.
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves the index to the checkpoint file, unless no record was committed since the last checkpoint. The records
+     * it covers are forced to disk first, and the file is replaced atomically, so that a crash at any point leaves
+     * either the previous checkpoint or the new one. The writers are only held back while the index is captured,
+     * not while it is written.
+     *
+     * @return the number of records covered by the checkpoint
+     */
+    public synchronized long checkpoint() {
+        long capturedSize;
+        List<AccountCheckpoint> accounts = new ArrayList<>();
+        MappedByteBuffer[] capturedSegments;
+        lock.readLock().lock();
+        try {
+            if (size == checkpointSize) {
+                return size;
+            }
+            capturedSize = size;
+            capturedSegments = segments;
+            // Les positions déjà indexées ne changent plus : il suffit de retenir le tableau et sa taille
+            accountLogs.forEach((accountId, accountLog) -> accounts.add(
+                    new AccountCheckpoint(accountId, accountLog.positions, accountLog.size, accountLog.balance, accountLog.version)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        for (MappedByteBuffer segment : capturedSegments) {
+            segment.force();
+        }
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        Path temporaryPath = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try {
+            try (FileOutputStream file = new FileOutputStream(temporaryPath.toFile())) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+                DataOutputStream output = new DataOutputStream(checked);
+                output.writeInt(CHECKPOINT_MAGIC);
+                output.writeInt(segmentRecords);
+                output.writeLong(capturedSize);
+                output.writeInt(accounts.size());
+                for (AccountCheckpoint account : accounts) {
+                    output.writeLong(account.accountId());
+                    output.writeLong(account.balance());
+                    output.writeLong(account.version());
+                    output.writeInt(account.size());
+                    for (int index = 0; index < account.size(); index++) {
+                        output.writeLong(account.positions()[index]);
+                    }
+                }
+                output.writeLong(checked.getChecksum().getValue());
+                output.flush();
+                file.getFD().sync();
+            }
+            Files.move(temporaryPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Unable to write journal checkpoint %s", checkpointPath), e);
+        }
+        checkpointSize = capturedSize;
+        LOGGER.info("Journal {} checkpointed: {} records for {} accounts", directory, capturedSize, accounts.size());
+        return capturedSize;
+    }
+
+    /**
+     * Forces the segments to disk and checkpoints the index, so that the next {@link #open} has nothing to replay.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            checkpoint();
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Journal {} closed without checkpoint, the next start will replay every segment", directory, e);
+        }
+    }
+
+    private void checkAccountExists(Long accountId) {
+        if (!accountExists(accountId)) {
+            throw new DomainException(String.format("Account with ID %s not found", accountId));
+        }
+    }
+
+    private boolean accountExists(Long accountId) {
+        if (knownAccounts.contains(accountId)) {
+            return true;
+        }
+        if (accountLookup.test(accountId)) {
+            knownAccounts.add(accountId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rebuilds the index from the checkpoint if there is a usable one, then from the segments after it, stopping at
+     * the first record whose checksum does not match, drops the records of the last write if it was not committed,
+     * and clears everything after the last committed record so that the stale records of a torn write can never be
+     * replayed later. A checkpoint that cannot be used is deleted, since the records it covers may be overwritten.
+     */
+    private void recover() throws IOException {
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        for (int index = 0; index < segmentFiles.size(); index++) {
+            if (!segmentFiles.get(index).equals(segmentPath(index))) {
+                throw new IllegalStateException(String.format("Unexpected journal segment %s", segmentFiles.get(index)));
+            }
+            addSegment();
+        }
+
+        long capacity = (long) segments.length * segmentRecords;
+        if (!loadCheckpoint(capacity)) {
+            Files.deleteIfExists(directory.resolve(CHECKPOINT_FILE));
+        }
+        long replayedFrom = size;
+        List<Long> uncommitted = new ArrayList<>();
+        long position = size;
+        while (position < capacity && isValid(position)) {
+            uncommitted.add(position);
+            if (segment(position).get(offset(position) + FLAGS_OFFSET) == COMMIT_FLAG) {
+                uncommitted.forEach(this::index);
+                uncommitted.clear();
+                size = position + 1;
+            }
+            position++;
+        }
+
+        for (long cleared = size; cleared < capacity; cleared++) {
+            clear(cleared);
+        }
+        LOGGER.info("Journal {} recovered: {} records for {} accounts, {} replayed after the checkpoint, {} uncommitted records dropped",
+                directory, size, accountLogs.size(), size - replayedFrom, uncommitted.size());
+    }
+
+    /**
+     * Loads the index from the checkpoint file, if it is complete, matches the segment size and ends on a committed
+     * record of the segments.
+     *
+     * @return whether the index was loaded, otherwise it is left empty
+     */
+    private boolean loadCheckpoint(long capacity) {
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpointPath)) {
+            return false;
+        }
+        Map<Long, AccountLog> loaded = new HashMap<>();
+        long loadedSize;
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(checkpointPath))) {
+            CheckedInputStream checked = new CheckedInputStream(file, new CRC32());
+            DataInputStream input = new DataInputStream(checked);
+            if (input.readInt() != CHECKPOINT_MAGIC || input.readInt() != segmentRecords) {
+                LOGGER.warn("Journal checkpoint {} ignored: written for another format or segment size", checkpointPath);
+                return false;
+            }
+            loadedSize = input.readLong();
+            int accountCount = input.readInt();
+            for (int account = 0; account < accountCount; account++) {
+                AccountLog accountLog = new AccountLog();
+                long accountId = input.readLong();
+                accountLog.balance = input.readLong();
+                accountLog.version = input.readLong();
+                accountLog.size = input.readInt();
+                accountLog.positions = new long[Math.max(accountLog.size, 8)];
+                for (int index = 0; index < accountLog.size; index++) {
+                    accountLog.positions[index] = input.readLong();
+                }
+                loaded.put(accountId, accountLog);
+            }
+            long checksum = checked.getChecksum().getValue();
+            if (input.readLong() != checksum) {
+                LOGGER.warn("Journal checkpoint {} ignored: checksum mismatch", checkpointPath);
+                return false;
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Journal checkpoint {} ignored: unreadable", checkpointPath, e);
+            return false;
+        }
+        if (loadedSize > capacity || (loadedSize > 0 && !isCommitted(loadedSize - 1))) {
+            LOGGER.warn("Journal checkpoint {} ignored: its last record is missing from the segments", checkpointPath);
+            return false;
+        }
+        accountLogs.putAll(loaded);
+        size = loadedSize;
+        checkpointSize = loadedSize;
+        return true;
+    }
+
+    private boolean isCommitted(long position) {
+        return isValid(position) && segment(position).get(offset(position) + FLAGS_OFFSET) == COMMIT_FLAG;
+    }
+
+    private void index(long position) {
+        MappedByteBuffer segment = segment(position);
+        int offset = offset(position);
+        AccountLog accountLog = accountLogs.computeIfAbsent(segment.getLong(offset + ACCOUNT_ID_OFFSET), accountId -> new AccountLog());
+        accountLog.add(position);
+        accountLog.version = segment.getLong(offset + ACCOUNT_VERSION_OFFSET);
+        accountLog.balance = Math.addExact(accountLog.balance, read(position).getSignedAmount().getMinorUnits());
+    }
+
+    private void write(long position, Long accountId, long accountVersion, Operation operation, boolean commit) {
+        MappedByteBuffer segment = segment(position);
+        int offset = offset(position);
+        LocalDateTime timestamp = operation.getTimestamp();
+        segment.putLong(offset + ACCOUNT_ID_OFFSET, accountId);
+        segment.putLong(offset + ACCOUNT_VERSION_OFFSET, accountVersion);
+        segment.putLong(offset + AMOUNT_OFFSET, operation.getAmount().getMinorUnits());
+        segment.putLong(offset + EPOCH_SECOND_OFFSET, timestamp.toEpochSecond(ZoneOffset.UTC));
+        segment.putInt(offset + NANO_OFFSET, timestamp.getNano());
+        segment.put(offset + OPERATION_TYPE_OFFSET, (byte) operation.getOperationType().ordinal());
+        segment.put(offset + FLAGS_OFFSET, commit ? COMMIT_FLAG : 0);
+        segment.putInt(offset + CHECKSUM_OFFSET, checksum(segment, offset));
+    }
+
+    private Operation read(long position) {
+        MappedByteBuffer segment = segment(position);
+        int offset = offset(position);
+        return new Operation(
+                position + 1,
+                segment.getLong(offset + ACCOUNT_ID_OFFSET),
+                LocalDateTime.ofEpochSecond(segment.getLong(offset + EPOCH_SECOND_OFFSET), segment.getInt(offset + NANO_OFFSET), ZoneOffset.UTC),
+                Money.ofMinorUnits(segment.getLong(offset + AMOUNT_OFFSET)),
+                OperationTypeEnum.values()[segment.get(offset + OPERATION_TYPE_OFFSET)]);
+    }
+
+    private boolean isValid(long position) {
+        MappedByteBuffer segment = segment(position);
+        int offset = offset(position);
+        byte operationType = segment.get(offset + OPERATION_TYPE_OFFSET);
+        return segment.getInt(offset + CHECKSUM_OFFSET) == checksum(segment, offset)
+                && operationType >= 0 && operationType < OperationTypeEnum.values().length;
+    }
+
+    private void clear(long position) {
+        MappedByteBuffer segment = segment(position);
+        int offset = offset(position);
+        for (int index = 0; index < RECORD_SIZE; index += Long.BYTES) {
+            if (segment.getLong(offset + index) != 0L) {
+                segment.put(offset, new byte[RECORD_SIZE]);
+                return;
+            }
+        }
+    }
+
+    private static int checksum(MappedByteBuffer segment, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(segment.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments[(int) (position / segmentRecords)];
+    }
+
+    private int offset(long position) {
+        return (int) (position % segmentRecords) * RECORD_SIZE;
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%020d%s", (long) index * segmentRecords, SEGMENT_SUFFIX));
+    }
+
+    private void addSegment() {
+        Path path = segmentPath(segments.length);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+            grown[segments.length] = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+            segments = grown;
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Unable to map journal segment %s", path), e);
+        }
+        LOGGER.info("Journal segment {} mapped", path);
+    }
+
+    /**
+     * The index entry of one account as captured for a checkpoint: only the first {@code size} positions are saved.
+     */
+    private record AccountCheckpoint(Long accountId, long[] positions, int size, long balance, long version) {
+    }
+
+    /**
+     * Positions of the records of one account in the journal, with its running balance and version.
+     */
+    private static final class AccountLog {
+        private long[] positions = new long[8];
+        private int size;
+        private long balance;
+        private long version;
+
+        private void add(long position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.yma.bank.infrastructure.metrics;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.BulkOperationResult;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Times the hot paths of the domain services and every call of the repository ports, without the domain knowing it.
+ * <ul>
+ *     <li>{@code bank.operation}: one deposit or withdrawal, tagged by type and outcome (success, rejected, conflict, error).
+ *     For {@code submitOperation}, the time until the returned future completes, batching included.
+ *     A transfer is timed as one operation of type transfer.</li>
+ *     <li>{@code bank.operation.bulk} and {@code bank.operation.bulk.size}: one bulk request and its number of operations.</li>
+ *     <li>{@code bank.statement} and {@code bank.statement.lines}: one statement generated or exported and its number of lines.</li>
+ *     <li>{@code bank.repository}: one call of a repository port, tagged by adapter and method, so that the query
+ *     dominating a request can be told apart. The JPA queries behind it are timed by Spring Data as
+ *     {@code spring.data.repository.invocations}.</li>
+ * </ul>
+ */
+@Aspect
+@Component
+public class BankMetricsAspect {
+
+    static final String OPERATION_TIMER = "bank.operation";
+    static final String BULK_TIMER = "bank.operation.bulk";
+    static final String BULK_SIZE = "bank.operation.bulk.size";
+    static final String STATEMENT_TIMER = "bank.statement";
+    static final String STATEMENT_LINES = "bank.statement.lines";
+    static final String REPOSITORY_TIMER = "bank.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public BankMetricsAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    BankMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.AccountService.sendMoney(..)) && args(request)")
+    public Object timeSendMoney(ProceedingJoinPoint joinPoint, NewOperationRequest request) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(operationTimer(request, null));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(operationTimer(request, e));
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.AccountService.submitOperation(..)) && args(request)")
+    public Object timeSubmitOperation(ProceedingJoinPoint joinPoint, NewOperationRequest request) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<?> future;
+        try {
+            future = (CompletableFuture<?>) joinPoint.proceed();
+        } catch (Throwable e) {
+            sample.stop(operationTimer(request, e));
+            throw e;
+        }
+        // Le futur d'origine est rendu tel quel : la mesure n'est qu'un effet de bord de sa complétion
+        future.whenComplete((done, failure) -> sample.stop(operationTimer(request, unwrap(failure))));
+        return future;
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.AccountService.transfer(..))")
+    public Object timeTransfer(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(timer(OPERATION_TIMER, "type", "transfer", "outcome", "success"));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(timer(OPERATION_TIMER, "type", "transfer", "outcome", outcome(e)));
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.AccountService.sendMoneyInBulk(..)) && args(requests)")
+    public Object timeSendMoneyInBulk(ProceedingJoinPoint joinPoint, List<NewOperationRequest> requests) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            @SuppressWarnings("unchecked")
+            List<BulkOperationResult> results = (List<BulkOperationResult>) joinPoint.proceed();
+            sample.stop(timer(BULK_TIMER, "outcome", "success"));
+            summary(BULK_SIZE, "operations").record(requests.size());
+            return results;
+        } catch (Throwable e) {
+            sample.stop(timer(BULK_TIMER, "outcome", outcome(e)));
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.StatementService.generateAccountStatement(..))")
+    public Object timeGenerateStatement(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            AccountStatementResponse statement = (AccountStatementResponse) joinPoint.proceed();
+            sample.stop(timer(STATEMENT_TIMER, "kind", "generate", "outcome", "success"));
+            summary(STATEMENT_LINES, "lines", "kind", "generate").record(statement.getStatementLineList().size());
+            return statement;
+        } catch (Throwable e) {
+            sample.stop(timer(STATEMENT_TIMER, "kind", "generate", "outcome", outcome(e)));
+            throw e;
+        }
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.StatementService.exportAccountStatement(..)) && args(accountId, fromDate, lineConsumer)")
+    public Object timeExportStatement(ProceedingJoinPoint joinPoint, Long accountId, LocalDateTime fromDate,
+                                      Consumer<StatementLine> lineConsumer) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long[] lineCount = {0};
+        Consumer<StatementLine> countingConsumer = line -> {
+            lineCount[0]++;
+            lineConsumer.accept(line);
+        };
+        try {
+            Object result = joinPoint.proceed(new Object[]{accountId, fromDate, countingConsumer});
+            sample.stop(timer(STATEMENT_TIMER, "kind", "export", "outcome", "success"));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(timer(STATEMENT_TIMER, "kind", "export", "outcome", outcome(e)));
+            throw e;
+        } finally {
+            summary(STATEMENT_LINES, "lines", "kind", "export").record(lineCount[0]);
+        }
+    }
+
+    @Around("execution(public * com.yma.bank.domain.services.*Repository+.*(..)) && !within(com.yma.bank.domain..*)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REPOSITORY_TIMER)
+                    .description("Calls of the repository ports")
+                    .tag("repository", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private Timer operationTimer(NewOperationRequest request, Throwable failure) {
+        String type = request == null || request.getOperationType() == null
+                ? "unknown" : request.getOperationType().name().toLowerCase(Locale.ROOT);
+        return timer(OPERATION_TIMER, "type", type, "outcome", failure == null ? "success" : outcome(failure));
+    }
+
+    private Timer timer(String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String baseUnit, String... tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * A conflict is an operation that still collided with concurrent writers after all its attempts,
+     * a rejection an operation refused by the domain rules.
+     */
+    private static String outcome(Throwable failure) {
+        if (failure instanceof ConcurrentOperationException) {
+            return "conflict";
+        }
+        return failure instanceof DomainException ? "rejected" : "error";
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+}
@@ -0,0 +1,75 @@
+package com.yma.bank.infrastructure.metrics;
+
+import com.yma.bank.domain.services.AccountCache;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.AccountServiceImpl;
+import com.yma.bank.domain.services.IdempotencyIndex;
+import com.yma.bank.domain.services.StatementCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters kept by the domain: the hits, misses and evictions of the caches, following the
+ * Micrometer {@code cache.*} conventions, the retries of the operations modified concurrently and the requests
+ * deduplicated by their idempotency key.
+ */
+@Component
+public class DomainMetricsBinder implements MeterBinder {
+
+    private final ObjectProvider<AccountCache> accountCache;
+
+    private final ObjectProvider<StatementCache> statementCache;
+
+    private final ObjectProvider<AccountService> accountService;
+
+    private final ObjectProvider<IdempotencyIndex> idempotencyIndex;
+
+    public DomainMetricsBinder(ObjectProvider<AccountCache> accountCache,
+                              ObjectProvider<StatementCache> statementCache,
+                              ObjectProvider<AccountService> accountService,
+                              ObjectProvider<IdempotencyIndex> idempotencyIndex) {
+        this.accountCache = accountCache;
+        this.statementCache = statementCache;
+        this.accountService = accountService;
+        this.idempotencyIndex = idempotencyIndex;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        accountCache.ifAvailable(cache -> {
+            bindGets(registry, "account", cache, AccountCache::getHitCount, AccountCache::getMissCount, AccountCache::getEvictionCount);
+            Gauge.builder("cache.size", cache, AccountCache::size).tag("cache", "account").register(registry);
+        });
+        statementCache.ifAvailable(cache -> {
+            bindGets(registry, "statement", cache, StatementCache::getHitCount, StatementCache::getMissCount, StatementCache::getEvictionCount);
+            Gauge.builder("cache.size", cache, StatementCache::getCachedLines).tag("cache", "statement").baseUnit("lines").register(registry);
+        });
+        if (accountService.getIfAvailable() instanceof AccountServiceImpl service) {
+            FunctionCounter.builder("bank.operation.retries", service, AccountServiceImpl::getConcurrentModificationRetries)
+                    .description("Operations retried because their account was modified concurrently")
+                    .register(registry);
+        }
+        idempotencyIndex.ifAvailable(index -> {
+            FunctionCounter.builder("bank.idempotency.replays", index, IdempotencyIndex::getReplayCount)
+                    .description("Requests answered with the result of an earlier request with the same idempotency key")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", index, IdempotencyIndex::getEvictionCount).tag("cache", "idempotency").register(registry);
+            Gauge.builder("cache.size", index, IdempotencyIndex::size).tag("cache", "idempotency").register(registry);
+        });
+    }
+
+    private static <C> void bindGets(MeterRegistry registry, String name, C cache,
+                                     ToDoubleFunction<C> hits,
+                                     ToDoubleFunction<C> misses,
+                                     ToDoubleFunction<C> evictions) {
+        FunctionCounter.builder("cache.gets", cache, hits).tags("cache", name, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses).tags("cache", name, "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", cache, evictions).tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.yma.bank.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every call of the entity mappers as {@code bank.mapper}, tagged by mapper and method.
+ * <p>
+ * A mapper is called once per row, so the timer costs about as much as the mapping itself:
+ * it is only enabled with {@code bank.metrics.mappers.enabled=true}, while investigating.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "bank.metrics.mappers.enabled", havingValue = "true")
+public class MapperMetricsAspect {
+
+    static final String MAPPER_TIMER = "bank.mapper";
+
+    private final MeterRegistry meterRegistry;
+
+    public MapperMetricsAspect(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    @Around("execution(public * com.yma.bank.infrastructure.repository.*Mapper.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            sample.stop(Timer.builder(MAPPER_TIMER)
+                    .tag("mapper", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.yma.bank.infrastructure.replica;
+
+import com.yma.bank.domain.services.AccountSummaryRepository;
+import com.yma.bank.domain.services.ReadConsistency;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Serves the statements, the accounts and their listings from the read replica, so that their scans do not compete
+ * with the writes for the connections and the locks of the primary. The writes, and the reads of a caller requiring
+ * {@link ReadConsistency#readYourWrites()}, stay on the primary.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "bank.read-replica.enabled", havingValue = "true")
+public class ReadReplicaAspect {
+
+    private final ReadWriteRoutingDataSource dataSource;
+
+    private final boolean accountSummaries;
+
+    public ReadReplicaAspect(ReadWriteRoutingDataSource dataSource,
+                             ObjectProvider<AccountSummaryRepository> accountSummaryRepository) {
+        this.dataSource = dataSource;
+        this.accountSummaries = accountSummaryRepository.getIfAvailable() != null;
+    }
+
+    @Around("execution(* com.yma.bank.domain.services.StatementService.*(..))"
+            + " || execution(* com.yma.bank.domain.services.AccountService.getAllAccounts(..))"
+            + " || execution(* com.yma.bank.domain.services.AccountService.getAccountsPage(..))")
+    public Object readFromReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedOnReplica(joinPoint);
+    }
+
+    /**
+     * The current balance is read from the account summaries of the replica, like the listings. Without summaries it
+     * is served by the account cache, which also validates the writes: its misses are loaded from the primary, so that
+     * a withdrawal is never checked against a balance the replica has not caught up with.
+     */
+    @Around("execution(* com.yma.bank.domain.services.AccountService.getAccount(..)) && args(accountId, baselineDate)")
+    public Object readAccountFromReplica(ProceedingJoinPoint joinPoint, Long accountId, LocalDateTime baselineDate) throws Throwable {
+        return baselineDate == null && !accountSummaries ? joinPoint.proceed() : proceedOnReplica(joinPoint);
+    }
+
+    private Object proceedOnReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ReadConsistency.isReadYourWritesRequired()) {
+            return joinPoint.proceed();
+        }
+        boolean previous = dataSource.bindReplica(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            dataSource.bindReplica(previous);
+        }
+    }
+}
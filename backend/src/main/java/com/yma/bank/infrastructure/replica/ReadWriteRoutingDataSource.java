@@ -0,0 +1,72 @@
+package com.yma.bank.infrastructure.replica;
+
+import com.yma.bank.domain.services.ReadConsistency;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+
+/**
+ * The data source of the application when a read replica is configured: the connections are taken from the pool of
+ * the primary database, unless the replica is bound to the thread by {@link ReadReplicaAspect} and the thread does not
+ * require {@link ReadConsistency#readYourWrites()}. A transaction already open keeps its connection, so a read made
+ * within a write transaction always goes to the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    static final String REPLICA = "replica";
+
+    private final HikariDataSource primary;
+
+    private final HikariDataSource replica;
+
+    private final ThreadLocal<Boolean> replicaBound = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, HikariDataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Binds the replica, or the primary, to the current thread.
+     *
+     * @return whether the replica was bound before, to be restored once done
+     */
+    public boolean bindReplica(boolean bound) {
+        boolean previous = isReplicaBound();
+        if (bound) {
+            replicaBound.set(Boolean.TRUE);
+        } else {
+            replicaBound.remove();
+        }
+        return previous;
+    }
+
+    public boolean isReplicaBound() {
+        return replicaBound.get() != null;
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public HikariDataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isReplicaBound() && !ReadConsistency.isReadYourWritesRequired() ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+        replica.close();
+    }
+}
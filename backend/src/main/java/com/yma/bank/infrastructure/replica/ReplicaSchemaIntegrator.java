@@ -0,0 +1,49 @@
+package com.yma.bank.infrastructure.replica;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * Hibernate manages the schema through a connection to the primary. This integrator applies the same schema action
+ * ({@code spring.jpa.hibernate.ddl-auto}) to the read replica while the session factory is built, and its delayed
+ * drop, if any, when it is closed.
+ */
+public class ReplicaSchemaIntegrator implements Integrator {
+
+    private final ReadWriteRoutingDataSource dataSource;
+
+    private volatile DelayedDropAction delayedDrop;
+
+    public ReplicaSchemaIntegrator(ReadWriteRoutingDataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        onReplica(() -> SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                sessionFactory.getProperties(), action -> delayedDrop = action));
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        DelayedDropAction action = delayedDrop;
+        if (action != null) {
+            onReplica(() -> action.perform(serviceRegistry));
+            delayedDrop = null;
+        }
+    }
+
+    private void onReplica(Runnable action) {
+        boolean previous = dataSource.bindReplica(true);
+        try {
+            action.run();
+        } finally {
+            dataSource.bindReplica(previous);
+        }
+    }
+}
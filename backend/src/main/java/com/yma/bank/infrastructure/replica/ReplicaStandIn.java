@@ -0,0 +1,123 @@
+package com.yma.bank.infrastructure.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stands in for the replication of a real database, so that a read replica can be tried out with two local
+ * databases: copies periodically the accounts changed on the primary into the replica, along with the operations and
+ * the snapshots logged since the account version the replica holds. The operation history and the account summaries
+ * of the replica are derived from the copied operations rather than projected from an outbox.
+ * <p>
+ * Until the next copy, the replica lags behind the primary like an asynchronous replica would.
+ */
+@Component
+@ConditionalOnProperty(name = {"bank.read-replica.enabled", "bank.read-replica.stand-in.enabled"}, havingValue = "true")
+public class ReplicaStandIn {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaStandIn.class);
+
+    private static final long NO_VERSION = -1L;
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final TransactionTemplate replicaTransactionTemplate;
+
+    public ReplicaStandIn(ReadWriteRoutingDataSource dataSource) {
+        this.primary = new JdbcTemplate(dataSource.getPrimary());
+        this.replica = new JdbcTemplate(dataSource.getReplica());
+        this.replicaTransactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource.getReplica()));
+    }
+
+    @Scheduled(fixedDelayString = "${bank.read-replica.stand-in.interval-ms:200}")
+    public void scheduledReplication() {
+        replicate();
+    }
+
+    /**
+     * Copies into the replica, in a single transaction, every account whose version differs from the primary.
+     *
+     * @return the number of accounts copied.
+     */
+    public synchronized int replicate() {
+        // L'en-tête du compte est lu avant ses opérations : toutes celles d'une version inférieure ou égale sont déjà validées
+        List<Map<String, Object>> accounts = primary.queryForList("SELECT id, account_id, balance, version FROM account");
+        Map<Long, Long> replicaVersions = new HashMap<>();
+        replica.query("SELECT account_id, version FROM account", (RowCallbackHandler) resultSet ->
+                replicaVersions.put(resultSet.getLong("account_id"), resultSet.getLong("version")));
+
+        Integer replicated = replicaTransactionTemplate.execute(status -> {
+            int count = 0;
+            for (Map<String, Object> account : accounts) {
+                Long accountId = ((Number) account.get("account_id")).longValue();
+                long version = ((Number) account.get("version")).longValue();
+                long replicaVersion = replicaVersions.getOrDefault(accountId, NO_VERSION);
+                if (replicaVersion == version) {
+                    continue;
+                }
+                copyOperations(accountId, replicaVersion, version);
+                copySnapshots(accountId, replicaVersion, version);
+                refreshSummary(accountId);
+                replica.update("MERGE INTO account (id, account_id, balance, version) KEY (account_id) VALUES (?, ?, ?, ?)",
+                        account.get("id"), accountId, account.get("balance"), version);
+                count++;
+            }
+            return count;
+        });
+        if (replicated != null && replicated > 0) {
+            LOGGER.debug("Replicated {} accounts", replicated);
+        }
+        return replicated == null ? 0 : replicated;
+    }
+
+    private void copyOperations(Long accountId, long fromVersionExclusive, long toVersion) {
+        List<Object[]> operations = primary.query(
+                "SELECT id, account_id, timestamp, amount, operation_type, account_version FROM operation"
+                        + " WHERE account_id = ? AND account_version > ? AND account_version <= ?",
+                (resultSet, rowNum) -> new Object[]{
+                        resultSet.getLong("id"), resultSet.getLong("account_id"), resultSet.getTimestamp("timestamp"),
+                        resultSet.getLong("amount"), resultSet.getString("operation_type"), resultSet.getLong("account_version")},
+                accountId, fromVersionExclusive, toVersion);
+        if (operations.isEmpty()) {
+            return;
+        }
+        replica.batchUpdate("INSERT INTO operation (id, account_id, timestamp, amount, operation_type, account_version)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", operations);
+        replica.batchUpdate("INSERT INTO operation_history (id, account_id, timestamp, amount, operation_type)"
+                + " VALUES (?, ?, ?, ?, ?)", operations.stream()
+                .map(operation -> new Object[]{operation[0], operation[1], operation[2], operation[3], operation[4]})
+                .toList());
+    }
+
+    private void refreshSummary(Long accountId) {
+        replica.update("MERGE INTO account_summary (account_id, balance, last_operation_at, operation_count, version) KEY (account_id)"
+                + " SELECT account_id, SUM(CASE WHEN operation_type = 'WITHDRAWAL' THEN -amount ELSE amount END),"
+                + " MAX(timestamp), COUNT(*), 0 FROM operation_history WHERE account_id = ? GROUP BY account_id", accountId);
+    }
+
+    private void copySnapshots(Long accountId, long fromVersionExclusive, long toVersion) {
+        List<Object[]> snapshots = primary.query(
+                "SELECT id, account_id, version, balance, taken_at FROM account_snapshot"
+                        + " WHERE account_id = ? AND version > ? AND version <= ?",
+                (resultSet, rowNum) -> new Object[]{
+                        resultSet.getLong("id"), resultSet.getLong("account_id"), resultSet.getLong("version"),
+                        resultSet.getLong("balance"), resultSet.getTimestamp("taken_at")},
+                accountId, fromVersionExclusive, toVersion);
+        if (!snapshots.isEmpty()) {
+            replica.batchUpdate("INSERT INTO account_snapshot (id, account_id, version, balance, taken_at)"
+                    + " VALUES (?, ?, ?, ?, ?)", snapshots);
+        }
+    }
+}
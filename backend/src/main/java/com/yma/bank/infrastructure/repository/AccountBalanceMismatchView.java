@@ -0,0 +1,12 @@
+package com.yma.bank.infrastructure.repository;
+
+/**
+ * Projection of an account whose running balance differs from its ledger, both in minor units (cents).
+ */
+public interface AccountBalanceMismatchView {
+    Long getAccountId();
+
+    Long getSnapshotBalance();
+
+    Long getLedgerBalance();
+}
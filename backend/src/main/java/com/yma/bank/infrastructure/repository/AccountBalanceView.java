@@ -0,0 +1,10 @@
+package com.yma.bank.infrastructure.repository;
+
+/**
+ * Projection of an aggregated balance per account, in minor units (cents).
+ */
+public interface AccountBalanceView {
+    Long getAccountId();
+
+    Long getBalance();
+}
@@ -19,5 +19,26 @@ public class AccountEntity {
     @Column(unique = true)
     @Getter
     private Long accountId;
-}
 
+    /**
+     * Running balance of the account in minor units (cents), updated in the same transaction as every recorded operation.
+     */
+    @Column(nullable = false)
+    @Getter
+    private Long balance = 0L;
+
+    /**
+     * Incremented by every recorded operation, so that writers working on a stale snapshot are detected.
+     */
+    @Version
+    @Getter
+    private Long version;
+
+    public AccountEntity(Long id, Long accountId) {
+        this(id, accountId, 0L);
+    }
+
+    public AccountEntity(Long id, Long accountId, Long balance) {
+        this(id, accountId, balance, null);
+    }
+}
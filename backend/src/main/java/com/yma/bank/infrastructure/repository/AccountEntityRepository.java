@@ -1,9 +1,71 @@
 package com.yma.bank.infrastructure.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AccountEntityRepository extends JpaRepository<AccountEntity, Long> {
     Optional<AccountEntity> findByAccountId(Long accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select ae from AccountEntity ae where ae.accountId = :accountId")
+    Optional<AccountEntity> findForUpdateByAccountId(@Param("accountId") Long accountId);
+
+    List<AccountEntity> findByAccountIdIn(Collection<Long> accountIds);
+
+    List<AccountEntity> findByAccountIdGreaterThanOrderByAccountIdAsc(Long accountId, Limit limit);
+
+    boolean existsByAccountId(Long accountId);
+
+    @Query("select ae.accountId from AccountEntity ae " +
+            "where ae.accountId > :afterAccountId " +
+            "order by ae.accountId")
+    List<Long> findAccountIdsAfter(@Param("afterAccountId") Long afterAccountId, Limit limit);
+
+    /**
+     * Compares the running balance of the accounts of the given ID range with the sum of their operations in a single
+     * statement, so that an operation committed in the meantime cannot be seen on one side only.
+     */
+    @Query("select ae.accountId as accountId, ae.balance as snapshotBalance, " +
+            "coalesce(sum(case when oe.operationType = 'WITHDRAWAL' then -oe.amount else oe.amount end), 0) as ledgerBalance " +
+            "from AccountEntity ae " +
+            "left join OperationEntity oe on oe.accountId = ae.accountId " +
+            "where ae.accountId > :afterAccountId " +
+            "and ae.accountId <= :upToAccountId " +
+            "group by ae.accountId, ae.balance " +
+            "having ae.balance <> coalesce(sum(case when oe.operationType = 'WITHDRAWAL' then -oe.amount else oe.amount end), 0) " +
+            "order by ae.accountId")
+    List<AccountBalanceMismatchView> findBalanceMismatches(
+            @Param("afterAccountId") Long afterAccountId,
+            @Param("upToAccountId") Long upToAccountId);
+
+    @Query("select ae.version from AccountEntity ae where ae.accountId = :accountId")
+    Long findVersionByAccountId(@Param("accountId") Long accountId);
+
+    @Query("select ae.balance from AccountEntity ae where ae.accountId = :accountId")
+    Long findBalanceByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountEntity ae set ae.balance = ae.balance + :amount, ae.version = ae.version + 1 " +
+            "where ae.accountId = :accountId")
+    int addToBalance(
+            @Param("accountId") Long accountId,
+            @Param("amount") Long amount);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update AccountEntity ae set ae.balance = ae.balance + :amount, ae.version = ae.version + 1 " +
+            "where ae.accountId = :accountId " +
+            "and ae.version = :version")
+    int addToBalance(
+            @Param("accountId") Long accountId,
+            @Param("amount") Long amount,
+            @Param("version") Long expectedVersion);
 }
@@ -0,0 +1,53 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.domain.AccountSnapshot;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.services.AccountLedgerRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The operation table is the log of each account: its rows are only ever appended, each stamped with the account
+ * version of the write that recorded it. Snapshots are taken by {@link OperationRepositoryImpl} in the same
+ * transaction as the write that reaches a multiple of the snapshot interval.
+ */
+@Repository
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "jpa", matchIfMissing = true)
+public class AccountLedgerRepositoryImpl implements AccountLedgerRepository {
+
+    private final AccountSnapshotEntityRepository accountSnapshotEntityRepository;
+
+    private final OperationEntityRepository operationEntityRepository;
+
+    public AccountLedgerRepositoryImpl(AccountSnapshotEntityRepository accountSnapshotEntityRepository,
+                                       OperationEntityRepository operationEntityRepository) {
+        this.accountSnapshotEntityRepository = accountSnapshotEntityRepository;
+        this.operationEntityRepository = operationEntityRepository;
+    }
+
+    /**
+     * Every operation included in a snapshot was created before the snapshot was taken, so a snapshot taken before
+     * {@code date} only contains operations of the requested period and the rest of the period is the log tail.
+     * Without snapshot, the whole log of the account is summed.
+     */
+    @Override
+    public Money getBalanceBefore(Long accountId, LocalDateTime date) {
+        Optional<AccountSnapshotEntity> snapshot =
+                accountSnapshotEntityRepository.findFirstByAccountIdAndTakenAtLessThanOrderByTakenAtDesc(accountId, date);
+        if (snapshot.isEmpty()) {
+            return Money.ofMinorUnits(operationEntityRepository.getBalanceUntil(accountId, date));
+        }
+        return Money.ofMinorUnits(Math.addExact(snapshot.get().getBalance(),
+                operationEntityRepository.getBalanceAfterVersionUntil(accountId, snapshot.get().getVersion(), date)));
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findLatestSnapshotBefore(Long accountId, LocalDateTime date) {
+        return accountSnapshotEntityRepository.findFirstByAccountIdAndTakenAtLessThanOrderByTakenAtDesc(accountId, date)
+                .map(entity -> new AccountSnapshot(entity.getAccountId(), entity.getVersion(),
+                        Money.ofMinorUnits(entity.getBalance()), entity.getTakenAt()));
+    }
+}
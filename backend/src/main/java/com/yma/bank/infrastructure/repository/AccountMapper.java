@@ -1,13 +1,14 @@
 package com.yma.bank.infrastructure.repository;
 
 import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.Operation;
 import com.yma.bank.domain.OperationTypeEnum;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class AccountMapper {
@@ -15,14 +16,36 @@ public class AccountMapper {
     Account mapToDomainEntity(
             AccountEntity account,
             List<OperationEntity> operationEntityList,
-            Long withdrawalBalance,
-            Long depositBalance) {
-
-        BigDecimal baselineBalance = BigDecimal.valueOf(depositBalance).subtract(BigDecimal.valueOf(withdrawalBalance));
+            Money baselineBalance) {
         return new Account(account.getAccountId(),
                 baselineBalance,
                 mapToOperation(operationEntityList));
+    }
+
+    /**
+     * Assembles accounts from data loaded in bulk, keyed by account ID.
+     * Accounts missing from the maps have no operation and a zero baseline balance.
+     */
+    List<Account> mapToDomainEntities(
+            List<AccountEntity> accounts,
+            Map<Long, List<OperationEntity>> operationsByAccountId,
+            Map<Long, Long> baselineBalanceByAccountId) {
+        List<Account> mappedAccountList = new ArrayList<>(accounts.size());
 
+        for (AccountEntity account : accounts) {
+            mappedAccountList.add(mapToDomainEntity(account,
+                    operationsByAccountId.getOrDefault(account.getAccountId(), List.of()),
+                    Money.ofMinorUnits(baselineBalanceByAccountId.getOrDefault(account.getAccountId(), 0L))));
+        }
+
+        return mappedAccountList;
+    }
+
+    Account mapToDomainEntity(AccountEntity account) {
+        return new Account(account.getAccountId(),
+                Money.ofMinorUnits(account.getBalance()),
+                new ArrayList<>(),
+                account.getVersion());
     }
 
     List<Operation> mapToOperation(List<OperationEntity> operationEntityList) {
@@ -33,7 +56,7 @@ public class AccountMapper {
                     operationEntity.getId(),
                     operationEntity.getAccountId(),
                     operationEntity.getTimestamp(),
-                    operationEntity.getAmount(),
+                    Money.ofMinorUnits(operationEntity.getAmount()),
                     OperationTypeEnum.valueOf(operationEntity.getOperationType())
                     ));
         }
@@ -41,12 +64,22 @@ public class AccountMapper {
         return mappedOperationList;
     }
 
-    OperationEntity mapToJpaEntity(Operation operation) {
+    OperationEntity mapToJpaEntity(Operation operation, Long accountVersion) {
         return new OperationEntity(
                 operation.getId(),
                 operation.getAccountId(),
                 operation.getTimestamp(),
-                operation.getAmount(),
-                operation.getOperationType().name());
+                operation.getAmount().getMinorUnits(),
+                operation.getOperationType().name(),
+                accountVersion);
+    }
+
+    OperationOutboxEntity mapToOutboxEntity(Operation operation) {
+        return new OperationOutboxEntity(
+                null,
+                operation.getAccountId(),
+                operation.getAmount().getMinorUnits(),
+                operation.getOperationType().name(),
+                operation.getTimestamp());
     }
 }
@@ -2,17 +2,24 @@ package com.yma.bank.infrastructure.repository;
 
 import com.yma.bank.domain.Account;
 import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.services.AccountLedgerRepository;
 import com.yma.bank.domain.services.AccountRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Repository
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "jpa", matchIfMissing = true)
 public class AccountRepositoryImpl implements AccountRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccountRepositoryImpl.class);
 
@@ -20,19 +27,23 @@ public class AccountRepositoryImpl implements AccountRepository {
 
     private final OperationEntityRepository operationEntityRepository;
 
+    private final AccountLedgerRepository accountLedgerRepository;
+
     private final AccountMapper accountMapper;
 
     public AccountRepositoryImpl(AccountEntityRepository accountEntityRepository,
                                  OperationEntityRepository operationEntityRepository,
+                                 AccountLedgerRepository accountLedgerRepository,
                                  AccountMapper accountMapper) {
         this.accountEntityRepository = accountEntityRepository;
         this.operationEntityRepository = operationEntityRepository;
+        this.accountLedgerRepository = accountLedgerRepository;
         this.accountMapper = accountMapper;
     }
 
     @Override
     public Optional<Account> getAccount(Long accountId, LocalDateTime baselineDate) {
-        LOGGER.info("Searching for account ID {} in the database", accountId);
+        LOGGER.debug("Searching for account ID {} in the database", accountId);
 
         AccountEntity account = accountEntityRepository.findByAccountId(accountId)
                 .orElseThrow(() -> {
@@ -40,31 +51,73 @@ public class AccountRepositoryImpl implements AccountRepository {
                     return new DomainException(String.format("Account with ID %s not found", accountId));
                 });
 
-        LOGGER.info("Account ID {} found, retrieving operations", accountId);
+        LOGGER.debug("Account ID {} found, retrieving operations", accountId);
         List<OperationEntity> operationEntityList = operationEntityRepository.findByAccountIdSince(accountId, baselineDate);
 
-        Long withdrawalBalance = getSafeBalance(operationEntityRepository.getWithdrawalBalanceUntil(accountId, baselineDate));
-        Long depositBalance = getSafeBalance(operationEntityRepository.getDepositBalanceUntil(accountId, baselineDate));
+        Money baselineBalance = accountLedgerRepository.getBalanceBefore(accountId, baselineDate);
 
-        LOGGER.info("Balances retrieved for account ID {}: Withdrawals={}, Deposits={}", accountId, withdrawalBalance, depositBalance);
-        return Optional.of(accountMapper.mapToDomainEntity(account, operationEntityList, withdrawalBalance, depositBalance));
+        LOGGER.debug("Baseline balance rehydrated for account ID {}: {}", accountId, baselineBalance);
+        return Optional.of(accountMapper.mapToDomainEntity(account, operationEntityList, baselineBalance));
     }
 
+    /**
+     * Loads every account with a fixed number of queries, whatever the number of accounts:
+     * the accounts, one grouped aggregate for the baseline balances and one bulk fetch of the recent operations.
+     */
     @Override
     public List<Account> getAllAccounts(LocalDateTime baselineDate) {
         List<AccountEntity> accountsEntities = accountEntityRepository.findAll();
 
-        List<Account> accounts = new ArrayList<>();
-        accountsEntities.forEach(accountEntity -> {
-            List<OperationEntity> operationEntityList = operationEntityRepository.findByAccountIdSince(accountEntity.getAccountId(), baselineDate);
-            Long withdrawalBalance = getSafeBalance(operationEntityRepository.getWithdrawalBalanceUntil(accountEntity.getAccountId(), baselineDate));
-            Long depositBalance = getSafeBalance(operationEntityRepository.getDepositBalanceUntil(accountEntity.getAccountId(), baselineDate));
-            accounts.add(accountMapper.mapToDomainEntity(accountEntity, operationEntityList, withdrawalBalance, depositBalance));
-        });
-        return accounts;
+        LOGGER.info("Loaded {} accounts in bulk", accountsEntities.size());
+        return mapToDomainEntities(accountsEntities,
+                operationEntityRepository.findAllSince(baselineDate),
+                operationEntityRepository.getBalancesUntil(baselineDate));
     }
 
-    private static Long getSafeBalance(Long value) {
-        return (value != null) ? value : 0L;
+    /**
+     * Loads one keyset page of accounts with the same fixed number of queries as {@link #getAllAccounts},
+     * restricted to the account IDs of the page.
+     */
+    @Override
+    public List<Account> getAccountsAfter(Long afterAccountId, int limit, LocalDateTime baselineDate) {
+        List<AccountEntity> accountsEntities = accountEntityRepository.findByAccountIdGreaterThanOrderByAccountIdAsc(
+                afterAccountId != null ? afterAccountId : Long.MIN_VALUE, Limit.of(limit));
+        if (accountsEntities.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> accountIds = accountsEntities.stream().map(AccountEntity::getAccountId).toList();
+        return mapToDomainEntities(accountsEntities,
+                operationEntityRepository.findByAccountIdsSince(accountIds, baselineDate),
+                operationEntityRepository.getBalancesUntil(accountIds, baselineDate));
+    }
+
+    @Override
+    public Optional<Account> getAccountSnapshot(Long accountId) {
+        LOGGER.debug("Loading balance snapshot for account ID {}", accountId);
+        return accountEntityRepository.findByAccountId(accountId)
+                .map(accountMapper::mapToDomainEntity);
+    }
+
+    @Override
+    public Map<Long, Account> getAccountSnapshots(Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return Map.of();
+        }
+        LOGGER.debug("Loading balance snapshots for {} accounts", accountIds.size());
+        return accountEntityRepository.findByAccountIdIn(accountIds).stream()
+                .collect(Collectors.toMap(AccountEntity::getAccountId, accountMapper::mapToDomainEntity));
+    }
+
+    private List<Account> mapToDomainEntities(List<AccountEntity> accountsEntities,
+                                              List<OperationEntity> operationEntityList,
+                                              List<AccountBalanceView> baselineBalanceList) {
+        Map<Long, Long> baselineBalances = baselineBalanceList.stream()
+                .collect(Collectors.toMap(AccountBalanceView::getAccountId, AccountBalanceView::getBalance));
+
+        Map<Long, List<OperationEntity>> operationsByAccountId = operationEntityList.stream()
+                .collect(Collectors.groupingBy(OperationEntity::getAccountId));
+
+        return accountMapper.mapToDomainEntities(accountsEntities, operationsByAccountId, baselineBalances);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.yma.bank.infrastructure.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "account_snapshot",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"accountId", "version"}),
+        indexes = @Index(name = "idx_account_snapshot_account_taken_at", columnList = "accountId, takenAt"))
+@Getter
+public class AccountSnapshotEntity {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    private Long accountId;
+
+    /**
+     * The balance includes every operation logged with an account version lower than or equal to this one.
+     */
+    private Long version;
+
+    /**
+     * In minor units (cents).
+     */
+    private Long balance;
+
+    private LocalDateTime takenAt;
+}
@@ -0,0 +1,12 @@
+package com.yma.bank.infrastructure.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface AccountSnapshotEntityRepository extends JpaRepository<AccountSnapshotEntity, Long> {
+    Optional<AccountSnapshotEntity> findFirstByAccountIdAndTakenAtLessThanOrderByTakenAtDesc(Long accountId, LocalDateTime date);
+}
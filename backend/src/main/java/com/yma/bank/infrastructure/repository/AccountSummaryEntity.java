@@ -0,0 +1,51 @@
+package com.yma.bank.infrastructure.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized state of an account, updated by the {@link OperationHistoryProjector} in the same transaction as the
+ * history of the operations it includes.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "account_summary")
+@Getter
+public class AccountSummaryEntity {
+
+    @Id
+    private Long accountId;
+
+    /**
+     * Balance of the projected operations, in minor units (cents).
+     */
+    private Long balance;
+
+    private LocalDateTime lastOperationAt;
+
+    private Long operationCount;
+
+    /**
+     * Also tells Spring Data whether the summary is new, its ID being assigned.
+     */
+    @Version
+    private Long version;
+
+    public AccountSummaryEntity(Long accountId) {
+        this(accountId, 0L, null, 0L, null);
+    }
+
+    void record(OperationOutboxEntity operation) {
+        long amount = "WITHDRAWAL".equals(operation.getOperationType()) ? -operation.getAmount() : operation.getAmount();
+        balance = Math.addExact(balance, amount);
+        operationCount++;
+        if (lastOperationAt == null || operation.getTimestamp().isAfter(lastOperationAt)) {
+            lastOperationAt = operation.getTimestamp();
+        }
+    }
+}
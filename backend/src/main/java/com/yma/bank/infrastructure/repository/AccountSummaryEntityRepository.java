@@ -0,0 +1,33 @@
+package com.yma.bank.infrastructure.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AccountSummaryEntityRepository extends JpaRepository<AccountSummaryEntity, Long> {
+
+    @Query("select ae.accountId as accountId, coalesce(se.balance, 0) as balance, " +
+            "se.lastOperationAt as lastOperationAt, coalesce(se.operationCount, 0) as operationCount " +
+            "from AccountEntity ae left join AccountSummaryEntity se on se.accountId = ae.accountId " +
+            "order by ae.accountId")
+    List<AccountSummaryView> findAllSummaries();
+
+    @Query("select ae.accountId as accountId, coalesce(se.balance, 0) as balance, " +
+            "se.lastOperationAt as lastOperationAt, coalesce(se.operationCount, 0) as operationCount " +
+            "from AccountEntity ae left join AccountSummaryEntity se on se.accountId = ae.accountId " +
+            "where ae.accountId = :accountId")
+    Optional<AccountSummaryView> findSummary(@Param("accountId") Long accountId);
+
+    @Query("select ae.accountId as accountId, coalesce(se.balance, 0) as balance, " +
+            "se.lastOperationAt as lastOperationAt, coalesce(se.operationCount, 0) as operationCount " +
+            "from AccountEntity ae left join AccountSummaryEntity se on se.accountId = ae.accountId " +
+            "where ae.accountId > :afterAccountId " +
+            "order by ae.accountId")
+    List<AccountSummaryView> findSummariesAfter(
+            @Param("afterAccountId") Long afterAccountId,
+            Pageable pageable);
+}
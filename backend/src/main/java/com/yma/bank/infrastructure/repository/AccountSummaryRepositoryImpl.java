@@ -0,0 +1,55 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.domain.AccountSummary;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.services.AccountSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the summaries with one query over the account index, whatever the size of the history of the accounts.
+ */
+@Repository
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "jpa", matchIfMissing = true)
+public class AccountSummaryRepositoryImpl implements AccountSummaryRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccountSummaryRepositoryImpl.class);
+
+    private final AccountSummaryEntityRepository accountSummaryEntityRepository;
+
+    public AccountSummaryRepositoryImpl(AccountSummaryEntityRepository accountSummaryEntityRepository) {
+        this.accountSummaryEntityRepository = accountSummaryEntityRepository;
+    }
+
+    @Override
+    public List<AccountSummary> getAllSummaries() {
+        List<AccountSummary> summaries = accountSummaryEntityRepository.findAllSummaries().stream()
+                .map(AccountSummaryRepositoryImpl::toDomain)
+                .toList();
+        LOGGER.debug("Loaded {} account summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Optional<AccountSummary> getSummary(Long accountId) {
+        return accountSummaryEntityRepository.findSummary(accountId).map(AccountSummaryRepositoryImpl::toDomain);
+    }
+
+    @Override
+    public List<AccountSummary> getSummariesAfter(Long afterAccountId, int limit) {
+        return accountSummaryEntityRepository.findSummariesAfter(
+                        afterAccountId != null ? afterAccountId : Long.MIN_VALUE, PageRequest.ofSize(limit)).stream()
+                .map(AccountSummaryRepositoryImpl::toDomain)
+                .toList();
+    }
+
+    private static AccountSummary toDomain(AccountSummaryView view) {
+        return new AccountSummary(view.getAccountId(), Money.ofMinorUnits(view.getBalance()),
+                view.getLastOperationAt(), view.getOperationCount());
+    }
+}
@@ -0,0 +1,16 @@
+package com.yma.bank.infrastructure.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an account joined with its summary, zero when the account has no projected operation.
+ */
+public interface AccountSummaryView {
+    Long getAccountId();
+
+    Long getBalance();
+
+    LocalDateTime getLastOperationAt();
+
+    Long getOperationCount();
+}
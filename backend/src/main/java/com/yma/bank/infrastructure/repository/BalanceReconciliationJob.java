@@ -0,0 +1,144 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.infrastructure.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically verifies the running balance stored on each account against the balance
+ * recomputed from its recorded operations, shard by shard, and reports the cross-shard batches
+ * recorded on some shards only.
+ */
+@Component
+public class BalanceReconciliationJob {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BalanceReconciliationJob.class);
+
+    private final AccountEntityRepository accountEntityRepository;
+
+    private final CrossShardBatchEntityRepository crossShardBatchEntityRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate transaction;
+
+    private final ShardRouter shardRouter;
+
+    private final Duration crossShardGrace;
+
+    private final int pageSize;
+
+    public BalanceReconciliationJob(AccountEntityRepository accountEntityRepository,
+                                    CrossShardBatchEntityRepository crossShardBatchEntityRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ShardRouter shardRouter,
+                                    @Value("${bank.reconciliation.cross-shard-grace-ms:60000}") long crossShardGraceMs,
+                                    @Value("${bank.reconciliation.page-size:1000}") int pageSize) {
+        this.accountEntityRepository = accountEntityRepository;
+        this.crossShardBatchEntityRepository = crossShardBatchEntityRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.crossShardGrace = Duration.ofMillis(crossShardGraceMs);
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(initialDelayString = "${bank.reconciliation.initial-delay-ms:60000}",
+            fixedDelayString = "${bank.reconciliation.fixed-delay-ms:3600000}")
+    public void scheduledReconciliation() {
+        reconcile();
+        reconcileCrossShardBatches();
+    }
+
+    /**
+     * Compares every account balance snapshot with the ledger, page by page of accounts.
+     *
+     * @return the IDs of the accounts whose snapshot does not match the ledger.
+     */
+    public List<Long> reconcile() {
+        List<Long> mismatches = new ArrayList<>();
+        for (String shard : shardRouter.getShards()) {
+            Long afterAccountId = Long.MIN_VALUE;
+            while (afterAccountId != null) {
+                Long pageAfterAccountId = afterAccountId;
+                afterAccountId = shardRouter.onShard(shard, () -> readOnlyTransaction.execute(status ->
+                        reconcilePage(pageAfterAccountId, mismatches)));
+            }
+        }
+        LOGGER.info("Balance reconciliation done, {} mismatch(es) found", mismatches.size());
+        return mismatches;
+    }
+
+    /**
+     * @return the last account ID of the page, or {@code null} once every account of the current shard was checked.
+     */
+    private Long reconcilePage(Long afterAccountId, List<Long> mismatches) {
+        List<Long> accountIds = accountEntityRepository.findAccountIdsAfter(afterAccountId, Limit.of(pageSize));
+        if (accountIds.isEmpty()) {
+            return null;
+        }
+        Long upToAccountId = accountIds.get(accountIds.size() - 1);
+        for (AccountBalanceMismatchView mismatch : accountEntityRepository.findBalanceMismatches(afterAccountId, upToAccountId)) {
+            LOGGER.warn("Balance mismatch for account ID {}: snapshot={}, ledger={}",
+                    mismatch.getAccountId(), mismatch.getSnapshotBalance(), mismatch.getLedgerBalance());
+            mismatches.add(mismatch.getAccountId());
+        }
+        return accountIds.size() < pageSize ? null : upToAccountId;
+    }
+
+    /**
+     * Looks for the cross-shard batches whose markers are older than the grace period, leaving the batches
+     * being recorded alone. A batch whose coordinator marker was committed is recorded on every shard: its
+     * leftover markers are removed. A batch without coordinator marker was committed on some shards only.
+     *
+     * @return the IDs of the accounts of the batches recorded on some shards only, whose markers are kept.
+     */
+    public List<Long> reconcileCrossShardBatches() {
+        List<String> shards = shardRouter.getShards();
+        if (shards.size() < 2) {
+            return List.of();
+        }
+        LocalDateTime before = LocalDateTime.now().minus(crossShardGrace);
+        Map<String, List<CrossShardBatchEntity>> markersByBatchId = new LinkedHashMap<>();
+        for (String shard : shards) {
+            shardRouter.onShard(shard, () -> readOnlyTransaction.execute(status ->
+                            crossShardBatchEntityRepository.findByCreatedAtBefore(before)))
+                    .forEach(marker -> markersByBatchId.computeIfAbsent(marker.getBatchId(), batchId -> new ArrayList<>()).add(marker));
+        }
+
+        List<String> completedBatchIds = new ArrayList<>();
+        List<Long> orphanedAccountIds = new ArrayList<>();
+        markersByBatchId.forEach((batchId, markers) -> {
+            if (markers.stream().anyMatch(CrossShardBatchEntity::isCoordinator)) {
+                completedBatchIds.add(batchId);
+            } else {
+                List<Long> accountIds = markers.stream().map(CrossShardBatchEntity::getAccountId).toList();
+                LOGGER.error("Cross-shard batch {} recorded on some shards only, for account IDs {}", batchId, accountIds);
+                orphanedAccountIds.addAll(accountIds);
+            }
+        });
+        if (!completedBatchIds.isEmpty()) {
+            // Coordinateur en dernier, comme après l'enregistrement du lot
+            for (int index = shards.size() - 1; index >= 0; index--) {
+                shardRouter.runOnShard(shards.get(index), () -> transaction.executeWithoutResult(status ->
+                        crossShardBatchEntityRepository.deleteByBatchIds(completedBatchIds)));
+            }
+        }
+        LOGGER.info("Cross-shard batch reconciliation done, {} batch(es) recorded on some shards only",
+                markersByBatchId.size() - completedBatchIds.size());
+        return orphanedAccountIds;
+    }
+}
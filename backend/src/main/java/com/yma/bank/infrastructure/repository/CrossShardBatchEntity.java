@@ -0,0 +1,38 @@
+package com.yma.bank.infrastructure.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marks an account whose operations were recorded by a batch spanning several shards, written in the same transaction
+ * as these operations. The legs on the first shard of the batch, committed last, are the coordinator: once they are
+ * committed, every leg is. The markers are removed once the batch is committed on every shard.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "cross_shard_batch",
+        indexes = {
+                @Index(name = "idx_cross_shard_batch_batch_id", columnList = "batchId"),
+                @Index(name = "idx_cross_shard_batch_created_at", columnList = "createdAt")
+        })
+@Getter
+public class CrossShardBatchEntity {
+
+    @Id
+    @GeneratedValue
+    private Long id;
+
+    @Column(length = 36)
+    private String batchId;
+
+    private Long accountId;
+
+    private boolean coordinator;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,21 @@
+package com.yma.bank.infrastructure.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CrossShardBatchEntityRepository extends JpaRepository<CrossShardBatchEntity, Long> {
+
+    List<CrossShardBatchEntity> findByCreatedAtBefore(LocalDateTime createdBefore);
+
+    @Modifying
+    @Query("delete from CrossShardBatchEntity csb where csb.batchId in :batchIds")
+    int deleteByBatchIds(@Param("batchIds") Collection<String> batchIds);
+}
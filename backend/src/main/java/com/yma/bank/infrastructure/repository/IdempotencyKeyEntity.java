@@ -0,0 +1,36 @@
+package com.yma.bank.infrastructure.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * The idempotency key of a recorded operation, written in the same transaction as the operation
+ * and purged after the retention period.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_key",
+        indexes = @Index(name = "idx_idempotency_key_created_at", columnList = "createdAt"))
+@Getter
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(length = 64)
+    private String idempotencyKey;
+
+    private Long accountId;
+
+    /**
+     * In minor units (cents).
+     */
+    private Long amount;
+
+    private String operationType;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.yma.bank.infrastructure.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyEntityRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+    /**
+     * Inserts the key without looking it up first, unlike {@code save}, which would merge it into an existing key.
+     * The primary key makes the insert fail if the key exists, or wait for the transaction inserting it.
+     */
+    @Modifying
+    @Query(value = "insert into idempotency_key (idempotency_key, account_id, amount, operation_type, created_at) " +
+            "values (:idempotencyKey, :accountId, :amount, :operationType, :createdAt)", nativeQuery = true)
+    int insert(@Param("idempotencyKey") String idempotencyKey,
+               @Param("accountId") Long accountId,
+               @Param("amount") Long amount,
+               @Param("operationType") String operationType,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("delete from IdempotencyKeyEntity ike where ike.createdAt < :createdBefore")
+    int deleteCreatedBefore(@Param("createdBefore") LocalDateTime createdBefore);
+}
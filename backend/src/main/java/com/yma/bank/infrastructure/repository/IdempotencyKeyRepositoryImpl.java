@@ -0,0 +1,70 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.IdempotencyKeyRepository;
+import com.yma.bank.infrastructure.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * The keys are inserted by {@link OperationRepositoryImpl} along with their operation; this adapter looks them up
+ * and purges those older than the retention period, after which a retried request is recorded again.
+ * With sharding, the keys of each shard are purged in a transaction of their own.
+ */
+@Repository
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "jpa", matchIfMissing = true)
+public class IdempotencyKeyRepositoryImpl implements IdempotencyKeyRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyKeyRepositoryImpl.class);
+
+    private final IdempotencyKeyEntityRepository idempotencyKeyEntityRepository;
+
+    private final Duration retention;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ShardRouter shardRouter;
+
+    public IdempotencyKeyRepositoryImpl(IdempotencyKeyEntityRepository idempotencyKeyEntityRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        ShardRouter shardRouter,
+                                        @Value("${bank.idempotency.retention-hours:24}") long retentionHours) {
+        if (retentionHours <= 0) {
+            throw new IllegalArgumentException("The retention of the idempotency keys must be positive");
+        }
+        this.idempotencyKeyEntityRepository = idempotencyKeyEntityRepository;
+        this.retention = Duration.ofHours(retentionHours);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Optional<NewOperationRequest> findOperation(String idempotencyKey) {
+        return idempotencyKeyEntityRepository.findById(idempotencyKey)
+                .map(key -> new NewOperationRequest(key.getAccountId(), Money.ofMinorUnits(key.getAmount()).toBigDecimal(),
+                        OperationTypeEnum.valueOf(key.getOperationType()), key.getIdempotencyKey()));
+    }
+
+    @Scheduled(initialDelayString = "${bank.idempotency.purge-interval-ms:3600000}",
+            fixedDelayString = "${bank.idempotency.purge-interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(retention);
+        int purged = 0;
+        for (String shard : shardRouter.getShards()) {
+            purged += shardRouter.onShard(shard, () -> transactionTemplate.execute(
+                    status -> idempotencyKeyEntityRepository.deleteCreatedBefore(createdBefore)));
+        }
+        LOGGER.info("{} idempotency key(s) older than {} purged", purged, retention);
+    }
+}
@@ -6,20 +6,31 @@ import lombok.NoArgsConstructor;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "operation")
+@Table(name = "operation",
+        indexes = {
+                @Index(name = "idx_operation_account_timestamp", columnList = "accountId, timestamp"),
+                @Index(name = "idx_operation_account_version", columnList = "accountId, accountVersion")
+        })
 @Getter
 public class OperationEntity {
+    static final int ID_ALLOCATION_SIZE = 500;
 
+    /**
+     * Allocated by blocks of {@value #ID_ALLOCATION_SIZE} so that batched inserts do not query the sequence for every row.
+     */
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_seq")
+    @SequenceGenerator(name = "operation_seq", sequenceName = "operation_seq", allocationSize = OperationEntity.ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -33,9 +44,19 @@ public class OperationEntity {
     private LocalDateTime timestamp;
 
     /**
-     * The money that was transferred between the accounts.
+     * The money that was transferred between the accounts, in minor units (cents).
      */
-    private BigDecimal amount;
+    private Long amount;
 
     private String operationType;
+
+    /**
+     * Version of the account after the write that recorded this operation, which orders the operation log
+     * of the account. Several operations recorded by the same batch share the same version.
+     */
+    private Long accountVersion;
+
+    public OperationEntity(Long id, Long accountId, LocalDateTime timestamp, Long amount, String operationType) {
+        this(id, accountId, timestamp, amount, operationType, null);
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -32,4 +33,55 @@ public interface OperationEntityRepository extends JpaRepository<OperationEntity
     Long getWithdrawalBalanceUntil(
             @Param("accountId") Long accountId,
             @Param("until") LocalDateTime until);
+
+    @Query("select coalesce(sum(case when oe.operationType = 'WITHDRAWAL' then -oe.amount else oe.amount end), 0) " +
+            "from OperationEntity oe " +
+            "where oe.accountId = :accountId " +
+            "and oe.timestamp < :until")
+    Long getBalanceUntil(
+            @Param("accountId") Long accountId,
+            @Param("until") LocalDateTime until);
+
+    /**
+     * Sums the operations logged after the given account version, read through the (accountId, accountVersion) index.
+     */
+    @Query("select coalesce(sum(case when oe.operationType = 'WITHDRAWAL' then -oe.amount else oe.amount end), 0) " +
+            "from OperationEntity oe " +
+            "where oe.accountId = :accountId " +
+            "and oe.accountVersion > :afterVersion " +
+            "and oe.timestamp < :until")
+    Long getBalanceAfterVersionUntil(
+            @Param("accountId") Long accountId,
+            @Param("afterVersion") Long afterVersion,
+            @Param("until") LocalDateTime until);
+
+    @Query("select oe from OperationEntity oe " +
+            "where oe.timestamp >= :since " +
+            "order by oe.accountId")
+    List<OperationEntity> findAllSince(@Param("since") LocalDateTime since);
+
+    @Query("select oe.accountId as accountId, " +
+            "sum(case when oe.operationType = 'WITHDRAWAL' then -oe.amount else oe.amount end) as balance " +
+            "from OperationEntity oe " +
+            "where oe.timestamp < :until " +
+            "group by oe.accountId")
+    List<AccountBalanceView> getBalancesUntil(@Param("until") LocalDateTime until);
+
+    @Query("select oe from OperationEntity oe " +
+            "where oe.accountId in :accountIds " +
+            "and oe.timestamp >= :since " +
+            "order by oe.accountId")
+    List<OperationEntity> findByAccountIdsSince(
+            @Param("accountIds") Collection<Long> accountIds,
+            @Param("since") LocalDateTime since);
+
+    @Query("select oe.accountId as accountId, " +
+            "sum(case when oe.operationType = 'WITHDRAWAL' then -oe.amount else oe.amount end) as balance " +
+            "from OperationEntity oe " +
+            "where oe.accountId in :accountIds " +
+            "and oe.timestamp < :until " +
+            "group by oe.accountId")
+    List<AccountBalanceView> getBalancesUntil(
+            @Param("accountIds") Collection<Long> accountIds,
+            @Param("until") LocalDateTime until);
 }
\ No newline at end of file
@@ -5,23 +5,31 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import jakarta.persistence.*;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "operation_history")
+@Table(name = "operation_history",
+        indexes = @Index(name = "idx_operation_history_account_timestamp", columnList = "accountId, timestamp"))
 @Getter
 public class OperationHistoryEntity {
 
+    /**
+     * Taken from a sequence rather than an identity column, which would make Hibernate insert the rows one by one.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_history_seq")
+    @SequenceGenerator(name = "operation_history_seq", sequenceName = "operation_history_seq",
+            allocationSize = OperationEntity.ID_ALLOCATION_SIZE)
     private Long id;
 
     private Long accountId;
 
-    private BigDecimal amount;
+    /**
+     * In minor units (cents).
+     */
+    private Long amount;
 
     private String operationType;
 
@@ -1,11 +1,66 @@
 package com.yma.bank.infrastructure.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OperationHistoryEntityRepository extends JpaRepository<OperationHistoryEntity, Long> {
     List<OperationHistoryEntity> findByAccountId(Long accountId);
+
+    @Query("select ohe from OperationHistoryEntity ohe " +
+            "where ohe.accountId = :accountId " +
+            "and ohe.timestamp >= :from " +
+            "order by ohe.timestamp")
+    List<OperationHistoryEntity> findByAccountIdFrom(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            Limit limit);
+
+    @Query("select ohe from OperationHistoryEntity ohe " +
+            "where ohe.accountId = :accountId " +
+            "and ohe.timestamp >= :from " +
+            "and ohe.timestamp < :to " +
+            "order by ohe.timestamp")
+    List<OperationHistoryEntity> findByAccountIdBetween(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select ohe from OperationHistoryEntity ohe " +
+            "where ohe.accountId = :accountId " +
+            "and ohe.timestamp >= :from " +
+            "order by ohe.timestamp")
+    Stream<OperationHistoryEntity> streamByAccountIdFrom(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from);
+
+    @Query("select coalesce(sum(case when ohe.operationType = 'WITHDRAWAL' then -ohe.amount else ohe.amount end), 0) " +
+            "from OperationHistoryEntity ohe " +
+            "where ohe.accountId = :accountId " +
+            "and ohe.timestamp < :until")
+    Long getBalanceUntil(
+            @Param("accountId") Long accountId,
+            @Param("until") LocalDateTime until);
+
+    @Query("select coalesce(sum(case when ohe.operationType = 'WITHDRAWAL' then -ohe.amount else ohe.amount end), 0) " +
+            "from OperationHistoryEntity ohe " +
+            "where ohe.accountId = :accountId " +
+            "and ohe.timestamp >= :from " +
+            "and ohe.timestamp < :until")
+    Long getBalanceBetween(
+            @Param("accountId") Long accountId,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until);
 }
@@ -1,5 +1,6 @@
 package com.yma.bank.infrastructure.repository;
 
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
 import com.yma.bank.domain.OperationTypeEnum;
 import org.springframework.stereotype.Component;
@@ -11,18 +12,28 @@ public class OperationHistoryMapper {
         return new OperationHistoryEntity(
                 operation.getId(),
                 operation.getAccountId(),
-                operation.getAmount(),
+                operation.getAmount().getMinorUnits(),
                 operation.getOperationType().name(),
                 operation.getTimestamp()
         );
     }
 
+    public OperationHistoryEntity toEntity(OperationOutboxEntity outboxRecord) {
+        return new OperationHistoryEntity(
+                null,
+                outboxRecord.getAccountId(),
+                outboxRecord.getAmount(),
+                outboxRecord.getOperationType(),
+                outboxRecord.getTimestamp()
+        );
+    }
+
     public OperationHistory toDomain(OperationHistoryEntity entity) {
         return new OperationHistory(
                 entity.getId(),
                 entity.getAccountId(),
                 entity.getTimestamp(),
-                entity.getAmount(),
+                Money.ofMinorUnits(entity.getAmount()),
                 OperationTypeEnum.valueOf(entity.getOperationType())
         );
     }
@@ -0,0 +1,142 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.domain.services.OperationHistoryProjection;
+import com.yma.bank.domain.services.StatementCache;
+import com.yma.bank.infrastructure.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives the operation history from the outbox records written along with the operations.
+ * Records are copied into {@code operation_history} and deleted in the same transaction, by batches
+ * of {@value #BATCH_SIZE}, so a record is projected exactly once even if the projector fails midway.
+ * The same transaction folds the records into the {@code account_summary} read model.
+ * With sharding, the outbox of each shard is projected into the history of the same shard.
+ */
+@Component
+public class OperationHistoryProjector implements OperationHistoryProjection {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OperationHistoryProjector.class);
+
+    static final int BATCH_SIZE = 500;
+
+    private final OperationOutboxEntityRepository operationOutboxEntityRepository;
+
+    private final OperationHistoryEntityRepository operationHistoryEntityRepository;
+
+    private final AccountSummaryEntityRepository accountSummaryEntityRepository;
+
+    private final OperationHistoryMapper operationHistoryMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ShardRouter shardRouter;
+
+    /**
+     * Optional statement cache receiving the projected operations once they are visible, null when disabled.
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * Age of the oldest record of the last projected batch when it was projected, in milliseconds.
+     */
+    private volatile long lastLagMillis = 0L;
+
+    public OperationHistoryProjector(OperationOutboxEntityRepository operationOutboxEntityRepository,
+                                     OperationHistoryEntityRepository operationHistoryEntityRepository,
+                                     AccountSummaryEntityRepository accountSummaryEntityRepository,
+                                     OperationHistoryMapper operationHistoryMapper,
+                                     PlatformTransactionManager transactionManager,
+                                     ShardRouter shardRouter,
+                                     ObjectProvider<StatementCache> statementCache) {
+        this.operationOutboxEntityRepository = operationOutboxEntityRepository;
+        this.operationHistoryEntityRepository = operationHistoryEntityRepository;
+        this.accountSummaryEntityRepository = accountSummaryEntityRepository;
+        this.operationHistoryMapper = operationHistoryMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.statementCache = statementCache.getIfAvailable();
+    }
+
+    @Scheduled(fixedDelayString = "${bank.history-projector.fixed-delay-ms:100}")
+    public void scheduledProjection() {
+        projectPending();
+    }
+
+    /**
+     * Projects batches of outbox records until the outbox is empty. Each batch is appended to the statement cache
+     * once committed.
+     *
+     * @return the number of records projected.
+     */
+    @Override
+    public int projectPending() {
+        int projected = 0;
+        for (String shard : shardRouter.getShards()) {
+            projected += shardRouter.onShard(shard, this::projectPendingOnCurrentShard);
+        }
+        if (projected > 0) {
+            LOGGER.info("{} operation(s) projected into the history, lag {} ms", projected, lastLagMillis);
+        }
+        return projected;
+    }
+
+    private int projectPendingOnCurrentShard() {
+        int projected = 0;
+        List<OperationHistoryEntity> batch;
+        do {
+            batch = transactionTemplate.execute(status -> projectBatch());
+            projected += batch.size();
+            if (statementCache != null && !batch.isEmpty()) {
+                statementCache.append(batch.stream().map(operationHistoryMapper::toDomain).toList());
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return projected;
+    }
+
+    private List<OperationHistoryEntity> projectBatch() {
+        List<OperationOutboxEntity> records = operationOutboxEntityRepository.findByOrderByIdAsc(Limit.of(BATCH_SIZE));
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        List<OperationHistoryEntity> history = operationHistoryEntityRepository.saveAll(
+                records.stream().map(operationHistoryMapper::toEntity).toList());
+        updateSummaries(records);
+        operationOutboxEntityRepository.deleteAllInBatch(records);
+        lastLagMillis = Math.max(0L, Duration.between(records.get(0).getTimestamp(), LocalDateTime.now()).toMillis());
+        return history;
+    }
+
+    private void updateSummaries(List<OperationOutboxEntity> records) {
+        Map<Long, AccountSummaryEntity> summaries = new HashMap<>();
+        accountSummaryEntityRepository.findAllById(records.stream().map(OperationOutboxEntity::getAccountId).distinct().toList())
+                .forEach(summary -> summaries.put(summary.getAccountId(), summary));
+        records.forEach(record -> summaries.computeIfAbsent(record.getAccountId(), AccountSummaryEntity::new).record(record));
+        accountSummaryEntityRepository.saveAll(summaries.values());
+    }
+
+    /**
+     * How far behind the operations the history was at the last projection.
+     */
+    public Duration getLastLag() {
+        return Duration.ofMillis(lastLagMillis);
+    }
+
+    /**
+     * Number of operations not yet visible in the history.
+     */
+    public long countPending() {
+        return shardRouter.onEveryShard(operationOutboxEntityRepository::count).stream().mapToLong(Long::longValue).sum();
+    }
+}
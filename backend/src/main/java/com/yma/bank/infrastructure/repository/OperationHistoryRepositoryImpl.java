@@ -1,22 +1,34 @@
 package com.yma.bank.infrastructure.repository;
 
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
-import com.yma.bank.domain.services.OperationHistoryRepository;
+import com.yma.bank.domain.services.WritableOperationHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
-public class OperationHistoryRepositoryImpl implements OperationHistoryRepository {
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "jpa", matchIfMissing = true)
+public class OperationHistoryRepositoryImpl implements WritableOperationHistoryRepository {
 
     private final OperationHistoryEntityRepository repository;
 
     private final OperationHistoryMapper mapper;
 
-    public OperationHistoryRepositoryImpl(OperationHistoryEntityRepository repository, OperationHistoryMapper mapper) {
+    private final EntityManager entityManager;
+
+    public OperationHistoryRepositoryImpl(OperationHistoryEntityRepository repository, OperationHistoryMapper mapper, EntityManager entityManager) {
         this.repository = repository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -25,6 +37,13 @@ public class OperationHistoryRepositoryImpl implements OperationHistoryRepositor
         repository.save(entity);
     }
 
+    @Override
+    public void saveAll(List<OperationHistory> operationHistoryList) {
+        repository.saveAll(operationHistoryList.stream()
+                .map(mapper::toEntity)
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public List<OperationHistory> findByAccountId(Long accountId) {
         return repository.findByAccountId(accountId)
@@ -32,4 +51,42 @@ public class OperationHistoryRepositoryImpl implements OperationHistoryRepositor
                 .map(mapper::toDomain)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return findByAccountIdBetween(accountId, from, to, Limit.unlimited());
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to, int limit) {
+        return findByAccountIdBetween(accountId, from, to, Limit.of(limit));
+    }
+
+    @Override
+    public Money getBalanceBetween(Long accountId, LocalDateTime from, LocalDateTime until) {
+        return Money.ofMinorUnits(from == null
+                ? repository.getBalanceUntil(accountId, until)
+                : repository.getBalanceBetween(accountId, from, until));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachByAccountIdFrom(Long accountId, LocalDateTime from, Consumer<OperationHistory> action) {
+        try (Stream<OperationHistoryEntity> entities = repository.streamByAccountIdFrom(accountId, from)) {
+            entities.forEach(entity -> {
+                action.accept(mapper.toDomain(entity));
+                // keeps the persistence context from growing with the history
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    private List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to, Limit limit) {
+        List<OperationHistoryEntity> entities = to == null
+                ? repository.findByAccountIdFrom(accountId, from, limit)
+                : repository.findByAccountIdBetween(accountId, from, to, limit);
+        return entities.stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
 }
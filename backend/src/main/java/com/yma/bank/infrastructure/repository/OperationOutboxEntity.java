@@ -0,0 +1,40 @@
+package com.yma.bank.infrastructure.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An operation recorded but not yet copied into the operation history. The record is written in the same
+ * transaction as the operation, then consumed by the {@link OperationHistoryProjector}.
+ */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "operation_outbox")
+@Getter
+public class OperationOutboxEntity {
+
+    /**
+     * Gives the order in which the records are projected.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "operation_outbox_seq")
+    @SequenceGenerator(name = "operation_outbox_seq", sequenceName = "operation_outbox_seq",
+            allocationSize = OperationEntity.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    private Long accountId;
+
+    /**
+     * In minor units (cents).
+     */
+    private Long amount;
+
+    private String operationType;
+
+    private LocalDateTime timestamp;
+}
@@ -0,0 +1,18 @@
+package com.yma.bank.infrastructure.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OperationOutboxEntityRepository extends JpaRepository<OperationOutboxEntity, Long> {
+    /**
+     * Locks the oldest records, so that two projectors never copy the same record.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OperationOutboxEntity> findByOrderByIdAsc(Limit limit);
+}
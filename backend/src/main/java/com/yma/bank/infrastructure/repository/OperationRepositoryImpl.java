@@ -1,31 +1,217 @@
 package com.yma.bank.infrastructure.repository;
 
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.DuplicateOperationException;
 import com.yma.bank.domain.Operation;
 import com.yma.bank.domain.services.OperationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
+@ConditionalOnProperty(name = "bank.operation-store", havingValue = "jpa", matchIfMissing = true)
 public class OperationRepositoryImpl implements OperationRepository {
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationRepositoryImpl.class);
 
     private final OperationEntityRepository operationEntityRepository;
 
+    private final AccountEntityRepository accountEntityRepository;
+
+    private final OperationOutboxEntityRepository operationOutboxEntityRepository;
+
+    private final AccountSnapshotEntityRepository accountSnapshotEntityRepository;
+
+    private final IdempotencyKeyEntityRepository idempotencyKeyEntityRepository;
+
     private final AccountMapper accountMapper;
 
+    /**
+     * An account is snapshotted every time its version reaches a multiple of this interval.
+     */
+    private final int snapshotInterval;
+
     @Autowired
     public OperationRepositoryImpl(final OperationEntityRepository operationEntityRepository,
-                                   AccountMapper accountMapper) {
+                                   final AccountEntityRepository accountEntityRepository,
+                                   final OperationOutboxEntityRepository operationOutboxEntityRepository,
+                                   final AccountSnapshotEntityRepository accountSnapshotEntityRepository,
+                                   final IdempotencyKeyEntityRepository idempotencyKeyEntityRepository,
+                                   AccountMapper accountMapper,
+                                   @Value("${bank.ledger.snapshot-interval:100}") int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("The snapshot interval must be positive");
+        }
         this.operationEntityRepository = operationEntityRepository;
+        this.accountEntityRepository = accountEntityRepository;
+        this.operationOutboxEntityRepository = operationOutboxEntityRepository;
+        this.accountSnapshotEntityRepository = accountSnapshotEntityRepository;
+        this.idempotencyKeyEntityRepository = idempotencyKeyEntityRepository;
         this.accountMapper = accountMapper;
+        this.snapshotInterval = snapshotInterval;
     }
 
+    /**
+     * Records the operation and applies its amount to the account running balance in a single transaction.
+     * The operation history is derived later from the outbox record written in the same transaction.
+     */
     @Override
+    @Transactional
     public void saveOperation(Operation operation) {
-        LOGGER.info("Recording operation for account ID {}", operation.getAccountId());
-        operationEntityRepository.save(accountMapper.mapToJpaEntity(operation));
-        LOGGER.info("Operation successfully recorded for account ID {}", operation.getAccountId());
+        LOGGER.debug("Recording operation for account ID {}", operation.getAccountId());
+        if (accountEntityRepository.addToBalance(operation.getAccountId(), operation.getSignedAmount().getMinorUnits()) == 0) {
+            throw new DomainException(String.format("Account with ID %s not found", operation.getAccountId()));
+        }
+        append(operation.getAccountId(), accountEntityRepository.findVersionByAccountId(operation.getAccountId()), List.of(operation));
+        LOGGER.debug("Operation successfully recorded for account ID {}", operation.getAccountId());
+    }
+
+    /**
+     * Same as {@link #saveOperation(Operation)}, but the balance is only updated if the account version
+     * is still the expected one, which makes concurrent writers on the same account fail instead of overdrawing it.
+     */
+    @Override
+    @Transactional
+    public void saveOperation(Operation operation, Long expectedAccountVersion) {
+        if (expectedAccountVersion == null) {
+            saveOperation(operation);
+            return;
+        }
+        LOGGER.debug("Recording operation for account ID {} at version {}", operation.getAccountId(), expectedAccountVersion);
+        if (accountEntityRepository.addToBalance(operation.getAccountId(), operation.getSignedAmount().getMinorUnits(), expectedAccountVersion) == 0) {
+            if (accountEntityRepository.existsByAccountId(operation.getAccountId())) {
+                throw new ConcurrentOperationException(String.format("Account with ID %s was modified concurrently", operation.getAccountId()));
+            }
+            throw new DomainException(String.format("Account with ID %s not found", operation.getAccountId()));
+        }
+        append(operation.getAccountId(), expectedAccountVersion + 1, List.of(operation));
+        LOGGER.debug("Operation successfully recorded for account ID {}", operation.getAccountId());
+    }
+
+    /**
+     * The key is inserted before the balance update: a second writer with the same key waits for the first
+     * transaction on the primary key, then fails without having touched the account.
+     */
+    @Override
+    @Transactional
+    public void saveOperation(Operation operation, Long expectedAccountVersion, String idempotencyKey) {
+        insertIdempotencyKey(operation, idempotencyKey);
+        saveOperation(operation, expectedAccountVersion);
+    }
+
+    /**
+     * The account row stays locked by {@code select ... for update} until the transaction ends, so the balance
+     * update at the locked version cannot fail.
+     */
+    @Override
+    @Transactional
+    public Account saveOperationLocked(Long accountId, Function<Account, Operation> operation, String idempotencyKey) {
+        Account account = accountEntityRepository.findForUpdateByAccountId(accountId)
+                .map(accountMapper::mapToDomainEntity)
+                .orElseThrow(() -> new DomainException(String.format("Account with ID %s not found", accountId)));
+        LOGGER.debug("Account ID {} locked at version {}", accountId, account.getVersion());
+        Operation recorded = operation.apply(account);
+        if (idempotencyKey != null) {
+            insertIdempotencyKey(recorded, idempotencyKey);
+        }
+        saveOperation(recorded, account.getVersion());
+        return account;
+    }
+
+    private void insertIdempotencyKey(Operation operation, String idempotencyKey) {
+        try {
+            idempotencyKeyEntityRepository.insert(idempotencyKey, operation.getAccountId(), operation.getAmount().getMinorUnits(),
+                    operation.getOperationType().name(), operation.getTimestamp());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateOperationException(String.format("An operation was already recorded with idempotency key %s", idempotencyKey));
+        }
+    }
+
+    /**
+     * Records a batch of operations with one balance update per account, taken in account ID order
+     * so that concurrent batches always lock the account rows in the same order, and one batched insert.
+     * Every balance update flushes the session, so they all run before the operations are inserted:
+     * interleaving them would cut the insert batches at every account.
+     */
+    @Override
+    @Transactional
+    public void saveOperations(List<Operation> operations, Map<Long, Long> expectedAccountVersions) {
+        if (operations.isEmpty()) {
+            return;
+        }
+        LOGGER.info("Recording a batch of {} operations", operations.size());
+
+        Map<Long, List<Operation>> operationsByAccountId = operations.stream()
+                .collect(Collectors.groupingBy(Operation::getAccountId, TreeMap::new, Collectors.toList()));
+
+        Map<Long, Long> accountVersions = new HashMap<>();
+        operationsByAccountId.forEach((accountId, accountOperations) -> {
+            long delta = accountOperations.stream()
+                    .mapToLong(operation -> operation.getSignedAmount().getMinorUnits())
+                    .reduce(0L, Math::addExact);
+            Long expectedVersion = expectedAccountVersions.get(accountId);
+            int updated = expectedVersion == null
+                    ? accountEntityRepository.addToBalance(accountId, delta)
+                    : accountEntityRepository.addToBalance(accountId, delta, expectedVersion);
+            if (updated == 0) {
+                if (expectedVersion != null && accountEntityRepository.existsByAccountId(accountId)) {
+                    throw new ConcurrentOperationException(String.format("Account with ID %s was modified concurrently", accountId));
+                }
+                throw new DomainException(String.format("Account with ID %s not found", accountId));
+            }
+            accountVersions.put(accountId, expectedVersion == null ? accountEntityRepository.findVersionByAccountId(accountId) : expectedVersion + 1);
+        });
+        append(operationsByAccountId, accountVersions);
+
+        LOGGER.info("Batch of {} operations successfully recorded for {} accounts", operations.size(), operationsByAccountId.size());
+    }
+
+    /**
+     * Appends the operations of one write to the log of the account, along with their outbox records,
+     * and snapshots the account if the write brought it to a multiple of the snapshot interval.
+     * Must be called after the account balance update, while the account row is locked.
+     */
+    private void append(Long accountId, Long accountVersion, List<Operation> operations) {
+        append(Collections.singletonMap(accountId, operations), Collections.singletonMap(accountId, accountVersion));
+    }
+
+    /**
+     * Same as {@link #append(Long, Long, List)} for several accounts, whose operations are inserted together.
+     * Must be called after the balance updates of all the accounts.
+     */
+    private void append(Map<Long, List<Operation>> operationsByAccountId, Map<Long, Long> accountVersions) {
+        List<OperationEntity> operationEntities = new ArrayList<>();
+        List<OperationOutboxEntity> outboxEntities = new ArrayList<>();
+        operationsByAccountId.forEach((accountId, operations) -> operations.forEach(operation -> {
+            operationEntities.add(accountMapper.mapToJpaEntity(operation, accountVersions.get(accountId)));
+            outboxEntities.add(accountMapper.mapToOutboxEntity(operation));
+        }));
+        operationEntityRepository.saveAll(operationEntities);
+        operationOutboxEntityRepository.saveAll(outboxEntities);
+
+        operationsByAccountId.keySet().forEach(accountId -> {
+            Long accountVersion = accountVersions.get(accountId);
+            if (accountVersion != null && accountVersion % snapshotInterval == 0) {
+                accountSnapshotEntityRepository.save(new AccountSnapshotEntity(null, accountId, accountVersion,
+                        accountEntityRepository.findBalanceByAccountId(accountId), LocalDateTime.now()));
+                LOGGER.debug("Snapshot of account ID {} taken at version {}", accountId, accountVersion);
+            }
+        });
     }
 }
@@ -0,0 +1,148 @@
+package com.yma.bank.infrastructure.sharding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The shard map: which of the {@code shardCount} databases holds an account, given by the hash of its ID, and the
+ * shard the current thread works on. {@link ShardRoutingDataSource} hands out connections to the shard bound to the
+ * thread, so the shard must be bound before the transaction starts, and a transaction never spans two shards.
+ * <p>
+ * Without sharding the router holds a single shard, so that the jobs walking over the shards need no special case.
+ */
+public class ShardRouter implements AutoCloseable {
+
+    private static final String SHARD_PREFIX = "shard";
+
+    private final List<String> shards;
+
+    private final ThreadLocal<String> currentShard = new ThreadLocal<>();
+
+    /**
+     * Queries the shards in parallel for the reads spanning all the accounts.
+     */
+    private final ExecutorService gatherExecutor;
+
+    public ShardRouter(int shardCount, int gatherThreads) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The number of shards must be positive");
+        }
+        if (gatherThreads <= 0) {
+            throw new IllegalArgumentException("The number of gather threads must be positive");
+        }
+        List<String> names = new ArrayList<>(shardCount);
+        for (int index = 0; index < shardCount; index++) {
+            names.add(SHARD_PREFIX + index);
+        }
+        this.shards = List.copyOf(names);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.gatherExecutor = Executors.newFixedThreadPool(gatherThreads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-gather-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The shards, in shard map order. The first one is the default shard, used by the connections taken while no
+     * shard is bound to the thread.
+     */
+    public List<String> getShards() {
+        return shards;
+    }
+
+    public String getDefaultShard() {
+        return shards.get(0);
+    }
+
+    public String shardOf(Long accountId) {
+        return shards.get(Math.floorMod(Long.hashCode(accountId), shards.size()));
+    }
+
+    /**
+     * The shard bound to the current thread, null if none.
+     */
+    public String currentShard() {
+        return currentShard.get();
+    }
+
+    /**
+     * Runs the action with the given shard bound to the current thread, then restores the previous binding.
+     */
+    public <T> T onShard(String shard, Supplier<T> action) {
+        String previous = currentShard.get();
+        currentShard.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                currentShard.remove();
+            } else {
+                currentShard.set(previous);
+            }
+        }
+    }
+
+    public void runOnShard(String shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T onShardOf(Long accountId, Supplier<T> action) {
+        return onShard(shardOf(accountId), action);
+    }
+
+    public void runOnShardOf(Long accountId, Runnable action) {
+        runOnShard(shardOf(accountId), action);
+    }
+
+    /**
+     * Groups the items by the shard of their account, the shards in shard map order.
+     */
+    public <T> Map<String, List<T>> groupByShard(Collection<T> items, Function<T, Long> accountId) {
+        Map<String, List<T>> itemsByShard = new LinkedHashMap<>();
+        shards.forEach(shard -> itemsByShard.put(shard, new ArrayList<>()));
+        items.forEach(item -> itemsByShard.get(shardOf(accountId.apply(item))).add(item));
+        itemsByShard.values().removeIf(List::isEmpty);
+        return itemsByShard;
+    }
+
+    /**
+     * Scatter-gather: runs the action on every shard in parallel and returns the results in shard map order.
+     * The first failure is rethrown once every shard has answered.
+     */
+    public <T> List<T> onEveryShard(Supplier<T> action) {
+        if (shards.size() == 1) {
+            return List.of(onShard(getDefaultShard(), action));
+        }
+        List<CompletableFuture<T>> results = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> onShard(shard, action), gatherExecutor))
+                .toList();
+        try {
+            CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void close() {
+        gatherExecutor.shutdown();
+    }
+}
@@ -0,0 +1,43 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The data source of the application when sharding is enabled: each connection is taken from the pool of the shard
+ * bound to the thread by {@link ShardRouter}, or of the default shard if none is bound. The entity manager factory
+ * and the transaction manager are shared by all the shards.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private final ShardRouter shardRouter;
+
+    private final Map<String, HikariDataSource> shardDataSources;
+
+    public ShardRoutingDataSource(ShardRouter shardRouter, Map<String, HikariDataSource> shardDataSources) {
+        if (!shardDataSources.keySet().equals(Set.copyOf(shardRouter.getShards()))) {
+            throw new IllegalArgumentException(String.format("Expected a data source for each of the shards %s, got %s",
+                    shardRouter.getShards(), shardDataSources.keySet()));
+        }
+        this.shardRouter = shardRouter;
+        this.shardDataSources = shardDataSources;
+        setTargetDataSources(new LinkedHashMap<>(shardDataSources));
+        setDefaultTargetDataSource(shardDataSources.get(shardRouter.getDefaultShard()));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return shardRouter.currentShard();
+    }
+
+    @Override
+    public void close() {
+        shardDataSources.values().forEach(HikariDataSource::close);
+    }
+}
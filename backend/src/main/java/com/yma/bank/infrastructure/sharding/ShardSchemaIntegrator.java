@@ -0,0 +1,45 @@
+package com.yma.bank.infrastructure.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.DelayedDropAction;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate manages the schema through a single connection, taken from the default shard. This integrator applies
+ * the same schema action ({@code spring.jpa.hibernate.ddl-auto}) to the other shards while the session factory is
+ * built, and their delayed drop, if any, when it is closed.
+ */
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final ShardRouter shardRouter;
+
+    private final Map<String, DelayedDropAction> delayedDrops = new ConcurrentHashMap<>();
+
+    public ShardSchemaIntegrator(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        for (String shard : shardRouter.getShards()) {
+            if (!shard.equals(shardRouter.getDefaultShard())) {
+                shardRouter.runOnShard(shard, () -> SchemaManagementToolCoordinator.process(metadata,
+                        sessionFactory.getServiceRegistry(), sessionFactory.getProperties(),
+                        action -> delayedDrops.put(shard, action)));
+            }
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        delayedDrops.forEach((shard, action) -> shardRouter.runOnShard(shard, () -> action.perform(serviceRegistry)));
+        delayedDrops.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.yma.bank.domain.AccountSnapshot;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.services.AccountLedgerRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Reads the ledger of each account on the shard of the account.
+ */
+public class ShardedAccountLedgerRepository implements AccountLedgerRepository {
+
+    private final AccountLedgerRepository delegate;
+
+    private final ShardRouter shardRouter;
+
+    public ShardedAccountLedgerRepository(AccountLedgerRepository delegate, ShardRouter shardRouter) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Money getBalanceBefore(Long accountId, LocalDateTime date) {
+        return shardRouter.onShardOf(accountId, () -> delegate.getBalanceBefore(accountId, date));
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findLatestSnapshotBefore(Long accountId, LocalDateTime date) {
+        return shardRouter.onShardOf(accountId, () -> delegate.findLatestSnapshotBefore(accountId, date));
+    }
+}
@@ -0,0 +1,68 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.services.AccountRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Routes the lookups of one account to its shard, and gathers those spanning several accounts from every shard.
+ */
+public class ShardedAccountRepository implements AccountRepository {
+
+    private static final Comparator<Account> BY_ACCOUNT_ID = Comparator.comparing(account -> account.getAccountId().orElseThrow());
+
+    private final AccountRepository delegate;
+
+    private final ShardRouter shardRouter;
+
+    public ShardedAccountRepository(AccountRepository delegate, ShardRouter shardRouter) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Optional<Account> getAccount(Long accountId, LocalDateTime baselineDate) {
+        return shardRouter.onShardOf(accountId, () -> delegate.getAccount(accountId, baselineDate));
+    }
+
+    @Override
+    public List<Account> getAllAccounts(LocalDateTime baselineDate) {
+        return shardRouter.onEveryShard(() -> delegate.getAllAccounts(baselineDate)).stream()
+                .flatMap(List::stream)
+                .sorted(BY_ACCOUNT_ID)
+                .toList();
+    }
+
+    /**
+     * Each shard returns its first {@code limit} accounts after the given one: the page is the first {@code limit}
+     * accounts of their merge.
+     */
+    @Override
+    public List<Account> getAccountsAfter(Long afterAccountId, int limit, LocalDateTime baselineDate) {
+        return shardRouter.onEveryShard(() -> delegate.getAccountsAfter(afterAccountId, limit, baselineDate)).stream()
+                .flatMap(List::stream)
+                .sorted(BY_ACCOUNT_ID)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<Account> getAccountSnapshot(Long accountId) {
+        return shardRouter.onShardOf(accountId, () -> delegate.getAccountSnapshot(accountId));
+    }
+
+    @Override
+    public Map<Long, Account> getAccountSnapshots(Collection<Long> accountIds) {
+        Map<Long, Account> snapshots = new HashMap<>();
+        shardRouter.groupByShard(accountIds, accountId -> accountId).forEach((shard, shardAccountIds) ->
+                snapshots.putAll(shardRouter.onShard(shard, () -> delegate.getAccountSnapshots(shardAccountIds))));
+        return snapshots;
+    }
+}
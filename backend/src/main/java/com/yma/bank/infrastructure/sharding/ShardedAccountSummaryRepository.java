@@ -0,0 +1,47 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.yma.bank.domain.AccountSummary;
+import com.yma.bank.domain.services.AccountSummaryRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Gathers the summaries of every shard, each summary living on the shard of its account.
+ */
+public class ShardedAccountSummaryRepository implements AccountSummaryRepository {
+
+    private static final Comparator<AccountSummary> BY_ACCOUNT_ID = Comparator.comparing(AccountSummary::getAccountId);
+
+    private final AccountSummaryRepository delegate;
+
+    private final ShardRouter shardRouter;
+
+    public ShardedAccountSummaryRepository(AccountSummaryRepository delegate, ShardRouter shardRouter) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public List<AccountSummary> getAllSummaries() {
+        return shardRouter.onEveryShard(delegate::getAllSummaries).stream()
+                .flatMap(List::stream)
+                .sorted(BY_ACCOUNT_ID)
+                .toList();
+    }
+
+    @Override
+    public Optional<AccountSummary> getSummary(Long accountId) {
+        return shardRouter.onShardOf(accountId, () -> delegate.getSummary(accountId));
+    }
+
+    @Override
+    public List<AccountSummary> getSummariesAfter(Long afterAccountId, int limit) {
+        return shardRouter.onEveryShard(() -> delegate.getSummariesAfter(afterAccountId, limit)).stream()
+                .flatMap(List::stream)
+                .sorted(BY_ACCOUNT_ID)
+                .limit(limit)
+                .toList();
+    }
+}
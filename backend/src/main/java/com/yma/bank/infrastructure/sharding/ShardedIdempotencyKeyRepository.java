@@ -0,0 +1,30 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.services.IdempotencyKeyRepository;
+
+import java.util.Optional;
+
+/**
+ * A key is recorded on the shard of the account of its operation, which the key alone does not tell: it is looked
+ * up on every shard. A key reused for an account of another shard is therefore only detected by the in-memory
+ * index of the node that holds it.
+ */
+public class ShardedIdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private final IdempotencyKeyRepository delegate;
+
+    private final ShardRouter shardRouter;
+
+    public ShardedIdempotencyKeyRepository(IdempotencyKeyRepository delegate, ShardRouter shardRouter) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public Optional<NewOperationRequest> findOperation(String idempotencyKey) {
+        return shardRouter.onEveryShard(() -> delegate.findOperation(idempotencyKey)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+}
@@ -0,0 +1,60 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.services.WritableOperationHistoryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads and writes the history of each account on the shard of the account.
+ */
+public class ShardedOperationHistoryRepository implements WritableOperationHistoryRepository {
+
+    private final WritableOperationHistoryRepository delegate;
+
+    private final ShardRouter shardRouter;
+
+    public ShardedOperationHistoryRepository(WritableOperationHistoryRepository delegate, ShardRouter shardRouter) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public void save(OperationHistory operationHistory) {
+        shardRouter.runOnShardOf(operationHistory.getAccountId(), () -> delegate.save(operationHistory));
+    }
+
+    @Override
+    public void saveAll(List<OperationHistory> operationHistoryList) {
+        shardRouter.groupByShard(operationHistoryList, OperationHistory::getAccountId).forEach((shard, shardHistory) ->
+                shardRouter.runOnShard(shard, () -> delegate.saveAll(shardHistory)));
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountId(Long accountId) {
+        return shardRouter.onShardOf(accountId, () -> delegate.findByAccountId(accountId));
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to) {
+        return shardRouter.onShardOf(accountId, () -> delegate.findByAccountIdBetween(accountId, from, to));
+    }
+
+    @Override
+    public List<OperationHistory> findByAccountIdBetween(Long accountId, LocalDateTime from, LocalDateTime to, int limit) {
+        return shardRouter.onShardOf(accountId, () -> delegate.findByAccountIdBetween(accountId, from, to, limit));
+    }
+
+    @Override
+    public Money getBalanceBetween(Long accountId, LocalDateTime from, LocalDateTime until) {
+        return shardRouter.onShardOf(accountId, () -> delegate.getBalanceBetween(accountId, from, until));
+    }
+
+    @Override
+    public void forEachByAccountIdFrom(Long accountId, LocalDateTime from, Consumer<OperationHistory> action) {
+        shardRouter.runOnShardOf(accountId, () -> delegate.forEachByAccountIdFrom(accountId, from, action));
+    }
+}
@@ -0,0 +1,123 @@
+package com.yma.bank.infrastructure.sharding;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.services.OperationRepository;
+import com.yma.bank.infrastructure.repository.CrossShardBatchEntity;
+import com.yma.bank.infrastructure.repository.CrossShardBatchEntityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Records each operation on the shard of its account.
+ * <p>
+ * A batch spanning several shards, such as a transfer between accounts of two shards, is recorded with one
+ * transaction per shard, each opened within the previous one in shard map order and committed in reverse order.
+ * A failure on any shard before the commits rolls back every shard. Once the first commit succeeded, though, a failure
+ * of a later commit (a constraint checked at commit time, a lost connection, a crash) leaves the batch recorded on
+ * the shards already committed only. Each shard transaction therefore also writes a {@link CrossShardBatchEntity}
+ * marker per account, those of the first shard, committed last, being the coordinator: markers without coordinator
+ * are reported by {@link com.yma.bank.infrastructure.repository.BalanceReconciliationJob}. The markers of a batch
+ * committed everywhere are removed right after, the coordinator last. The shards being always locked in the same
+ * order, concurrent batches cannot deadlock.
+ */
+public class ShardedOperationRepository implements OperationRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedOperationRepository.class);
+
+    private final OperationRepository delegate;
+
+    private final ShardRouter shardRouter;
+
+    private final CrossShardBatchEntityRepository crossShardBatchEntityRepository;
+
+    private final TransactionTemplate shardTransaction;
+
+    public ShardedOperationRepository(OperationRepository delegate, ShardRouter shardRouter,
+                                      CrossShardBatchEntityRepository crossShardBatchEntityRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.shardRouter = shardRouter;
+        this.crossShardBatchEntityRepository = crossShardBatchEntityRepository;
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        // Suspend la transaction du shard précédent : la suivante prend une connexion sur son propre shard
+        this.shardTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void saveOperation(Operation operation) {
+        shardRouter.runOnShardOf(operation.getAccountId(), () -> delegate.saveOperation(operation));
+    }
+
+    @Override
+    public void saveOperation(Operation operation, Long expectedAccountVersion) {
+        shardRouter.runOnShardOf(operation.getAccountId(), () -> delegate.saveOperation(operation, expectedAccountVersion));
+    }
+
+    @Override
+    public void saveOperation(Operation operation, Long expectedAccountVersion, String idempotencyKey) {
+        shardRouter.runOnShardOf(operation.getAccountId(),
+                () -> delegate.saveOperation(operation, expectedAccountVersion, idempotencyKey));
+    }
+
+    @Override
+    public Account saveOperationLocked(Long accountId, Function<Account, Operation> operation, String idempotencyKey) {
+        return shardRouter.onShardOf(accountId, () -> delegate.saveOperationLocked(accountId, operation, idempotencyKey));
+    }
+
+    @Override
+    public void saveOperations(List<Operation> operations, Map<Long, Long> expectedAccountVersions) {
+        Map<String, List<Operation>> operationsByShard = shardRouter.groupByShard(operations, Operation::getAccountId);
+        if (operationsByShard.size() <= 1) {
+            operationsByShard.forEach((shard, shardOperations) ->
+                    shardRouter.runOnShard(shard, () -> delegate.saveOperations(shardOperations, expectedAccountVersions)));
+            return;
+        }
+        List<Map.Entry<String, List<Operation>>> shardOperations = new ArrayList<>(operationsByShard.entrySet());
+        String batchId = UUID.randomUUID().toString();
+        saveOnShards(shardOperations, 0, expectedAccountVersions, batchId, LocalDateTime.now());
+        removeMarkers(shardOperations, batchId);
+    }
+
+    private void saveOnShards(List<Map.Entry<String, List<Operation>>> shardOperations, int index,
+                              Map<Long, Long> expectedAccountVersions, String batchId, LocalDateTime createdAt) {
+        if (index == shardOperations.size()) {
+            return;
+        }
+        Map.Entry<String, List<Operation>> shard = shardOperations.get(index);
+        shardRouter.runOnShard(shard.getKey(), () -> shardTransaction.executeWithoutResult(status -> {
+            delegate.saveOperations(shard.getValue(), expectedAccountVersions);
+            crossShardBatchEntityRepository.saveAll(shard.getValue().stream()
+                    .map(Operation::getAccountId)
+                    .distinct()
+                    .map(accountId -> new CrossShardBatchEntity(null, batchId, accountId, index == 0, createdAt))
+                    .toList());
+            saveOnShards(shardOperations, index + 1, expectedAccountVersions, batchId, createdAt);
+        }));
+    }
+
+    /**
+     * Removes the markers of a batch committed on every shard, in reverse shard map order so that the coordinator
+     * goes last: a removal failing midway never leaves markers without their coordinator.
+     */
+    private void removeMarkers(List<Map.Entry<String, List<Operation>>> shardOperations, String batchId) {
+        try {
+            for (int index = shardOperations.size() - 1; index >= 0; index--) {
+                shardRouter.runOnShard(shardOperations.get(index).getKey(), () -> shardTransaction.executeWithoutResult(
+                        status -> crossShardBatchEntityRepository.deleteByBatchIds(List.of(batchId))));
+            }
+        } catch (RuntimeException e) {
+            // Le lot est enregistré partout : ses jalons restants seront retirés par la réconciliation
+            LOGGER.warn("Could not remove the markers of cross-shard batch {}", batchId, e);
+        }
+    }
+}
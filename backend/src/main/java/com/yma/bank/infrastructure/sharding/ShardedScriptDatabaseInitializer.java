@@ -0,0 +1,48 @@
+package com.yma.bank.infrastructure.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Runs the SQL initialization scripts ({@code data.sql}) on every shard instead of the default shard only.
+ * The scripts know nothing of the shard map: once they have run, each shard deletes the accounts they created
+ * that belong to another shard, so that every account ends up on its own shard only.
+ */
+public class ShardedScriptDatabaseInitializer extends SqlDataSourceScriptDatabaseInitializer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedScriptDatabaseInitializer.class);
+
+    private final ShardRouter shardRouter;
+
+    public ShardedScriptDatabaseInitializer(DataSource dataSource, SqlInitializationProperties properties,
+                                            ShardRouter shardRouter) {
+        super(dataSource, properties);
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        boolean initialized = false;
+        for (String shard : shardRouter.getShards()) {
+            if (shardRouter.onShard(shard, super::initializeDatabase)) {
+                shardRouter.runOnShard(shard, () -> deleteAccountsOfOtherShards(shard));
+                initialized = true;
+            }
+        }
+        return initialized;
+    }
+
+    private void deleteAccountsOfOtherShards(String shard) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(getDataSource());
+        List<Long> misplaced = jdbcTemplate.queryForList("SELECT account_id FROM account", Long.class).stream()
+                .filter(accountId -> !shard.equals(shardRouter.shardOf(accountId)))
+                .toList();
+        misplaced.forEach(accountId -> jdbcTemplate.update("DELETE FROM account WHERE account_id = ?", accountId));
+        LOGGER.info("{} account(s) initialized on {}", jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account", Long.class), shard);
+    }
+}
@@ -1,2 +1,2 @@
-INSERT INTO account (id, account_Id) VALUES (100, 654321);
-INSERT INTO account (id, account_Id) VALUES (200, 789123);
\ No newline at end of file
+INSERT INTO account (id, account_Id, balance, version) VALUES (100, 654321, 0, 0);
+INSERT INTO account (id, account_Id, balance, version) VALUES (200, 789123, 0, 0);
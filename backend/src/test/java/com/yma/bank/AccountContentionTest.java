@@ -0,0 +1,176 @@
+package com.yma.bank;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountRepository;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.AccountServiceImpl;
+import com.yma.bank.infrastructure.repository.AccountEntity;
+import com.yma.bank.infrastructure.repository.AccountEntityRepository;
+import com.yma.bank.infrastructure.repository.BalanceReconciliationJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs many writers in parallel against the real persistence layer to check that
+ * withdrawals on one account cannot overdraw it, while writers on distinct accounts never conflict,
+ * and that transfers neither deadlock nor create or lose money.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountContentionTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountEntityRepository accountEntityRepository;
+
+    @Autowired
+    private BalanceReconciliationJob balanceReconciliationJob;
+
+    @Test
+    void concurrentWithdrawalsOnSameAccountShouldNeverOverdraw() throws Exception {
+        // Given: 1000 on the account, 16 threads trying 10 withdrawals of 10 each (1600 requested)
+        Long accountId = 900001L;
+        accountEntityRepository.save(new AccountEntity(null, accountId));
+        accountService.sendMoney(new NewOperationRequest(accountId, BigDecimal.valueOf(1000L), OperationTypeEnum.DEPOSIT));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger conflicted = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            for (int i = 0; i < 10; i++) {
+                try {
+                    accountService.sendMoney(new NewOperationRequest(accountId, BigDecimal.TEN, OperationTypeEnum.WITHDRAWAL));
+                    succeeded.incrementAndGet();
+                } catch (ConcurrentOperationException e) {
+                    conflicted.incrementAndGet();
+                } catch (DomainException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        // Then: exactly 100 withdrawals fit in the balance, the others are rejected on it, none on a conflict
+        assertEquals(100, succeeded.get());
+        assertEquals(THREADS * 10 - 100, rejected.get());
+        assertEquals(0, conflicted.get());
+        assertEquals(Money.ZERO, accountRepository.getAccountSnapshot(accountId).orElseThrow().calculateBalance());
+        assertFalse(balanceReconciliationJob.reconcile().contains(accountId));
+    }
+
+    @Test
+    void concurrentOperationsOnDistinctAccountsShouldNotConflict() throws Exception {
+        // Given
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long accountId = 910000L + i;
+            accountEntityRepository.save(new AccountEntity(null, accountId));
+            accountIds.add(accountId);
+        }
+        long retriesBefore = ((AccountServiceImpl) accountService).getConcurrentModificationRetries();
+
+        // When
+        runConcurrently(thread -> {
+            for (int i = 0; i < 50; i++) {
+                accountService.sendMoney(new NewOperationRequest(accountIds.get(thread), BigDecimal.TEN, OperationTypeEnum.DEPOSIT));
+            }
+        });
+
+        // Then
+        assertEquals(retriesBefore, ((AccountServiceImpl) accountService).getConcurrentModificationRetries());
+        for (Long accountId : accountIds) {
+            Account account = accountRepository.getAccountSnapshot(accountId).orElseThrow();
+            assertEquals(Money.parse("500"), account.calculateBalance());
+        }
+    }
+
+    @Test
+    void concurrentTransfersInBothDirectionsShouldConserveMoney() throws Exception {
+        // Given: 4 accounts of 1000, every thread transferring between random pairs, in both directions
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Long accountId = 920000L + i;
+            accountEntityRepository.save(new AccountEntity(null, accountId));
+            accountService.sendMoney(new NewOperationRequest(accountId, BigDecimal.valueOf(1000L), OperationTypeEnum.DEPOSIT));
+            accountIds.add(accountId);
+        }
+        AtomicInteger succeeded = new AtomicInteger();
+
+        // When
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20; i++) {
+                int source = random.nextInt(accountIds.size());
+                int target = (source + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+                try {
+                    accountService.transfer(new TransferRequest(accountIds.get(source), accountIds.get(target),
+                            BigDecimal.valueOf(1 + random.nextInt(100))));
+                    succeeded.incrementAndGet();
+                } catch (DomainException e) {
+                    // Solde insuffisant, ou trop de conflits : rien n'est enregistré
+                }
+            }
+        });
+
+        // Then
+        Money total = Money.ZERO;
+        for (Long accountId : accountIds) {
+            Account account = accountRepository.getAccountSnapshot(accountId).orElseThrow();
+            assertTrue(account.calculateBalance().signum() >= 0);
+            total = total.plus(account.calculateBalance());
+        }
+        assertTrue(succeeded.get() > 0);
+        assertEquals(Money.parse("4000"), total);
+        assertTrue(balanceReconciliationJob.reconcile().stream().noneMatch(accountIds::contains));
+    }
+
+    private static void runConcurrently(IntConsumerTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadIndex = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntConsumerTask {
+        void run(int threadIndex) throws Exception;
+    }
+}
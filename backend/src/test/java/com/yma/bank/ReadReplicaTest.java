@@ -0,0 +1,212 @@
+package com.yma.bank;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountLedgerRepository;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.OperationHistoryProjection;
+import com.yma.bank.domain.services.OperationHistoryRepository;
+import com.yma.bank.domain.services.ReadConsistency;
+import com.yma.bank.domain.services.StatementCache;
+import com.yma.bank.domain.services.StatementDomainService;
+import com.yma.bank.domain.services.StatementService;
+import com.yma.bank.infrastructure.repository.AccountEntity;
+import com.yma.bank.infrastructure.repository.AccountEntityRepository;
+import com.yma.bank.infrastructure.replica.ReadWriteRoutingDataSource;
+import com.yma.bank.infrastructure.replica.ReplicaStandIn;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application on a primary and a replica embedded H2 database, the replica being refreshed only when the
+ * test calls the replication stand-in.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "bank.read-replica.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:replica-test-primary",
+        "bank.read-replica.url=jdbc:h2:mem:replica-test-replica",
+        "bank.read-replica.stand-in.interval-ms=86400000",
+        "bank.statement-cache.enabled=false",
+        "bank.reconciliation.initial-delay-ms=86400000"
+})
+class ReadReplicaTest {
+
+    @Autowired
+    private ReadWriteRoutingDataSource dataSource;
+
+    @Autowired
+    private ReplicaStandIn replicaStandIn;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private AccountEntityRepository accountEntityRepository;
+
+    @Autowired
+    private OperationHistoryRepository operationHistoryRepository;
+
+    @Autowired
+    private AccountLedgerRepository accountLedgerRepository;
+
+    @Autowired
+    private OperationHistoryProjection operationHistoryProjection;
+
+    @Test
+    void listingsAndStatementsShouldBeServedByTheReplica() {
+        // Given
+        Long accountId = 940001L;
+        createAccount(accountId);
+
+        // When
+        deposit(accountId, 100L);
+        operationHistoryProjection.projectPending();
+
+        // Then: the replica has not caught up yet, and the account agrees with the listings
+        assertBalance(0L, listedBalanceOf(accountId));
+        assertBalance(0L, summaryBalanceOf(accountId));
+        assertThrows(DomainException.class,
+                () -> statementService.generateAccountStatement(accountId, LocalDateTime.now().minusDays(1)));
+        assertBalance(0L, accountService.getAccount(accountId, null).getBalance());
+
+        // When
+        replicaStandIn.replicate();
+
+        // Then
+        assertBalance(100L, listedBalanceOf(accountId));
+        assertBalance(100L, summaryBalanceOf(accountId));
+        assertBalance(100L, accountService.getAccount(accountId, null).getBalance());
+        assertBalance(100L, accountService.getAccount(accountId, LocalDateTime.now()).getBalance());
+        assertEquals(1, statementService.generateAccountStatement(accountId, LocalDateTime.now().minusDays(1))
+                .getStatementLineList().size());
+    }
+
+    @Test
+    void readYourWritesShouldReadFromThePrimary() {
+        // Given
+        Long accountId = 940002L;
+        createAccount(accountId);
+
+        // When
+        deposit(accountId, 50L);
+
+        // Then
+        try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+            assertBalance(50L, listedBalanceOf(accountId));
+            assertBalance(50L, summaryBalanceOf(accountId));
+            assertBalance(50L, accountService.getAccount(accountId, null).getBalance());
+            assertBalance(50L, accountService.getAccount(accountId, LocalDateTime.now()).getBalance());
+        }
+        assertBalance(0L, listedBalanceOf(accountId));
+        assertBalance(0L, summaryBalanceOf(accountId));
+        assertBalance(0L, accountService.getAccount(accountId, null).getBalance());
+    }
+
+    @Test
+    void statementCacheShouldLoadFromThePrimary() {
+        // Given: a cache whose appends come from the projection of the primary
+        Long accountId = 940004L;
+        createAccount(accountId);
+        StatementCache statementCache = new StatementCache(operationHistoryRepository, accountLedgerRepository,
+                new StatementDomainService(), 1000, Duration.ofDays(1), Duration.ofMinutes(1));
+
+        // When
+        deposit(accountId, 70L);
+        operationHistoryProjection.projectPending();
+        boolean previous = dataSource.bindReplica(true);
+        List<StatementLine> lines;
+        try {
+            lines = statementCache.getLines(accountId, LocalDateTime.now().minusDays(1));
+        } finally {
+            dataSource.bindReplica(previous);
+        }
+
+        // Then: the replica has not caught up yet, the cached lines have
+        assertEquals(0L, countOnReplica("SELECT COUNT(*) FROM operation_history WHERE account_id = ?", accountId));
+        assertEquals(1, lines.size());
+        assertBalance(70L, lines.get(0).getCurrentBalance());
+    }
+
+    @Test
+    void replicationShouldOnlyCopyTheChangedAccounts() {
+        // Given
+        Long accountId = 940003L;
+        createAccount(accountId);
+        deposit(accountId, 10L);
+        deposit(accountId, 20L);
+
+        // When
+        replicaStandIn.replicate();
+
+        // Then
+        assertEquals(2L, countOnReplica("SELECT COUNT(*) FROM operation WHERE account_id = ?", accountId));
+        assertEquals(2L, countOnReplica("SELECT COUNT(*) FROM operation_history WHERE account_id = ?", accountId));
+        assertEquals(0, replicaStandIn.replicate());
+
+        // When
+        deposit(accountId, 30L);
+
+        // Then
+        assertEquals(1, replicaStandIn.replicate());
+        assertEquals(3L, countOnReplica("SELECT COUNT(*) FROM operation WHERE account_id = ?", accountId));
+        assertBalance(60L, listedBalanceOf(accountId));
+        AccountDTO summary = accountService.getAllAccounts(null).stream()
+                .filter(account -> accountId.equals(account.getAccountId()))
+                .findFirst()
+                .orElseThrow();
+        assertBalance(60L, summary.getBalance());
+        assertEquals(3L, summary.getOperationCount());
+    }
+
+    private void createAccount(Long accountId) {
+        accountEntityRepository.save(new AccountEntity(null, accountId));
+        replicaStandIn.replicate();
+    }
+
+    private void deposit(Long accountId, long amount) {
+        accountService.sendMoney(new NewOperationRequest(accountId, BigDecimal.valueOf(amount), OperationTypeEnum.DEPOSIT));
+    }
+
+    private BigDecimal listedBalanceOf(Long accountId) {
+        return accountService.getAllAccounts(LocalDateTime.now()).stream()
+                .filter(account -> accountId.equals(account.getAccountId()))
+                .map(AccountDTO::getBalance)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private BigDecimal summaryBalanceOf(Long accountId) {
+        return accountService.getAllAccounts(null).stream()
+                .filter(account -> accountId.equals(account.getAccountId()))
+                .map(AccountDTO::getBalance)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private long countOnReplica(String sql, Long accountId) {
+        return new JdbcTemplate(dataSource.getReplica()).queryForObject(sql, Long.class, accountId);
+    }
+
+    private static void assertBalance(long expected, BigDecimal balance) {
+        assertEquals(0, BigDecimal.valueOf(expected).compareTo(balance), () -> "balance " + balance);
+    }
+}
@@ -0,0 +1,243 @@
+package com.yma.bank;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
+import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountRepository;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.IdempotencyKeyRepository;
+import com.yma.bank.domain.services.OperationHistoryRepository;
+import com.yma.bank.domain.services.OperationRepository;
+import com.yma.bank.infrastructure.repository.AccountEntity;
+import com.yma.bank.infrastructure.repository.AccountEntityRepository;
+import com.yma.bank.infrastructure.repository.BalanceReconciliationJob;
+import com.yma.bank.infrastructure.repository.CrossShardBatchEntity;
+import com.yma.bank.infrastructure.repository.CrossShardBatchEntityRepository;
+import com.yma.bank.infrastructure.repository.OperationHistoryProjector;
+import com.yma.bank.infrastructure.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the application on three embedded H2 databases, one per shard.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "bank.sharding.enabled=true",
+        "bank.sharding.urls=jdbc:h2:mem:shard-test0,jdbc:h2:mem:shard-test1,jdbc:h2:mem:shard-test2",
+        "bank.reconciliation.initial-delay-ms=86400000"
+})
+class ShardingTest {
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private OperationHistoryRepository operationHistoryRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private AccountEntityRepository accountEntityRepository;
+
+    @Autowired
+    private OperationHistoryProjector operationHistoryProjector;
+
+    @Autowired
+    private CrossShardBatchEntityRepository crossShardBatchEntityRepository;
+
+    @Autowired
+    private BalanceReconciliationJob balanceReconciliationJob;
+
+    @Test
+    void seedAccountsShouldLiveOnTheirShardOnly() {
+        List<Long> seedAccountIds = new ArrayList<>();
+        for (String shard : shardRouter.getShards()) {
+            List<Long> accountIds = accountIdsOn(shard);
+            accountIds.forEach(accountId -> assertEquals(shard, shardRouter.shardOf(accountId)));
+            seedAccountIds.addAll(accountIds.stream().filter(accountId -> accountId == 654321L || accountId == 789123L).toList());
+        }
+
+        assertEquals(List.of(654321L, 789123L), seedAccountIds.stream().sorted().toList());
+    }
+
+    @Test
+    void operationsShouldBeRecordedOnTheShardOfTheirAccount() {
+        // Given: one account on each shard
+        List<Long> accountIds = List.of(930000L, 930001L, 930002L);
+        accountIds.forEach(this::createAccount);
+
+        // When
+        accountIds.forEach(accountId -> accountService.sendMoney(
+                new NewOperationRequest(accountId, BigDecimal.valueOf(100L), OperationTypeEnum.DEPOSIT)));
+        operationHistoryProjector.projectPending();
+
+        // Then
+        assertEquals(List.of("shard0", "shard1", "shard2"), accountIds.stream().map(shardRouter::shardOf).toList());
+        for (Long accountId : accountIds) {
+            for (String shard : shardRouter.getShards()) {
+                long expected = shard.equals(shardRouter.shardOf(accountId)) ? 1L : 0L;
+                assertEquals(expected, count(shard, "SELECT COUNT(*) FROM operation WHERE account_id = ?", accountId));
+                assertEquals(expected, count(shard, "SELECT COUNT(*) FROM operation_history WHERE account_id = ?", accountId));
+            }
+            assertEquals(Money.of(BigDecimal.valueOf(100L)), accountRepository.getAccountSnapshot(accountId).orElseThrow().calculateBalance());
+            assertEquals(1, operationHistoryRepository.findByAccountId(accountId).size());
+        }
+        assertEquals(0L, operationHistoryProjector.countPending());
+        assertTrue(balanceReconciliationJob.reconcile().isEmpty());
+        List<AccountDTO> summaries = accountService.getAllAccounts(null).stream()
+                .filter(account -> accountIds.contains(account.getAccountId()))
+                .toList();
+        assertEquals(accountIds, summaries.stream().map(AccountDTO::getAccountId).toList());
+        summaries.forEach(summary -> assertEquals(1L, summary.getOperationCount()));
+    }
+
+    @Test
+    void readsSpanningAllAccountsShouldGatherEveryShard() {
+        // Given
+        List<Long> accountIds = List.of(931000L, 931001L, 931002L, 931003L, 931004L);
+        accountIds.forEach(this::createAccount);
+
+        // When
+        List<Long> allAccountIds = accountRepository.getAllAccounts(LocalDateTime.now()).stream()
+                .map(account -> account.getAccountId().orElseThrow())
+                .toList();
+        List<Long> pagedAccountIds = new ArrayList<>();
+        List<Account> page = accountRepository.getAccountsAfter(null, 2, LocalDateTime.now());
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 2);
+            page.forEach(account -> pagedAccountIds.add(account.getAccountId().orElseThrow()));
+            page = accountRepository.getAccountsAfter(pagedAccountIds.get(pagedAccountIds.size() - 1), 2, LocalDateTime.now());
+        }
+
+        // Then
+        assertTrue(allAccountIds.containsAll(accountIds));
+        assertEquals(allAccountIds.stream().sorted().toList(), allAccountIds);
+        assertEquals(allAccountIds, pagedAccountIds);
+        assertEquals(accountIds.size(), accountRepository.getAccountSnapshots(accountIds).size());
+    }
+
+    @Test
+    void transferAcrossShardsShouldBeAllOrNothing() {
+        // Given: 100 on an account of the first shard, nothing on an account of the last one
+        Long sourceAccountId = 932001L;
+        Long targetAccountId = 932003L;
+        assertEquals("shard0", shardRouter.shardOf(sourceAccountId));
+        assertEquals("shard2", shardRouter.shardOf(targetAccountId));
+        createAccount(sourceAccountId);
+        createAccount(targetAccountId);
+        accountService.sendMoney(new NewOperationRequest(sourceAccountId, BigDecimal.valueOf(100L), OperationTypeEnum.DEPOSIT));
+
+        // When
+        accountService.transfer(new TransferRequest(sourceAccountId, targetAccountId, BigDecimal.valueOf(40L)));
+
+        // Then
+        assertEquals(Money.of(BigDecimal.valueOf(60L)), balanceOf(sourceAccountId));
+        assertEquals(Money.of(BigDecimal.valueOf(40L)), balanceOf(targetAccountId));
+
+        // When: the target account was modified in the meantime, the debit already recorded on the first shard is rolled back
+        Account source = accountRepository.getAccountSnapshot(sourceAccountId).orElseThrow();
+        Account target = accountRepository.getAccountSnapshot(targetAccountId).orElseThrow();
+        Money amount = Money.of(BigDecimal.TEN);
+        List<Operation> operations = List.of(source.withdraw(amount), target.deposit(amount));
+        Map<Long, Long> expectedVersions = Map.of(sourceAccountId, source.getVersion(), targetAccountId, target.getVersion() - 1);
+
+        // Then
+        assertThrows(ConcurrentOperationException.class, () -> operationRepository.saveOperations(operations, expectedVersions));
+        assertEquals(Money.of(BigDecimal.valueOf(60L)), balanceOf(sourceAccountId));
+        assertEquals(Money.of(BigDecimal.valueOf(40L)), balanceOf(targetAccountId));
+        assertEquals(2L, count("shard0", "SELECT COUNT(*) FROM operation WHERE account_id = ?", sourceAccountId));
+        assertTrue(balanceReconciliationJob.reconcile().isEmpty());
+    }
+
+    @Test
+    void crossShardBatchRecordedOnSomeShardsOnlyShouldBeReported() {
+        // Given: a transfer committed on both shards
+        Long sourceAccountId = 934002L;
+        Long targetAccountId = 934001L;
+        assertEquals("shard0", shardRouter.shardOf(sourceAccountId));
+        assertEquals("shard2", shardRouter.shardOf(targetAccountId));
+        createAccount(sourceAccountId);
+        createAccount(targetAccountId);
+        accountService.sendMoney(new NewOperationRequest(sourceAccountId, BigDecimal.valueOf(100L), OperationTypeEnum.DEPOSIT));
+        accountService.transfer(new TransferRequest(sourceAccountId, targetAccountId, BigDecimal.valueOf(40L)));
+
+        // Then: its markers are gone
+        for (String shard : shardRouter.getShards()) {
+            assertEquals(0L, count(shard, "SELECT COUNT(*) FROM cross_shard_batch WHERE account_id IN (?, ?)",
+                    sourceAccountId, targetAccountId));
+        }
+        assertTrue(balanceReconciliationJob.reconcileCrossShardBatches().isEmpty());
+
+        // When: the leg of an older batch was committed on the last shard, but not its coordinator on the first one
+        shardRouter.runOnShard("shard2", () -> crossShardBatchEntityRepository.save(
+                new CrossShardBatchEntity(null, "orphaned-batch", targetAccountId, false, LocalDateTime.now().minusHours(1))));
+
+        // Then
+        assertEquals(List.of(targetAccountId), balanceReconciliationJob.reconcileCrossShardBatches());
+        assertEquals(List.of(targetAccountId), balanceReconciliationJob.reconcileCrossShardBatches());
+    }
+
+    @Test
+    void idempotencyKeyShouldBeFoundWhateverTheShardOfItsAccount() {
+        // Given
+        Long accountId = 933002L;
+        assertEquals("shard2", shardRouter.shardOf(accountId));
+        createAccount(accountId);
+
+        // When
+        accountService.sendMoney(new NewOperationRequest(accountId, BigDecimal.TEN, OperationTypeEnum.DEPOSIT, "shard-key-1"));
+
+        // Then
+        NewOperationRequest recorded = idempotencyKeyRepository.findOperation("shard-key-1").orElseThrow();
+        assertEquals(accountId, recorded.getAccountId());
+        assertTrue(idempotencyKeyRepository.findOperation("shard-key-2").isEmpty());
+    }
+
+    private void createAccount(Long accountId) {
+        shardRouter.runOnShardOf(accountId, () -> accountEntityRepository.save(new AccountEntity(null, accountId)));
+    }
+
+    private Money balanceOf(Long accountId) {
+        return accountRepository.getAccountSnapshot(accountId).orElseThrow().calculateBalance();
+    }
+
+    private List<Long> accountIdsOn(String shard) {
+        return shardRouter.onShard(shard, () -> jdbcTemplate.queryForList("SELECT account_id FROM account", Long.class));
+    }
+
+    private long count(String shard, String sql, Long... accountIds) {
+        return shardRouter.onShard(shard, () -> jdbcTemplate.queryForObject(sql, Long.class, (Object[]) accountIds));
+    }
+}
@@ -0,0 +1,54 @@
+package com.yma.bank.application.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.BulkOperationResult;
+import com.yma.bank.domain.services.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AccountControllerTest {
+
+    private final AccountService accountService = mock(AccountService.class);
+
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new AccountController(accountService, new ObjectMapper()))
+            .build();
+
+    @Test
+    void shouldPassTheIdempotencyKeyOfEachBulkOperation() throws Exception {
+        when(accountService.sendMoneyInBulk(any())).thenReturn(List.of(BulkOperationResult.accepted(654321L)));
+
+        mockMvc.perform(post("/api/account/operations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"accountId\": 654321, \"amount\": 100.00, \"operationType\": \"DEPOSIT\", \"idempotencyKey\": \"bulk-1\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acceptedCount").value(1));
+
+        verify(accountService).sendMoneyInBulk(argThat((List<NewOperationRequest> requests) ->
+                requests.size() == 1 && "bulk-1".equals(requests.get(0).getIdempotencyKey())));
+    }
+
+    @Test
+    void shouldRejectMalformedBulkBodyAsBadRequest() throws Exception {
+        String reason = mockMvc.perform(post("/api/account/operations/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"accountId\": 654321, \"amount\": 100.00, \"operationType\": \"DEPOSIT\"}, {\"accountId\": "))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getErrorMessage();
+
+        assertNotNull(reason);
+        assertTrue(reason.startsWith("Malformed operation at position 1, the 0 operations before it were processed"), reason);
+    }
+}
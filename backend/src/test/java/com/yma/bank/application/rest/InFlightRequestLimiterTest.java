@@ -0,0 +1,76 @@
+package com.yma.bank.application.rest;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InFlightRequestLimiterTest {
+
+    private final InFlightRequestLimiter limiter = new InFlightRequestLimiter(1, 0);
+
+    @Test
+    void shouldRejectRequestWhileAsyncRequestHoldsTheSlot() throws Exception {
+        MockHttpServletRequest deposit = apiRequest("/api/account/654321/deposit");
+        limiter.doFilter(deposit, new MockHttpServletResponse(), startingAsync());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        limiter.doFilter(apiRequest("/api/statement/654321"), rejected, new MockFilterChain());
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1, limiter.getInFlightCount());
+        assertEquals(1L, limiter.getRejectedCount());
+
+        deposit.getAsyncContext().complete();
+
+        MockHttpServletResponse accepted = new MockHttpServletResponse();
+        limiter.doFilter(apiRequest("/api/statement/654321"), accepted, new MockFilterChain());
+        assertEquals(200, accepted.getStatus());
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    void shouldReleaseSlotWhenRequestFails() {
+        assertThrows(IllegalStateException.class, () -> limiter.doFilter(apiRequest("/api/account/654321"),
+                new MockHttpServletResponse(), new MockFilterChain() {
+                    @Override
+                    public void doFilter(ServletRequest request, ServletResponse response) {
+                        throw new IllegalStateException("boom");
+                    }
+                }));
+
+        assertEquals(0, limiter.getInFlightCount());
+    }
+
+    @Test
+    void shouldNotLimitRequestsOutsideTheApi() throws Exception {
+        MockHttpServletRequest held = apiRequest("/api/account/654321/deposit");
+        limiter.doFilter(held, new MockHttpServletResponse(), startingAsync());
+
+        MockHttpServletResponse console = new MockHttpServletResponse();
+        limiter.doFilter(apiRequest("/h2-console"), console, new MockFilterChain());
+
+        assertEquals(200, console.getStatus());
+        assertEquals(0L, limiter.getRejectedCount());
+    }
+
+    private static MockFilterChain startingAsync() {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                request.startAsync();
+            }
+        };
+    }
+
+    private static MockHttpServletRequest apiRequest(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
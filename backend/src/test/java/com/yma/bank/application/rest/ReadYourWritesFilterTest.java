@@ -0,0 +1,48 @@
+package com.yma.bank.application.rest;
+
+import com.yma.bank.domain.services.ReadConsistency;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter();
+
+    @Test
+    void shouldRequireReadYourWritesForTheRequestOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/account/654321");
+        request.addHeader(ReadYourWritesFilter.READ_YOUR_WRITES_HEADER, "true");
+        AtomicBoolean required = new AtomicBoolean();
+
+        filter.doFilter(request, new MockHttpServletResponse(), recording(required));
+
+        assertTrue(required.get());
+        assertFalse(ReadConsistency.isReadYourWritesRequired());
+    }
+
+    @Test
+    void shouldNotRequireReadYourWritesWithoutTheHeader() throws Exception {
+        AtomicBoolean required = new AtomicBoolean(true);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/account"), new MockHttpServletResponse(), recording(required));
+
+        assertFalse(required.get());
+    }
+
+    private static MockFilterChain recording(AtomicBoolean required) {
+        return new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                required.set(ReadConsistency.isReadYourWritesRequired());
+            }
+        };
+    }
+}
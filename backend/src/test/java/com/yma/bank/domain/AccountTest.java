@@ -3,7 +3,6 @@ package com.yma.bank.domain;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,21 +17,21 @@ public class AccountTest {
     public void depositTest() {
         // Given
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(0L),
+                Money.parse("0"),
                 null);
 
         // When
-        account.deposit(BigDecimal.valueOf(200L));
+        account.deposit(Money.parse("200"));
 
         // Then
         Iterable<Operation> expected = Collections.singletonList(new Operation(
                 null,
                 1234567L,
                 account.getOperationList().get(0).getTimestamp(),
-                BigDecimal.valueOf(200L),
+                Money.parse("200"),
                 OperationTypeEnum.DEPOSIT));
         Assertions.assertIterableEquals(expected, account.getOperationList());
-        Assertions.assertEquals(BigDecimal.valueOf(200L), account.getOperationList().get(0).getAmount());
+        Assertions.assertEquals(Money.parse("200"), account.getOperationList().get(0).getAmount());
         Assertions.assertEquals(1234567L, account.getOperationList().get(0).getAccountId());
     }
 
@@ -40,33 +39,49 @@ public class AccountTest {
     public void depositAmountNegativeTest() {
         // Given
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(0L),
+                Money.parse("0"),
                 null);
 
         // When
-        Exception exception = assertThrows(DomainException.class, () -> account.deposit(BigDecimal.valueOf(-300L)));
+        Exception exception = assertThrows(DomainException.class, () -> account.deposit(Money.parse("-300")));
         assertEquals("The deposit amount must be positive.", exception.getMessage());
     }
 
+    @Test
+    public void applyTest() {
+        // Given
+        Account account = new Account(1234567L,
+                Money.parse("100"),
+                null);
+
+        // When
+        account.apply(OperationTypeEnum.DEPOSIT, Money.parse("50"));
+        account.apply(OperationTypeEnum.WITHDRAWAL, Money.parse("120"));
+
+        // Then
+        assertEquals(Money.parse("30"), account.calculateBalance());
+        assertThrows(DomainException.class, () -> account.apply(OperationTypeEnum.WITHDRAWAL, Money.parse("31")));
+    }
+
     @Test
     public void withdrawTest() {
         // Given
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(300L),
+                Money.parse("300"),
                 null);
 
         // When
-        Operation actual = account.withdraw(BigDecimal.valueOf(200L));
+        Operation actual = account.withdraw(Money.parse("200"));
 
         // Then
         Iterable<Operation> expected = Collections.singletonList(new Operation(
                 null,
                 1234567L,
                 account.getOperationList().get(0).getTimestamp(),
-                BigDecimal.valueOf(200L),
+                Money.parse("200"),
                 OperationTypeEnum.WITHDRAWAL));
         Assertions.assertIterableEquals(expected, account.getOperationList());
-        Assertions.assertEquals(BigDecimal.valueOf(200L), actual.getAmount());
+        Assertions.assertEquals(Money.parse("200"), actual.getAmount());
         assertEquals(OperationTypeEnum.WITHDRAWAL, actual.getOperationType());
         Assertions.assertEquals(1234567L, actual.getAccountId());
     }
@@ -75,21 +90,21 @@ public class AccountTest {
     public void withdrawAmountPositiveTest() {
         // Given
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(300L),
+                Money.parse("300"),
                 null);
 
         // When
-        Operation actual = account.withdraw(BigDecimal.valueOf(200L));
+        Operation actual = account.withdraw(Money.parse("200"));
 
         // Then
         Iterable<Operation> expected = Collections.singletonList(new Operation(
                 null,
                 1234567L,
                 account.getOperationList().get(0).getTimestamp(),
-                BigDecimal.valueOf(200),
+                Money.parse("200"),
                 OperationTypeEnum.WITHDRAWAL));
         Assertions.assertIterableEquals(expected, account.getOperationList());
-        Assertions.assertEquals(BigDecimal.valueOf(200L), actual.getAmount());
+        Assertions.assertEquals(Money.parse("200"), actual.getAmount());
         Assertions.assertEquals(OperationTypeEnum.WITHDRAWAL, actual.getOperationType());
         Assertions.assertEquals(1234567L, actual.getAccountId());
     }
@@ -99,11 +114,11 @@ public class AccountTest {
         // Given
         List<Operation> operationList = createOperationList();
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(100L),
+                Money.parse("100"),
                 operationList);
         // When
-        Exception exception = assertThrows(DomainException.class, () -> account.withdraw(BigDecimal.valueOf(301L)));
-        assertEquals("Insufficient balance: Withdrawal of 301 is not possible, current balance: 300", exception.getMessage());
+        Exception exception = assertThrows(DomainException.class, () -> account.withdraw(Money.parse("301")));
+        assertEquals("Insufficient balance: Withdrawal of 301.00 is not possible, current balance: 300.00", exception.getMessage());
     }
 
     @Test
@@ -111,14 +126,14 @@ public class AccountTest {
         // Given
         List<Operation> operationList = createOperationList();
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(500L),
+                Money.parse("500"),
                 operationList);
 
         // When
-        BigDecimal actual = account.calculateBalance();
+        Money actual = account.calculateBalance();
 
         //Then
-        Assertions.assertEquals(BigDecimal.valueOf(700L), actual);
+        Assertions.assertEquals(Money.parse("700"), actual);
     }
 
     @Test
@@ -126,21 +141,21 @@ public class AccountTest {
         // Given
         List<Operation> operationList = createOperationList();
         Account account = new Account(1234567L,
-                BigDecimal.valueOf(300L),
+                Money.parse("300"),
                 operationList);
 
         // When
-        BigDecimal actual = account.calculateBalanceOperationsToDisplay();
+        Money actual = account.calculateBalanceOperationsToDisplay();
 
         //Then
-        Assertions.assertEquals(BigDecimal.valueOf(200L), actual);
+        Assertions.assertEquals(Money.parse("200"), actual);
     }
 
     private List<Operation> createOperationList() {
-        return Arrays.asList(new Operation(null, 123456L, LocalDateTime.now(), BigDecimal.valueOf(200L), OperationTypeEnum.DEPOSIT),
-                new Operation(null, 123456L, LocalDateTime.now(), BigDecimal.valueOf(500L), OperationTypeEnum.DEPOSIT),
-                new Operation(null, 123456L, LocalDateTime.now(), BigDecimal.valueOf(100L), OperationTypeEnum.WITHDRAWAL),
-                new Operation(null, 123456L, LocalDateTime.now(), BigDecimal.valueOf(400L), OperationTypeEnum.WITHDRAWAL));
+        return Arrays.asList(new Operation(null, 123456L, LocalDateTime.now(), Money.parse("200"), OperationTypeEnum.DEPOSIT),
+                new Operation(null, 123456L, LocalDateTime.now(), Money.parse("500"), OperationTypeEnum.DEPOSIT),
+                new Operation(null, 123456L, LocalDateTime.now(), Money.parse("100"), OperationTypeEnum.WITHDRAWAL),
+                new Operation(null, 123456L, LocalDateTime.now(), Money.parse("400"), OperationTypeEnum.WITHDRAWAL));
     }
 
 }
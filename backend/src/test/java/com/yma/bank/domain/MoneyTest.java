@@ -0,0 +1,49 @@
+package com.yma.bank.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertDecimalAmountToMinorUnits() {
+        assertEquals(12345L, Money.of(new BigDecimal("123.45")).getMinorUnits());
+        assertEquals(50000L, Money.of(BigDecimal.valueOf(500L)).getMinorUnits());
+        assertEquals(-10L, Money.parse("-0.1").getMinorUnits());
+    }
+
+    @Test
+    void shouldRejectAmountMorePreciseThanMinorUnit() {
+        Exception exception = assertThrows(DomainException.class, () -> Money.parse("0.001"));
+        assertEquals("Invalid amount 0.001: at most 2 decimal places are allowed", exception.getMessage());
+    }
+
+    @Test
+    void shouldComputeExactly() {
+        Money tenCents = Money.parse("0.10");
+        Money total = Money.ZERO;
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(tenCents);
+        }
+
+        assertEquals(Money.parse("1"), total);
+        assertEquals(Money.parse("-0.90"), tenCents.minus(total));
+        assertEquals(-1, total.negate().signum());
+    }
+
+    @Test
+    void shouldConvertBackToDecimalWithTwoDecimalPlaces() {
+        assertEquals(new BigDecimal("500.00"), Money.parse("500").toBigDecimal());
+        assertEquals("0.05", Money.ofMinorUnits(5L).toString());
+    }
+
+    @Test
+    void shouldFailOnOverflow() {
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.parse("0.01")));
+    }
+}
@@ -2,7 +2,6 @@ package com.yma.bank.domain;
 
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,25 +11,25 @@ class OperationHistoryTest {
     @Test
     void shouldCreateOperationHistorySuccessfully() {
         OperationHistory operationHistory = new OperationHistory(
-                1L, 1001L, LocalDateTime.now(), new BigDecimal("100.00"), OperationTypeEnum.DEPOSIT
+                1L, 1001L, LocalDateTime.now(), Money.parse("100.00"), OperationTypeEnum.DEPOSIT
         );
 
         assertNotNull(operationHistory);
         assertEquals(1L, operationHistory.getId());
         assertEquals(1001L, operationHistory.getAccountId());
-        assertEquals(new BigDecimal("100.00"), operationHistory.getAmount());
+        assertEquals(Money.parse("100.00"), operationHistory.getAmount());
         assertEquals(OperationTypeEnum.DEPOSIT, operationHistory.getOperationType());
     }
 
     @Test
     void shouldNotAllowModificationAfterCreation() {
         OperationHistory operationHistory = new OperationHistory(
-                1L, 1001L, LocalDateTime.now(), new BigDecimal("100.00"), OperationTypeEnum.DEPOSIT
+                1L, 1001L, LocalDateTime.now(), Money.parse("100.00"), OperationTypeEnum.DEPOSIT
         );
 
-        assertEquals(new BigDecimal("100.00"), operationHistory.getAmount());
+        assertEquals(Money.parse("100.00"), operationHistory.getAmount());
         assertThrows(NoSuchMethodException.class, () -> {
-            OperationHistory.class.getDeclaredMethod("setAmount", BigDecimal.class);
+            OperationHistory.class.getDeclaredMethod("setAmount", Money.class);
         });
     }
 }
@@ -0,0 +1,134 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountCacheTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private long now;
+
+    private AccountCache accountCache;
+
+    @BeforeEach
+    void setUp() {
+        accountCache = new AccountCache(accountRepository, 2, Duration.ofSeconds(5), () -> now);
+    }
+
+    @Test
+    void shouldLoadOnceThenServeCopiesFromCache() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(snapshot(1L, "500.00", 3L)));
+
+        Account first = accountCache.get(1L).orElseThrow();
+        first.deposit(Money.parse("100"));
+        Account second = accountCache.get(1L).orElseThrow();
+
+        assertEquals(Money.parse("500.00"), second.calculateBalance());
+        assertEquals(1L, accountCache.getMissCount());
+        assertEquals(1L, accountCache.getHitCount());
+        verify(accountRepository, times(1)).getAccountSnapshot(1L);
+    }
+
+    @Test
+    void shouldReplaceEntryWithCommittedStateUnlessOlder() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(snapshot(1L, "500.00", 3L)));
+        Account working = accountCache.get(1L).orElseThrow();
+        Account late = accountCache.get(1L).orElseThrow();
+
+        working.deposit(Money.parse("100"));
+        accountCache.commit(working);
+        // Un écrivain plus lent, parti de la même version, ne doit pas réinstaller un état plus ancien
+        accountCache.commit(new Account(1L, Money.parse("500.00"), new ArrayList<>(), 2L));
+
+        Account cached = accountCache.get(1L).orElseThrow();
+        assertEquals(Money.parse("600.00"), cached.calculateBalance());
+        assertEquals(4L, cached.getVersion());
+        assertEquals(Money.parse("500.00"), late.calculateBalance());
+    }
+
+    @Test
+    void shouldReloadExpiredEntry() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(
+                Optional.of(snapshot(1L, "500.00", 3L)),
+                Optional.of(snapshot(1L, "800.00", 4L)));
+        accountCache.get(1L);
+
+        now += Duration.ofSeconds(5).toNanos();
+
+        assertEquals(Money.parse("800.00"), accountCache.get(1L).orElseThrow().calculateBalance());
+        assertEquals(2L, accountCache.getMissCount());
+        assertEquals(1L, accountCache.getEvictionCount());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        when(accountRepository.getAccountSnapshot(anyLong())).thenAnswer(invocation ->
+                Optional.of(snapshot(invocation.getArgument(0), "100.00", 1L)));
+        accountCache.get(1L);
+        accountCache.get(2L);
+        accountCache.get(1L);
+
+        accountCache.get(3L);
+        accountCache.get(1L);
+        accountCache.get(2L);
+
+        assertEquals(2, accountCache.size());
+        assertEquals(2L, accountCache.getHitCount());
+        assertEquals(4L, accountCache.getMissCount());
+        assertEquals(2L, accountCache.getEvictionCount());
+    }
+
+    @Test
+    void shouldBoundSizeAcrossStripes() {
+        AccountCache stripedCache = new AccountCache(accountRepository, 40, Duration.ofSeconds(5), () -> now);
+        when(accountRepository.getAccountSnapshot(anyLong())).thenAnswer(invocation ->
+                Optional.of(snapshot(invocation.getArgument(0), "100.00", 1L)));
+
+        for (long accountId = 1; accountId <= 1000; accountId++) {
+            stripedCache.get(accountId);
+        }
+
+        assertEquals(40, stripedCache.size());
+        assertEquals(960L, stripedCache.getEvictionCount());
+    }
+
+    @Test
+    void shouldNotCacheLoadRacingWithInvalidation() {
+        when(accountRepository.getAccountSnapshot(1L)).thenAnswer(invocation -> {
+            // Une écriture échoue et invalide le compte pendant le chargement
+            accountCache.invalidate(1L);
+            return Optional.of(snapshot(1L, "500.00", 3L));
+        });
+
+        accountCache.get(1L);
+
+        assertEquals(0, accountCache.size());
+    }
+
+    @Test
+    void shouldNotCacheUnknownAccount() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.empty());
+
+        assertTrue(accountCache.get(1L).isEmpty());
+        assertEquals(0, accountCache.size());
+    }
+
+    private static Account snapshot(Long accountId, String balance, Long version) {
+        return new Account(accountId, Money.parse(balance), new ArrayList<>(), version);
+    }
+}
@@ -1,25 +1,42 @@
 package com.yma.bank.domain.services;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
 import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.application.response.AccountPageDTO;
+import com.yma.bank.application.response.BulkOperationResult;
 import com.yma.bank.domain.*;
-import com.yma.bank.infrastructure.repository.OperationMapper;
+import com.yma.bank.domain.Money;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,23 +48,17 @@ public class AccountServiceImplTest {
     @Mock
     private OperationRepository operationRepository;
 
-    @Mock
-    private OperationHistoryRepository operationHistoryRepository;
-
     @Mock
     private AccountRepository accountRepository;
 
-    private OperationMapper operationMapper;
-
     private NewOperationRequest request;
     private Account account;
 
     @BeforeEach
     void setUp() {
-        OperationMapper operationMapper = new OperationMapper();
-        accountService = new AccountServiceImpl(operationRepository, operationHistoryRepository, accountRepository, operationMapper);
+        accountService = new AccountServiceImpl(operationRepository, accountRepository, null, null, null, null, null);
         request = new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.DEPOSIT);
-        account = new Account(1L, new BigDecimal("500.00"), new ArrayList<>());
+        account = new Account(1L, Money.parse("500.00"), new ArrayList<>());
     }
 
     @Test
@@ -58,7 +69,7 @@ public class AccountServiceImplTest {
 
     @Test
     void shouldThrowDomainExceptionWhenAccountNotFound() {
-        when(accountRepository.getAccount(anyLong(), any())).thenThrow(new DomainException("Account not found"));
+        when(accountRepository.getAccountSnapshot(anyLong())).thenThrow(new DomainException("Account not found"));
 
         Exception exception = assertThrows(DomainException.class, () -> accountService.sendMoney(request));
         assertEquals("Account not found", exception.getMessage());
@@ -66,13 +77,12 @@ public class AccountServiceImplTest {
 
     @Test
     void shouldProcessDepositSuccessfully() {
-        when(accountRepository.getAccount(anyLong(), any())).thenReturn(Optional.of(account));
+        when(accountRepository.getAccountSnapshot(anyLong())).thenReturn(Optional.of(account));
 
         accountService.sendMoney(request);
 
-        verify(accountRepository, times(1)).getAccount(anyLong(), any());
-        verify(operationRepository, times(1)).saveOperation(any(Operation.class));
-        verify(operationHistoryRepository, times(1)).save(any(OperationHistory.class));
+        verify(accountRepository, times(1)).getAccountSnapshot(anyLong());
+        verify(operationRepository, times(1)).saveOperation(any(Operation.class), any());
     }
 
     @Test
@@ -80,18 +90,17 @@ public class AccountServiceImplTest {
         // Given
         final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.DEPOSIT);
         Account account = new Account(newOperationRequest.getAccountId(),
-                BigDecimal.ZERO,
+                Money.ZERO,
                 new ArrayList<>());
-        when(accountRepository.getAccount(any(Long.class), any(LocalDateTime.class))).thenReturn(Optional.of(account));
+        when(accountRepository.getAccountSnapshot(any(Long.class))).thenReturn(Optional.of(account));
 
         // When
         accountService.sendMoney(newOperationRequest);
 
         // Then
-        verify(accountRepository).getAccount(any(Long.class), any(LocalDateTime.class));
-        verify(operationRepository).saveOperation(any(Operation.class));
-        verify(operationHistoryRepository, times(1)).save(any(OperationHistory.class));
-        Assertions.assertEquals(BigDecimal.valueOf(200L), account.getOperationList().get(0).getAmount());
+        verify(accountRepository).getAccountSnapshot(any(Long.class));
+        verify(operationRepository).saveOperation(any(Operation.class), any());
+        Assertions.assertEquals(Money.parse("200"), account.getOperationList().get(0).getAmount());
         Assertions.assertEquals(1234567L, account.getOperationList().get(0).getAccountId());
     }
 
@@ -99,7 +108,7 @@ public class AccountServiceImplTest {
     public void sendMoneyDepositWhenAccountClientNotExistsTest() {
         // Given
         final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.DEPOSIT);
-        when(accountRepository.getAccount(eq(1234567L), any(LocalDateTime.class))).thenThrow(new DomainException("Account with %s number not found"));
+        when(accountRepository.getAccountSnapshot(eq(1234567L))).thenThrow(new DomainException("Account with %s number not found"));
 
         // When
         Exception exception = assertThrows(DomainException.class, () -> accountService.sendMoney(newOperationRequest));
@@ -111,26 +120,362 @@ public class AccountServiceImplTest {
         // Given
         final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.WITHDRAWAL);
         Account account = new Account(newOperationRequest.getAccountId(),
-                BigDecimal.valueOf(300L),
+                Money.parse("300"),
                 new ArrayList<>());
-        when(accountRepository.getAccount(any(Long.class), any(LocalDateTime.class))).thenReturn(Optional.of(account));
+        when(accountRepository.getAccountSnapshot(any(Long.class))).thenReturn(Optional.of(account));
 
         // When
         accountService.sendMoney(newOperationRequest);
 
         // Then
-        verify(accountRepository).getAccount(any(Long.class), any(LocalDateTime.class));
-        verify(operationRepository).saveOperation(any(Operation.class));
-        verify(operationHistoryRepository, times(1)).save(any(OperationHistory.class));
-        Assertions.assertEquals(BigDecimal.valueOf(200L), account.getOperationList().get(0).getAmount());
+        verify(accountRepository).getAccountSnapshot(any(Long.class));
+        verify(operationRepository).saveOperation(any(Operation.class), any());
+        Assertions.assertEquals(Money.parse("200"), account.getOperationList().get(0).getAmount());
         Assertions.assertEquals(OperationTypeEnum.WITHDRAWAL, account.getOperationList().get(0).getOperationType());
         Assertions.assertEquals(1234567L, account.getOperationList().get(0).getAccountId());
     }
 
+    @Test
+    void shouldThrowExceptionWhenAccountSnapshotIsMissing() {
+        when(accountRepository.getAccountSnapshot(1234567L)).thenReturn(Optional.empty());
+
+        final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.DEPOSIT);
+        Exception exception = assertThrows(DomainException.class, () -> accountService.sendMoney(newOperationRequest));
+        assertEquals("Account with 1234567 number not found", exception.getMessage());
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    void shouldRetryOnFreshSnapshotWhenAccountModifiedConcurrently() {
+        final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.WITHDRAWAL);
+        when(accountRepository.getAccountSnapshot(1234567L)).thenReturn(
+                Optional.of(new Account(1234567L, Money.parse("300"), new ArrayList<>(), 1L)),
+                Optional.of(new Account(1234567L, Money.parse("250"), new ArrayList<>(), 2L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1234567 was modified concurrently"))
+                .when(operationRepository).saveOperation(any(Operation.class), eq(1L));
+
+        accountService.sendMoney(newOperationRequest);
+
+        verify(accountRepository, times(2)).getAccountSnapshot(1234567L);
+        verify(operationRepository).saveOperation(any(Operation.class), eq(2L));
+        assertEquals(1, accountService.getConcurrentModificationRetries());
+    }
+
+    @Test
+    void shouldLogOneAuditEventPerOperationWhateverTheRetries() {
+        final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.WITHDRAWAL);
+        when(accountRepository.getAccountSnapshot(1234567L)).thenReturn(
+                Optional.of(new Account(1234567L, Money.parse("300"), new ArrayList<>(), 1L)),
+                Optional.of(new Account(1234567L, Money.parse("250"), new ArrayList<>(), 2L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1234567 was modified concurrently"))
+                .when(operationRepository).saveOperation(any(Operation.class), eq(1L));
+        Logger auditLogger = (Logger) LoggerFactory.getLogger(OperationAuditLog.LOGGER_NAME);
+        ListAppender<ILoggingEvent> audit = new ListAppender<>();
+        audit.start();
+        auditLogger.addAppender(audit);
+
+        try {
+            accountService.sendMoney(newOperationRequest);
+            assertThrows(DomainException.class, () -> accountService.sendMoney(
+                    new NewOperationRequest(1234567L, BigDecimal.valueOf(900L), OperationTypeEnum.WITHDRAWAL)));
+        } finally {
+            auditLogger.detachAppender(audit);
+        }
+
+        assertEquals(List.of(
+                        "operation account=1234567 type=WITHDRAWAL amount=200 outcome=recorded attempts=2",
+                        "operation account=1234567 type=WITHDRAWAL amount=900 outcome=rejected attempts=1 "
+                                + "reason=\"Insufficient balance: Withdrawal of 900.00 is not possible, current balance: 50.00\""),
+                audit.list.stream().map(ILoggingEvent::getFormattedMessage).toList());
+    }
+
+    @Test
+    void shouldNotRetryWhenFreshSnapshotHasInsufficientBalance() {
+        final NewOperationRequest newOperationRequest = new NewOperationRequest(1234567L, BigDecimal.valueOf(200L), OperationTypeEnum.WITHDRAWAL);
+        when(accountRepository.getAccountSnapshot(1234567L)).thenReturn(
+                Optional.of(new Account(1234567L, Money.parse("300"), new ArrayList<>(), 1L)),
+                Optional.of(new Account(1234567L, Money.parse("100"), new ArrayList<>(), 2L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1234567 was modified concurrently"))
+                .when(operationRepository).saveOperation(any(Operation.class), eq(1L));
+
+        Exception exception = assertThrows(DomainException.class, () -> accountService.sendMoney(newOperationRequest));
+
+        assertEquals("Insufficient balance: Withdrawal of 200.00 is not possible, current balance: 100.00", exception.getMessage());
+        verify(operationRepository, times(1)).saveOperation(any(Operation.class), any());
+    }
+
+    @Test
+    void shouldLockAccountAfterTooManyConcurrentModifications() {
+        NewOperationRequest withdrawal = new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.WITHDRAWAL);
+        when(accountRepository.getAccountSnapshot(anyLong())).thenAnswer(
+                invocation -> Optional.of(new Account(1L, Money.parse("500.00"), new ArrayList<>(), 3L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1 was modified concurrently"))
+                .when(operationRepository).saveOperation(any(Operation.class), any());
+        Account locked = new Account(1L, Money.parse("500.00"), new ArrayList<>(), 7L);
+        when(operationRepository.saveOperationLocked(eq(1L), any(), isNull())).thenAnswer(invocation -> {
+            invocation.<Function<Account, Operation>>getArgument(1).apply(locked);
+            return locked;
+        });
+
+        accountService.sendMoney(withdrawal);
+
+        assertEquals(Money.parse("400.00"), locked.calculateBalance());
+        verify(operationRepository, times(AccountServiceImpl.MAX_OPERATION_ATTEMPTS - 1)).saveOperation(any(Operation.class), eq(3L));
+        verify(operationRepository, times(1)).saveOperationLocked(eq(1L), any(), isNull());
+    }
+
+    @Test
+    void shouldRecordDepositWhateverTheAccountVersion() {
+        when(accountRepository.getAccountSnapshot(anyLong())).thenReturn(Optional.of(new Account(1L, Money.parse("500.00"), new ArrayList<>(), 3L)));
+
+        accountService.sendMoney(request);
+
+        verify(operationRepository).saveOperation(any(Operation.class), isNull());
+        verify(operationRepository, never()).saveOperationLocked(any(), any(), any());
+    }
+
+    @Test
+    void shouldSubmitOperationSynchronouslyWithoutPipeline() {
+        when(accountRepository.getAccountSnapshot(anyLong())).thenReturn(Optional.of(account));
+
+        CompletableFuture<Void> result = accountService.submitOperation(request);
+
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+        verify(operationRepository).saveOperation(any(Operation.class), any());
+    }
+
+    @Test
+    void shouldReturnFailedFutureWhenSubmittedOperationIsRejected() {
+        when(accountRepository.getAccountSnapshot(anyLong())).thenReturn(Optional.empty());
+
+        CompletableFuture<Void> result = accountService.submitOperation(request);
+
+        assertTrue(result.isCompletedExceptionally());
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    void shouldDelegateSubmittedOperationToPipeline() {
+        OperationCommandProcessor processor = mock(OperationCommandProcessor.class);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(processor.submit(request)).thenReturn(pending);
+        AccountServiceImpl pipelinedService = new AccountServiceImpl(operationRepository, accountRepository, processor, null,
+                null, null, null);
+
+        assertSame(pending, pipelinedService.submitOperation(request));
+        verifyNoInteractions(accountRepository, operationRepository);
+    }
+
+    @Test
+    void shouldAnswerRetriedRequestWithoutLoadingItsAccountAgain() {
+        IdempotencyKeyRepository idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+        AccountServiceImpl idempotentService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                new IdempotencyIndex(10, Duration.ofMinutes(1)), idempotencyKeyRepository, null);
+        NewOperationRequest keyed = new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.DEPOSIT, "retry-1");
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(account));
+
+        assertTrue(idempotentService.submitOperation(keyed).isDone());
+        assertTrue(idempotentService.submitOperation(keyed).isDone());
+        idempotentService.sendMoney(keyed);
+
+        verify(accountRepository, times(1)).getAccountSnapshot(1L);
+        verify(idempotencyKeyRepository, times(1)).findOperation("retry-1");
+        verify(operationRepository, times(1)).saveOperation(any(Operation.class), isNull(), eq("retry-1"));
+    }
+
+    @Test
+    void shouldNotRecordOperationWhoseKeyIsAlreadyStored() {
+        IdempotencyKeyRepository idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+        AccountServiceImpl idempotentService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                new IdempotencyIndex(10, Duration.ofMinutes(1)), idempotencyKeyRepository, null);
+        NewOperationRequest keyed = new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.DEPOSIT, "retry-1");
+        when(idempotencyKeyRepository.findOperation("retry-1")).thenReturn(Optional.of(
+                new NewOperationRequest(1L, new BigDecimal("100.00"), OperationTypeEnum.DEPOSIT, "retry-1")));
+
+        idempotentService.sendMoney(keyed);
+        Exception exception = assertThrows(DomainException.class, () -> idempotentService.sendMoney(
+                new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.WITHDRAWAL, "retry-1")));
+
+        assertEquals("Idempotency key retry-1 was already used for a different operation", exception.getMessage());
+        verifyNoInteractions(accountRepository, operationRepository);
+    }
+
+    @Test
+    void shouldTreatKeyRecordedConcurrentlyByAnotherNodeAsSuccess() {
+        IdempotencyKeyRepository idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+        AccountServiceImpl idempotentService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                new IdempotencyIndex(10, Duration.ofMinutes(1)), idempotencyKeyRepository, null);
+        NewOperationRequest keyed = new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.DEPOSIT, "retry-1");
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(account));
+        when(idempotencyKeyRepository.findOperation("retry-1")).thenReturn(Optional.empty(), Optional.of(keyed));
+        doThrow(new DuplicateOperationException("An operation was already recorded with idempotency key retry-1"))
+                .when(operationRepository).saveOperation(any(Operation.class), isNull(), eq("retry-1"));
+
+        CompletableFuture<Void> result = idempotentService.submitOperation(keyed);
+
+        assertTrue(result.isDone());
+        assertFalse(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldLetRejectedKeyedRequestBeRetried() {
+        AccountServiceImpl idempotentService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                new IdempotencyIndex(10, Duration.ofMinutes(1)), null, null);
+        NewOperationRequest keyed = new NewOperationRequest(1L, new BigDecimal("900"), OperationTypeEnum.WITHDRAWAL, "retry-1");
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(
+                Optional.of(new Account(1L, Money.parse("500.00"), new ArrayList<>())),
+                Optional.of(new Account(1L, Money.parse("1000.00"), new ArrayList<>())));
+
+        assertThrows(DomainException.class, () -> idempotentService.sendMoney(keyed));
+        idempotentService.sendMoney(keyed);
+
+        verify(operationRepository, times(1)).saveOperation(any(Operation.class), isNull(), eq("retry-1"));
+    }
+
+    @Test
+    void shouldRecordBothLegsOfTransferInOneWrite() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(new Account(1L, Money.parse("500"), new ArrayList<>(), 4L)));
+        when(accountRepository.getAccountSnapshot(2L)).thenReturn(Optional.of(new Account(2L, Money.ZERO, new ArrayList<>(), 7L)));
+
+        accountService.transfer(new TransferRequest(1L, 2L, new BigDecimal("120")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Operation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(operationRepository).saveOperations(operations.capture(), eq(Map.of(1L, 4L, 2L, 7L)));
+        assertEquals(List.of(Money.parse("-120"), Money.parse("120")),
+                operations.getValue().stream().map(Operation::getSignedAmount).toList());
+        assertEquals(List.of(1L, 2L), operations.getValue().stream().map(Operation::getAccountId).toList());
+    }
+
+    @Test
+    void shouldRecordNothingWhenTransferSourceHasInsufficientBalance() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(new Account(1L, Money.parse("100"), new ArrayList<>(), 4L)));
+        when(accountRepository.getAccountSnapshot(2L)).thenReturn(Optional.of(new Account(2L, Money.ZERO, new ArrayList<>(), 7L)));
+
+        assertThrows(DomainException.class, () -> accountService.transfer(new TransferRequest(1L, 2L, new BigDecimal("120"))));
+        assertThrows(DomainException.class, () -> accountService.transfer(new TransferRequest(1L, 1L, new BigDecimal("10"))));
+        assertThrows(DomainException.class, () -> accountService.transfer(new TransferRequest(1L, 2L, new BigDecimal("-10"))));
+
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    void shouldRetryTransferOnFreshSnapshotsWhenAccountModifiedConcurrently() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(
+                Optional.of(new Account(1L, Money.parse("500"), new ArrayList<>(), 4L)),
+                Optional.of(new Account(1L, Money.parse("450"), new ArrayList<>(), 5L)));
+        when(accountRepository.getAccountSnapshot(2L)).thenReturn(Optional.of(new Account(2L, Money.ZERO, new ArrayList<>(), 7L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1 was modified concurrently"))
+                .when(operationRepository).saveOperations(any(), eq(Map.of(1L, 4L, 2L, 7L)));
+
+        accountService.transfer(new TransferRequest(1L, 2L, new BigDecimal("120")));
+
+        verify(operationRepository).saveOperations(any(), eq(Map.of(1L, 5L, 2L, 7L)));
+        assertEquals(1, accountService.getConcurrentModificationRetries());
+    }
+
+    @Test
+    void shouldRecordBulkOperationsOncePerAccountAndReportEachResult() {
+        List<NewOperationRequest> requests = List.of(
+                new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.WITHDRAWAL),
+                new NewOperationRequest(2L, new BigDecimal("50"), OperationTypeEnum.DEPOSIT),
+                new NewOperationRequest(1L, new BigDecimal("450"), OperationTypeEnum.WITHDRAWAL),
+                new NewOperationRequest(3L, new BigDecimal("10"), OperationTypeEnum.DEPOSIT),
+                new NewOperationRequest(1L, new BigDecimal("400"), OperationTypeEnum.WITHDRAWAL));
+        when(accountRepository.getAccountSnapshots(any())).thenReturn(Map.of(
+                1L, new Account(1L, Money.parse("500"), new ArrayList<>(), 4L),
+                2L, new Account(2L, Money.ZERO, new ArrayList<>(), 7L)));
+
+        List<BulkOperationResult> results = accountService.sendMoneyInBulk(requests);
+
+        assertEquals(List.of(BulkOperationResult.Status.ACCEPTED, BulkOperationResult.Status.ACCEPTED,
+                        BulkOperationResult.Status.REJECTED, BulkOperationResult.Status.REJECTED,
+                        BulkOperationResult.Status.ACCEPTED),
+                results.stream().map(BulkOperationResult::getStatus).toList());
+        assertEquals("Insufficient balance: Withdrawal of 450.00 is not possible, current balance: 400.00", results.get(2).getMessage());
+        assertEquals("Account with 3 number not found", results.get(3).getMessage());
+        verify(accountRepository, times(1)).getAccountSnapshots(any());
+        verify(operationRepository, times(1)).saveOperations(argThat(operations -> operations.size() == 3), eq(Map.of(1L, 4L, 2L, 7L)));
+        verifyNoMoreInteractions(operationRepository);
+    }
+
+    @Test
+    void shouldRecordKeyedBulkOperationsOnceInSubmissionOrder() {
+        IdempotencyKeyRepository idempotencyKeyRepository = mock(IdempotencyKeyRepository.class);
+        AccountServiceImpl idempotentService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                new IdempotencyIndex(10, Duration.ofMinutes(1)), idempotencyKeyRepository, null);
+        List<NewOperationRequest> requests = List.of(
+                new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.DEPOSIT),
+                new NewOperationRequest(1L, new BigDecimal("50"), OperationTypeEnum.WITHDRAWAL, "bulk-1"),
+                new NewOperationRequest(1L, new BigDecimal("20"), OperationTypeEnum.DEPOSIT, "bulk-2"),
+                new NewOperationRequest(1L, new BigDecimal("10"), OperationTypeEnum.DEPOSIT));
+        when(accountRepository.getAccountSnapshots(any())).thenAnswer(invocation ->
+                Map.of(1L, new Account(1L, Money.parse("500"), new ArrayList<>(), 4L)));
+        when(accountRepository.getAccountSnapshot(1L)).thenAnswer(invocation ->
+                Optional.of(new Account(1L, Money.parse("500"), new ArrayList<>(), 4L)));
+        when(idempotencyKeyRepository.findOperation("bulk-1")).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.findOperation("bulk-2")).thenReturn(Optional.of(
+                new NewOperationRequest(1L, new BigDecimal("20.00"), OperationTypeEnum.DEPOSIT, "bulk-2")));
+
+        List<BulkOperationResult> results = idempotentService.sendMoneyInBulk(requests);
+
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BulkOperationResult.Status.ACCEPTED));
+        InOrder inOrder = inOrder(operationRepository);
+        inOrder.verify(operationRepository).saveOperations(argThat(operations -> operations.size() == 1), eq(Map.of(1L, 4L)));
+        inOrder.verify(operationRepository).saveOperation(any(Operation.class), eq(4L), eq("bulk-1"));
+        inOrder.verify(operationRepository).saveOperations(argThat(operations -> operations.size() == 1), eq(Map.of(1L, 4L)));
+        verifyNoMoreInteractions(operationRepository);
+    }
+
+    @Test
+    void shouldLogOneAuditEventPerBulkOperation() {
+        List<NewOperationRequest> requests = List.of(
+                new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.WITHDRAWAL),
+                new NewOperationRequest(1L, new BigDecimal("450"), OperationTypeEnum.WITHDRAWAL));
+        when(accountRepository.getAccountSnapshots(any())).thenReturn(
+                Map.of(1L, new Account(1L, Money.parse("500"), new ArrayList<>(), 1L)),
+                Map.of(1L, new Account(1L, Money.parse("500"), new ArrayList<>(), 2L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1 was modified concurrently"))
+                .when(operationRepository).saveOperations(any(), eq(Map.of(1L, 1L)));
+        Logger auditLogger = (Logger) LoggerFactory.getLogger(OperationAuditLog.LOGGER_NAME);
+        ListAppender<ILoggingEvent> audit = new ListAppender<>();
+        audit.start();
+        auditLogger.addAppender(audit);
+
+        try {
+            accountService.sendMoneyInBulk(requests);
+        } finally {
+            auditLogger.detachAppender(audit);
+        }
+
+        assertEquals(List.of(
+                        "operation account=1 type=WITHDRAWAL amount=100 outcome=recorded attempts=2",
+                        "operation account=1 type=WITHDRAWAL amount=450 outcome=rejected attempts=2 "
+                                + "reason=\"Insufficient balance: Withdrawal of 450.00 is not possible, current balance: 400.00\""),
+                audit.list.stream().map(ILoggingEvent::getFormattedMessage).toList());
+    }
+
+    @Test
+    void shouldReplayBulkChunkOnFreshSnapshotsWhenAccountModifiedConcurrently() {
+        List<NewOperationRequest> requests = List.of(new NewOperationRequest(1L, new BigDecimal("300"), OperationTypeEnum.WITHDRAWAL));
+        when(accountRepository.getAccountSnapshots(any())).thenReturn(
+                Map.of(1L, new Account(1L, Money.parse("500"), new ArrayList<>(), 1L)),
+                Map.of(1L, new Account(1L, Money.parse("200"), new ArrayList<>(), 2L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1 was modified concurrently"))
+                .when(operationRepository).saveOperations(any(), eq(Map.of(1L, 1L)));
+
+        List<BulkOperationResult> results = accountService.sendMoneyInBulk(requests);
+
+        assertEquals(BulkOperationResult.Status.REJECTED, results.get(0).getStatus());
+        assertEquals("Insufficient balance: Withdrawal of 300.00 is not possible, current balance: 200.00", results.get(0).getMessage());
+        assertEquals(1L, accountService.getConcurrentModificationRetries());
+    }
+
     @Test
     void shouldReturnAccountWhenExists() {
         LocalDateTime baseLineDate = LocalDateTime.now();
-        Account expectedAccount = new Account(1234567L, new BigDecimal("500.00"), null);
+        Account expectedAccount = new Account(1234567L, Money.parse("500.00"), null);
         when(accountRepository.getAccount(1234567L, baseLineDate)).thenReturn(Optional.of(expectedAccount));
 
         AccountDTO retrievedAccount = accountService.getAccount(1234567L, baseLineDate);
@@ -148,4 +493,156 @@ public class AccountServiceImplTest {
         assertEquals("Account not found with ID: 1234567", exception.getMessage());
     }
 
+    @Test
+    void shouldServeCurrentBalanceFromCacheUpdatedOnCommit() {
+        AccountServiceImpl cachedService = new AccountServiceImpl(operationRepository, accountRepository, null,
+                new AccountCache(accountRepository, 100, Duration.ofMinutes(1)), null, null, null);
+        NewOperationRequest withdrawal = new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.WITHDRAWAL);
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Optional.of(new Account(1L, Money.parse("500.00"), new ArrayList<>(), 3L)));
+
+        cachedService.sendMoney(withdrawal);
+        cachedService.sendMoney(withdrawal);
+        AccountDTO retrievedAccount = cachedService.getAccount(1L, null);
+
+        assertEquals(new BigDecimal("300.00"), retrievedAccount.getBalance());
+        verify(operationRepository).saveOperation(any(Operation.class), eq(3L));
+        verify(operationRepository).saveOperation(any(Operation.class), eq(4L));
+        verify(accountRepository, times(1)).getAccountSnapshot(1L);
+        verify(accountRepository, never()).getAccount(any(), any());
+    }
+
+    @Test
+    void shouldReloadCachedAccountAfterConcurrentModification() {
+        AccountServiceImpl cachedService = new AccountServiceImpl(operationRepository, accountRepository, null,
+                new AccountCache(accountRepository, 100, Duration.ofMinutes(1)), null, null, null);
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(
+                Optional.of(new Account(1L, Money.parse("500.00"), new ArrayList<>(), 3L)),
+                Optional.of(new Account(1L, Money.parse("800.00"), new ArrayList<>(), 4L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1 was modified concurrently"))
+                .when(operationRepository).saveOperation(any(Operation.class), eq(3L));
+
+        cachedService.sendMoney(new NewOperationRequest(1L, new BigDecimal("100"), OperationTypeEnum.WITHDRAWAL));
+
+        assertEquals(new BigDecimal("700.00"), cachedService.getAccount(1L, null).getBalance());
+        verify(accountRepository, times(2)).getAccountSnapshot(1L);
+    }
+
+    @Test
+    void shouldReturnFirstPageWithNextCursor() {
+        when(accountRepository.getAccountsAfter(isNull(), eq(2), any(LocalDateTime.class))).thenReturn(List.of(
+                new Account(1001L, Money.parse("100.00"), null),
+                new Account(1002L, Money.parse("200.00"), null)));
+
+        AccountPageDTO page = accountService.getAccountsPage(null, 2, LocalDateTime.now());
+
+        assertEquals(2, page.getAccounts().size());
+        assertEquals(1001L, page.getAccounts().get(0).getAccountId());
+        assertEquals(new BigDecimal("200.00"), page.getAccounts().get(1).getBalance());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldResumeFromCursorAndEndOnShortPage() {
+        when(accountRepository.getAccountsAfter(isNull(), eq(2), any(LocalDateTime.class))).thenReturn(List.of(
+                new Account(1001L, Money.ZERO, null),
+                new Account(1002L, Money.ZERO, null)));
+        when(accountRepository.getAccountsAfter(eq(1002L), eq(2), any(LocalDateTime.class))).thenReturn(List.of(
+                new Account(1003L, Money.ZERO, null)));
+
+        String cursor = accountService.getAccountsPage(null, 2, LocalDateTime.now()).getNextCursor();
+        AccountPageDTO page = accountService.getAccountsPage(cursor, 2, LocalDateTime.now());
+
+        assertEquals(1, page.getAccounts().size());
+        assertEquals(1003L, page.getAccounts().get(0).getAccountId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        when(accountRepository.getAccountsAfter(isNull(), eq(AccountServiceImpl.MAX_PAGE_SIZE), any(LocalDateTime.class))).thenReturn(List.of());
+
+        AccountPageDTO page = accountService.getAccountsPage(null, Integer.MAX_VALUE, LocalDateTime.now());
+
+        assertTrue(page.getAccounts().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void shouldServeCurrentBalancesFromAccountSummaries() {
+        AccountSummaryRepository accountSummaryRepository = mock(AccountSummaryRepository.class);
+        AccountServiceImpl summaryService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                null, null, accountSummaryRepository);
+        LocalDateTime lastOperationAt = LocalDateTime.of(2025, 3, 16, 14, 0);
+        when(accountSummaryRepository.getAllSummaries()).thenReturn(List.of(
+                new AccountSummary(1001L, Money.parse("100.00"), lastOperationAt, 3L)));
+        when(accountSummaryRepository.getSummariesAfter(1001L, 2)).thenReturn(List.of(
+                new AccountSummary(1002L, Money.ZERO, null, 0L)));
+        when(accountSummaryRepository.getSummary(1001L)).thenReturn(Optional.of(
+                new AccountSummary(1001L, Money.parse("100.00"), lastOperationAt, 3L)));
+
+        List<AccountDTO> accounts = summaryService.getAllAccounts(null);
+        AccountPageDTO page = summaryService.getAccountsPage(encodeCursor(1001L), 2, null);
+        AccountDTO account = summaryService.getAccount(1001L, null);
+
+        assertEquals(1, accounts.size());
+        assertEquals(new BigDecimal("100.00"), accounts.get(0).getBalance());
+        assertEquals(lastOperationAt, accounts.get(0).getLastOperationAt());
+        assertEquals(3L, accounts.get(0).getOperationCount());
+        assertEquals(1002L, page.getAccounts().get(0).getAccountId());
+        assertEquals(0L, page.getAccounts().get(0).getOperationCount());
+        assertNull(page.getNextCursor());
+        assertEquals(new BigDecimal("100.00"), account.getBalance());
+        assertEquals(3L, account.getOperationCount());
+        assertThrows(DomainException.class, () -> summaryService.getAccount(1003L, null));
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void shouldServeBalancesAtBaselineDateFromOperations() {
+        AccountSummaryRepository accountSummaryRepository = mock(AccountSummaryRepository.class);
+        AccountServiceImpl summaryService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                null, null, accountSummaryRepository);
+        LocalDateTime baselineDate = LocalDateTime.of(2025, 3, 16, 14, 0);
+        when(accountRepository.getAllAccounts(baselineDate)).thenReturn(List.of(new Account(1001L, Money.parse("50.00"), null)));
+
+        List<AccountDTO> accounts = summaryService.getAllAccounts(baselineDate);
+
+        assertEquals(new BigDecimal("50.00"), accounts.get(0).getBalance());
+        assertNull(accounts.get(0).getOperationCount());
+        verifyNoInteractions(accountSummaryRepository);
+    }
+
+    @Test
+    void shouldServeReadYourWritesReadsWithoutSummaries() {
+        AccountSummaryRepository accountSummaryRepository = mock(AccountSummaryRepository.class);
+        AccountServiceImpl summaryService = new AccountServiceImpl(operationRepository, accountRepository, null, null,
+                null, null, accountSummaryRepository);
+        when(accountRepository.getAllAccounts(any(LocalDateTime.class))).thenReturn(List.of(new Account(1001L, Money.parse("50.00"), null)));
+        when(accountRepository.getAccountsAfter(isNull(), eq(2), any(LocalDateTime.class))).thenReturn(List.of(new Account(1001L, Money.parse("50.00"), null)));
+        when(accountRepository.getAccountSnapshot(1001L)).thenReturn(Optional.of(new Account(1001L, Money.parse("50.00"), null)));
+
+        List<AccountDTO> accounts;
+        AccountPageDTO page;
+        AccountDTO account;
+        try (ReadConsistency.Scope scope = ReadConsistency.readYourWrites()) {
+            accounts = summaryService.getAllAccounts(null);
+            page = summaryService.getAccountsPage(null, 2, null);
+            account = summaryService.getAccount(1001L, null);
+        }
+
+        assertEquals(new BigDecimal("50.00"), accounts.get(0).getBalance());
+        assertEquals(1001L, page.getAccounts().get(0).getAccountId());
+        assertEquals(new BigDecimal("50.00"), account.getBalance());
+        verifyNoInteractions(accountSummaryRepository);
+    }
+
+    @Test
+    void shouldRejectInvalidPageRequest() {
+        assertThrows(DomainException.class, () -> accountService.getAccountsPage(null, 0, LocalDateTime.now()));
+        assertThrows(DomainException.class, () -> accountService.getAccountsPage("not-a-cursor", 10, LocalDateTime.now()));
+    }
+
+    private static String encodeCursor(Long accountId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(accountId.toString().getBytes(StandardCharsets.UTF_8));
+    }
 }
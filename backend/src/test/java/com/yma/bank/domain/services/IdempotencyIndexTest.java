@@ -0,0 +1,75 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyIndexTest {
+
+    private long now;
+
+    private final IdempotencyIndex index = new IdempotencyIndex(2, Duration.ofSeconds(5), () -> now);
+
+    @Test
+    void shouldReturnResultOfFirstRequestToRetries() {
+        CompletableFuture<Void> first = new CompletableFuture<>();
+
+        assertNull(index.claim(deposit("key-1", "100"), first));
+        assertSame(first, index.claim(deposit("key-1", "100.00"), new CompletableFuture<>()));
+        assertEquals(1L, index.getReplayCount());
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentOperation() {
+        index.claim(deposit("key-1", "100"), new CompletableFuture<>());
+
+        DomainException exception = assertThrows(DomainException.class,
+                () -> index.claim(deposit("key-1", "200"), new CompletableFuture<>()));
+
+        assertEquals("Idempotency key key-1 was already used for a different operation", exception.getMessage());
+    }
+
+    @Test
+    void shouldLetReleasedKeyBeClaimedAgain() {
+        CompletableFuture<Void> rejected = new CompletableFuture<>();
+        index.claim(deposit("key-1", "100"), rejected);
+
+        index.release("key-1", rejected);
+
+        assertNull(index.claim(deposit("key-1", "100"), new CompletableFuture<>()));
+    }
+
+    @Test
+    void shouldExpireKeysAfterTimeToLiveOrWhenFull() {
+        index.claim(deposit("key-1", "100"), new CompletableFuture<>());
+        now += Duration.ofSeconds(1).toNanos();
+        index.claim(deposit("key-2", "100"), new CompletableFuture<>());
+        index.claim(deposit("key-3", "100"), new CompletableFuture<>());
+
+        assertEquals(2, index.size());
+        assertEquals(1L, index.getEvictionCount());
+        assertNull(index.claim(deposit("key-1", "100"), new CompletableFuture<>()));
+
+        now += Duration.ofSeconds(5).toNanos();
+        assertNull(index.claim(deposit("key-3", "100"), new CompletableFuture<>()));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldRejectInvalidKey() {
+        assertThrows(DomainException.class, () -> index.claim(deposit(" ", "100"), new CompletableFuture<>()));
+        assertThrows(DomainException.class, () -> index.claim(deposit("k".repeat(IdempotencyIndex.MAX_KEY_LENGTH + 1), "100"),
+                new CompletableFuture<>()));
+    }
+
+    private static NewOperationRequest deposit(String idempotencyKey, String amount) {
+        return new NewOperationRequest(654321L, new BigDecimal(amount), OperationTypeEnum.DEPOSIT, idempotencyKey);
+    }
+}
@@ -0,0 +1,172 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OperationCommandProcessorTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private OperationRepository operationRepository;
+
+    private OperationCommandProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new OperationCommandProcessor(accountRepository, operationRepository, 1, 100, 100, Duration.ofMillis(50));
+        processor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        processor.close();
+    }
+
+    @Test
+    void shouldRecordQueuedOperationsInOneBatch() throws Exception {
+        when(accountRepository.getAccountSnapshot(1001L)).thenReturn(Optional.of(new Account(1001L, Money.parse("100"), new ArrayList<>(), 3L)));
+
+        List<CompletableFuture<Void>> results = List.of(
+                processor.submit(new NewOperationRequest(1001L, BigDecimal.valueOf(50L), OperationTypeEnum.DEPOSIT)),
+                processor.submit(new NewOperationRequest(1001L, BigDecimal.valueOf(120L), OperationTypeEnum.WITHDRAWAL)),
+                processor.submit(new NewOperationRequest(1001L, BigDecimal.valueOf(40L), OperationTypeEnum.WITHDRAWAL)));
+
+        results.get(0).get(5, TimeUnit.SECONDS);
+        results.get(1).get(5, TimeUnit.SECONDS);
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> results.get(2).get(5, TimeUnit.SECONDS));
+        assertEquals("Insufficient balance: Withdrawal of 40.00 is not possible, current balance: 30.00", rejected.getCause().getMessage());
+
+        ArgumentCaptor<List<Operation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(operationRepository, times(1)).saveOperations(operations.capture(), eq(Map.of(1001L, 3L)));
+        assertEquals(2, operations.getValue().size());
+        verify(accountRepository, times(1)).getAccountSnapshot(1001L);
+    }
+
+    @Test
+    void shouldKeepCommittedBalanceInMemoryBetweenBatches() throws Exception {
+        when(accountRepository.getAccountSnapshot(1001L)).thenReturn(Optional.of(new Account(1001L, Money.parse("100"), new ArrayList<>(), 3L)));
+
+        processor.submit(new NewOperationRequest(1001L, BigDecimal.valueOf(100L), OperationTypeEnum.WITHDRAWAL)).get(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> overdraft = processor.submit(new NewOperationRequest(1001L, BigDecimal.ONE, OperationTypeEnum.WITHDRAWAL));
+
+        assertThrows(ExecutionException.class, () -> overdraft.get(5, TimeUnit.SECONDS));
+        verify(accountRepository, times(1)).getAccountSnapshot(1001L);
+        verify(operationRepository, times(1)).saveOperations(anyList(), eq(Map.of(1001L, 3L)));
+    }
+
+    @Test
+    void shouldReplayBatchOnFreshSnapshotWhenAccountModifiedConcurrently() throws Exception {
+        when(accountRepository.getAccountSnapshot(1001L)).thenReturn(
+                Optional.of(new Account(1001L, Money.parse("100"), new ArrayList<>(), 3L)),
+                Optional.of(new Account(1001L, Money.parse("500"), new ArrayList<>(), 4L)));
+        doThrow(new ConcurrentOperationException("Account with ID 1001 was modified concurrently"))
+                .when(operationRepository).saveOperations(anyList(), eq(Map.of(1001L, 3L)));
+
+        processor.submit(new NewOperationRequest(1001L, BigDecimal.valueOf(80L), OperationTypeEnum.WITHDRAWAL)).get(5, TimeUnit.SECONDS);
+
+        verify(operationRepository).saveOperations(anyList(), eq(Map.of(1001L, 4L)));
+        verify(accountRepository, times(2)).getAccountSnapshot(1001L);
+    }
+
+    @Test
+    void shouldFailOperationsOfUnknownAccount() {
+        when(accountRepository.getAccountSnapshot(1001L)).thenReturn(Optional.empty());
+
+        CompletableFuture<Void> result = processor.submit(new NewOperationRequest(1001L, BigDecimal.TEN, OperationTypeEnum.DEPOSIT));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DomainException.class, exception.getCause());
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    void shouldFailBatchWhenRecordingFails() {
+        when(accountRepository.getAccountSnapshot(1001L)).thenReturn(Optional.of(new Account(1001L, Money.ZERO, new ArrayList<>(), 0L)));
+        doThrow(new IllegalStateException("Database unavailable")).when(operationRepository).saveOperations(anyList(), anyMap());
+
+        CompletableFuture<Void> result = processor.submit(new NewOperationRequest(1001L, BigDecimal.TEN, OperationTypeEnum.DEPOSIT));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals("Database unavailable", exception.getCause().getMessage());
+    }
+
+    @Test
+    void shouldRejectOperationsOnceClosed() throws InterruptedException {
+        processor.close();
+
+        CompletableFuture<Void> result = processor.submit(new NewOperationRequest(1001L, BigDecimal.TEN, OperationTypeEnum.DEPOSIT));
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldCompleteEveryOperationSubmittedWhileClosing() throws Exception {
+        // Given: a queue large enough for a submission to be rejected only once the processor is closing
+        processor.close();
+        processor = new OperationCommandProcessor(accountRepository, operationRepository, 2, 1_000_000, 1000, Duration.ofMillis(1));
+        processor.start();
+        when(accountRepository.getAccountSnapshot(anyLong())).thenAnswer(invocation ->
+                Optional.of(new Account(invocation.getArgument(0), Money.ZERO, new ArrayList<>(), 0L)));
+        Queue<CompletableFuture<Void>> results = new ConcurrentLinkedQueue<>();
+        CountDownLatch submitting = new CountDownLatch(4);
+        List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            long accountId = 1001L + i;
+            Thread submitter = new Thread(() -> {
+                submitting.countDown();
+                CompletableFuture<Void> result;
+                do {
+                    result = processor.submit(new NewOperationRequest(accountId, BigDecimal.ONE, OperationTypeEnum.DEPOSIT));
+                    results.add(result);
+                } while (!result.isCompletedExceptionally());
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+
+        // When
+        submitting.await();
+        processor.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        // Then
+        assertFalse(results.isEmpty());
+        for (CompletableFuture<Void> result : results) {
+            assertTrue(result.isDone());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.yma.bank.domain.services;
+
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StatementCacheTest {
+
+    @Mock
+    private OperationHistoryRepository operationHistoryRepository;
+
+    @Mock
+    private AccountLedgerRepository accountLedgerRepository;
+
+    private StatementCache statementCache;
+
+    private final LocalDateTime bucketStart = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        statementCache = new StatementCache(operationHistoryRepository, accountLedgerRepository, new StatementDomainService(),
+                10, Duration.ofDays(1), Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldServeAnyStartDateOfTheBucketFromOneLoad() {
+        givenHistory(Money.parse("100"), List.of(
+                deposit(1L, bucketStart.plusHours(1), "50"),
+                withdrawal(2L, bucketStart.plusHours(2), "30")));
+
+        List<StatementLine> fromBucketStart = statementCache.getLines(78965L, bucketStart.plusMinutes(10));
+        List<StatementLine> fromLater = statementCache.getLines(78965L, bucketStart.plusMinutes(90));
+
+        assertEquals(balances("150.00", "120.00"), fromBucketStart.stream().map(StatementLine::getCurrentBalance).toList());
+        assertEquals(balances("120.00"), fromLater.stream().map(StatementLine::getCurrentBalance).toList());
+        assertEquals(0.5, statementCache.getHitRatio());
+        verify(operationHistoryRepository, times(1)).findByAccountIdBetween(78965L, bucketStart, null);
+        verify(accountLedgerRepository, times(1)).getBalanceBefore(78965L, bucketStart);
+    }
+
+    @Test
+    void shouldAppendNewOperationsWithRunningBalance() {
+        givenHistory(Money.parse("100"), List.of(deposit(1L, bucketStart.plusHours(1), "50")));
+        statementCache.getLines(78965L, bucketStart);
+
+        OperationHistory withdrawal = withdrawal(2L, bucketStart.plusHours(2), "30");
+        OperationHistory otherAccount = new OperationHistory(3L, 11111L, bucketStart.plusHours(3), Money.parse("5"), OperationTypeEnum.DEPOSIT);
+        statementCache.append(List.of(withdrawal, otherAccount));
+        statementCache.append(List.of(withdrawal));
+
+        List<StatementLine> lines = statementCache.getLines(78965L, bucketStart);
+        assertEquals(balances("150.00", "120.00"), lines.stream().map(StatementLine::getCurrentBalance).toList());
+        assertEquals(new BigDecimal("-30.00"), lines.get(1).getAmount());
+        assertEquals(2L, statementCache.getCachedLines());
+        verify(operationHistoryRepository, times(1)).findByAccountIdBetween(any(), any(), isNull());
+    }
+
+    @Test
+    void shouldReloadWhenOperationCannotBeAppendedAtTheEnd() {
+        givenHistory(Money.ZERO, List.of(deposit(1L, bucketStart.plusHours(2), "50")));
+        statementCache.getLines(78965L, bucketStart);
+
+        statementCache.append(List.of(deposit(2L, bucketStart.plusHours(1), "10")));
+
+        assertEquals(0L, statementCache.getCachedLines());
+        statementCache.getLines(78965L, bucketStart);
+        verify(operationHistoryRepository, times(2)).findByAccountIdBetween(78965L, bucketStart, null);
+    }
+
+    @Test
+    void shouldReplayOperationsAppendedDuringLoad() {
+        when(accountLedgerRepository.getBalanceBefore(78965L, bucketStart)).thenReturn(Money.ZERO);
+        when(operationHistoryRepository.findByAccountIdBetween(eq(78965L), eq(bucketStart), isNull())).thenAnswer(invocation -> {
+            // Une opération est projetée après la lecture de l'historique, mais avant la mise en cache
+            statementCache.append(List.of(deposit(2L, bucketStart.plusHours(2), "20")));
+            return List.of(deposit(1L, bucketStart.plusHours(1), "50"));
+        });
+
+        List<StatementLine> lines = statementCache.getLines(78965L, bucketStart);
+
+        assertEquals(balances("50.00", "70.00"), lines.stream().map(StatementLine::getCurrentBalance).toList());
+        assertEquals(2L, statementCache.getCachedLines());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntriesBeyondMaximumLines() {
+        List<OperationHistory> history = new ArrayList<>();
+        for (long id = 1; id <= 6; id++) {
+            history.add(deposit(id, bucketStart.plusMinutes(id), "1"));
+        }
+        when(accountLedgerRepository.getBalanceBefore(any(), any())).thenReturn(Money.ZERO);
+        when(operationHistoryRepository.findByAccountIdBetween(any(), any(), isNull())).thenReturn(history);
+
+        statementCache.getLines(1L, bucketStart);
+        statementCache.getLines(2L, bucketStart);
+
+        assertEquals(6L, statementCache.getCachedLines());
+        assertEquals(1L, statementCache.getEvictionCount());
+        statementCache.getLines(2L, bucketStart);
+        assertEquals(1L, statementCache.getHitCount());
+    }
+
+    private void givenHistory(Money openingBalance, List<OperationHistory> operations) {
+        when(accountLedgerRepository.getBalanceBefore(78965L, bucketStart)).thenReturn(openingBalance);
+        when(operationHistoryRepository.findByAccountIdBetween(78965L, bucketStart, null)).thenReturn(operations);
+    }
+
+    private static List<BigDecimal> balances(String... balances) {
+        return List.of(balances).stream().map(BigDecimal::new).toList();
+    }
+
+    private static OperationHistory deposit(Long id, LocalDateTime timestamp, String amount) {
+        return new OperationHistory(id, 78965L, timestamp, Money.parse(amount), OperationTypeEnum.DEPOSIT);
+    }
+
+    private static OperationHistory withdrawal(Long id, LocalDateTime timestamp, String amount) {
+        return new OperationHistory(id, 78965L, timestamp, Money.parse(amount), OperationTypeEnum.WITHDRAWAL);
+    }
+}
@@ -3,6 +3,7 @@ package com.yma.bank.domain.services;
 import com.yma.bank.application.response.AccountStatementResponse;
 import com.yma.bank.application.response.StatementLine;
 import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
 import com.yma.bank.domain.OperationTypeEnum;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,9 +28,9 @@ class StatementDomainServiceTest {
     @Test
     void shouldReturnStatementOnlyForOperationsAfterGivenDate() {
         List<OperationHistory> operations = Arrays.asList(
-                new OperationHistory(1L, 1001L, LocalDateTime.of(2024, 2, 25, 10, 0), new BigDecimal("100.00"), OperationTypeEnum.DEPOSIT), // Avant `fromDate`
-                new OperationHistory(2L, 1001L, LocalDateTime.of(2024, 3, 5, 14, 0), new BigDecimal("50.00"), OperationTypeEnum.WITHDRAWAL), // Après `fromDate`
-                new OperationHistory(3L, 1001L, LocalDateTime.of(2024, 3, 10, 9, 0), new BigDecimal("200.00"), OperationTypeEnum.DEPOSIT) // Après `fromDate`
+                new OperationHistory(1L, 1001L, LocalDateTime.of(2024, 2, 25, 10, 0), Money.parse("100.00"), OperationTypeEnum.DEPOSIT), // Avant `fromDate`
+                new OperationHistory(2L, 1001L, LocalDateTime.of(2024, 3, 5, 14, 0), Money.parse("50.00"), OperationTypeEnum.WITHDRAWAL), // Après `fromDate`
+                new OperationHistory(3L, 1001L, LocalDateTime.of(2024, 3, 10, 9, 0), Money.parse("200.00"), OperationTypeEnum.DEPOSIT) // Après `fromDate`
         );
 
         LocalDateTime fromDate = LocalDateTime.of(2024, 3, 1, 0, 0);
@@ -43,10 +44,24 @@ class StatementDomainServiceTest {
         assertEquals(new BigDecimal("50.00"), lines.get(1).getCurrentBalance());  // Après le retrait
     }
 
+    @Test
+    void shouldStartStatementFromOpeningBalance() {
+        List<OperationHistory> operations = Arrays.asList(
+                new OperationHistory(1L, 1001L, LocalDateTime.of(2024, 2, 25, 10, 0), Money.parse("100.00"), OperationTypeEnum.DEPOSIT), // Avant `fromDate`
+                new OperationHistory(2L, 1001L, LocalDateTime.of(2024, 3, 5, 14, 0), Money.parse("50.00"), OperationTypeEnum.WITHDRAWAL) // Après `fromDate`
+        );
+
+        LocalDateTime fromDate = LocalDateTime.of(2024, 3, 1, 0, 0);
+        AccountStatementResponse response = statementDomainService.generateStatement(1001L, operations, fromDate, Money.parse("1000.00"));
+
+        assertEquals(1, response.getStatementLineList().size());
+        assertEquals(new BigDecimal("1050.00"), response.getStatementLineList().get(0).getCurrentBalance());
+    }
+
     @Test
     void shouldThrowExceptionIfNoTransactionsAfterGivenDate() {
         List<OperationHistory> operations = Arrays.asList(
-                new OperationHistory(1L, 1001L, LocalDateTime.of(2024, 3, 1, 10, 0), new BigDecimal("100.00"), OperationTypeEnum.DEPOSIT)
+                new OperationHistory(1L, 1001L, LocalDateTime.of(2024, 3, 1, 10, 0), Money.parse("100.00"), OperationTypeEnum.DEPOSIT)
         );
 
         LocalDateTime fromDate = LocalDateTime.of(2024, 3, 5, 0, 0);
@@ -1,7 +1,9 @@
 package com.yma.bank.domain.services;
 
 import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
 import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
 import com.yma.bank.domain.OperationTypeEnum;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +15,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,26 +33,30 @@ class StatementServiceImplTest {
     @Mock
     private OperationHistoryRepository operationHistoryRepository;
 
+    @Mock
+    private AccountLedgerRepository accountLedgerRepository;
+
     private StatementDomainService statementDomainService;
 
     @BeforeEach
     void setup() {
         statementDomainService = new StatementDomainService();
-        statementService = new StatementServiceImpl(operationHistoryRepository, statementDomainService);
+        statementService = new StatementServiceImpl(operationHistoryRepository, accountLedgerRepository, statementDomainService);
     }
 
     @Test
     void shouldGenerateAccountStatementSuccessfully() {
         // Given
         LocalDateTime currentDate = LocalDateTime.now();
+        LocalDateTime fromDate = currentDate.minusDays(10);
         Long accountId = 78965L;
 
-        // Simuler les opérations en base de données
-        List<OperationHistory> mockOperations = createOperationList(currentDate);
-        when(operationHistoryRepository.findByAccountId(accountId)).thenReturn(mockOperations);
+        // Simuler les opérations en base de données : 300 déposés avant `fromDate`
+        when(accountLedgerRepository.getBalanceBefore(accountId, fromDate)).thenReturn(Money.parse("300"));
+        when(operationHistoryRepository.findByAccountIdBetween(accountId, fromDate, null)).thenReturn(createOperationList(currentDate));
 
         // When
-        AccountStatementResponse actual = statementService.generateAccountStatement(accountId, currentDate.minusDays(10));
+        AccountStatementResponse actual = statementService.generateAccountStatement(accountId, fromDate);
 
         // Then
         assertNotNull(actual);
@@ -54,18 +64,42 @@ class StatementServiceImplTest {
         assertEquals(4, actual.getStatementLineList().size());
 
         // Vérification des soldes
-        assertEquals(BigDecimal.valueOf(500L), actual.getStatementLineList().get(0).getCurrentBalance()); // Solde après dépôt 500 (il y avait 300)
-        assertEquals(BigDecimal.valueOf(300L), actual.getStatementLineList().get(1).getCurrentBalance()); // Ajout de 100
-        assertEquals(BigDecimal.valueOf(900L), actual.getStatementLineList().get(2).getCurrentBalance()); // Retrait de 600
-        assertEquals(BigDecimal.valueOf(800L), actual.getStatementLineList().get(3).getCurrentBalance()); // Dépôt de 200
+        assertEquals(new BigDecimal("500.00"), actual.getStatementLineList().get(0).getCurrentBalance()); // Solde après dépôt 500 (il y avait 300)
+        assertEquals(new BigDecimal("300.00"), actual.getStatementLineList().get(1).getCurrentBalance()); // Ajout de 100
+        assertEquals(new BigDecimal("900.00"), actual.getStatementLineList().get(2).getCurrentBalance()); // Retrait de 600
+        assertEquals(new BigDecimal("800.00"), actual.getStatementLineList().get(3).getCurrentBalance()); // Dépôt de 200
 
         // Vérification des montants
-        assertEquals(BigDecimal.valueOf(200L), actual.getStatementLineList().get(0).getAmount()); // Dépôt
-        assertEquals(BigDecimal.valueOf(-600L), actual.getStatementLineList().get(1).getAmount()); // Retrait
-        assertEquals(BigDecimal.valueOf(100L), actual.getStatementLineList().get(2).getAmount()); // Dépôt
-        assertEquals(BigDecimal.valueOf(500L), actual.getStatementLineList().get(3).getAmount()); // Dépôt
+        assertEquals(new BigDecimal("200.00"), actual.getStatementLineList().get(0).getAmount()); // Dépôt
+        assertEquals(new BigDecimal("-600.00"), actual.getStatementLineList().get(1).getAmount()); // Retrait
+        assertEquals(new BigDecimal("100.00"), actual.getStatementLineList().get(2).getAmount()); // Dépôt
+        assertEquals(new BigDecimal("500.00"), actual.getStatementLineList().get(3).getAmount()); // Dépôt
+
+        verify(operationHistoryRepository, never()).findByAccountId(any());
+    }
+
+    @Test
+    void shouldExportStatementLinesOldestFirstWithRunningBalance() {
+        // Given
+        LocalDateTime currentDate = LocalDateTime.now();
+        LocalDateTime fromDate = currentDate.minusDays(10);
+        Long accountId = 78965L;
+        when(accountLedgerRepository.getBalanceBefore(accountId, fromDate)).thenReturn(Money.parse("300"));
+        doAnswer(invocation -> {
+            Consumer<OperationHistory> action = invocation.getArgument(2);
+            createOperationList(currentDate).forEach(action);
+            return null;
+        }).when(operationHistoryRepository).forEachByAccountIdFrom(eq(accountId), eq(fromDate), any());
+        List<StatementLine> lines = new ArrayList<>();
 
-        verify(operationHistoryRepository, times(1)).findByAccountId(accountId);
+        // When
+        statementService.exportAccountStatement(accountId, fromDate, lines::add);
+
+        // Then
+        assertEquals(List.of(new BigDecimal("800.00"), new BigDecimal("900.00"), new BigDecimal("300.00"), new BigDecimal("500.00")),
+                lines.stream().map(StatementLine::getCurrentBalance).toList());
+        assertEquals(new BigDecimal("-600.00"), lines.get(2).getAmount());
+        verify(operationHistoryRepository, never()).findByAccountIdBetween(any(), any(), any());
     }
 
     @Test
@@ -74,7 +108,8 @@ class StatementServiceImplTest {
         LocalDateTime currentDate = LocalDateTime.now().minusDays(10);
         Long accountId = 78965L;
 
-        when(operationHistoryRepository.findByAccountId(accountId)).thenReturn(List.of());
+        when(accountLedgerRepository.getBalanceBefore(accountId, currentDate)).thenReturn(Money.ZERO);
+        when(operationHistoryRepository.findByAccountIdBetween(accountId, currentDate, null)).thenReturn(List.of());
 
         // When
         Exception exception = assertThrows(DomainException.class, () -> {
@@ -83,16 +118,14 @@ class StatementServiceImplTest {
 
         // Then
         assertEquals("No transaction found after the specified date.", exception.getMessage());
-        verify(operationHistoryRepository, times(1)).findByAccountId(accountId);
     }
 
     private List<OperationHistory> createOperationList(LocalDateTime currentDate) {
         return List.of(
-                new OperationHistory(1L, 78965L, currentDate.minusDays(8), BigDecimal.valueOf(500L), OperationTypeEnum.DEPOSIT),
-                new OperationHistory(2L, 78965L, currentDate.minusDays(7), BigDecimal.valueOf(100L), OperationTypeEnum.DEPOSIT),
-                new OperationHistory(3L, 78965L, currentDate.minusDays(6), BigDecimal.valueOf(600L), OperationTypeEnum.WITHDRAWAL),
-                new OperationHistory(4L, 78965L, currentDate.minusDays(5), BigDecimal.valueOf(200L), OperationTypeEnum.DEPOSIT),
-                new OperationHistory(5L, 78965L, currentDate.minusDays(12), BigDecimal.valueOf(300L), OperationTypeEnum.DEPOSIT)
+                new OperationHistory(1L, 78965L, currentDate.minusDays(8), Money.parse("500"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(2L, 78965L, currentDate.minusDays(7), Money.parse("100"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(3L, 78965L, currentDate.minusDays(6), Money.parse("600"), OperationTypeEnum.WITHDRAWAL),
+                new OperationHistory(4L, 78965L, currentDate.minusDays(5), Money.parse("200"), OperationTypeEnum.DEPOSIT)
         );
     }
 }
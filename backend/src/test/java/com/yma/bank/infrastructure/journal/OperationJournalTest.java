@@ -0,0 +1,204 @@
+package com.yma.bank.infrastructure.journal;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+public class OperationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    LocalDateTime date = LocalDateTime.of(2024, 3, 1, 10, 0, 0, 123456789);
+
+    @Test
+    public void appendAndReopenTest() throws IOException {
+        // Given
+        try (OperationJournal journal = open(4)) {
+            journal.append(Map.of(123456L, List.of(deposit(123456L, "100"))), Map.of(123456L, 0L));
+            journal.append(operationsByAccountId(deposit(123456L, "50"), withdrawal(123456L, "30"), deposit(789123L, "10")), Map.of());
+        }
+
+        // When
+        try (OperationJournal journal = open(4)) {
+            //Then
+            Account account = journal.findAccount(123456L).orElseThrow();
+            Assertions.assertEquals(Money.parse("120"), account.getBaseLineBalance());
+            Assertions.assertEquals(2L, account.getVersion());
+            Assertions.assertEquals(1L, journal.findAccount(789123L).orElseThrow().getVersion());
+            Assertions.assertEquals(4L, journal.size());
+
+            List<Operation> operations = new ArrayList<>();
+            journal.forEachOperation(123456L, operations::add);
+            Assertions.assertEquals(List.of(deposit(123456L, "100"), deposit(123456L, "50"), withdrawal(123456L, "30")),
+                    operations.stream().map(operation -> new Operation(null, operation.getAccountId(), operation.getTimestamp(),
+                            operation.getAmount(), operation.getOperationType())).toList());
+            Assertions.assertEquals(List.of(1L, 2L, 3L), operations.stream().map(Operation::getId).toList());
+        }
+    }
+
+    @Test
+    public void appendRejectsStaleVersionTest() throws IOException {
+        try (OperationJournal journal = open(4)) {
+            // Given
+            journal.append(Map.of(123456L, List.of(deposit(123456L, "100"))), Map.of());
+
+            // When
+            Assertions.assertThrows(ConcurrentOperationException.class, () -> journal.append(
+                    operationsByAccountId(deposit(789123L, "10"), withdrawal(123456L, "100")), Map.of(123456L, 0L)));
+
+            //Then
+            Assertions.assertEquals(1L, journal.size());
+            Assertions.assertEquals(0L, journal.findAccount(789123L).orElseThrow().getVersion());
+        }
+    }
+
+    @Test
+    public void appendRejectsUnknownAccountTest() throws IOException {
+        try (OperationJournal journal = open(4)) {
+            Assertions.assertThrows(DomainException.class,
+                    () -> journal.append(Map.of(1L, List.of(deposit(1L, "100"))), Map.of()));
+            Assertions.assertTrue(journal.findAccount(1L).isEmpty());
+        }
+    }
+
+    @Test
+    public void recoveryDropsTornWriteTest() throws IOException {
+        // Given
+        try (OperationJournal journal = open(8)) {
+            journal.append(Map.of(123456L, List.of(deposit(123456L, "100"))), Map.of());
+            journal.append(operationsByAccountId(deposit(123456L, "50"), deposit(789123L, "10")), Map.of());
+        }
+        // Simule un crash au milieu de la seconde écriture : son dernier enregistrement est corrompu
+        try (RandomAccessFile segment = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            segment.seek(2L * OperationJournal.RECORD_SIZE + 16);
+            segment.writeLong(999L);
+        }
+
+        // When
+        try (OperationJournal journal = open(8)) {
+            //Then
+            Assertions.assertEquals(1L, journal.size());
+            Assertions.assertEquals(Money.parse("100"), journal.findAccount(123456L).orElseThrow().getBaseLineBalance());
+            Assertions.assertEquals(0L, journal.findAccount(789123L).orElseThrow().getVersion());
+
+            journal.append(Map.of(789123L, List.of(deposit(789123L, "20"))), Map.of(789123L, 0L));
+        }
+        try (OperationJournal journal = open(8)) {
+            Assertions.assertEquals(2L, journal.size());
+            Assertions.assertEquals(Money.parse("20"), journal.findAccount(789123L).orElseThrow().getBaseLineBalance());
+        }
+    }
+
+    @Test
+    public void appendRollsOverSegmentsTest() throws IOException {
+        // Given
+        try (OperationJournal journal = open(2)) {
+            for (int index = 0; index < 5; index++) {
+                journal.append(Map.of(123456L, List.of(deposit(123456L, "1"))), Map.of());
+            }
+            journal.append(Map.of(123456L, List.of(deposit(123456L, "1"), deposit(123456L, "1"), deposit(123456L, "1"))), Map.of());
+        }
+
+        // When
+        try (OperationJournal journal = open(2)) {
+            //Then
+            Assertions.assertEquals(4, segmentFiles().size());
+            Assertions.assertEquals(8L, journal.size());
+            Assertions.assertEquals(Money.parse("8"), journal.findAccount(123456L).orElseThrow().getBaseLineBalance());
+            Assertions.assertEquals(6L, journal.findAccount(123456L).orElseThrow().getVersion());
+        }
+    }
+
+    @Test
+    public void recoveryReplaysOnlyRecordsAfterCheckpointTest() throws IOException {
+        // Given: a checkpoint, then more writes and a crash, without close
+        OperationJournal crashed = open(4);
+        crashed.append(Map.of(123456L, List.of(deposit(123456L, "100"))), Map.of());
+        crashed.append(Map.of(789123L, List.of(deposit(789123L, "10"))), Map.of());
+        Assertions.assertEquals(2L, crashed.checkpoint());
+        crashed.append(operationsByAccountId(withdrawal(123456L, "30"), deposit(789123L, "5")), Map.of());
+        // Le premier enregistrement, couvert par la sauvegarde de l'index, n'est plus relu
+        try (RandomAccessFile segment = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+            segment.seek(16);
+            segment.writeLong(999L);
+        }
+
+        // When
+        try (OperationJournal journal = open(4)) {
+            //Then
+            Assertions.assertEquals(4L, journal.size());
+            Account account = journal.findAccount(123456L).orElseThrow();
+            Assertions.assertEquals(Money.parse("70"), account.getBaseLineBalance());
+            Assertions.assertEquals(2L, account.getVersion());
+            Assertions.assertEquals(Money.parse("15"), journal.findAccount(789123L).orElseThrow().getBaseLineBalance());
+
+            List<Operation> operations = new ArrayList<>();
+            journal.forEachOperation(789123L, operations::add);
+            Assertions.assertEquals(List.of(2L, 4L), operations.stream().map(Operation::getId).toList());
+        }
+    }
+
+    @Test
+    public void recoveryIgnoresCorruptedCheckpointTest() throws IOException {
+        // Given
+        try (OperationJournal journal = open(4)) {
+            journal.append(Map.of(123456L, List.of(deposit(123456L, "100"))), Map.of());
+            journal.append(Map.of(123456L, List.of(withdrawal(123456L, "40"))), Map.of());
+        }
+        Path checkpoint = directory.resolve(OperationJournal.CHECKPOINT_FILE);
+        byte[] content = Files.readAllBytes(checkpoint);
+        content[content.length - 1] ^= 1;
+        Files.write(checkpoint, content);
+
+        // When
+        try (OperationJournal journal = open(4)) {
+            //Then
+            Assertions.assertEquals(2L, journal.size());
+            Assertions.assertEquals(Money.parse("60"), journal.findAccount(123456L).orElseThrow().getBaseLineBalance());
+        }
+    }
+
+    private OperationJournal open(int segmentRecords) throws IOException {
+        return OperationJournal.open(directory, segmentRecords, false, accountId -> accountId == 123456L || accountId == 789123L);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private Map<Long, List<Operation>> operationsByAccountId(Operation... operations) {
+        Map<Long, List<Operation>> operationsByAccountId = new TreeMap<>();
+        for (Operation operation : operations) {
+            operationsByAccountId.computeIfAbsent(operation.getAccountId(), accountId -> new ArrayList<>()).add(operation);
+        }
+        return operationsByAccountId;
+    }
+
+    private Operation deposit(Long accountId, String amount) {
+        return new Operation(null, accountId, date, Money.parse(amount), OperationTypeEnum.DEPOSIT);
+    }
+
+    private Operation withdrawal(Long accountId, String amount) {
+        return new Operation(null, accountId, date, Money.parse(amount), OperationTypeEnum.WITHDRAWAL);
+    }
+}
@@ -0,0 +1,96 @@
+package com.yma.bank.infrastructure.metrics;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.StatementService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BankMetricsAspectTest {
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private StatementService statementService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeOperationsByTypeAndOutcome() {
+        AccountService metered = proxy(accountService, AccountService.class);
+        NewOperationRequest deposit = request(OperationTypeEnum.DEPOSIT);
+        NewOperationRequest withdrawal = request(OperationTypeEnum.WITHDRAWAL);
+        doNothing().doThrow(new ConcurrentOperationException("modified")).when(accountService).sendMoney(deposit);
+        doThrow(new DomainException("Insufficient balance")).when(accountService).sendMoney(withdrawal);
+
+        metered.sendMoney(deposit);
+        assertThrows(ConcurrentOperationException.class, () -> metered.sendMoney(deposit));
+        assertThrows(DomainException.class, () -> metered.sendMoney(withdrawal));
+
+        assertEquals(1L, operationCount("deposit", "success"));
+        assertEquals(1L, operationCount("deposit", "conflict"));
+        assertEquals(1L, operationCount("withdrawal", "rejected"));
+    }
+
+    @Test
+    void shouldTimeSubmittedOperationUntilItsFutureCompletes() {
+        AccountService metered = proxy(accountService, AccountService.class);
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(accountService.submitOperation(any())).thenReturn(pending);
+
+        CompletableFuture<Void> returned = metered.submitOperation(request(OperationTypeEnum.DEPOSIT));
+
+        assertSame(pending, returned);
+        assertEquals(0L, operationCount("deposit", "rejected"));
+        pending.completeExceptionally(new DomainException("Account not found"));
+        assertEquals(1L, operationCount("deposit", "rejected"));
+    }
+
+    @Test
+    void shouldRecordLinesPerStatement() {
+        StatementService metered = proxy(statementService, StatementService.class);
+        StatementLine line = new StatementLine(LocalDateTime.now(), BigDecimal.ONE, BigDecimal.ONE);
+        when(statementService.generateAccountStatement(any(), any())).thenReturn(new AccountStatementResponse(List.of(line, line, line), 1L));
+
+        metered.generateAccountStatement(1L, LocalDateTime.now());
+
+        assertEquals(3.0, meterRegistry.get(BankMetricsAspect.STATEMENT_LINES).tag("kind", "generate").summary().totalAmount());
+        assertEquals(1L, meterRegistry.get(BankMetricsAspect.STATEMENT_TIMER).tags("kind", "generate", "outcome", "success").timer().count());
+    }
+
+    private long operationCount(String type, String outcome) {
+        var timer = meterRegistry.find(BankMetricsAspect.OPERATION_TIMER).tags("type", type, "outcome", outcome).timer();
+        return timer == null ? 0L : timer.count();
+    }
+
+    private <T> T proxy(T target, Class<T> type) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.addInterface(type);
+        proxyFactory.addAspect(new BankMetricsAspect(meterRegistry));
+        return proxyFactory.getProxy();
+    }
+
+    private static NewOperationRequest request(OperationTypeEnum operationType) {
+        return new NewOperationRequest(654321L, BigDecimal.TEN, operationType);
+    }
+}
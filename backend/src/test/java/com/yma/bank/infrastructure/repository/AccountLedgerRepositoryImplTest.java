@@ -0,0 +1,100 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.domain.AccountSnapshot;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountLedgerRepository;
+import com.yma.bank.domain.services.OperationRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {RepositoryTestConfiguration.class})
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "bank.ledger.snapshot-interval=2")
+public class AccountLedgerRepositoryImplTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountLedgerRepository accountLedgerRepository;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private OperationEntityRepository operationEntityRepository;
+
+    LocalDateTime snapshotDate = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Test
+    public void snapshotTakenEveryIntervalTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        operationRepository.saveOperation(new Operation(null, 123456L, now, Money.parse("100"), OperationTypeEnum.DEPOSIT), 0L);
+        operationRepository.saveOperations(List.of(
+                new Operation(null, 123456L, now, Money.parse("50"), OperationTypeEnum.DEPOSIT),
+                new Operation(null, 123456L, now, Money.parse("20"), OperationTypeEnum.DEPOSIT)), Map.of(123456L, 1L));
+        operationRepository.saveOperation(new Operation(null, 123456L, now, Money.parse("30"), OperationTypeEnum.WITHDRAWAL));
+
+        //Then
+        AccountSnapshot snapshot = accountLedgerRepository.findLatestSnapshotBefore(123456L, now.plusMinutes(1)).orElseThrow();
+        Assertions.assertEquals(2L, snapshot.getVersion());
+        Assertions.assertEquals(Money.parse("170"), snapshot.getBalance());
+        Assertions.assertEquals(List.of(1L, 2L, 2L, 3L), operationEntityRepository.findAll().stream()
+                .map(OperationEntity::getAccountVersion).sorted().toList());
+        Assertions.assertEquals(Money.parse("140"), accountLedgerRepository.getBalanceBefore(123456L, now.plusMinutes(1)));
+    }
+
+    @Test
+    public void getBalanceBeforeRehydratesFromSnapshotTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+        entityManager.persistAndFlush(new AccountSnapshotEntity(null, 123456L, 5L, 100000L, snapshotDate));
+        // Déjà compris dans le snapshot : ne doit pas être additionné une seconde fois
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, snapshotDate.minusHours(1), 50000L, OperationTypeEnum.DEPOSIT.name(), 3L));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, snapshotDate.plusHours(1), 20000L, OperationTypeEnum.WITHDRAWAL.name(), 6L));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, snapshotDate.plusHours(2), 5000L, OperationTypeEnum.DEPOSIT.name(), 7L));
+
+        // When
+        Money actual = accountLedgerRepository.getBalanceBefore(123456L, snapshotDate.plusMinutes(90));
+
+        //Then
+        Assertions.assertEquals(Money.parse("800"), actual);
+        Assertions.assertEquals(Money.parse("850"), accountLedgerRepository.getBalanceBefore(123456L, snapshotDate.plusDays(1)));
+    }
+
+    @Test
+    public void getBalanceBeforeFirstSnapshotTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+        entityManager.persistAndFlush(new AccountSnapshotEntity(null, 123456L, 5L, 100000L, snapshotDate));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, snapshotDate.minusHours(2), 50000L, OperationTypeEnum.DEPOSIT.name(), 3L));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, snapshotDate.minusHours(1), 10000L, OperationTypeEnum.WITHDRAWAL.name(), 4L));
+
+        // When
+        Money actual = accountLedgerRepository.getBalanceBefore(123456L, snapshotDate.minusMinutes(90));
+
+        //Then
+        Assertions.assertEquals(Money.parse("500"), actual);
+        Assertions.assertTrue(accountLedgerRepository.findLatestSnapshotBefore(123456L, snapshotDate).isEmpty());
+    }
+}
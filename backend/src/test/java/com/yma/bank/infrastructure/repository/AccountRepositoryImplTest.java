@@ -1,6 +1,7 @@
 package com.yma.bank.infrastructure.repository;
 
 import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationTypeEnum;
 import com.yma.bank.domain.services.AccountRepository;
 import org.junit.jupiter.api.Assertions;
@@ -13,9 +14,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {RepositoryTestConfiguration.class})
@@ -40,15 +45,89 @@ public class AccountRepositoryImplTest {
         Optional<Account> actual = accountRepository.getAccount(123456L, baseLineDate);
 
         // Then
-        Assertions.assertEquals(BigDecimal.valueOf(200L), actual.get().calculateBalanceOperationsToDisplay());
-        Assertions.assertEquals(BigDecimal.valueOf(700L), actual.get().getBaseLineBalance());
+        Assertions.assertEquals(Money.parse("200"), actual.get().calculateBalanceOperationsToDisplay());
+        Assertions.assertEquals(Money.parse("700"), actual.get().getBaseLineBalance());
+    }
+
+    @Test
+    public void getAllAccountsTest() {
+        // Given
+        createData();
+        entityManager.persistAndFlush(new AccountEntity(null, 234567L));
+        entityManager.persistAndFlush(new OperationEntity(null, 234567L, baseLineDate.minusDays(3), 5000L, OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new AccountEntity(null, 345678L));
+
+        // When
+        Map<Long, Account> actual = accountRepository.getAllAccounts(baseLineDate).stream()
+                .collect(Collectors.toMap(account -> account.getAccountId().get(), Function.identity()));
+
+        // Then
+        Assertions.assertEquals(Money.parse("700"), actual.get(123456L).getBaseLineBalance());
+        Assertions.assertEquals(Money.parse("200"), actual.get(123456L).calculateBalanceOperationsToDisplay());
+        Assertions.assertEquals(2, actual.get(123456L).getOperationList().size());
+        Assertions.assertEquals(Money.parse("50"), actual.get(234567L).getBaseLineBalance());
+        Assertions.assertTrue(actual.get(234567L).getOperationList().isEmpty());
+        Assertions.assertEquals(Money.ZERO, actual.get(345678L).getBaseLineBalance());
+        Assertions.assertTrue(actual.get(345678L).getOperationList().isEmpty());
+    }
+
+    @Test
+    public void getAccountsAfterTest() {
+        // Given
+        createData();
+        entityManager.persistAndFlush(new AccountEntity(null, 123457L));
+        entityManager.persistAndFlush(new AccountEntity(null, 123458L));
+
+        // When
+        List<Account> firstPage = accountRepository.getAccountsAfter(123455L, 2, baseLineDate);
+        List<Account> lastPage = accountRepository.getAccountsAfter(123457L, 1, baseLineDate);
+
+        // Then
+        Assertions.assertEquals(List.of(123456L, 123457L), firstPage.stream().map(account -> account.getAccountId().get()).toList());
+        Assertions.assertEquals(Money.parse("700"), firstPage.get(0).getBaseLineBalance());
+        Assertions.assertEquals(2, firstPage.get(0).getOperationList().size());
+        Assertions.assertEquals(Money.ZERO, firstPage.get(1).getBaseLineBalance());
+        Assertions.assertEquals(List.of(123458L), lastPage.stream().map(account -> account.getAccountId().get()).toList());
+    }
+
+    @Test
+    public void getAccountSnapshotTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L, 90000L));
+
+        // When
+        Optional<Account> actual = accountRepository.getAccountSnapshot(123456L);
+
+        // Then
+        Assertions.assertEquals(Money.parse("900"), actual.get().calculateBalance());
+        Assertions.assertTrue(actual.get().getOperationList().isEmpty());
+    }
+
+    @Test
+    public void getAccountSnapshotWhenAccountNotExistsTest() {
+        Assertions.assertTrue(accountRepository.getAccountSnapshot(123456L).isEmpty());
+    }
+
+    @Test
+    public void getAccountSnapshotsTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L, 90000L));
+        entityManager.persistAndFlush(new AccountEntity(null, 234567L, 1000L));
+
+        // When
+        Map<Long, Account> actual = accountRepository.getAccountSnapshots(List.of(123456L, 234567L, 345678L));
+
+        // Then
+        Assertions.assertEquals(Set.of(123456L, 234567L), actual.keySet());
+        Assertions.assertEquals(Money.parse("900"), actual.get(123456L).calculateBalance());
+        Assertions.assertEquals(Money.parse("10"), actual.get(234567L).calculateBalance());
     }
 
     private void createData() {
         entityManager.persistAndFlush(new AccountEntity(null, 123456L));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(2), BigDecimal.valueOf(800L), OperationTypeEnum.DEPOSIT.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(1), BigDecimal.valueOf(100L), OperationTypeEnum.WITHDRAWAL.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(2), BigDecimal.valueOf(200L), OperationTypeEnum.WITHDRAWAL.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(3), BigDecimal.valueOf(400L), OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(2), 80000L, OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(1), 10000L, OperationTypeEnum.WITHDRAWAL.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(2), 20000L, OperationTypeEnum.WITHDRAWAL.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(3), 40000L, OperationTypeEnum.DEPOSIT.name()));
     }
 }
@@ -0,0 +1,80 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.domain.OperationTypeEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {RepositoryTestConfiguration.class})
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "bank.reconciliation.page-size=2")
+public class BalanceReconciliationJobTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BalanceReconciliationJob balanceReconciliationJob;
+
+    LocalDateTime baseLineDate = LocalDateTime.now().minusDays(10);
+
+    @Test
+    public void reconcileWhenSnapshotsMatchLedgerTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L, 70000L));
+        entityManager.persistAndFlush(new AccountEntity(null, 234567L, 0L));
+        createOperations();
+
+        // When
+        List<Long> actual = balanceReconciliationJob.reconcile();
+
+        // Then
+        Assertions.assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    public void reconcileWhenSnapshotDivergesTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L, 75000L));
+        entityManager.persistAndFlush(new AccountEntity(null, 234567L, 1000L));
+        createOperations();
+
+        // When
+        List<Long> actual = balanceReconciliationJob.reconcile();
+
+        // Then
+        Assertions.assertEquals(List.of(123456L, 234567L), actual);
+    }
+
+    @Test
+    public void reconcileEveryPageOfAccountsTest() {
+        // Given: a first page of accounts matching the ledger, and a mismatch on the second one
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L, 70000L));
+        entityManager.persistAndFlush(new AccountEntity(null, 234567L, 0L));
+        entityManager.persistAndFlush(new AccountEntity(null, 345678L, 500L));
+        createOperations();
+
+        // When
+        List<Long> actual = balanceReconciliationJob.reconcile();
+
+        // Then
+        Assertions.assertEquals(List.of(345678L), actual);
+    }
+
+    private void createOperations() {
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(2), 80000L, OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(1), 10000L, OperationTypeEnum.WITHDRAWAL.name()));
+    }
+}
@@ -10,9 +10,10 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {RepositoryTestConfiguration.class})
@@ -51,7 +52,7 @@ public class OperationEntityRepositoryTest {
         Long depositBalance = repository.getDepositBalanceUntil(123456L, baseLineDate);
 
         // Then
-        Assertions.assertEquals(800L, depositBalance);
+        Assertions.assertEquals(80000L, depositBalance);
 
     }
 
@@ -64,16 +65,48 @@ public class OperationEntityRepositoryTest {
         Long withdrawalBalance = repository.getWithdrawalBalanceUntil(123456L, baseLineDate);
 
         // Then
-        Assertions.assertEquals(100L, withdrawalBalance);
+        Assertions.assertEquals(10000L, withdrawalBalance);
 
     }
 
+    @Test
+    public void findAllSinceTest() {
+        // Given
+        createData();
+        entityManager.persistAndFlush(new OperationEntity(null, 234567L, baseLineDate.plusDays(1), 10000L, OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 234567L, baseLineDate.minusDays(1), 10000L, OperationTypeEnum.DEPOSIT.name()));
+
+        // When
+        List<OperationEntity> operationEntityList = repository.findAllSince(baseLineDate);
+
+        // Then
+        Assertions.assertEquals(5, operationEntityList.size());
+        Assertions.assertEquals(123456L, operationEntityList.get(0).getAccountId());
+        Assertions.assertEquals(234567L, operationEntityList.get(4).getAccountId());
+    }
+
+    @Test
+    public void getBalancesUntilTest() {
+        // Given
+        createData();
+        entityManager.persistAndFlush(new OperationEntity(null, 234567L, baseLineDate.minusDays(1), 15000L, OperationTypeEnum.DEPOSIT.name()));
+
+        // When
+        Map<Long, Long> balances = repository.getBalancesUntil(baseLineDate).stream()
+                .collect(Collectors.toMap(AccountBalanceView::getAccountId, AccountBalanceView::getBalance));
+
+        // Then
+        Assertions.assertEquals(2, balances.size());
+        Assertions.assertEquals(70000L, balances.get(123456L));
+        Assertions.assertEquals(15000L, balances.get(234567L));
+    }
+
     private void createData() {
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(2), BigDecimal.valueOf(800L), OperationTypeEnum.DEPOSIT.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(1), BigDecimal.valueOf(100L), OperationTypeEnum.WITHDRAWAL.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(2), BigDecimal.valueOf(200L), OperationTypeEnum.WITHDRAWAL.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(3), BigDecimal.valueOf(400L), OperationTypeEnum.WITHDRAWAL.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(4), BigDecimal.valueOf(300L), OperationTypeEnum.DEPOSIT.name()));
-        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(5), BigDecimal.valueOf(100L), OperationTypeEnum.WITHDRAWAL.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(2), 80000L, OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.minusDays(1), 10000L, OperationTypeEnum.WITHDRAWAL.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(2), 20000L, OperationTypeEnum.WITHDRAWAL.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(3), 40000L, OperationTypeEnum.WITHDRAWAL.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(4), 30000L, OperationTypeEnum.DEPOSIT.name()));
+        entityManager.persistAndFlush(new OperationEntity(null, 123456L, baseLineDate.plusDays(5), 10000L, OperationTypeEnum.WITHDRAWAL.name()));
     }
 }
@@ -0,0 +1,122 @@
+package com.yma.bank.infrastructure.repository;
+
+import com.yma.bank.domain.AccountSummary;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountSummaryRepository;
+import com.yma.bank.domain.services.OperationHistoryRepository;
+import com.yma.bank.domain.services.OperationRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {RepositoryTestConfiguration.class})
+@DataJpaTest
+@ActiveProfiles("test")
+public class OperationHistoryProjectorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OperationHistoryProjector projector;
+
+    @Autowired
+    private OperationRepository operationRepository;
+
+    @Autowired
+    private OperationHistoryRepository operationHistoryRepository;
+
+    @Autowired
+    private AccountSummaryRepository accountSummaryRepository;
+
+    LocalDateTime baseLineDate = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Test
+    public void projectPendingTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+        operationRepository.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT));
+        operationRepository.saveOperations(List.of(
+                new Operation(null, 123456L, baseLineDate.plusDays(1), Money.parse("200.50"), OperationTypeEnum.WITHDRAWAL)), Map.of());
+        Assertions.assertTrue(operationHistoryRepository.findByAccountId(123456L).isEmpty());
+        Assertions.assertEquals(2L, projector.countPending());
+
+        // When
+        int actual = projector.projectPending();
+
+        //Then
+        Assertions.assertEquals(2, actual);
+        Assertions.assertEquals(0L, projector.countPending());
+        List<OperationHistory> history = operationHistoryRepository.findByAccountIdBetween(123456L, baseLineDate, null);
+        Assertions.assertEquals(2, history.size());
+        Assertions.assertEquals(Money.parse("500"), history.get(0).getAmount());
+        Assertions.assertEquals(OperationTypeEnum.WITHDRAWAL, history.get(1).getOperationType());
+        Assertions.assertEquals(Money.parse("200.50"), history.get(1).getAmount());
+        Assertions.assertFalse(projector.getLastLag().isNegative());
+    }
+
+    @Test
+    public void projectPendingByBatchesTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+        int count = OperationHistoryProjector.BATCH_SIZE + 10;
+        operationRepository.saveOperations(IntStream.range(0, count)
+                .mapToObj(i -> new Operation(null, 123456L, baseLineDate.plusMinutes(i), Money.parse("1"), OperationTypeEnum.DEPOSIT))
+                .toList(), Map.of());
+
+        // When
+        int actual = projector.projectPending();
+
+        //Then
+        Assertions.assertEquals(count, actual);
+        Assertions.assertEquals(Money.parse(String.valueOf(count)), operationHistoryRepository.getBalanceBetween(123456L, null, LocalDateTime.now()));
+        Assertions.assertEquals(0, projector.projectPending());
+    }
+
+    @Test
+    public void projectPendingShouldMaintainAccountSummariesTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+        entityManager.persistAndFlush(new AccountEntity(null, 123457L));
+        operationRepository.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT));
+        operationRepository.saveOperation(new Operation(null, 123456L, baseLineDate.plusDays(1), Money.parse("200.50"), OperationTypeEnum.WITHDRAWAL));
+        Assertions.assertEquals(Money.ZERO, summariesOf(123456L, 123457L).get(0).getBalance());
+
+        // When
+        projector.projectPending();
+        operationRepository.saveOperation(new Operation(null, 123456L, baseLineDate.plusDays(2), Money.parse("10"), OperationTypeEnum.DEPOSIT));
+        projector.projectPending();
+
+        //Then
+        List<AccountSummary> summaries = summariesOf(123456L, 123457L);
+        Assertions.assertEquals(List.of(123456L, 123457L), summaries.stream().map(AccountSummary::getAccountId).toList());
+        Assertions.assertEquals(Money.parse("309.50"), summaries.get(0).getBalance());
+        Assertions.assertEquals(3L, summaries.get(0).getOperationCount());
+        Assertions.assertEquals(baseLineDate.plusDays(2), summaries.get(0).getLastOperationAt());
+        Assertions.assertEquals(0L, summaries.get(1).getOperationCount());
+        Assertions.assertNull(summaries.get(1).getLastOperationAt());
+        Assertions.assertEquals(List.of(123457L), accountSummaryRepository.getSummariesAfter(123456L, 1).stream()
+                .map(AccountSummary::getAccountId).toList());
+    }
+
+    private List<AccountSummary> summariesOf(Long... accountIds) {
+        return accountSummaryRepository.getAllSummaries().stream()
+                .filter(summary -> List.of(accountIds).contains(summary.getAccountId()))
+                .toList();
+    }
+}
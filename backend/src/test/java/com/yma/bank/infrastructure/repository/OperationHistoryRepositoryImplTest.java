@@ -1,8 +1,9 @@
 package com.yma.bank.infrastructure.repository;
 
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.OperationHistory;
 import com.yma.bank.domain.OperationTypeEnum;
-import com.yma.bank.domain.services.OperationHistoryRepository;
+import com.yma.bank.domain.services.WritableOperationHistoryRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,8 +12,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -24,31 +25,89 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 class OperationHistoryRepositoryImplTest {
 
     @Autowired
-    private OperationHistoryRepository repository;
+    private WritableOperationHistoryRepository repository;
 
     @Test
     void shouldSaveOperationHistorySuccessfully() {
         OperationHistory operation = new OperationHistory(
-                null, 1001L, LocalDateTime.now(), new BigDecimal("200.00"), OperationTypeEnum.DEPOSIT
+                null, 1001L, LocalDateTime.now(), Money.parse("200.00"), OperationTypeEnum.DEPOSIT
         );
 
         repository.save(operation);
         List<OperationHistory> history = repository.findByAccountId(1001L);
 
         assertEquals(1, history.size());
-        assertEquals(new BigDecimal("200.00"), history.get(0).getAmount());
+        assertEquals(Money.parse("200.00"), history.get(0).getAmount());
         assertEquals(OperationTypeEnum.DEPOSIT, history.get(0).getOperationType());
     }
 
     @Test
     void shouldRetrieveMultipleOperationsForAccount() {
-        repository.save(new OperationHistory(null, 1001L, LocalDateTime.now().minusDays(2), new BigDecimal("150.00"), OperationTypeEnum.WITHDRAWAL));
-        repository.save(new OperationHistory(null, 1001L, LocalDateTime.now().minusDays(1), new BigDecimal("250.00"), OperationTypeEnum.DEPOSIT));
+        repository.save(new OperationHistory(null, 1001L, LocalDateTime.now().minusDays(2), Money.parse("150.00"), OperationTypeEnum.WITHDRAWAL));
+        repository.save(new OperationHistory(null, 1001L, LocalDateTime.now().minusDays(1), Money.parse("250.00"), OperationTypeEnum.DEPOSIT));
 
         List<OperationHistory> history = repository.findByAccountId(1001L);
 
         assertEquals(2, history.size());
-        assertEquals(new BigDecimal("150.00"), history.get(0).getAmount());
-        assertEquals(new BigDecimal("250.00"), history.get(1).getAmount());
+        assertEquals(Money.parse("150.00"), history.get(0).getAmount());
+        assertEquals(Money.parse("250.00"), history.get(1).getAmount());
+    }
+
+    @Test
+    void shouldSaveAllOperationHistories() {
+        repository.saveAll(List.of(
+                new OperationHistory(null, 1001L, LocalDateTime.now().minusDays(2), Money.parse("150.00"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(null, 1001L, LocalDateTime.now().minusDays(1), Money.parse("50.00"), OperationTypeEnum.WITHDRAWAL)));
+
+        List<OperationHistory> history = repository.findByAccountId(1001L);
+
+        assertEquals(2, history.size());
+        assertEquals(OperationTypeEnum.WITHDRAWAL, history.get(1).getOperationType());
+    }
+
+    @Test
+    void shouldRetrieveOperationsWithinDateRangeOldestFirst() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 0, 0);
+        repository.saveAll(List.of(
+                new OperationHistory(null, 1001L, day.plusDays(3), Money.parse("30.00"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(null, 1001L, day.minusDays(1), Money.parse("10.00"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(null, 1001L, day.plusDays(1), Money.parse("20.00"), OperationTypeEnum.WITHDRAWAL),
+                new OperationHistory(null, 2002L, day.plusDays(1), Money.parse("90.00"), OperationTypeEnum.DEPOSIT)));
+
+        List<OperationHistory> window = repository.findByAccountIdBetween(1001L, day, day.plusDays(3));
+        List<OperationHistory> unbounded = repository.findByAccountIdBetween(1001L, day, null);
+        List<OperationHistory> limited = repository.findByAccountIdBetween(1001L, day.minusDays(5), null, 2);
+
+        assertEquals(List.of(Money.parse("20.00")), window.stream().map(OperationHistory::getAmount).toList());
+        assertEquals(List.of(Money.parse("20.00"), Money.parse("30.00")), unbounded.stream().map(OperationHistory::getAmount).toList());
+        assertEquals(List.of(Money.parse("10.00"), Money.parse("20.00")), limited.stream().map(OperationHistory::getAmount).toList());
+    }
+
+    @Test
+    void shouldComputeBalanceOfDateRangeInDatabase() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 0, 0);
+        repository.saveAll(List.of(
+                new OperationHistory(null, 1001L, day.minusDays(2), Money.parse("100.00"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(null, 1001L, day.minusDays(1), Money.parse("30.00"), OperationTypeEnum.WITHDRAWAL),
+                new OperationHistory(null, 1001L, day, Money.parse("500.00"), OperationTypeEnum.DEPOSIT)));
+
+        assertEquals(Money.parse("70.00"), repository.getBalanceBetween(1001L, null, day));
+        assertEquals(Money.parse("-30.00"), repository.getBalanceBetween(1001L, day.minusDays(1), day));
+        assertEquals(Money.ZERO, repository.getBalanceBetween(2002L, null, day));
+    }
+
+    @Test
+    void shouldStreamOperationsFromDateOldestFirst() {
+        LocalDateTime day = LocalDateTime.of(2024, 3, 1, 0, 0);
+        repository.saveAll(List.of(
+                new OperationHistory(null, 1001L, day.plusDays(2), Money.parse("30.00"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(null, 1001L, day.minusDays(1), Money.parse("10.00"), OperationTypeEnum.DEPOSIT),
+                new OperationHistory(null, 1001L, day.plusDays(1), Money.parse("20.00"), OperationTypeEnum.WITHDRAWAL),
+                new OperationHistory(null, 2002L, day.plusDays(1), Money.parse("90.00"), OperationTypeEnum.DEPOSIT)));
+
+        List<Money> amounts = new ArrayList<>();
+        repository.forEachByAccountIdFrom(1001L, day, operation -> amounts.add(operation.getAmount()));
+
+        assertEquals(List.of(Money.parse("20.00"), Money.parse("30.00")), amounts);
     }
 }
@@ -1,13 +1,20 @@
 package com.yma.bank.infrastructure.repository;
 
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.DuplicateOperationException;
+import com.yma.bank.domain.Money;
 import com.yma.bank.domain.Operation;
 import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.IdempotencyKeyRepository;
 import com.yma.bank.domain.services.OperationRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -15,6 +22,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {RepositoryTestConfiguration.class})
@@ -22,24 +30,159 @@ import java.util.List;
 @ActiveProfiles("test")
 public class OperationRepositoryImplTest {
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Autowired
     private OperationRepository repositoryExtended;
 
     @Autowired
     private OperationEntityRepository operationRepository;
 
+    @Autowired
+    private AccountEntityRepository accountEntityRepository;
+
+    @Autowired
+    private OperationOutboxEntityRepository operationOutboxEntityRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
     LocalDateTime baseLineDate = LocalDateTime.now().minusDays(10);
 
     @Test
     public void saveOperationTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+
         // When
-        repositoryExtended.saveOperation(new Operation(200L, 123456L, baseLineDate, BigDecimal.valueOf(500L), OperationTypeEnum.DEPOSIT));
+        repositoryExtended.saveOperation(new Operation(200L, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT));
 
         //Then
         List<OperationEntity> actual = operationRepository.findAll();
         Assertions.assertEquals(1, actual.size());
-        Assertions.assertEquals(BigDecimal.valueOf(500L), actual.get(0).getAmount());
+        Assertions.assertEquals(50000L, actual.get(0).getAmount());
         Assertions.assertEquals(baseLineDate, actual.get(0).getTimestamp());
         Assertions.assertEquals(123456L, actual.get(0).getAccountId());
     }
+
+    @Test
+    public void saveOperationWritesOutboxRecordTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+
+        // When
+        repositoryExtended.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.WITHDRAWAL), 0L);
+
+        //Then
+        List<OperationOutboxEntity> actual = operationOutboxEntityRepository.findAll();
+        Assertions.assertEquals(1, actual.size());
+        Assertions.assertEquals(123456L, actual.get(0).getAccountId());
+        Assertions.assertEquals(50000L, actual.get(0).getAmount());
+        Assertions.assertEquals(OperationTypeEnum.WITHDRAWAL.name(), actual.get(0).getOperationType());
+    }
+
+    @Test
+    public void saveOperationUpdatesAccountBalanceTest() {
+        // Given
+        entityManager.persistAndFlush(new AccountEntity(null, 123456L));
+
+        // When
+        repositoryExtended.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT));
+        repositoryExtended.saveOperation(new Operation(null, 123456L, baseLineDate.plusDays(1), Money.parse("200"), OperationTypeEnum.WITHDRAWAL));
+
+        //Then
+        AccountEntity account = accountEntityRepository.findByAccountId(123456L).orElseThrow();
+        Assertions.assertEquals(30000L, account.getBalance());
+    }
+
+    @Test
+    public void saveOperationWhenAccountNotExistsTest() {
+        Operation operation = new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT);
+
+        Assertions.assertThrows(DomainException.class, () -> repositoryExtended.saveOperation(operation));
+        Assertions.assertTrue(operationRepository.findAll().isEmpty());
+    }
+
+    @Test
+    public void saveOperationAtExpectedVersionTest() {
+        // Given
+        Long version = entityManager.persistAndFlush(new AccountEntity(null, 123456L)).getVersion();
+
+        // When
+        repositoryExtended.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT), version);
+
+        //Then
+        AccountEntity account = accountEntityRepository.findByAccountId(123456L).orElseThrow();
+        Assertions.assertEquals(50000L, account.getBalance());
+        Assertions.assertEquals(version + 1, account.getVersion());
+    }
+
+    @Test
+    public void saveOperationAtStaleVersionTest() {
+        // Given
+        Long version = entityManager.persistAndFlush(new AccountEntity(null, 123456L)).getVersion();
+        repositoryExtended.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT), version);
+        Operation staleWithdrawal = new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.WITHDRAWAL);
+
+        // When
+        Assertions.assertThrows(ConcurrentOperationException.class, () -> repositoryExtended.saveOperation(staleWithdrawal, version));
+
+        //Then
+        Assertions.assertEquals(1, operationRepository.findAll().size());
+        Assertions.assertEquals(50000L, accountEntityRepository.findByAccountId(123456L).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void saveOperationWithIdempotencyKeyOnlyOnceTest() {
+        // Given
+        Long version = entityManager.persistAndFlush(new AccountEntity(null, 123456L)).getVersion();
+        repositoryExtended.saveOperation(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT), version, "retry-1");
+        Operation retriedDeposit = new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT);
+
+        // When
+        Assertions.assertThrows(DuplicateOperationException.class, () -> repositoryExtended.saveOperation(retriedDeposit, version + 1, "retry-1"));
+
+        //Then
+        Assertions.assertEquals(1, operationRepository.findAll().size());
+        Assertions.assertEquals(50000L, accountEntityRepository.findByAccountId(123456L).orElseThrow().getBalance());
+        NewOperationRequest recorded = idempotencyKeyRepository.findOperation("retry-1").orElseThrow();
+        Assertions.assertEquals(123456L, recorded.getAccountId());
+        Assertions.assertEquals(new BigDecimal("500.00"), recorded.getAmount());
+        Assertions.assertEquals(OperationTypeEnum.DEPOSIT, recorded.getOperationType());
+    }
+
+    @Test
+    public void saveOperationsTest() {
+        // Given
+        Long version = entityManager.persistAndFlush(new AccountEntity(null, 123456L)).getVersion();
+        entityManager.persistAndFlush(new AccountEntity(null, 234567L));
+
+        // When
+        repositoryExtended.saveOperations(List.of(
+                new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT),
+                new Operation(null, 234567L, baseLineDate, Money.parse("300"), OperationTypeEnum.DEPOSIT),
+                new Operation(null, 123456L, baseLineDate, Money.parse("200"), OperationTypeEnum.WITHDRAWAL)),
+                Map.of(123456L, version));
+
+        //Then
+        Assertions.assertEquals(3, operationRepository.findAll().size());
+        AccountEntity account = accountEntityRepository.findByAccountId(123456L).orElseThrow();
+        Assertions.assertEquals(30000L, account.getBalance());
+        Assertions.assertEquals(version + 1, account.getVersion());
+        Assertions.assertEquals(30000L, accountEntityRepository.findByAccountId(234567L).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void saveOperationsAtStaleVersionTest() {
+        // Given
+        Long version = entityManager.persistAndFlush(new AccountEntity(null, 123456L)).getVersion();
+        List<Operation> operations = List.of(new Operation(null, 123456L, baseLineDate, Money.parse("500"), OperationTypeEnum.DEPOSIT));
+
+        // When
+        Assertions.assertThrows(ConcurrentOperationException.class, () -> repositoryExtended.saveOperations(operations, Map.of(123456L, version + 1)));
+
+        //Then
+        Assertions.assertTrue(operationRepository.findAll().isEmpty());
+    }
 }
@@ -1,6 +1,8 @@
 package com.yma.bank.infrastructure.repository;
 
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @Configuration
 @AutoConfigureDataJpa
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
 @EntityScan("com.yma.bank")
 @ComponentScan("com.yma.bank")
 @EnableJpaRepositories("com.yma.bank")
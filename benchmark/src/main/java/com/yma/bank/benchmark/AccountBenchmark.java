@@ -0,0 +1,40 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountBenchmark {
+    @Param({"10", "10000", "1000000"})
+    private int operationCount;
+
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        account = new Account(1L, Money.ZERO, SyntheticHistory.operations(1L, operationCount));
+    }
+
+    @Benchmark
+    public Money calculateBalanceOperationsToDisplay() {
+        return account.calculateBalanceOperationsToDisplay();
+    }
+}
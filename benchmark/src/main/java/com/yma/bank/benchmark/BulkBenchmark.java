@@ -0,0 +1,89 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.BankApplication;
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.BulkOperationResult;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link AccountService#sendMoneyInBulk} with requests of {@link #BULK_SIZE} deposits spread over
+ * a number of accounts, against the application context backed by an embedded H2 database. The score is
+ * in operations per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BulkBenchmark {
+
+    static final int BULK_SIZE = 100_000;
+
+    private static final long FIRST_ACCOUNT_ID = 800000L;
+
+    @Param({"100", "10000"})
+    private int accountCount;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private List<NewOperationRequest> deposits;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "bank.reconciliation.initial-delay-ms=86400000")
+                // Argument de ligne de commande : application.properties l'emporte sur les propriétés par défaut
+                .run("--logging.level.com.yma.bank.audit=WARN");
+        accountService = context.getBean(AccountService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (long accountId = FIRST_ACCOUNT_ID; accountId < FIRST_ACCOUNT_ID + accountCount; accountId++) {
+            // Identifiant explicite, comme dans data.sql, pour ne pas croiser ceux que data.sql a déjà pris
+            jdbcTemplate.update("INSERT INTO account (id, account_id, balance, version) VALUES (?, ?, 0, 0)", accountId, accountId);
+        }
+        deposits = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            deposits.add(new NewOperationRequest(FIRST_ACCOUNT_ID + i % accountCount, BigDecimal.ONE, OperationTypeEnum.DEPOSIT));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<BulkOperationResult> sendMoneyInBulk() {
+        return accountService.sendMoneyInBulk(deposits);
+    }
+}
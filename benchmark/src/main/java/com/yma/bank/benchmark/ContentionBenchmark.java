@@ -0,0 +1,121 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.BankApplication;
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.AccountServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of withdrawals run by 8 threads through {@link AccountService#sendMoney}, against the application context
+ * backed by an embedded H2 database: all on the same account, where every writer contends with the others on the
+ * account version, or each thread on its own account, where writers never conflict. Deposits are left out, since
+ * they are recorded whatever the account version. The number of retries caused by concurrent modifications, and of
+ * withdrawals given up on a conflict despite the final locked attempt, is printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(ContentionBenchmark.THREADS)
+@Fork(1)
+public class ContentionBenchmark {
+
+    static final int THREADS = 8;
+
+    private static final long FIRST_ACCOUNT_ID = 600000L;
+
+    /**
+     * Enough for every withdrawal of a trial to be covered by the balance.
+     */
+    private static final BigDecimal INITIAL_BALANCE = BigDecimal.valueOf(1_000_000_000L);
+
+    @Param({"same", "distinct"})
+    private String accounts;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private long retriesBefore;
+
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    private final LongAdder gaveUp = new LongAdder();
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private long accountId;
+
+        @Setup
+        public void setUp(ContentionBenchmark benchmark) {
+            accountId = "same".equals(benchmark.accounts)
+                    ? FIRST_ACCOUNT_ID
+                    : FIRST_ACCOUNT_ID + benchmark.nextThread.getAndIncrement() % THREADS;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "bank.reconciliation.initial-delay-ms=86400000")
+                // Argument de ligne de commande : application.properties l'emporte sur les propriétés par défaut
+                .run("--logging.level.com.yma.bank.audit=WARN");
+        accountService = context.getBean(AccountService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (long accountId = FIRST_ACCOUNT_ID; accountId < FIRST_ACCOUNT_ID + THREADS; accountId++) {
+            // Identifiant explicite, comme dans data.sql, pour ne pas croiser ceux que data.sql a déjà pris
+            jdbcTemplate.update("INSERT INTO account (id, account_id, balance, version) VALUES (?, ?, 0, 0)", accountId, accountId);
+            accountService.sendMoney(new NewOperationRequest(accountId, INITIAL_BALANCE, OperationTypeEnum.DEPOSIT));
+        }
+        retriesBefore = retries();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%d retry(ies) on concurrent modifications, %d withdrawal(s) given up%n",
+                retries() - retriesBefore, gaveUp.sum());
+        context.close();
+    }
+
+    @Benchmark
+    public void withdraw(Writer writer) {
+        try {
+            accountService.sendMoney(new NewOperationRequest(writer.accountId, BigDecimal.ONE, OperationTypeEnum.WITHDRAWAL));
+        } catch (ConcurrentOperationException e) {
+            gaveUp.increment();
+        }
+    }
+
+    private long retries() {
+        return ((AccountServiceImpl) accountService).getConcurrentModificationRetries();
+    }
+}
@@ -0,0 +1,93 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.BankApplication;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.OperationRepository;
+import com.yma.bank.infrastructure.journal.JournalOperationRepository;
+import com.yma.bank.infrastructure.journal.OperationJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of recording one deposit through the memory-mapped journal and through the JPA adapter
+ * backed by an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JournalBenchmark {
+    /**
+     * Account seeded by data.sql.
+     */
+    private static final Long ACCOUNT_ID = 654321L;
+
+    private Path directory;
+
+    private OperationJournal journal;
+
+    private OperationRepository journalOperationRepository;
+
+    private ConfigurableApplicationContext context;
+
+    private OperationRepository jpaOperationRepository;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        journal = OperationJournal.open(directory, 1 << 20, false, accountId -> true);
+        journalOperationRepository = new JournalOperationRepository(journal);
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "bank.reconciliation.initial-delay-ms=86400000")
+                .run();
+        jpaOperationRepository = context.getBean(OperationRepository.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        journal.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void journalSaveOperation() {
+        journalOperationRepository.saveOperation(deposit());
+    }
+
+    @Benchmark
+    public void jpaSaveOperation() {
+        jpaOperationRepository.saveOperation(deposit());
+    }
+
+    private static Operation deposit() {
+        return new Operation(null, ACCOUNT_ID, LocalDateTime.now(), Money.parse("10"), OperationTypeEnum.DEPOSIT);
+    }
+}
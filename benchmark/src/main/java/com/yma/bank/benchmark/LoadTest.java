@@ -0,0 +1,121 @@
+package com.yma.bank.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test of a running application: {@code clients} clients send requests back to back
+ * for {@code seconds} seconds, one deposit for every {@code readsPerWrite} statement or account reads,
+ * then the throughput, the status codes, the peak number of requests in flight and the latency percentiles
+ * are printed. Unlike the JMH benchmarks, it measures the whole server, including its thread and connection pools.
+ * <pre>
+ * mvn exec:exec@load-test -Dload.args="http://localhost:8200 400 30 4"
+ * </pre>
+ */
+public class LoadTest {
+
+    private static final long[] ACCOUNT_IDS = {654321L, 789123L};
+
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8200";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int readsPerWrite = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        List<Latencies> latencies = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int client = 0; client < clients; client++) {
+            Latencies clientLatencies = new Latencies();
+            latencies.add(clientLatencies);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(baseUrl, readsPerWrite);
+                        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                        clientLatencies.add(System.nanoTime() - start);
+                        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + client);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        long[] all = latencies.stream()
+                .flatMapToLong(clientLatencies -> Arrays.stream(clientLatencies.values, 0, clientLatencies.size))
+                .sorted()
+                .toArray();
+        long requests = all.length;
+        System.out.printf("clients=%d duration=%ds requests=%d throughput=%.0f req/s peakInFlight=%d%n",
+                clients, seconds, requests, requests / (double) seconds, peakInFlight.get());
+        System.out.printf("statuses=%s%n", new TreeMap<>(statuses));
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 1.0));
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, int readsPerWrite) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long accountId = ACCOUNT_IDS[random.nextInt(ACCOUNT_IDS.length)];
+        int kind = random.nextInt(readsPerWrite + 1);
+        if (kind == 0) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/account/" + accountId + "/deposit?amount=1"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+        String path = kind % 2 == 0 ? "/api/account/" + accountId : "/api/statement/" + accountId;
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    /**
+     * Latencies of one client, only written by its thread and read once it is done.
+     */
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,140 @@
+package com.yma.bank.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the logging done for one deposit by concurrent request threads, with the application log pattern
+ * written to a file flushed after every event, as a console is:
+ * <ul>
+ *     <li>{@code verbose}: the six INFO lines formerly logged across the controller, the service and the repository</li>
+ *     <li>{@code audit}: the same lines at DEBUG, disabled, and one {@code key=value} audit event</li>
+ * </ul>
+ * each through a synchronous appender or through an asynchronous appender with a bounded queue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    private static final Long ACCOUNT_ID = 654321L;
+
+    private static final BigDecimal AMOUNT = new BigDecimal("100");
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"verbose", "audit"})
+    private String policy;
+
+    private Path directory;
+
+    private LoggerContext loggerContext;
+
+    private Logger controllerLogger;
+
+    private Logger serviceLogger;
+
+    private Logger repositoryLogger;
+
+    private Logger auditLogger;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("logging-benchmark");
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setFile(directory.resolve("bank.log").toString());
+        file.setEncoder(encoder);
+        file.setImmediateFlush(true);
+        file.start();
+
+        Appender<ILoggingEvent> root = file;
+        if ("async".equals(appender)) {
+            // Même réglage que logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(loggerContext);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+        ch.qos.logback.classic.Logger rootLogger = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.addAppender(root);
+        rootLogger.setLevel(Level.INFO);
+
+        controllerLogger = loggerContext.getLogger("com.yma.bank.application.rest.AccountController");
+        serviceLogger = loggerContext.getLogger("com.yma.bank.domain.services.AccountServiceImpl");
+        repositoryLogger = loggerContext.getLogger("com.yma.bank.infrastructure.repository.OperationRepositoryImpl");
+        auditLogger = loggerContext.getLogger("com.yma.bank.audit");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void deposit() {
+        if ("verbose".equals(policy)) {
+            controllerLogger.info("Deposit request for account ID {} of amount {}", ACCOUNT_ID, AMOUNT);
+            serviceLogger.info("Processing transaction for account ID: {}", ACCOUNT_ID);
+            repositoryLogger.info("Recording operation for account ID {} at version {}", ACCOUNT_ID, 42L);
+            repositoryLogger.info("Operation successfully recorded for account ID {}", ACCOUNT_ID);
+            serviceLogger.info("Operation successfully recorded for account ID {}", ACCOUNT_ID);
+            controllerLogger.info("Deposit successful for account ID {}", ACCOUNT_ID);
+        } else {
+            controllerLogger.debug("Deposit request for account ID {} of amount {}", ACCOUNT_ID, AMOUNT);
+            serviceLogger.debug("Processing transaction for account ID: {}", ACCOUNT_ID);
+            repositoryLogger.debug("Recording operation for account ID {} at version {}", ACCOUNT_ID, 42L);
+            repositoryLogger.debug("Operation successfully recorded for account ID {}", ACCOUNT_ID);
+            controllerLogger.debug("Deposit successful for account ID {}", ACCOUNT_ID);
+            if (auditLogger.isInfoEnabled()) {
+                auditLogger.info("operation account={} type={} amount={} outcome=recorded attempts={}",
+                        ACCOUNT_ID, OperationTypeEnum.DEPOSIT, AMOUNT, 1);
+            }
+        }
+    }
+}
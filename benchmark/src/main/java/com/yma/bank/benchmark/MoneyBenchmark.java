@@ -0,0 +1,73 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance aggregation over the same history with the former BigDecimal arithmetic and with {@link Money}.
+ * Run with {@code -prof gc} to compare the allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+    @Param({"10", "10000", "1000000"})
+    private int operationCount;
+
+    private List<Operation> operations;
+
+    private List<BigDecimal> decimalAmounts;
+
+    @Setup
+    public void setUp() {
+        operations = SyntheticHistory.operations(1L, operationCount);
+        decimalAmounts = operations.stream().map(operation -> operation.getAmount().toBigDecimal()).toList();
+    }
+
+    /**
+     * The balance computation as it was done before amounts were held in minor units:
+     * adding BigDecimal values per operation type.
+     */
+    @Benchmark
+    public BigDecimal bigDecimalBalance() {
+        BigDecimal depositBalance = BigDecimal.ZERO;
+        BigDecimal withdrawalBalance = BigDecimal.ZERO;
+        for (int i = 0; i < decimalAmounts.size(); i++) {
+            if (operations.get(i).getOperationType() == OperationTypeEnum.WITHDRAWAL) {
+                withdrawalBalance = withdrawalBalance.add(decimalAmounts.get(i));
+            } else {
+                depositBalance = depositBalance.add(decimalAmounts.get(i));
+            }
+        }
+        return depositBalance.subtract(withdrawalBalance);
+    }
+
+    @Benchmark
+    public long minorUnitsBalance() {
+        long balance = 0L;
+        for (Operation operation : operations) {
+            long amount = operation.getAmount().getMinorUnits();
+            balance += operation.getOperationType() == OperationTypeEnum.WITHDRAWAL ? -amount : amount;
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,114 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.BankApplication;
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deposit throughput of 8 threads through {@link AccountService#submitOperation}, against the application context
+ * backed by an embedded H2 database: with the synchronous path, one transaction per deposit, or with the partitioned
+ * command pipeline, recording the deposits queued during a flush interval in one transaction. Every thread keeps
+ * {@link #IN_FLIGHT} deposits in flight on its own set of accounts, as concurrent requests would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(PipelineBenchmark.THREADS)
+@Fork(1)
+public class PipelineBenchmark {
+
+    static final int THREADS = 8;
+
+    static final int IN_FLIGHT = 64;
+
+    private static final int ACCOUNTS_PER_THREAD = 16;
+
+    private static final long FIRST_ACCOUNT_ID = 700000L;
+
+    @Param({"synchronous", "pipeline"})
+    private String path;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private final AtomicInteger nextThread = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private final NewOperationRequest[] deposits = new NewOperationRequest[IN_FLIGHT];
+
+        private final CompletableFuture<?>[] results = new CompletableFuture<?>[IN_FLIGHT];
+
+        @Setup
+        public void setUp(PipelineBenchmark benchmark) {
+            long firstAccountId = FIRST_ACCOUNT_ID + (long) benchmark.nextThread.getAndIncrement() * ACCOUNTS_PER_THREAD;
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                deposits[i] = new NewOperationRequest(firstAccountId + i % ACCOUNTS_PER_THREAD, BigDecimal.ONE, OperationTypeEnum.DEPOSIT);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "bank.reconciliation.initial-delay-ms=86400000")
+                // Argument de ligne de commande : application.properties l'emporte sur les propriétés par défaut
+                .run("--logging.level.com.yma.bank.audit=WARN",
+                        "--bank.command-pipeline.enabled=" + "pipeline".equals(path));
+        accountService = context.getBean(AccountService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (long accountId = FIRST_ACCOUNT_ID; accountId < FIRST_ACCOUNT_ID + THREADS * ACCOUNTS_PER_THREAD; accountId++) {
+            // Identifiant explicite, comme dans data.sql, pour ne pas croiser ceux que data.sql a déjà pris
+            jdbcTemplate.update("INSERT INTO account (id, account_id, balance, version) VALUES (?, ?, 0, 0)", accountId, accountId);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Submits {@link #IN_FLIGHT} deposits, then waits for all of them. The synchronous path records each deposit
+     * before returning its future, the pipeline returns at once and completes the futures batch by batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public void deposit(Writer writer) {
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            writer.results[i] = accountService.submitOperation(writer.deposits[i]);
+        }
+        CompletableFuture.allOf(writer.results).join();
+    }
+}
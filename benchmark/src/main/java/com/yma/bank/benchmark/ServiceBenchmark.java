@@ -0,0 +1,92 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.BankApplication;
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountService;
+import com.yma.bank.domain.services.OperationHistoryRepository;
+import com.yma.bank.domain.services.StatementService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls against the application context backed by an embedded H2 database.
+ * The "test" profile keeps the interactive CLI out of the context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    /**
+     * Account seeded by data.sql.
+     */
+    private static final Long ACCOUNT_ID = 654321L;
+
+    private static final Long STATEMENT_ACCOUNT_ID = 1L;
+
+    @Param({"10", "10000"})
+    private int historySize;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private StatementService statementService;
+
+    private NewOperationRequest deposit;
+
+    private LocalDateTime fromDate;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "bank.reconciliation.initial-delay-ms=86400000")
+                // Argument de ligne de commande : application.properties l'emporte sur les propriétés par défaut
+                .run("--logging.level.com.yma.bank.audit=WARN");
+        accountService = context.getBean(AccountService.class);
+        statementService = context.getBean(StatementService.class);
+        context.getBean(OperationHistoryRepository.class).saveAll(SyntheticHistory.history(STATEMENT_ACCOUNT_ID, historySize));
+        deposit = new NewOperationRequest(ACCOUNT_ID, BigDecimal.TEN, OperationTypeEnum.DEPOSIT);
+        fromDate = SyntheticHistory.timestampOf(historySize / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void sendMoney() {
+        accountService.sendMoney(deposit);
+    }
+
+    @Benchmark
+    public AccountStatementResponse generateAccountStatement() {
+        return statementService.generateAccountStatement(STATEMENT_ACCOUNT_ID, fromDate);
+    }
+}
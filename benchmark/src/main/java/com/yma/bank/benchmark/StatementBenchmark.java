@@ -0,0 +1,67 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.application.cli.StatementLineFormatter;
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.services.StatementDomainService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement generation and formatting over a synthetic history, the statement starting
+ * in the middle of the history so both the opening balance and the statement lines are computed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementBenchmark {
+    @Param({"10", "10000", "1000000"})
+    private int operationCount;
+
+    private final StatementDomainService statementDomainService = new StatementDomainService();
+
+    private final StatementLineFormatter statementLineFormatter = new StatementLineFormatter();
+
+    private List<OperationHistory> history;
+
+    private LocalDateTime fromDate;
+
+    private List<StatementLine> statementLines;
+
+    @Setup
+    public void setUp() {
+        history = SyntheticHistory.history(1L, operationCount);
+        fromDate = SyntheticHistory.timestampOf(operationCount / 2);
+        statementLines = statementDomainService.generateStatement(1L, history, fromDate).getStatementLineList();
+    }
+
+    @Benchmark
+    public AccountStatementResponse generateStatement() {
+        return statementDomainService.generateStatement(1L, history, fromDate);
+    }
+
+    @Benchmark
+    public void formatStatementLines(Blackhole blackhole) {
+        for (StatementLine statementLine : statementLines) {
+            blackhole.consume(statementLineFormatter.format(statementLine));
+        }
+    }
+}
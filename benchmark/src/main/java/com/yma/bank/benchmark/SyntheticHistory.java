@@ -0,0 +1,57 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.OperationTypeEnum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates reproducible operation histories: one operation per minute starting at {@link #START},
+ * two deposits for one withdrawal, amounts between 0.01 and 1000.00.
+ */
+final class SyntheticHistory {
+    static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static final long SEED = 42L;
+
+    private SyntheticHistory() {
+    }
+
+    static List<Operation> operations(Long accountId, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Operation> operations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            operations.add(new Operation((long) i, accountId, START.plusMinutes(i), amount(random), type(i)));
+        }
+        return operations;
+    }
+
+    static List<OperationHistory> history(Long accountId, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<OperationHistory> history = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            history.add(new OperationHistory(null, accountId, START.plusMinutes(i), amount(random), type(i)));
+        }
+        return history;
+    }
+
+    /**
+     * Returns the timestamp of the operation at the given index of a generated history.
+     */
+    static LocalDateTime timestampOf(int index) {
+        return START.plusMinutes(index);
+    }
+
+    private static Money amount(SplittableRandom random) {
+        return Money.ofMinorUnits(random.nextLong(1, 100_001));
+    }
+
+    private static OperationTypeEnum type(int index) {
+        return index % 3 == 2 ? OperationTypeEnum.WITHDRAWAL : OperationTypeEnum.DEPOSIT;
+    }
+}
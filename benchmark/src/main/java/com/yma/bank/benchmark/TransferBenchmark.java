@@ -0,0 +1,108 @@
+package com.yma.bank.benchmark;
+
+import com.yma.bank.BankApplication;
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.request.TransferRequest;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.domain.services.AccountRepository;
+import com.yma.bank.domain.services.AccountService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of random transfers run by 8 threads between {@code accounts} accounts, in both directions, against
+ * the application context backed by an embedded H2 database. With 2 accounts every transfer contends with all the
+ * others. The total balance of the accounts is checked at the end of each trial: a transfer that created or lost
+ * money fails the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class TransferBenchmark {
+
+    private static final long FIRST_ACCOUNT_ID = 500000L;
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000000");
+
+    @Param({"2", "100"})
+    private int accounts;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountService accountService;
+
+    private final LongAdder rejected = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "logging.level.root=WARN",
+                        "bank.reconciliation.initial-delay-ms=86400000")
+                // Argument de ligne de commande : application.properties l'emporte sur les propriétés par défaut
+                .run("--logging.level.com.yma.bank.audit=WARN");
+        accountService = context.getBean(AccountService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (long accountId = FIRST_ACCOUNT_ID; accountId < FIRST_ACCOUNT_ID + accounts; accountId++) {
+            // Identifiant explicite, comme dans data.sql, pour ne pas croiser ceux que data.sql a déjà pris
+            jdbcTemplate.update("INSERT INTO account (id, account_id, balance, version) VALUES (?, ?, 0, 0)", accountId, accountId);
+            accountService.sendMoney(new NewOperationRequest(accountId, INITIAL_BALANCE, OperationTypeEnum.DEPOSIT));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        Money total = Money.ZERO;
+        for (long accountId = FIRST_ACCOUNT_ID; accountId < FIRST_ACCOUNT_ID + accounts; accountId++) {
+            total = total.plus(accountRepository.getAccountSnapshot(accountId).orElseThrow().calculateBalance());
+        }
+        context.close();
+        Money expected = Money.of(INITIAL_BALANCE.multiply(BigDecimal.valueOf(accounts)));
+        System.out.printf("%ntotal balance=%s expected=%s, %d transfer(s) rejected%n", total, expected, rejected.sum());
+        if (!total.equals(expected)) {
+            throw new IllegalStateException(String.format("Money was not conserved: total balance %s, expected %s", total, expected));
+        }
+    }
+
+    @Benchmark
+    public void transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accounts);
+        int target = (source + 1 + random.nextInt(accounts - 1)) % accounts;
+        try {
+            accountService.transfer(new TransferRequest(FIRST_ACCOUNT_ID + source, FIRST_ACCOUNT_ID + target,
+                    BigDecimal.valueOf(1 + random.nextInt(100))));
+        } catch (DomainException e) {
+            rejected.increment();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.yma.bank.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Serves the account and statement APIs of the backend on Spring WebFlux and R2DBC, reusing its domain.
+ * Only this package is scanned, so none of the servlet or JPA components of the backend are started.
+ */
+@SpringBootApplication
+public class ReactiveBankApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveBankApplication.class, args);
+	}
+
+}
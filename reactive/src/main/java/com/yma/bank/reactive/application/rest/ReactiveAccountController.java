@@ -0,0 +1,111 @@
+package com.yma.bank.reactive.application.rest;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.reactive.domain.services.ReactiveAccountService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Same contract as the account controller of the backend, served without blocking any thread:
+ * the response is written once the database has answered.
+ */
+@RestController
+@RequestMapping("/api/account")
+@Tag(name = "Banking Operations", description = "API to manage account transactions")
+public class ReactiveAccountController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveAccountController.class);
+
+    private final ReactiveAccountService accountService;
+
+    public ReactiveAccountController(ReactiveAccountService accountService) {
+        this.accountService = accountService;
+    }
+
+    @Operation(summary = "Deposit money",
+            description = "Adds a specified amount to a given account.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Deposit successful"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Account not found")
+            })
+    @PostMapping("/{accountId}/deposit")
+    public Mono<ResponseEntity<String>> deposit(
+            @Parameter(description = "Bank account ID") @PathVariable Long accountId,
+            @Parameter(description = "Amount to deposit") @RequestParam("amount") BigDecimal amount) {
+
+        LOGGER.info("Deposit request for account ID {} of amount {}", accountId, amount);
+
+        return accountService.sendMoney(new NewOperationRequest(accountId, amount, OperationTypeEnum.DEPOSIT))
+                .thenReturn(ResponseEntity.ok("Deposit successful"));
+    }
+
+    @Operation(summary = "Withdraw money",
+            description = "Withdraws a specified amount from a given account.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Withdrawal successful"),
+                    @ApiResponse(responseCode = "400", description = "Invalid request"),
+                    @ApiResponse(responseCode = "404", description = "Account not found"),
+                    @ApiResponse(responseCode = "403", description = "Insufficient funds")
+            })
+    @PostMapping("/{accountId}/withdraw")
+    public Mono<ResponseEntity<String>> withdraw(
+            @Parameter(description = "Bank account ID") @PathVariable Long accountId,
+            @Parameter(description = "Amount to withdraw") @RequestParam("amount") BigDecimal amount) {
+
+        LOGGER.info("Withdrawal request for account ID {} of amount {}", accountId, amount);
+
+        return accountService.sendMoney(new NewOperationRequest(accountId, amount, OperationTypeEnum.WITHDRAWAL))
+                .thenReturn(ResponseEntity.ok("Withdrawal successful"));
+    }
+
+    @Operation(summary = "Retrieve an account by its account ID",
+            description = "Fetches an account based on the provided account ID and baseline date.")
+    @GetMapping("/{accountId}")
+    public Mono<AccountDTO> getAccount(
+            @Parameter(description = "ID of the account to retrieve", example = "121")
+            @PathVariable Long accountId,
+
+            @Parameter(description = "Baseline date for account history, omitted for the current balance",
+                    example = "2025-03-16T14:00:00")
+            @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        return accountService.getAccount(accountId, baselineDate);
+    }
+
+    @Operation(summary = "Retrieve all accounts",
+            description = "Returns a list of all accounts with their current balance. An optional parameter allows specifying a reference date for account history.")
+    @GetMapping
+    public Flux<AccountDTO> getAllAccounts(
+            @Parameter(description = "Reference date for account history",
+                    example = "2025-03-16T14:00:00")
+            @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        return accountService.getAllAccounts(baselineDate);
+    }
+
+    @Operation(summary = "Stream all accounts",
+            description = "Streams every account as newline-delimited JSON, one account per line, as they are read from the database.")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountDTO> streamAllAccounts(
+            @Parameter(description = "Reference date for account history",
+                    example = "2025-03-16T14:00:00")
+            @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        return accountService.getAllAccounts(baselineDate);
+    }
+}
@@ -0,0 +1,98 @@
+package com.yma.bank.reactive.application.rest;
+
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.reactive.domain.services.ReactiveStatementService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Same contract as the statement controller of the backend. The export is a {@code Flux<StatementLine>}
+ * written as the operations are read, with backpressure from the client connection down to the database cursor.
+ */
+@RestController
+@RequestMapping("/api/statement")
+@Tag(name = "Banking Statements", description = "API to manage account statements")
+public class ReactiveStatementController {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveStatementController.class);
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ReactiveStatementService statementService;
+
+    public ReactiveStatementController(ReactiveStatementService statementService) {
+        this.statementService = statementService;
+    }
+
+    @Operation(summary = "Get account transaction history",
+            description = "Retrieves the transaction history for a specified account.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transaction history retrieved successfully"),
+                    @ApiResponse(responseCode = "404", description = "Account not found")
+            })
+    @GetMapping("/{accountId}")
+    public Mono<AccountStatementResponse> getAccountStatement(
+            @Parameter(description = "Bank account ID") @PathVariable Long accountId,
+            @Parameter(description = "Start date for the bank statement",
+                    example = "2025-03-16T14:00:00") @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        LOGGER.info("Retrieving transaction history for account ID {}", accountId);
+
+        return statementService.generateAccountStatement(accountId, baselineDate != null ? baselineDate : LocalDateTime.now().minusDays(10));
+    }
+
+    @Operation(summary = "Export account transaction history",
+            description = "Streams the transaction history of a specified account as CSV or newline-delimited JSON, oldest first, "
+                    + "with the running balance computed while the history is read.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Transaction history streamed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Unsupported export format")
+            })
+    @GetMapping(value = "/{accountId}/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<Flux<String>> exportAccountStatement(
+            @Parameter(description = "Bank account ID") @PathVariable Long accountId,
+            @Parameter(description = "Start date for the bank statement",
+                    example = "2025-03-16T14:00:00") @RequestParam(required = false) LocalDateTime baselineDate,
+            @Parameter(description = "Export format: csv or ndjson") @RequestParam(defaultValue = "csv") String format) {
+
+        if (!"csv".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TEXT_CSV_VALUE))
+                .body(Flux.concat(Flux.just("timestamp,amount,balance\n"),
+                        exportStatementLines(accountId, baselineDate).map(ReactiveStatementController::toCsv)));
+    }
+
+    /**
+     * Same as {@link #exportAccountStatement} for {@code format=ndjson}, mapped separately so that
+     * each format is written by its own encoder.
+     */
+    @GetMapping(value = "/{accountId}/export", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StatementLine> exportAccountStatementAsNdjson(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) LocalDateTime baselineDate) {
+
+        return exportStatementLines(accountId, baselineDate);
+    }
+
+    private Flux<StatementLine> exportStatementLines(Long accountId, LocalDateTime baselineDate) {
+        LOGGER.info("Exporting transaction history for account ID {}", accountId);
+        return statementService.exportAccountStatement(accountId, baselineDate != null ? baselineDate : LocalDateTime.now().minusDays(10));
+    }
+
+    private static String toCsv(StatementLine statementLine) {
+        return statementLine.getTimestamp() + "," + statementLine.getAmount().toPlainString() + ","
+                + statementLine.getCurrentBalance().toPlainString() + "\n";
+    }
+}
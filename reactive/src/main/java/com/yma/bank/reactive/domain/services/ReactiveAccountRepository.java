@@ -0,0 +1,22 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.domain.Account;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.yma.bank.domain.services.AccountRepository}.
+ */
+public interface ReactiveAccountRepository {
+
+    /**
+     * Loads the account with its persisted running balance as baseline and no operation to display,
+     * or completes empty if the account does not exist.
+     */
+    Mono<Account> getAccountSnapshot(Long accountId);
+
+    /**
+     * Streams the snapshots of every account, ordered by account ID.
+     */
+    Flux<Account> getAccountSnapshots();
+}
@@ -0,0 +1,27 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveAccountService {
+
+    /**
+     * Validates the operation against the account snapshot and records it, retrying from a fresh snapshot
+     * when the account is modified concurrently.
+     */
+    Mono<Void> sendMoney(NewOperationRequest newOperationRequest);
+
+    /**
+     * Returns the balance of the account before the baseline date, or its current balance if the date is null.
+     */
+    Mono<AccountDTO> getAccount(Long accountId, LocalDateTime baselineDate);
+
+    /**
+     * Same as {@link #getAccount} for every account, ordered by account ID.
+     */
+    Flux<AccountDTO> getAllAccounts(LocalDateTime baselineDate);
+}
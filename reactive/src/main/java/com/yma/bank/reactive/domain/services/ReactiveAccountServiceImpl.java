@@ -0,0 +1,109 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ReactiveAccountServiceImpl implements ReactiveAccountService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveAccountServiceImpl.class);
+
+    static final int MAX_OPERATION_ATTEMPTS = 10;
+
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(1);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(64);
+
+    private final LongAdder concurrentModificationRetries = new LongAdder();
+
+    private final ReactiveAccountRepository accountRepository;
+
+    private final ReactiveOperationRepository operationRepository;
+
+    private final ReactiveOperationHistoryRepository operationHistoryRepository;
+
+    public ReactiveAccountServiceImpl(ReactiveAccountRepository accountRepository,
+                                      ReactiveOperationRepository operationRepository,
+                                      ReactiveOperationHistoryRepository operationHistoryRepository) {
+        this.accountRepository = accountRepository;
+        this.operationRepository = operationRepository;
+        this.operationHistoryRepository = operationHistoryRepository;
+    }
+
+    /**
+     * Same retry policy as the blocking service: up to {@value #MAX_OPERATION_ATTEMPTS} attempts separated by
+     * a random delay growing with the attempts, except that the delay is a timer instead of a sleeping thread.
+     */
+    @Override
+    public Mono<Void> sendMoney(NewOperationRequest newOperationRequest) {
+        if (newOperationRequest == null) {
+            return Mono.error(new DomainException("Invalid request: newOperationRequest is null"));
+        }
+        Long accountId = newOperationRequest.getAccountId();
+        return Mono.defer(() -> recordOperation(newOperationRequest))
+                .retryWhen(Retry.backoff(MAX_OPERATION_ATTEMPTS - 1, MIN_BACKOFF)
+                        .maxBackoff(MAX_BACKOFF)
+                        .jitter(1.0)
+                        .filter(ConcurrentOperationException.class::isInstance)
+                        .doBeforeRetry(signal -> concurrentModificationRetries.increment())
+                        .onRetryExhaustedThrow((spec, signal) -> {
+                            LOGGER.warn("Giving up on account ID {} after {} concurrent modifications", accountId, MAX_OPERATION_ATTEMPTS);
+                            return signal.failure();
+                        }))
+                .doOnSuccess(done -> LOGGER.info("Operation successfully recorded for account ID {}", accountId));
+    }
+
+    @Override
+    public Mono<AccountDTO> getAccount(Long accountId, LocalDateTime baselineDate) {
+        LOGGER.info("Searching for account ID {}", accountId);
+        Mono<Account> snapshot = accountRepository.getAccountSnapshot(accountId)
+                .switchIfEmpty(Mono.error(() -> new DomainException("Account not found with ID: " + accountId)));
+        return snapshot.flatMap(account -> toAccountDTO(account, baselineDate));
+    }
+
+    @Override
+    public Flux<AccountDTO> getAllAccounts(LocalDateTime baselineDate) {
+        LOGGER.info("Searching all accounts");
+        return accountRepository.getAccountSnapshots().concatMap(account -> toAccountDTO(account, baselineDate));
+    }
+
+    /**
+     * Number of times an operation was retried because its account was modified concurrently.
+     */
+    public long getConcurrentModificationRetries() {
+        return concurrentModificationRetries.sum();
+    }
+
+    /**
+     * Validates the operation against a fresh snapshot of the account and records it
+     * only if the account was not modified in the meantime.
+     */
+    private Mono<Void> recordOperation(NewOperationRequest newOperationRequest) {
+        return accountRepository.getAccountSnapshot(newOperationRequest.getAccountId())
+                .switchIfEmpty(Mono.error(() -> new DomainException(
+                        String.format("Account with %s number not found", newOperationRequest.getAccountId()))))
+                .flatMap(account -> operationRepository.saveOperation(
+                        account.apply(newOperationRequest.getOperationType(), Money.of(newOperationRequest.getAmount())),
+                        account.getVersion()));
+    }
+
+    private Mono<AccountDTO> toAccountDTO(Account snapshot, LocalDateTime baselineDate) {
+        Long accountId = snapshot.getAccountId().orElse(null);
+        if (baselineDate == null) {
+            return Mono.just(new AccountDTO(accountId, snapshot.getBaseLineBalance().toBigDecimal()));
+        }
+        return operationHistoryRepository.getBalanceBetween(accountId, null, baselineDate)
+                .map(balance -> new AccountDTO(accountId, balance.toBigDecimal()));
+    }
+}
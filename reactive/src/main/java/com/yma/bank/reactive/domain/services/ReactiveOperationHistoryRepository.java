@@ -0,0 +1,26 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of the read side of {@link com.yma.bank.domain.services.OperationHistoryRepository}.
+ */
+public interface ReactiveOperationHistoryRepository {
+
+    /**
+     * Streams the operations of the account recorded from {@code from} (inclusive), oldest first,
+     * as fast as the subscriber requests them.
+     */
+    Flux<OperationHistory> findByAccountIdFrom(Long accountId, LocalDateTime from);
+
+    /**
+     * Returns the balance resulting from the operations of the account recorded from {@code from} (inclusive)
+     * until {@code until} (exclusive), computed by the database. A null {@code from} means from the first operation.
+     */
+    Mono<Money> getBalanceBetween(Long accountId, LocalDateTime from, LocalDateTime until);
+}
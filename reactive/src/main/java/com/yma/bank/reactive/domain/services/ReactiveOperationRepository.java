@@ -0,0 +1,19 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.domain.Operation;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.yma.bank.domain.services.OperationRepository}.
+ */
+public interface ReactiveOperationRepository {
+
+    /**
+     * Records the operation, along with its history entry, only if the account is still at the given version.
+     * A null version records the operation unconditionally.
+     *
+     * @return a Mono failing with {@link com.yma.bank.domain.ConcurrentOperationException} if the account was modified
+     * in the meantime, or with {@link com.yma.bank.domain.DomainException} if it does not exist
+     */
+    Mono<Void> saveOperation(Operation operation, Long expectedAccountVersion);
+}
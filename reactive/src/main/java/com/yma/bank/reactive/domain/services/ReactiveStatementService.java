@@ -0,0 +1,21 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface ReactiveStatementService {
+
+    /**
+     * Returns the statement of the account from {@code fromDate}, newest line first.
+     */
+    Mono<AccountStatementResponse> generateAccountStatement(Long accountId, LocalDateTime fromDate);
+
+    /**
+     * Streams the statement lines of the account from {@code fromDate}, oldest first, as they are read from the database.
+     */
+    Flux<StatementLine> exportAccountStatement(Long accountId, LocalDateTime fromDate);
+}
@@ -0,0 +1,56 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.application.response.AccountStatementResponse;
+import com.yma.bank.application.response.StatementLine;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.services.StatementDomainService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class ReactiveStatementServiceImpl implements ReactiveStatementService {
+    private final ReactiveOperationHistoryRepository operationHistoryRepository;
+    private final StatementDomainService statementDomainService;
+
+    public ReactiveStatementServiceImpl(ReactiveOperationHistoryRepository operationHistoryRepository,
+                                        StatementDomainService statementDomainService) {
+        this.operationHistoryRepository = operationHistoryRepository;
+        this.statementDomainService = statementDomainService;
+    }
+
+    @Override
+    public Mono<AccountStatementResponse> generateAccountStatement(Long accountId, LocalDateTime fromDate) {
+        return exportAccountStatement(accountId, fromDate)
+                .collectList()
+                .map(statementLines -> statementDomainService.generateStatement(accountId, statementLines));
+    }
+
+    /**
+     * The opening balance is summed by the database, then the running balance of each line is computed
+     * by the domain while the operations are read, so the statement is never held in memory.
+     */
+    @Override
+    public Flux<StatementLine> exportAccountStatement(Long accountId, LocalDateTime fromDate) {
+        return operationHistoryRepository.getBalanceBetween(accountId, null, fromDate)
+                .flatMapMany(openingBalance -> toStatementLines(openingBalance,
+                        operationHistoryRepository.findByAccountIdFrom(accountId, fromDate)));
+    }
+
+    private Flux<StatementLine> toStatementLines(Money openingBalance, Flux<OperationHistory> operations) {
+        return Flux.defer(() -> {
+            // Le writer du domaine pousse chaque ligne dans ce tampon d'une place, vidé à chaque opération
+            List<StatementLine> written = new ArrayList<>(1);
+            Consumer<OperationHistory> statementLineWriter = statementDomainService.statementLineWriter(openingBalance, written::add);
+            return operations.map(operation -> {
+                written.clear();
+                statementLineWriter.accept(operation);
+                return written.get(0);
+            });
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.yma.bank.reactive.infrastructure.configuration;
+
+import com.yma.bank.domain.services.StatementDomainService;
+import com.yma.bank.reactive.ReactiveBankApplication;
+import com.yma.bank.reactive.domain.services.ReactiveAccountRepository;
+import com.yma.bank.reactive.domain.services.ReactiveAccountService;
+import com.yma.bank.reactive.domain.services.ReactiveAccountServiceImpl;
+import com.yma.bank.reactive.domain.services.ReactiveOperationHistoryRepository;
+import com.yma.bank.reactive.domain.services.ReactiveOperationRepository;
+import com.yma.bank.reactive.domain.services.ReactiveStatementService;
+import com.yma.bank.reactive.domain.services.ReactiveStatementServiceImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+@Configuration
+@ComponentScan(basePackageClasses = ReactiveBankApplication.class)
+public class ReactiveBeanConfiguration {
+
+    @Bean
+    ReactiveAccountService accountService(final ReactiveAccountRepository accountRepository,
+                                          final ReactiveOperationRepository operationRepository,
+                                          final ReactiveOperationHistoryRepository operationHistoryRepository) {
+        return new ReactiveAccountServiceImpl(accountRepository, operationRepository, operationHistoryRepository);
+    }
+
+    @Bean
+    public StatementDomainService statementDomainService() {
+        return new StatementDomainService();
+    }
+
+    @Bean
+    ReactiveStatementService statementService(final ReactiveOperationHistoryRepository operationHistoryRepository,
+                                              final StatementDomainService statementDomainService) {
+        return new ReactiveStatementServiceImpl(operationHistoryRepository, statementDomainService);
+    }
+
+    @Bean
+    TransactionalOperator transactionalOperator(final ReactiveTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
+}
@@ -0,0 +1,42 @@
+package com.yma.bank.reactive.infrastructure.repository;
+
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.Money;
+import com.yma.bank.reactive.domain.services.ReactiveAccountRepository;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+
+@Repository
+public class R2dbcAccountRepository implements ReactiveAccountRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcAccountRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Account> getAccountSnapshot(Long accountId) {
+        return databaseClient.sql("SELECT account_id, balance, version FROM account WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .map(R2dbcAccountRepository::toSnapshot)
+                .one();
+    }
+
+    @Override
+    public Flux<Account> getAccountSnapshots() {
+        return databaseClient.sql("SELECT account_id, balance, version FROM account ORDER BY account_id")
+                .map(R2dbcAccountRepository::toSnapshot)
+                .all();
+    }
+
+    private static Account toSnapshot(Readable row) {
+        return new Account(row.get("account_id", Long.class), Money.ofMinorUnits(row.get("balance", Long.class)),
+                new ArrayList<>(), row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,52 @@
+package com.yma.bank.reactive.infrastructure.repository;
+
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.OperationHistory;
+import com.yma.bank.domain.OperationTypeEnum;
+import com.yma.bank.reactive.domain.services.ReactiveOperationHistoryRepository;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public class R2dbcOperationHistoryRepository implements ReactiveOperationHistoryRepository {
+
+    private static final String SIGNED_AMOUNT_SUM =
+            "SELECT CAST(COALESCE(SUM(CASE WHEN operation_type = 'WITHDRAWAL' THEN -amount ELSE amount END), 0) AS BIGINT) AS balance "
+                    + "FROM operation_history WHERE account_id = :accountId AND timestamp < :until";
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcOperationHistoryRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<OperationHistory> findByAccountIdFrom(Long accountId, LocalDateTime from) {
+        return databaseClient.sql("SELECT id, account_id, timestamp, amount, operation_type FROM operation_history "
+                        + "WHERE account_id = :accountId AND timestamp >= :from ORDER BY timestamp, id")
+                .bind("accountId", accountId)
+                .bind("from", from)
+                .map(row -> new OperationHistory(
+                        row.get("id", Long.class),
+                        row.get("account_id", Long.class),
+                        row.get("timestamp", LocalDateTime.class),
+                        Money.ofMinorUnits(row.get("amount", Long.class)),
+                        OperationTypeEnum.valueOf(row.get("operation_type", String.class))))
+                .all();
+    }
+
+    @Override
+    public Mono<Money> getBalanceBetween(Long accountId, LocalDateTime from, LocalDateTime until) {
+        DatabaseClient.GenericExecuteSpec query = from == null
+                ? databaseClient.sql(SIGNED_AMOUNT_SUM)
+                : databaseClient.sql(SIGNED_AMOUNT_SUM + " AND timestamp >= :from").bind("from", from);
+        return query.bind("accountId", accountId)
+                .bind("until", until)
+                .map(row -> Money.ofMinorUnits(row.get("balance", Long.class)))
+                .one();
+    }
+}
@@ -0,0 +1,98 @@
+package com.yma.bank.reactive.infrastructure.repository;
+
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.reactive.domain.services.ReactiveOperationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the operations with the same account versioning as the JPA adapter of the backend. There is no outbox:
+ * the history entry is inserted in the same transaction as the operation, so a statement sees it as soon as it is committed.
+ */
+@Repository
+public class R2dbcOperationRepository implements ReactiveOperationRepository {
+    private static final Logger LOGGER = LoggerFactory.getLogger(R2dbcOperationRepository.class);
+
+    private final DatabaseClient databaseClient;
+
+    private final TransactionalOperator transactionalOperator;
+
+    public R2dbcOperationRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    @Override
+    public Mono<Void> saveOperation(Operation operation, Long expectedAccountVersion) {
+        Long accountId = operation.getAccountId();
+        Mono<Void> write = addToBalance(accountId, operation.getSignedAmount().getMinorUnits(), expectedAccountVersion)
+                .flatMap(updated -> updated == 0 ? rejection(accountId, expectedAccountVersion) : findVersion(accountId))
+                .flatMap(accountVersion -> insertOperation(operation, accountVersion))
+                .then(insertHistory(operation));
+        return transactionalOperator.transactional(write)
+                .doOnSuccess(done -> LOGGER.info("Operation successfully recorded for account ID {}", accountId));
+    }
+
+    /**
+     * Adds the amount to the balance and increments the version, only if the account is still at the expected version
+     * when one is given. The updated row stays locked until the end of the transaction.
+     */
+    private Mono<Long> addToBalance(Long accountId, long delta, Long expectedAccountVersion) {
+        if (expectedAccountVersion == null) {
+            return databaseClient.sql("UPDATE account SET balance = balance + :delta, version = version + 1 WHERE account_id = :accountId")
+                    .bind("delta", delta)
+                    .bind("accountId", accountId)
+                    .fetch().rowsUpdated();
+        }
+        return databaseClient.sql("UPDATE account SET balance = balance + :delta, version = version + 1 "
+                        + "WHERE account_id = :accountId AND version = :version")
+                .bind("delta", delta)
+                .bind("accountId", accountId)
+                .bind("version", expectedAccountVersion)
+                .fetch().rowsUpdated();
+    }
+
+    private Mono<Long> rejection(Long accountId, Long expectedAccountVersion) {
+        return databaseClient.sql("SELECT COUNT(*) FROM account WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(count -> Mono.error(count > 0 && expectedAccountVersion != null
+                        ? new ConcurrentOperationException(String.format("Account with ID %s was modified concurrently", accountId))
+                        : new DomainException(String.format("Account with ID %s not found", accountId))));
+    }
+
+    private Mono<Long> findVersion(Long accountId) {
+        return databaseClient.sql("SELECT version FROM account WHERE account_id = :accountId")
+                .bind("accountId", accountId)
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    private Mono<Void> insertOperation(Operation operation, Long accountVersion) {
+        return databaseClient.sql("INSERT INTO operation (account_id, timestamp, amount, operation_type, account_version) "
+                        + "VALUES (:accountId, :timestamp, :amount, :operationType, :accountVersion)")
+                .bind("accountId", operation.getAccountId())
+                .bind("timestamp", operation.getTimestamp())
+                .bind("amount", operation.getAmount().getMinorUnits())
+                .bind("operationType", operation.getOperationType().name())
+                .bind("accountVersion", accountVersion)
+                .then();
+    }
+
+    private Mono<Void> insertHistory(Operation operation) {
+        return databaseClient.sql("INSERT INTO operation_history (account_id, timestamp, amount, operation_type) "
+                        + "VALUES (:accountId, :timestamp, :amount, :operationType)")
+                .bind("accountId", operation.getAccountId())
+                .bind("timestamp", operation.getTimestamp())
+                .bind("amount", operation.getAmount().getMinorUnits())
+                .bind("operationType", operation.getOperationType().name())
+                .then();
+    }
+}
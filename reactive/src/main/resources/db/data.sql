@@ -0,0 +1,2 @@
+MERGE INTO account (account_id, balance, version) KEY (account_id) VALUES (654321, 0, 0);
+MERGE INTO account (account_id, balance, version) KEY (account_id) VALUES (789123, 0, 0);
@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS account (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL UNIQUE,
+    balance BIGINT DEFAULT 0 NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS operation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    timestamp TIMESTAMP(9) NOT NULL,
+    amount BIGINT NOT NULL,
+    operation_type VARCHAR(16) NOT NULL,
+    account_version BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_operation_account_version ON operation (account_id, account_version);
+
+CREATE TABLE IF NOT EXISTS operation_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    timestamp TIMESTAMP(9) NOT NULL,
+    amount BIGINT NOT NULL,
+    operation_type VARCHAR(16) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_operation_history_account_timestamp ON operation_history (account_id, timestamp);
@@ -0,0 +1,98 @@
+package com.yma.bank.reactive;
+
+import com.yma.bank.application.response.AccountDTO;
+import com.yma.bank.application.response.StatementLine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the account and statement APIs end to end on an embedded H2 database, through the same URLs as the backend.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveBankApplicationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void shouldRecordOperationsAndStreamStatement() {
+        long accountId = 900101L;
+        createAccount(accountId);
+
+        post("/api/account/" + accountId + "/deposit?amount=100").expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Deposit successful");
+        post("/api/account/" + accountId + "/withdraw?amount=30").expectStatus().isOk();
+        post("/api/account/" + accountId + "/withdraw?amount=500").expectStatus().is5xxServerError();
+
+        AccountDTO account = webTestClient.get().uri("/api/account/" + accountId).exchange()
+                .expectStatus().isOk()
+                .expectBody(AccountDTO.class).returnResult().getResponseBody();
+        assertEquals(new BigDecimal("70.00"), account.getBalance());
+
+        List<StatementLine> exported = webTestClient.get().uri("/api/statement/" + accountId + "/export?format=ndjson")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(StatementLine.class).getResponseBody()
+                .collectList().block();
+        assertEquals(List.of(new BigDecimal("100.00"), new BigDecimal("70.00")),
+                exported.stream().map(StatementLine::getCurrentBalance).toList());
+
+        webTestClient.get().uri("/api/statement/" + accountId).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accountId").isEqualTo(accountId)
+                .jsonPath("$.statementLineList[0].amount").isEqualTo(-30.0)
+                .jsonPath("$.statementLineList[0].currentBalance").isEqualTo(70.0);
+    }
+
+    @Test
+    void shouldExportStatementAsCsv() {
+        long accountId = 900102L;
+        createAccount(accountId);
+        post("/api/account/" + accountId + "/deposit?amount=12.5").expectStatus().isOk();
+
+        String csv = webTestClient.get().uri("/api/statement/" + accountId + "/export").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith("text/csv")
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        String[] lines = csv.split("\n");
+        assertEquals("timestamp,amount,balance", lines[0]);
+        assertTrue(lines[1].endsWith(",12.50,12.50"));
+    }
+
+    @Test
+    void shouldRejectUnsupportedExportFormat() {
+        webTestClient.get().uri("/api/statement/654321/export?format=xml").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldRejectUnknownAccount() {
+        post("/api/account/1/deposit?amount=10").expectStatus().is5xxServerError();
+    }
+
+    private WebTestClient.ResponseSpec post(String uri) {
+        return webTestClient.post().uri(uri).exchange();
+    }
+
+    private void createAccount(long accountId) {
+        databaseClient.sql("INSERT INTO account (account_id, balance, version) VALUES (:accountId, 0, 0)")
+                .bind("accountId", accountId)
+                .then().block();
+    }
+}
@@ -0,0 +1,91 @@
+package com.yma.bank.reactive.domain.services;
+
+import com.yma.bank.application.request.NewOperationRequest;
+import com.yma.bank.domain.Account;
+import com.yma.bank.domain.ConcurrentOperationException;
+import com.yma.bank.domain.DomainException;
+import com.yma.bank.domain.Money;
+import com.yma.bank.domain.Operation;
+import com.yma.bank.domain.OperationTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAccountServiceImplTest {
+
+    @Mock
+    private ReactiveAccountRepository accountRepository;
+
+    @Mock
+    private ReactiveOperationRepository operationRepository;
+
+    @Mock
+    private ReactiveOperationHistoryRepository operationHistoryRepository;
+
+    private ReactiveAccountServiceImpl accountService;
+
+    @BeforeEach
+    void setUp() {
+        accountService = new ReactiveAccountServiceImpl(accountRepository, operationRepository, operationHistoryRepository);
+    }
+
+    @Test
+    void shouldRetryFromFreshSnapshotWhenAccountIsModifiedConcurrently() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(
+                Mono.just(snapshot("150.00", 3L)),
+                Mono.just(snapshot("130.00", 4L)));
+        when(operationRepository.saveOperation(any(Operation.class), eq(3L)))
+                .thenReturn(Mono.error(new ConcurrentOperationException("Account with ID 1 was modified concurrently")));
+        when(operationRepository.saveOperation(any(Operation.class), eq(4L))).thenReturn(Mono.empty());
+
+        StepVerifier.create(accountService.sendMoney(withdrawal("120")))
+                .verifyComplete();
+
+        assertEquals(1L, accountService.getConcurrentModificationRetries());
+        verify(accountRepository, times(2)).getAccountSnapshot(1L);
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Mono.just(snapshot("100.00", 3L)));
+        when(operationRepository.saveOperation(any(Operation.class), eq(3L)))
+                .thenReturn(Mono.error(new ConcurrentOperationException("Account with ID 1 was modified concurrently")));
+
+        StepVerifier.create(accountService.sendMoney(withdrawal("10")))
+                .verifyError(ConcurrentOperationException.class);
+
+        verify(operationRepository, times(ReactiveAccountServiceImpl.MAX_OPERATION_ATTEMPTS)).saveOperation(any(Operation.class), eq(3L));
+    }
+
+    @Test
+    void shouldNotRetryBusinessRejection() {
+        when(accountRepository.getAccountSnapshot(1L)).thenReturn(Mono.just(snapshot("100.00", 3L)));
+
+        StepVerifier.create(accountService.sendMoney(withdrawal("120")))
+                .verifyError(DomainException.class);
+
+        verify(accountRepository, times(1)).getAccountSnapshot(1L);
+        verifyNoInteractions(operationRepository);
+    }
+
+    private static Account snapshot(String balance, Long version) {
+        return new Account(1L, Money.parse(balance), new ArrayList<>(), version);
+    }
+
+    private static NewOperationRequest withdrawal(String amount) {
+        return new NewOperationRequest(1L, new BigDecimal(amount), OperationTypeEnum.WITHDRAWAL);
+    }
+}